@@ -31,6 +31,22 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Boolean> GENERATED_CHANGESET_IDS_INCLUDE_DESCRIPTION;
     public static final ConfigurationDefinition<Boolean> INCLUDE_CATALOG_IN_SPECIFICATION;
     public static final ConfigurationDefinition<Boolean> SHOULD_SNAPSHOT_DATA;
+    public static final ConfigurationDefinition<Integer> DIFF_DATA_FETCH_SIZE;
+    public static final ConfigurationDefinition<Integer> DIFF_DATA_ROWS_PER_FILE;
+    public static final ConfigurationDefinition<Boolean> STREAM_SQL_FILES;
+    public static final ConfigurationDefinition<Boolean> ASYNC_SQL_OUTPUT;
+    public static final ConfigurationDefinition<Boolean> GZIP_SQL_OUTPUT;
+    public static final ConfigurationDefinition<Integer> OFFLINE_SQL_RENDER_THREADS;
+    public static final ConfigurationDefinition<Integer> ROLLBACK_PLAN_THREADS;
+    public static final ConfigurationDefinition<Integer> PREPARED_STATEMENT_CACHE_SIZE;
+    public static final ConfigurationDefinition<Boolean> LOAD_DATA_BULK_LOAD;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_BULK_LOAD_ROWS;
+    public static final ConfigurationDefinition<Boolean> LOAD_UPDATE_DATA_SET_BASED;
+    public static final ConfigurationDefinition<Boolean> DROP_ALL_FAST;
+    public static final ConfigurationDefinition<Boolean> UPDATE_TESTING_ROLLBACK_FAST;
+    public static final ConfigurationDefinition<Integer> DBDOC_THREADS;
+    public static final ConfigurationDefinition<Boolean> DBDOC_INCREMENTAL;
+    public static final ConfigurationDefinition<Integer> CHANGESET_LOG_BUFFER_SIZE;
     public static final ConfigurationDefinition<Boolean> PRESERVE_SCHEMA_CASE;
     public static final ConfigurationDefinition<Boolean> SHOW_BANNER;
     public static final ConfigurationDefinition<Boolean> ALWAYS_DROP_INSTEAD_OF_REPLACE;
@@ -168,6 +184,105 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(false)
                 .build();
 
+        DIFF_DATA_FETCH_SIZE = builder.define("diffDataFetchSize", Integer.class)
+                .setDescription("JDBC fetch size to use when reading table data for diff/generateChangelog with diffTypes=data")
+                .setDefaultValue(1000)
+                .build();
+
+        DIFF_DATA_ROWS_PER_FILE = builder.define("diffDataRowsPerFile", Integer.class)
+                .setDescription("Maximum number of rows to write to each CSV file when generateChangelog exports data to a dataOutputDirectory. " +
+                        "Larger tables are split into multiple files, each with its own loadData change. Set to 0 to write each table to a single file.")
+                .setDefaultValue(0)
+                .build();
+
+        STREAM_SQL_FILES = builder.define("streamSqlFiles", Boolean.class)
+                .setDescription("If true, sqlFile changes read and execute their file one statement at a time instead of loading the whole file into memory first. " +
+                        "Recommended for very large files. The full sql is not added to the changeset sql log context when streaming.")
+                .setDefaultValue(false)
+                .build();
+
+        ASYNC_SQL_OUTPUT = builder.define("asyncSqlOutput", Boolean.class)
+                .setDescription("If true, *-sql commands write the generated SQL from a background thread through a large buffer so generating SQL and writing it can overlap. " +
+                        "Recommended for very large scripts.")
+                .setDefaultValue(false)
+                .build();
+
+        GZIP_SQL_OUTPUT = builder.define("gzipSqlOutput", Boolean.class)
+                .setDescription("If true, the output of *-sql commands is gzip compressed")
+                .setDefaultValue(false)
+                .build();
+
+        OFFLINE_SQL_RENDER_THREADS = builder.define("offlineSqlRenderThreads", Integer.class)
+                .setDescription("Number of threads used to generate the SQL for update-sql commands against an offline database before it is written out in changelog order. " +
+                        "Changes that need up-to-date database metadata are always generated during the normal run. Set to 1 or less to generate everything during the normal run.")
+                .setDefaultValue(1)
+                .build();
+
+        ROLLBACK_PLAN_THREADS = builder.define("rollbackPlanThreads", Integer.class)
+                .setDescription("Number of threads used to generate the rollback statements and SQL for all changesets before a rollback starts. " +
+                        "Set to 1 or less to only check that every changeset can be rolled back and generate everything when it runs. " +
+                        "Rollbacks that depend on the current database state are always generated when they run.")
+                .setDefaultValue(1)
+                .build();
+
+        PREPARED_STATEMENT_CACHE_SIZE = builder.define("preparedStatementCacheSize", Integer.class)
+                .setDescription("Maximum number of prepared statements kept open per connection for re-use, for example by loadData. " +
+                        "Cached statements are closed when the connection is closed. Set to 0 to disable re-use.")
+                .setDefaultValue(8)
+                .build();
+
+        LOAD_DATA_BULK_LOAD = builder.define("loadDataBulkLoad", Boolean.class)
+                .setDescription("Should loadData use database-specific bulk loading when possible, such as COPY on PostgreSQL or multi-row inserts? " +
+                        "Rows that cannot be bulk loaded are inserted normally, as are changes that set usePreparedStatements=true.")
+                .setDefaultValue(false)
+                .build();
+
+        LOAD_DATA_BULK_LOAD_ROWS = builder.define("loadDataBulkLoadRows", Integer.class)
+                .setDescription("Maximum number of rows in each multi-row insert statement generated when loadDataBulkLoad is enabled, " +
+                        "and in each merge statement generated when loadUpdateDataSetBased is enabled.")
+                .setDefaultValue(500)
+                .build();
+
+        LOAD_UPDATE_DATA_SET_BASED = builder.define("loadUpdateDataSetBased", Boolean.class)
+                .setDescription("Should loadUpdateData apply rows with one MERGE or upsert statement per batch of rows instead of a check-then-insert-or-update block per row? " +
+                        "Used on H2, SQL Server, MySQL and PostgreSQL 9.5+. MySQL and PostgreSQL require a unique constraint on the primary key columns.")
+                .setDefaultValue(false)
+                .build();
+
+        DROP_ALL_FAST = builder.define("dropAllFast", Boolean.class)
+                .setDescription("Should dropAll drop and re-create each schema with a single DROP SCHEMA ... CASCADE where the database supports it, " +
+                        "instead of snapshotting the schema and dropping each object? Used on PostgreSQL, HSQL and H2 (not for the H2 PUBLIC schema). " +
+                        "PostgreSQL schemas are re-created with their owner and privileges, and schemas containing extensions are not dropped at once. " +
+                        "Elsewhere views, foreign keys and tables are dropped by name in batches before the regular dropAll removes the remaining objects.")
+                .setDefaultValue(false)
+                .build();
+
+        UPDATE_TESTING_ROLLBACK_FAST = builder.define("updateTestingRollbackFast", Boolean.class)
+                .setDescription("Should updateTestingRollback check the rollback by comparing a fingerprint of the schema before the update and after the rollback, " +
+                        "then restore the updated database with a native copy instead of running the update a second time? " +
+                        "The update is run again on databases that cannot copy themselves. Currently only H2 can. " +
+                        "The fingerprint only covers the tables and views of the default schema, so rollbacks of sequences, stored procedures, triggers, " +
+                        "data and objects in other schemas are not checked.")
+                .setDefaultValue(false)
+                .build();
+
+        DBDOC_THREADS = builder.define("dbdocThreads", Integer.class)
+                .setDescription("Number of threads used by dbDoc to write the table, column, author and changelog pages. Set to 1 or less to write them one at a time.")
+                .setDefaultValue(1)
+                .build();
+
+        DBDOC_INCREMENTAL = builder.define("dbdocIncremental", Boolean.class)
+                .setDescription("Should dbDoc only rewrite pages whose content changed since the previous run into the same output directory? " +
+                        "The content of each page is tracked in dbdoc-manifest.properties in the output directory.")
+                .setDefaultValue(false)
+                .build();
+
+        CHANGESET_LOG_BUFFER_SIZE = builder.define("changesetLogBufferSize", Integer.class)
+                .setDescription("Maximum number of log messages kept for each changeset, and for the whole operation, when the log is captured to send to Liquibase Hub. " +
+                        "When more is logged, the oldest messages are discarded. Zero or less keeps all messages.")
+                .setDefaultValue(10000)
+                .build();
+
         FILTER_LOG_MESSAGES = builder.define("filterLogMessages", Boolean.class)
                 .setDescription("DEPRECATED: No longer used")
                 .setCommonlyUsed(false)
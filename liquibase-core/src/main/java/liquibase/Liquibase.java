@@ -15,6 +15,7 @@ import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.DatabaseFactory;
 import liquibase.database.ObjectQuotingStrategy;
+import liquibase.database.SavedDatabaseState;
 import liquibase.diff.DiffGeneratorFactory;
 import liquibase.diff.DiffResult;
 import liquibase.diff.compare.CompareControl;
@@ -23,9 +24,11 @@ import liquibase.exception.CommandExecutionException;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.LockException;
+import liquibase.exception.RollbackFailedException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
+import liquibase.executor.PrerenderedSql;
 import liquibase.hub.*;
 import liquibase.hub.listener.HubChangeExecListener;
 import liquibase.hub.model.Connection;
@@ -49,6 +52,7 @@ import liquibase.resource.PathHandlerFactory;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
 import liquibase.serializer.ChangeLogSerializer;
+import liquibase.snapshot.SchemaFingerprint;
 import liquibase.structure.DatabaseObject;
 import liquibase.util.*;
 
@@ -674,7 +678,7 @@ public class Liquibase implements AutoCloseable {
 
                 Operation rollbackOperation = null;
                 final String operationCommand = "rollback-count";
-                BufferedLogService bufferLog = new BufferedLogService();
+                BufferedLogService bufferLog = null;
                 DatabaseChangeLog changeLog = null;
                 Date startTime = new Date();
                 HubUpdater hubUpdater = null;
@@ -708,6 +712,7 @@ public class Liquibase implements AutoCloseable {
                     Connection connection = getConnection(changeLog);
                     if (connection != null) {
                         rollbackOperation = hubUpdater.preUpdateHub("ROLLBACK", operationCommand, connection, changeLogFile, contexts, labelExpression, listLogIterator);
+                        bufferLog = HubUpdater.createOperationLogBuffer();
                     }
 
                     //
@@ -745,18 +750,24 @@ public class Liquibase implements AutoCloseable {
      * logIterator.
      */
     private void doRollback(BufferedLogService bufferLog, String rollbackScript, ChangeLogIterator logIterator, Contexts contexts, LabelExpression labelExpression, HubUpdater hubUpdater, Operation rollbackOperation) throws Exception {
-        CompositeLogService compositeLogService = new CompositeLogService(true, bufferLog);
         if (rollbackScript == null) {
             List<ChangesetsRolledback.ChangeSet> processedChangesets = new ArrayList<>();
-            Scope.child(Scope.Attr.logService.name(), compositeLogService, () -> {
-                logIterator.run(createRollbackVisitor(processedChangesets), new RuntimeEnvironment(database, contexts, labelExpression));
+            Map<String, Object> values = new HashMap<>();
+            if (bufferLog != null) {
+                values.put(Scope.Attr.logService.name(), new CompositeLogService(true, bufferLog));
+                values.put(ChangeLogIterator.CAPTURE_CHANGE_SET_LOGS_SCOPE_KEY, true);
+            }
+            Scope.child(values, () -> {
+                runRollbackPlan(logIterator, createRollbackVisitor(processedChangesets), contexts, labelExpression);
             });
             Scope.getCurrentScope().addMdcValue(MdcKey.CHANGESETS_ROLLED_BACK, new ChangesetsRolledback(processedChangesets), false);
         } else {
             List<ChangeSet> changeSets = determineRollbacks(logIterator, contexts, labelExpression);
             Map<String, Object> values = new HashMap<>();
-            values.put(Scope.Attr.logService.name(), compositeLogService);
-            values.put(BufferedLogService.class.getName(), bufferLog);
+            if (bufferLog != null) {
+                values.put(Scope.Attr.logService.name(), new CompositeLogService(true, bufferLog));
+                values.put(BufferedLogService.class.getName(), bufferLog);
+            }
             Scope.child(values, () -> {
                 executeRollbackScript(rollbackScript, changeSets, contexts, labelExpression);
             });
@@ -769,6 +780,56 @@ public class Liquibase implements AutoCloseable {
         }
     }
 
+    /**
+     * Rolls back the changesets selected by the logIterator in two phases. First the rollback of every changeset is planned, generating
+     * the statements and SQL ahead of time if {@link GlobalConfiguration#ROLLBACK_PLAN_THREADS} is more than 1. If any changeset cannot be rolled back,
+     * this fails with all of them listed before anything is rolled back. Then the plan is run with the given visitor.
+     */
+    private void runRollbackPlan(ChangeLogIterator logIterator, RollbackVisitor rollbackVisitor, Contexts contexts, LabelExpression labelExpression)
+            throws LiquibaseException {
+        List<ChangeSet> changeSets = determineRollbacks(logIterator, contexts, labelExpression);
+        PrerenderedSql rollbackPlan = planRollback(changeSets);
+
+        Set<ChangeSet> plannedChangeSets = Collections.newSetFromMap(new IdentityHashMap<>());
+        plannedChangeSets.addAll(changeSets);
+        ChangeLogIterator planIterator = new ChangeLogIterator(logIterator.getDatabaseChangeLog(),
+                changeSet -> new ChangeSetFilterResult(plannedChangeSets.contains(changeSet), "Changeset is in the rollback plan", null));
+        try {
+            Scope.child(PrerenderedSql.SCOPE_KEY, rollbackPlan, () ->
+                    planIterator.run(rollbackVisitor, new RuntimeEnvironment(database, contexts, labelExpression)));
+        } catch (LiquibaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseException(e);
+        }
+    }
+
+    /**
+     * Checks the rollback of the given changesets, generating it ahead of time if {@link GlobalConfiguration#ROLLBACK_PLAN_THREADS} is more than 1.
+     *
+     * @throws RollbackFailedException if any of the changesets cannot be rolled back
+     */
+    protected PrerenderedSql planRollback(List<ChangeSet> changeSets) throws LiquibaseException {
+        PrerenderedSql rollbackPlan;
+        try {
+            rollbackPlan = PrerenderedSql.renderRollbacks(changeSets, database, GlobalConfiguration.ROLLBACK_PLAN_THREADS.getCurrentValue());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LiquibaseException(e);
+        }
+
+        Map<ChangeSet, String> impossibleRollbacks = rollbackPlan.getImpossibleRollbacks();
+        if (!impossibleRollbacks.isEmpty()) {
+            StringBuilder message = new StringBuilder("Cannot roll back ").append(impossibleRollbacks.size())
+                    .append(" of ").append(changeSets.size()).append(" changesets. Nothing was rolled back:");
+            for (Map.Entry<ChangeSet, String> entry : impossibleRollbacks.entrySet()) {
+                message.append("\n     ").append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+            throw new RollbackFailedException(message.toString());
+        }
+        return rollbackPlan;
+    }
+
     private List<ChangeSet> determineRollbacks(ChangeLogIterator logIterator, Contexts contexts, LabelExpression labelExpression)
             throws LiquibaseException {
         List<ChangeSet> changeSetsToRollback = new ArrayList<>();
@@ -957,7 +1018,7 @@ public class Liquibase implements AutoCloseable {
 
                 Operation rollbackOperation = null;
                 final String operationCommand = "rollback";
-                BufferedLogService bufferLog = new BufferedLogService();
+                BufferedLogService bufferLog = null;
                 DatabaseChangeLog changeLog = null;
                 Date startTime = new Date();
                 HubUpdater hubUpdater = null;
@@ -994,6 +1055,7 @@ public class Liquibase implements AutoCloseable {
                     Connection connection = getConnection(changeLog);
                     if (connection != null) {
                         rollbackOperation = hubUpdater.preUpdateHub("ROLLBACK", operationCommand, connection, changeLogFile, contexts, labelExpression, listLogIterator);
+                        bufferLog = HubUpdater.createOperationLogBuffer();
                     }
 
                     //
@@ -1108,7 +1170,7 @@ public class Liquibase implements AutoCloseable {
 
                 Operation rollbackOperation = null;
                 final String operationCommand = "rollback-to-date";
-                BufferedLogService bufferLog = new BufferedLogService();
+                BufferedLogService bufferLog = null;
                 DatabaseChangeLog changeLog = null;
                 Date startTime = new Date();
                 HubUpdater hubUpdater = null;
@@ -1143,6 +1205,7 @@ public class Liquibase implements AutoCloseable {
                     Connection connection = getConnection(changeLog);
                     if (connection != null) {
                         rollbackOperation = hubUpdater.preUpdateHub("ROLLBACK", operationCommand, connection, changeLogFile, contexts, labelExpression, listLogIterator);
+                        bufferLog = HubUpdater.createOperationLogBuffer();
                     }
 
                     //
@@ -1494,9 +1557,7 @@ public class Liquibase implements AutoCloseable {
                             ));
                 }
 
-                logIterator.run(createRollbackVisitor(),
-                        new RuntimeEnvironment(database, contexts, labelExpression)
-                );
+                runRollbackPlan(logIterator, createRollbackVisitor(), contexts, labelExpression);
             } finally {
                 try {
                     lockService.releaseLock();
@@ -1597,11 +1658,49 @@ public class Liquibase implements AutoCloseable {
         changeLogParameters.setLabels(labelExpression);
 
         Date baseDate = new Date();
+        if (GlobalConfiguration.UPDATE_TESTING_ROLLBACK_FAST.getCurrentValue()) {
+            updateTestingRollbackFast(tag, baseDate, contexts, labelExpression);
+            return;
+        }
         update(tag, contexts, labelExpression);
         rollback(baseDate, null, contexts, labelExpression);
         update(tag, contexts, labelExpression);
     }
 
+    /**
+     * Checks the rollback by comparing a {@link SchemaFingerprint} of the default schema from before the update with one from after the rollback.
+     * If the database can save its state, the updated database is then put back from a copy taken after the update instead of running the update again.
+     * <p>
+     * The fingerprint only covers the tables and views of the default schema, with their columns, keys, indexes and constraints. A rollback that
+     * leaves behind or removes sequences, stored procedures, triggers, data, or objects in other schemas is not detected, which is why this is only
+     * used when {@link GlobalConfiguration#UPDATE_TESTING_ROLLBACK_FAST} is set.
+     */
+    private void updateTestingRollbackFast(String tag, Date baseDate, Contexts contexts, LabelExpression labelExpression) throws LiquibaseException {
+        Scope.getCurrentScope().getLog(getClass()).warning("updateTestingRollbackFast only compares the tables and views of the default schema. " +
+                "Rollbacks of sequences, stored procedures, triggers, data and other schemas are not checked.");
+        CatalogAndSchema schema = new CatalogAndSchema(database.getDefaultCatalogName(), database.getDefaultSchemaName());
+        SchemaFingerprint before = SchemaFingerprint.compute(database, schema);
+
+        update(tag, contexts, labelExpression);
+        try (SavedDatabaseState updatedState = database.saveState()) {
+            rollback(baseDate, null, contexts, labelExpression);
+            SchemaFingerprint afterRollback = SchemaFingerprint.compute(database, schema);
+            if (!afterRollback.equals(before)) {
+                throw new RollbackFailedException("Rolling back did not return the schema to the state it had before the update: " +
+                        StringUtil.join(afterRollback.getDifferences(before), ", "));
+            }
+
+            if (updatedState == null) {
+                update(tag, contexts, labelExpression);
+            } else {
+                long started = System.currentTimeMillis();
+                updatedState.restore();
+                resetServices();
+                Scope.getCurrentScope().getLog(getClass()).info("Restored the updated database in " + (System.currentTimeMillis() - started) + " ms instead of updating it again");
+            }
+        }
+    }
+
     public void checkLiquibaseTables(boolean updateExistingNullChecksums, DatabaseChangeLog databaseChangeLog,
                                      Contexts contexts, LabelExpression labelExpression) throws LiquibaseException {
         ChangeLogHistoryService changeLogHistoryService =
@@ -246,6 +246,25 @@ public class Scope {
         scopeManager.setCurrentScope(currentScope.getParent());
     }
 
+    /**
+     * Runs the given runner with the given scope as the current scope, then goes back to the scope that was current before.
+     * This lets work handed to another thread see the scope of the thread that is waiting for it when each thread has its own scope,
+     * such as with {@link ThreadLocalScopeManager}. If the given scope is already the current scope, which is always the case while the
+     * waiting thread is blocked with a scope manager that shares the scope between threads, the runner is simply run.
+     */
+    public static <T> T runInScope(Scope scope, ScopedRunnerWithReturn<T> runner) throws Exception {
+        Scope originalScope = getCurrentScope();
+        if (originalScope == scope) {
+            return runner.run();
+        }
+        scopeManager.setCurrentScope(scope);
+        try {
+            return runner.run();
+        } finally {
+            scopeManager.setCurrentScope(originalScope);
+        }
+    }
+
     /**
      * Creates a new scope that is a child of this scope.
      */
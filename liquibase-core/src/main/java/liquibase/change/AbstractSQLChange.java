@@ -7,12 +7,15 @@ import liquibase.database.Database;
 import liquibase.database.core.Db2zDatabase;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
 import liquibase.exception.Warnings;
+import liquibase.sql.visitor.SqlVisitor;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.RawCompoundStatement;
 import liquibase.statement.core.RawSqlStatement;
+import liquibase.util.SqlStatementSplitter;
 import liquibase.util.StringUtil;
 
 import java.io.*;
@@ -239,27 +242,71 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
             return returnStatements.toArray(EMPTY_SQL_STATEMENT);
         }
         for (String statement : StringUtil.processMultiLineSQL(processedSQL, isStripComments(), isSplitStatements(), getEndDelimiter())) {
-            if (database instanceof MSSQLDatabase) {
-                statement = statement.replaceAll("\\n", "\r\n");
-            }
+            returnStatements.add(createSqlStatement(statement, database));
+        }
 
-            String escapedStatement = statement;
-            try {
-                if (database.getConnection() != null) {
-                    escapedStatement = database.getConnection().nativeSQL(statement);
-                }
-            } catch (DatabaseException e) {
-                escapedStatement = statement;
+        return returnStatements.toArray(EMPTY_SQL_STATEMENT);
+    }
+
+    /**
+     * Returns true if {@link #executeStreamingStatements(Database, List)} should be used to execute this change
+     * instead of executing the statements from {@link #generateStatements(Database)}.
+     * Streaming avoids holding the entire SQL and all its statements in memory, which matters for very large sources.
+     * Defaults to false.
+     */
+    public boolean supportsStatementStreaming(Database database) {
+        return false;
+    }
+
+    /**
+     * Executes the same statements {@link #generateStatements(Database)} would return, but splits them out of {@link #openSqlReader()}
+     * one at a time and executes each one before reading the next.
+     */
+    public void executeStreamingStatements(Database database, List<SqlVisitor> sqlVisitors) throws LiquibaseException {
+        try (Reader sqlReader = openSqlReader()) {
+            if (sqlReader == null) {
+                return;
+            }
+            SqlStatementSplitter splitter = new SqlStatementSplitter(new NormalizingReader(sqlReader), isStripComments(), isSplitStatements(), getEndDelimiter());
+            while (splitter.hasNext()) {
+                database.execute(new SqlStatement[]{createSqlStatement(splitter.next(), database)}, sqlVisitors);
             }
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
 
-            if (database instanceof Db2zDatabase && escapedStatement.toUpperCase().startsWith("CALL")) {
-                returnStatements.add(new RawCompoundStatement(escapedStatement, getEndDelimiter()));
-            } else {
-                returnStatements.add(new RawSqlStatement(escapedStatement, getEndDelimiter()));
+    /**
+     * Returns the SQL for {@link #executeStreamingStatements(Database, List)}, or null if there is none.
+     * The default implementation reads {@link #getSql()}. Subclasses with large sources should override this to read them incrementally.
+     */
+    protected Reader openSqlReader() throws IOException {
+        String sql = getSql();
+        if (sql == null) {
+            return null;
+        }
+        return new StringReader(sql);
+    }
+
+    private SqlStatement createSqlStatement(String statement, Database database) {
+        if (database instanceof MSSQLDatabase) {
+            statement = statement.replaceAll("\\n", "\r\n");
+        }
+
+        String escapedStatement = statement;
+        try {
+            if (database.getConnection() != null) {
+                escapedStatement = database.getConnection().nativeSQL(statement);
             }
+        } catch (DatabaseException e) {
+            escapedStatement = statement;
         }
 
-        return returnStatements.toArray(EMPTY_SQL_STATEMENT);
+        if (database instanceof Db2zDatabase && escapedStatement.toUpperCase().startsWith("CALL")) {
+            return new RawCompoundStatement(escapedStatement, getEndDelimiter());
+        } else {
+            return new RawSqlStatement(escapedStatement, getEndDelimiter());
+        }
     }
 
     @Override
@@ -281,19 +328,72 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
         return string.replace("\r", "");
     }
 
+    /**
+     * Applies the same trimming and line ending normalization to a reader that {@link #generateStatements(Database)} applies to the sql string:
+     * leading whitespace is skipped and carriage returns are removed. Trailing whitespace does not need to be removed since the splitter trims statements.
+     */
+    private static class NormalizingReader extends FilterReader {
+        private boolean seenNonSpace;
+
+        private NormalizingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            char[] buffer = new char[1];
+            int read = read(buffer, 0, 1);
+            return read == -1 ? -1 : buffer[0];
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            while (true) {
+                int read = super.read(buffer, offset, length);
+                if (read <= 0) {
+                    return read;
+                }
+
+                int written = offset;
+                for (int i = offset; i < offset + read; i++) {
+                    char c = buffer[i];
+                    if (c == '\r' || (!seenNonSpace && c <= ' ')) {
+                        continue;
+                    }
+                    seenNonSpace = true;
+                    buffer[written++] = c;
+                }
+                if (written > offset) {
+                    return written - offset;
+                }
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            throw new IOException("skip not supported");
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
     public static class NormalizingStream extends InputStream {
         private ByteArrayInputStream headerStream;
         private PushbackInputStream stream;
 
         private byte[] quickBuffer = new byte[100];
-        private List<Byte> resizingBuffer = new ArrayList<>();
+        private ByteArrayOutputStream resizingBuffer = new ByteArrayOutputStream();
 
 
         private int lastChar = 'X';
         private boolean seenNonSpace;
 
         public NormalizingStream(String endDelimiter, Boolean splitStatements, Boolean stripComments, InputStream stream) {
-            this.stream = new PushbackInputStream(stream, 2048);
+            //buffer the underlying stream since this class reads it a byte at a time
+            this.stream = new PushbackInputStream(new BufferedInputStream(stream), 2048);
             try {
                 this.headerStream = new ByteArrayInputStream((endDelimiter+":"+splitStatements+":"+stripComments+":").getBytes(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
             } catch (UnsupportedEncodingException e) {
@@ -361,7 +461,7 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
                 while (true) {
                     byte read = (byte) stream.read();
                     if (quickBufferUsed >= quickBuffer.length) {
-                        resizingBuffer.add(read);
+                        resizingBuffer.write(read);
                     } else {
                         quickBuffer[quickBufferUsed++] = read;
                     }
@@ -370,14 +470,8 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
                         return true;
                     }
                     if (!isWhiteSpace(read)) {
-                        if (!resizingBuffer.isEmpty()) {
-
-                            byte[] buf = new byte[resizingBuffer.size()];
-                            for (int i=0; i< resizingBuffer.size(); i++) {
-                                buf[i] = resizingBuffer.get(i);
-                            }
-
-                            stream.unread(buf);
+                        if (resizingBuffer.size() > 0) {
+                            stream.unread(resizingBuffer.toByteArray());
                         }
 
                         stream.unread(quickBuffer, 0, quickBufferUsed);
@@ -385,7 +479,7 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
                     }
                 }
             } finally {
-                resizingBuffer.clear();
+                resizingBuffer.reset();
             }
         }
 
@@ -3,6 +3,7 @@ package liquibase.change;
 import liquibase.util.MD5Util;
 import liquibase.util.StringUtil;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.Normalizer;
@@ -83,25 +84,7 @@ public final class CheckSum {
     public static CheckSum compute(final InputStream stream, boolean standardizeLineEndings) {
         InputStream newStream = stream;
         if (standardizeLineEndings) {
-            newStream = new InputStream() {
-                private boolean isPrevR = false;
-
-                @Override
-                public int read() throws IOException {
-                    int read = stream.read();
-
-                    if (read == '\r') {
-                        isPrevR = true;
-                        return '\n';
-                    } else if (read == '\n' && isPrevR) {
-                        isPrevR = false;
-                        return read();
-                    } else {
-                        isPrevR = false;
-                        return read;
-                    }
-                }
-            };
+            newStream = new LineEndingStandardizingInputStream(stream);
         }
 
         return new CheckSum(MD5Util.computeMD5(newStream), getCurrentVersion());
@@ -128,4 +111,64 @@ public final class CheckSum {
     public boolean equals(Object obj) {
         return (obj instanceof CheckSum) && this.toString().equals(obj.toString());
     }
+
+    /**
+     * Converts \r\n and \r to \n. Supports reading blocks of bytes so large streams are not digested a byte at a time.
+     */
+    private static class LineEndingStandardizingInputStream extends FilterInputStream {
+        private boolean isPrevR = false;
+
+        private LineEndingStandardizingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (true) {
+                int read = in.read();
+                if (read == '\n' && isPrevR) {
+                    isPrevR = false;
+                    continue;
+                }
+
+                isPrevR = (read == '\r');
+                return isPrevR ? '\n' : read;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            while (true) {
+                int read = in.read(buffer, offset, length);
+                if (read <= 0) {
+                    return read;
+                }
+
+                int written = offset;
+                for (int i = offset; i < offset + read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n' && isPrevR) {
+                        isPrevR = false;
+                        continue;
+                    }
+
+                    isPrevR = (b == '\r');
+                    buffer[written++] = isPrevR ? (byte) '\n' : b;
+                }
+                if (written > offset) {
+                    return written - offset;
+                }
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            throw new IOException("skip not supported");
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
 }
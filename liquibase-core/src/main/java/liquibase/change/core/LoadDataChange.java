@@ -2,8 +2,11 @@ package liquibase.change.core;
 
 import com.opencsv.exceptions.CsvMalformedLineException;
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.change.*;
+import liquibase.change.core.loaddata.LoadDataBulkLoader;
+import liquibase.change.core.loaddata.LoadDataBulkLoaderFactory;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
@@ -111,6 +114,13 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         return true;
     }
 
+    /**
+     * Returns true if the rows can be loaded by a {@link LoadDataBulkLoader} when {@link GlobalConfiguration#LOAD_DATA_BULK_LOAD} is enabled.
+     */
+    protected boolean hasBulkLoadImplemented() {
+        return true;
+    }
+
     @Override
     public boolean supports(Database database) {
         return true;
@@ -825,7 +835,52 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
 
+    /**
+     * Returns an {@link InsertSetStatement} for the given rows, built with {@link #createStatement(String, String, String)} and
+     * {@link #createStatementSet(String, String, String)} the same way as the standard statements, for {@link LoadDataBulkLoader}s that
+     * insert many rows per statement. The rows must not need prepared statements.
+     */
+    public InsertSetStatement createInsertSetStatement(List<LoadDataRowConfig> rows) {
+        InsertSetStatement statementSet = this.createStatementSet(getCatalogName(), getSchemaName(), getTableName());
+        for (LoadDataRowConfig row : rows) {
+            statementSet.addInsertStatement(createInsertStatement(row.getColumns()));
+        }
+        return statementSet;
+    }
+
+    private InsertStatement createInsertStatement(List<LoadDataColumnConfig> columnsFromCsv) {
+        InsertStatement insertStatement =
+                this.createStatement(getCatalogName(), getSchemaName(), getTableName());
+
+        for (LoadDataColumnConfig column : columnsFromCsv) {
+            String columnName = column.getName();
+            Object value = column.getValueObject();
+
+            if (value == null) {
+                value = "NULL";
+            }
+
+            insertStatement.addColumnValue(columnName, value);
+
+            if (insertStatement instanceof InsertOrUpdateStatement) {
+                ((InsertOrUpdateStatement) insertStatement).setAllowColumnUpdate(columnName, column.getAllowUpdate() == null || column.getAllowUpdate());
+            }
+        }
+        return insertStatement;
+    }
+
     protected SqlStatement[] generateStatementsFromRows(Database database, List<LoadDataRowConfig> rows) {
+        //an explicit usePreparedStatements=true is respected, bulk loaders do not use prepared statements
+        if (hasBulkLoadImplemented() && !Boolean.TRUE.equals(usePreparedStatements) && !rows.isEmpty()
+                && GlobalConfiguration.LOAD_DATA_BULK_LOAD.getCurrentValue()) {
+            for (LoadDataBulkLoader bulkLoader : Scope.getCurrentScope().getSingleton(LoadDataBulkLoaderFactory.class).getBulkLoaders(database)) {
+                SqlStatement[] bulkStatements = bulkLoader.generateStatements(this, database, rows);
+                if (bulkStatements != null) {
+                    return bulkStatements;
+                }
+            }
+        }
+
         List<SqlStatement> statements = new ArrayList<>();
         List<ExecutablePreparedStatementBase> preparedStatements = new ArrayList<>();
 
@@ -839,25 +894,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                         );
                 preparedStatements.add(stmt);
             } else {
-                InsertStatement insertStatement =
-                        this.createStatement(getCatalogName(), getSchemaName(), getTableName());
-
-                for (LoadDataColumnConfig column : columnsFromCsv) {
-                    String columnName = column.getName();
-                    Object value = column.getValueObject();
-
-                    if (value == null) {
-                        value = "NULL";
-                    }
-
-                    insertStatement.addColumnValue(columnName, value);
-
-                    if (insertStatement instanceof InsertOrUpdateStatement) {
-                        ((InsertOrUpdateStatement) insertStatement).setAllowColumnUpdate(columnName, column.getAllowUpdate() == null || column.getAllowUpdate());
-                    }
-                }
-
-                statements.add(insertStatement);
+                statements.add(createInsertStatement(columnsFromCsv));
             }
         }
         if (rows.stream().anyMatch(LoadDataRowConfig::needsPreparedStatement)) {
@@ -914,7 +951,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         BOOLEAN, NUMERIC, DATE, STRING, COMPUTED, SEQUENCE, BLOB, CLOB, SKIP, UUID, OTHER, UNKNOWN
     }
 
-    protected static class LoadDataRowConfig {
+    public static class LoadDataRowConfig {
 
         private final boolean needsPreparedStatement;
         private final List<LoadDataColumnConfig> columns;
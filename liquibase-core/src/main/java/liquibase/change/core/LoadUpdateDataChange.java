@@ -1,24 +1,42 @@
 package liquibase.change.core;
 
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
 import liquibase.change.ChangeMetaData;
 import liquibase.change.ChangeStatus;
 import liquibase.change.DatabaseChange;
 import liquibase.change.DatabaseChangeProperty;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
+import liquibase.database.core.DB2Database;
+import liquibase.database.core.DerbyDatabase;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.SybaseASADatabase;
+import liquibase.database.core.SybaseDatabase;
 import liquibase.datatype.DataTypeFactory;
 import liquibase.exception.RollbackImpossibleException;
+import liquibase.exception.ValidationErrors;
 import liquibase.resource.ResourceAccessor;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.DeleteStatement;
+import liquibase.statement.core.DropTableStatement;
+import liquibase.statement.core.InsertOrUpdateSetStatement;
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.core.Table;
 import liquibase.util.StringUtil;
+import liquibase.util.csv.CSVReader;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static liquibase.change.ChangeParameterMetaData.ALL;
 
@@ -32,10 +50,20 @@ import static liquibase.change.ChangeParameterMetaData.ALL;
 public class LoadUpdateDataChange extends LoadDataChange {
     private String primaryKey;
     private Boolean onlyUpdate = Boolean.FALSE;
+    private Boolean deleteMissing;
+
+    /**
+     * The largest number of primary keys listed in the DELETE of {@link #getDeleteMissing()} before a staging table is used instead.
+     * Some databases limit IN lists to 1000 values.
+     */
+    static final int MAX_INLINE_DELETE_KEYS = 1000;
 
     @Override
     protected boolean hasPreparedStatementsImplemented() { return false; }
 
+    @Override
+    protected boolean hasBulkLoadImplemented() { return false; }
+
     @Override
     @DatabaseChangeProperty(description = "Name of the table to insert or update data in", requiredForDatabase = ALL)
     public String getTableName() {
@@ -65,6 +93,16 @@ public class LoadUpdateDataChange extends LoadDataChange {
         this.onlyUpdate = ((onlyUpdate == null) ? Boolean.FALSE : onlyUpdate);
     }
 
+    @DatabaseChangeProperty(description = "If true, records in the table whose primary key is not in the file are deleted. " +
+            "Changes with this set cannot be rolled back automatically", supportsDatabase = ALL)
+    public Boolean getDeleteMissing() {
+        return deleteMissing;
+    }
+
+    public void setDeleteMissing(Boolean deleteMissing) {
+        this.deleteMissing = deleteMissing;
+    }
+
     /**
      * Creates a {@link liquibase.statement.core.InsertOrUpdateStatement} statement object for the specified table
      * @param catalogName name of the catalog where the table exists
@@ -86,8 +124,237 @@ public class LoadUpdateDataChange extends LoadDataChange {
                 "LoadUpdateDataChange yet . Very sorry.");
     }
 
+    /**
+     * Generates the {@link InsertOrUpdateStatement}s for the rows. If {@link GlobalConfiguration#LOAD_UPDATE_DATA_SET_BASED} is enabled
+     * and the database supports it, they are combined into an {@link InsertOrUpdateSetStatement}.
+     * If {@link #getDeleteMissing()} is set, the statements deleting all rows with other primary keys are added at the end.
+     */
+    @Override
+    protected SqlStatement[] generateStatementsFromRows(Database database, List<LoadDataRowConfig> rows) {
+        SqlStatement[] statements = super.generateStatementsFromRows(database, rows);
+
+        List<InsertOrUpdateStatement> insertOrUpdateStatements = new ArrayList<>();
+        for (SqlStatement statement : statements) {
+            if (statement instanceof InsertOrUpdateStatement) {
+                insertOrUpdateStatements.add((InsertOrUpdateStatement) statement);
+            }
+        }
+
+        if (GlobalConfiguration.LOAD_UPDATE_DATA_SET_BASED.getCurrentValue() && (statements.length > 1)
+                && (insertOrUpdateStatements.size() == statements.length)) {
+            InsertOrUpdateSetStatement setStatement = new InsertOrUpdateSetStatement(getCatalogName(), getSchemaName(), getTableName(),
+                    getPrimaryKey(), getOnlyUpdate(), GlobalConfiguration.LOAD_DATA_BULK_LOAD_ROWS.getCurrentValue());
+            for (InsertOrUpdateStatement statement : insertOrUpdateStatements) {
+                setStatement.addStatement(statement);
+            }
+            if (SqlGeneratorFactory.getInstance().supports(setStatement, database)) {
+                statements = new SqlStatement[]{setStatement};
+            }
+        }
+
+        if (Boolean.TRUE.equals(getDeleteMissing())) {
+            List<SqlStatement> withDelete = new ArrayList<>(Arrays.asList(statements));
+            withDelete.addAll(createDeleteMissingStatements(insertOrUpdateStatements, database));
+            statements = withDelete.toArray(SqlStatement.EMPTY_SQL_STATEMENT);
+        }
+        return statements;
+    }
+
+    /**
+     * Creates the statements that delete all rows whose primary key does not match any of the given statements.
+     * Rows with a NULL in a primary key column never match, so they are left out of the comparison. If no row has a complete primary key,
+     * nothing is deleted rather than emptying the table.
+     * <p>
+     * Up to {@link #MAX_INLINE_DELETE_KEYS} keys are listed in the DELETE itself. More keys are inserted into a staging table with the same
+     * primary key columns, which the DELETE is compared against and which is dropped afterwards, so the statement size does not grow with the file.
+     */
+    private List<SqlStatement> createDeleteMissingStatements(List<InsertOrUpdateStatement> statements, Database database) {
+        List<String> pkColumns = getPrimaryKeyColumns();
+
+        List<List<Object>> keys = new ArrayList<>();
+        for (InsertOrUpdateStatement statement : statements) {
+            List<Object> key = new ArrayList<>();
+            for (String pkColumn : pkColumns) {
+                Object value = getColumnValueIgnoreCase(statement, pkColumn);
+                if ((value == null) || StringUtil.equalsWordNull(value.toString())) {
+                    key = null;
+                    break;
+                }
+                key.add(value);
+            }
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            Scope.getCurrentScope().getLog(getClass()).warning("No row in " + getFile() + " has a value for every primaryKey column, " +
+                    "so deleteMissing does not delete any rows from " + getTableName());
+            return new ArrayList<>();
+        }
+
+        if (keys.size() <= MAX_INLINE_DELETE_KEYS) {
+            DeleteStatement delete = new DeleteStatement(getCatalogName(), getSchemaName(), getTableName());
+            delete.setWhere(getInlineDeleteMissingWhere(pkColumns, keys, database));
+            return new ArrayList<>(Collections.singletonList(delete));
+        }
+        return createStagedDeleteMissingStatements(pkColumns, keys, database);
+    }
+
+    private String getInlineDeleteMissingWhere(List<String> pkColumns, List<List<Object>> keys, Database database) {
+        StringBuilder where = new StringBuilder();
+        if (pkColumns.size() == 1) {
+            where.append(database.escapeColumnName(getCatalogName(), getSchemaName(), getTableName(), pkColumns.get(0))).append(" NOT IN (");
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    where.append(", ");
+                }
+                where.append(toSql(keys.get(i).get(0), database));
+            }
+            where.append(")");
+        } else {
+            where.append("NOT (");
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    where.append(" OR ");
+                }
+                where.append("(");
+                for (int j = 0; j < pkColumns.size(); j++) {
+                    if (j > 0) {
+                        where.append(" AND ");
+                    }
+                    where.append(database.escapeColumnName(getCatalogName(), getSchemaName(), getTableName(), pkColumns.get(j)))
+                            .append(" = ").append(toSql(keys.get(i).get(j), database));
+                }
+                where.append(")");
+            }
+            where.append(")");
+        }
+        return where.toString();
+    }
+
+    private List<SqlStatement> createStagedDeleteMissingStatements(List<String> pkColumns, List<List<Object>> keys, Database database) {
+        String stagingTable = database.correctObjectName("LB_KEYS_" + Integer.toHexString((getTableName() + ":" + getPrimaryKey()).hashCode() & Integer.MAX_VALUE), Table.class);
+        String escapedTable = database.escapeTableName(getCatalogName(), getSchemaName(), getTableName());
+        String escapedStagingTable = database.escapeTableName(getCatalogName(), getSchemaName(), stagingTable);
+
+        List<String> escapedColumns = new ArrayList<>();
+        for (String pkColumn : pkColumns) {
+            escapedColumns.add(database.escapeColumnName(getCatalogName(), getSchemaName(), getTableName(), pkColumn));
+        }
+        String columnList = StringUtil.join(escapedColumns, ", ");
+
+        List<SqlStatement> statements = new ArrayList<>();
+        //the staging table copies the primary key column types from the table, so the comparison does not depend on how the file was typed
+        if ((database instanceof MSSQLDatabase) || (database instanceof SybaseDatabase) || (database instanceof SybaseASADatabase)) {
+            statements.add(new RawSqlStatement("SELECT " + columnList + " INTO " + escapedStagingTable + " FROM " + escapedTable + " WHERE 1=0"));
+        } else if ((database instanceof DerbyDatabase) || (database instanceof DB2Database) || (database instanceof HsqlDatabase)) {
+            statements.add(new RawSqlStatement("CREATE TABLE " + escapedStagingTable + " AS (SELECT " + columnList + " FROM " + escapedTable + ") WITH NO DATA"));
+        } else {
+            statements.add(new RawSqlStatement("CREATE TABLE " + escapedStagingTable + " AS SELECT " + columnList + " FROM " + escapedTable + " WHERE 1=0"));
+        }
+
+        for (List<Object> key : keys) {
+            InsertStatement insert = new InsertStatement(getCatalogName(), getSchemaName(), stagingTable);
+            for (int i = 0; i < pkColumns.size(); i++) {
+                insert.addColumnValue(pkColumns.get(i), key.get(i));
+            }
+            statements.add(insert);
+        }
+
+        StringBuilder where = new StringBuilder("NOT EXISTS (SELECT 1 FROM ").append(escapedStagingTable).append(" WHERE ");
+        for (int i = 0; i < escapedColumns.size(); i++) {
+            if (i > 0) {
+                where.append(" AND ");
+            }
+            where.append(escapedStagingTable).append(".").append(escapedColumns.get(i))
+                    .append(" = ").append(escapedTable).append(".").append(escapedColumns.get(i));
+        }
+        where.append(")");
+        DeleteStatement delete = new DeleteStatement(getCatalogName(), getSchemaName(), getTableName());
+        delete.setWhere(where.toString());
+        statements.add(delete);
+
+        statements.add(new DropTableStatement(getCatalogName(), getSchemaName(), stagingTable, false));
+        return statements;
+    }
+
+    private static String toSql(Object value, Database database) {
+        return DataTypeFactory.getInstance().fromObject(value, database).objectToSql(value, database);
+    }
+
+    private List<String> getPrimaryKeyColumns() {
+        List<String> pkColumns = new ArrayList<>();
+        for (String pkColumn : getPrimaryKey().split(",")) {
+            pkColumns.add(pkColumn.trim());
+        }
+        return pkColumns;
+    }
+
+    /**
+     * Returns the value of the given column, matching its name case-insensitively the same way the CSV header is matched to the column configs.
+     */
+    private static Object getColumnValueIgnoreCase(InsertOrUpdateStatement statement, String columnName) {
+        if (statement.getColumnValues().containsKey(columnName)) {
+            return statement.getColumnValue(columnName);
+        }
+        for (Map.Entry<String, Object> entry : statement.getColumnValues().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(columnName)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * With {@link #getDeleteMissing()} set, also checks that every primaryKey column is in the CSV file. Otherwise no row would have a primary key
+     * to compare against.
+     */
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors validationErrors = super.validate(database);
+        if (!Boolean.TRUE.equals(getDeleteMissing()) || (getPrimaryKey() == null) || (getFile() == null)) {
+            return validationErrors;
+        }
+
+        String[] headers;
+        try (CSVReader reader = getCSVReader()) {
+            headers = (reader == null) ? null : reader.readNext();
+        } catch (Exception e) {
+            //problems reading the file are reported when the statements are generated
+            return validationErrors;
+        }
+        if (headers == null) {
+            return validationErrors;
+        }
+
+        List<String> fileColumns = new ArrayList<>();
+        for (int i = 0; i < headers.length; i++) {
+            String columnName = headers[i].trim();
+            LoadDataColumnConfig columnConfig = getColumnConfig(i, columnName);
+            if (columnConfig != null) {
+                if ("skip".equalsIgnoreCase(columnConfig.getType())) {
+                    continue;
+                }
+                if (columnConfig.getName() != null) {
+                    columnName = columnConfig.getName();
+                }
+            }
+            fileColumns.add(columnName);
+        }
+        for (String pkColumn : getPrimaryKeyColumns()) {
+            if (fileColumns.stream().noneMatch(pkColumn::equalsIgnoreCase)) {
+                validationErrors.addError("primaryKey column '" + pkColumn + "' is not in " + getFile() + ", so deleteMissing cannot tell which rows to keep");
+            }
+        }
+        return validationErrors;
+    }
+
     @Override
     public SqlStatement[] generateRollbackStatements(Database database) throws RollbackImpossibleException {
+        if (Boolean.TRUE.equals(getDeleteMissing())) {
+            throw new RollbackImpossibleException("loadUpdateData with deleteMissing cannot be rolled back because deleted rows are not saved");
+        }
+
         List<SqlStatement> statements = new ArrayList<>();
         List<SqlStatement> finalForwardList = new ArrayList<>();
 
@@ -97,6 +364,8 @@ public class LoadUpdateDataChange extends LoadDataChange {
                 finalForwardList.addAll(
                         ((BatchDmlExecutablePreparedStatement)thisForward).getIndividualStatements()
                 );
+            } else if (thisForward instanceof InsertOrUpdateSetStatement) {
+                finalForwardList.addAll(((InsertOrUpdateSetStatement) thisForward).getStatements());
             } else {
                 finalForwardList.add(thisForward);
             }
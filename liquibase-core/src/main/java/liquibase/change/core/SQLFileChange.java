@@ -1,11 +1,13 @@
 package liquibase.change.core;
 
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.change.AbstractSQLChange;
 import liquibase.change.ChangeMetaData;
 import liquibase.change.DatabaseChange;
 import liquibase.change.DatabaseChangeProperty;
 import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
 import liquibase.database.Database;
 import liquibase.exception.SetupException;
 import liquibase.exception.UnexpectedLiquibaseException;
@@ -15,8 +17,10 @@ import liquibase.util.ObjectUtil;
 import liquibase.util.StreamUtil;
 import liquibase.util.StringUtil;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 
 /**
  * Represents a Change for custom SQL stored in a File.
@@ -160,6 +164,34 @@ public class SQLFileChange extends AbstractSQLChange {
         }
     }
 
+    /**
+     * Streams the file when {@link GlobalConfiguration#STREAM_SQL_FILES} is enabled and the sql was not set directly.
+     */
+    @Override
+    public boolean supportsStatementStreaming(Database database) {
+        return GlobalConfiguration.STREAM_SQL_FILES.getCurrentValue() && (super.getSql() == null) && (path != null);
+    }
+
+    @Override
+    protected Reader openSqlReader() throws IOException {
+        if (super.getSql() != null) {
+            return super.openSqlReader();
+        }
+
+        InputStream sqlStream = openSqlStream();
+        if (sqlStream == null) {
+            return null;
+        }
+        Reader reader = new BufferedReader(StreamUtil.readStreamWithReader(sqlStream, getEncoding()));
+        if (getChangeSet() != null) {
+            ChangeLogParameters parameters = getChangeSet().getChangeLogParameters();
+            if (parameters != null) {
+                reader = new ExpandingReader(reader, parameters, getChangeSet().getChangeLog());
+            }
+        }
+        return reader;
+    }
+
     @Override
     public void setSql(String sql) {
         if ((getChangeSet() != null) && (getChangeSet().getChangeLogParameters() != null)) {
@@ -172,4 +204,68 @@ public class SQLFileChange extends AbstractSQLChange {
     public String getSerializedObjectNamespace() {
         return STANDARD_CHANGELOG_NAMESPACE;
     }
+
+    /**
+     * Expands changelog parameters like {@link #getSql()} does, but a line at a time so the file does not need to be read into memory.
+     * Lines are only expanded once every ${ in them has been closed, so expressions spanning lines expand the same as when the whole file is expanded.
+     */
+    private static class ExpandingReader extends Reader {
+        private final Reader in;
+        private final ChangeLogParameters parameters;
+        private final DatabaseChangeLog changeLog;
+
+        private String expanded = "";
+        private int position;
+        private boolean endOfInput;
+
+        private ExpandingReader(Reader in, ChangeLogParameters parameters, DatabaseChangeLog changeLog) {
+            this.in = in;
+            this.parameters = parameters;
+            this.changeLog = changeLog;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position >= expanded.length()) {
+                if (endOfInput) {
+                    return -1;
+                }
+                expanded = readNextChunk();
+                position = 0;
+            }
+
+            int read = Math.min(length, expanded.length() - position);
+            expanded.getChars(position, position + read, buffer, offset);
+            position += read;
+            return read;
+        }
+
+        private String readNextChunk() throws IOException {
+            StringBuilder chunk = new StringBuilder();
+            int openExpressions = 0;
+            int previousChar = -1;
+            int nextChar;
+            while ((nextChar = in.read()) != -1) {
+                chunk.append((char) nextChar);
+                if ((nextChar == '{') && (previousChar == '$')) {
+                    openExpressions++;
+                } else if ((nextChar == '}') && (openExpressions > 0)) {
+                    openExpressions--;
+                } else if ((nextChar == '\n') && (openExpressions == 0)) {
+                    return parameters.expandExpressions(chunk.toString(), changeLog);
+                }
+                previousChar = nextChar;
+            }
+            endOfInput = true;
+            return parameters.expandExpressions(chunk.toString(), changeLog);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
 }
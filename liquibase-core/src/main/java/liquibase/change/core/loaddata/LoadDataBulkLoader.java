@@ -0,0 +1,28 @@
+package liquibase.change.core.loaddata;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.plugin.Plugin;
+import liquibase.statement.SqlStatement;
+
+import java.util.List;
+
+/**
+ * Generates the statements for a {@link LoadDataChange} using a faster, database-specific way of loading many rows at once.
+ * Bulk loaders are only used when {@link liquibase.GlobalConfiguration#LOAD_DATA_BULK_LOAD} is enabled.
+ * <p>
+ * Implementations are found through {@link LoadDataBulkLoaderFactory}. All loaders that support the database are tried
+ * in priority order, and the standard loadData statements are used if none of them can handle the rows.
+ */
+public interface LoadDataBulkLoader extends Plugin {
+
+    /**
+     * Returns the priority of this loader for the given database, or {@link #PRIORITY_NOT_APPLICABLE} if it does not support it.
+     */
+    int getPriority(Database database);
+
+    /**
+     * Returns the statements that load the given rows, or null if this loader cannot handle them so the next loader should be tried.
+     */
+    SqlStatement[] generateStatements(LoadDataChange change, Database database, List<LoadDataChange.LoadDataRowConfig> rows);
+}
@@ -0,0 +1,39 @@
+package liquibase.change.core.loaddata;
+
+import liquibase.database.Database;
+import liquibase.plugin.AbstractPluginFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class LoadDataBulkLoaderFactory extends AbstractPluginFactory<LoadDataBulkLoader> {
+
+    private LoadDataBulkLoaderFactory() {
+    }
+
+    @Override
+    protected Class<LoadDataBulkLoader> getPluginClass() {
+        return LoadDataBulkLoader.class;
+    }
+
+    @Override
+    protected int getPriority(LoadDataBulkLoader obj, Object... args) {
+        return obj.getPriority((Database) args[0]);
+    }
+
+    /**
+     * Returns all loaders that support the given database, highest priority first.
+     */
+    public List<LoadDataBulkLoader> getBulkLoaders(Database database) {
+        List<LoadDataBulkLoader> loaders = new ArrayList<>();
+        for (LoadDataBulkLoader loader : findAllInstances()) {
+            if (loader.getPriority(database) >= 0) {
+                loaders.add(loader);
+            }
+        }
+        loaders.sort(Comparator.comparingInt((LoadDataBulkLoader loader) -> loader.getPriority(database)).reversed()
+                .thenComparing(loader -> loader.getClass().getName()));
+        return loaders;
+    }
+}
@@ -0,0 +1,66 @@
+package liquibase.change.core.loaddata;
+
+import liquibase.GlobalConfiguration;
+import liquibase.change.core.LoadDataChange;
+import liquibase.change.core.LoadDataColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.*;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertSetStatement;
+
+import java.util.List;
+
+/**
+ * Loads rows with INSERT statements that contain many rows in a single VALUES clause.
+ * The number of rows per statement is controlled by {@link GlobalConfiguration#LOAD_DATA_BULK_LOAD_ROWS}.
+ * Rows with LOB values are not handled since they need prepared statements.
+ * The statements are created through {@link LoadDataChange#createInsertSetStatement(List)}, so subclasses of {@link LoadDataChange} that
+ * customize their insert statements are still used.
+ */
+public class MultiRowInsertBulkLoader implements LoadDataBulkLoader {
+
+    /**
+     * SQL Server does not allow more than 1000 rows in a VALUES clause.
+     */
+    private static final int MSSQL_MAX_ROWS = 1000;
+
+    @Override
+    public int getPriority(Database database) {
+        if ((database instanceof H2Database) || (database instanceof HsqlDatabase) || (database instanceof DerbyDatabase)
+                || (database instanceof DB2Database) || (database instanceof SQLiteDatabase) || (database instanceof MySQLDatabase)
+                || (database instanceof PostgresDatabase) || (database instanceof MSSQLDatabase)) {
+            return PRIORITY_DEFAULT;
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public SqlStatement[] generateStatements(LoadDataChange change, Database database, List<LoadDataChange.LoadDataRowConfig> rows) {
+        int rowsPerStatement = GlobalConfiguration.LOAD_DATA_BULK_LOAD_ROWS.getCurrentValue();
+        if (database instanceof MSSQLDatabase) {
+            rowsPerStatement = Math.min(rowsPerStatement, MSSQL_MAX_ROWS);
+        }
+        if (rows.isEmpty() || (rowsPerStatement < 2)) {
+            return null;
+        }
+
+        for (LoadDataChange.LoadDataRowConfig row : rows) {
+            for (LoadDataColumnConfig column : row.getColumns()) {
+                if (isLob(column)) {
+                    return null;
+                }
+            }
+        }
+
+        //InsertSetGenerator starts a new statement once more than the batch threshold rows have been added
+        InsertSetStatement statementSet = change.createInsertSetStatement(rows);
+        statementSet.setBatchThreshold(rowsPerStatement - 1);
+        return new SqlStatement[]{statementSet};
+    }
+
+    static boolean isLob(LoadDataColumnConfig column) {
+        return (column.getValueBlobFile() != null) || (column.getValueClobFile() != null)
+                || LoadDataChange.LOAD_DATA_TYPE.BLOB.name().equalsIgnoreCase(column.getType())
+                || LoadDataChange.LOAD_DATA_TYPE.CLOB.name().equalsIgnoreCase(column.getType());
+    }
+}
@@ -0,0 +1,101 @@
+package liquibase.change.core.loaddata;
+
+import liquibase.Scope;
+import liquibase.change.core.LoadDataChange;
+import liquibase.change.core.LoadDataColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.statement.PostgresCopyExecutablePreparedStatement;
+import liquibase.statement.SqlStatement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Loads rows into PostgreSQL with COPY ... FROM STDIN through the driver's CopyManager.
+ * Only used when statements are executed against a live connection from the PostgreSQL JDBC driver, and only for rows
+ * made of plain values. Rows with LOBs or computed values are left to the next loader.
+ */
+public class PostgresCopyBulkLoader implements LoadDataBulkLoader {
+
+    @Override
+    public int getPriority(Database database) {
+        if (database instanceof PostgresDatabase) {
+            return PRIORITY_SPECIALIZED;
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public SqlStatement[] generateStatements(LoadDataChange change, Database database, List<LoadDataChange.LoadDataRowConfig> rows) {
+        if (rows.isEmpty() || !isCopySupported(database)) {
+            return null;
+        }
+
+        List<String> columnNames = new ArrayList<>();
+        for (LoadDataColumnConfig column : rows.get(0).getColumns()) {
+            columnNames.add(column.getName());
+        }
+
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (LoadDataChange.LoadDataRowConfig row : rows) {
+            List<LoadDataColumnConfig> columns = row.getColumns();
+            if (columns.size() != columnNames.size()) {
+                return null;
+            }
+            Object[] rowValues = new Object[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                LoadDataColumnConfig column = columns.get(i);
+                if (!column.getName().equals(columnNames.get(i)) || !canCopy(column, database)) {
+                    return null;
+                }
+                rowValues[i] = column.getValueObject();
+            }
+            values.add(rowValues);
+        }
+
+        return new SqlStatement[]{
+                new PostgresCopyExecutablePreparedStatement(database, change.getCatalogName(), change.getSchemaName(), change.getTableName(), columnNames, values)
+        };
+    }
+
+    private boolean canCopy(LoadDataColumnConfig column, Database database) {
+        if (MultiRowInsertBulkLoader.isLob(column)) {
+            return false;
+        }
+        Object value = column.getValueObject();
+        if ((value == null) || (value instanceof Boolean) || (value instanceof Number) || (value instanceof Date)) {
+            return true;
+        }
+        if (value instanceof String) {
+            //these are inserted as sql expressions by the insert generator
+            String string = (String) value;
+            return !string.startsWith("to_date(") && !string.equalsIgnoreCase(database.getCurrentDateTimeFunction());
+        }
+        return false;
+    }
+
+    /**
+     * COPY needs the PostgreSQL driver's connection and the statements must actually be executed rather than written as sql.
+     */
+    private boolean isCopySupported(Database database) {
+        if (!(database.getConnection() instanceof JdbcConnection)) {
+            return false;
+        }
+        if (!(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor)) {
+            return false;
+        }
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try {
+            return (connection != null) && connection.isWrapperFor(PostgresCopyExecutablePreparedStatement.getPgConnectionClass(connection));
+        } catch (ClassNotFoundException | SQLException e) {
+            return false;
+        }
+    }
+}
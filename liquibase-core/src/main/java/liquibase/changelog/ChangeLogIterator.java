@@ -1,6 +1,7 @@
 package liquibase.changelog;
 
 import liquibase.ContextExpression;
+import liquibase.GlobalConfiguration;
 import liquibase.Labels;
 import liquibase.RuntimeEnvironment;
 import liquibase.Scope;
@@ -24,6 +25,12 @@ import static java.util.ResourceBundle.getBundle;
 
 public class ChangeLogIterator {
 
+    /**
+     * Scope key to set to true when something will read the log of each changeset, such as the {@link liquibase.hub.listener.HubChangeExecListener}.
+     * The log is only captured in a {@link BufferedLogService} when it is set, because keeping every message costs memory for each changeset.
+     */
+    public static final String CAPTURE_CHANGE_SET_LOGS_SCOPE_KEY = ChangeLogIterator.class.getName() + ".captureChangeSetLogs";
+
     protected DatabaseChangeLog databaseChangeLog;
     protected List<ChangeSetFilter> changeSetFilters;
     private static ResourceBundle coreBundle = getBundle("liquibase/i18n/liquibase-core");
@@ -64,6 +71,8 @@ public class ChangeLogIterator {
 
     public void run(ChangeSetVisitor visitor, RuntimeEnvironment env) throws LiquibaseException {
         databaseChangeLog.setRuntimeEnvironment(env);
+        boolean captureChangeSetLogs = shouldCaptureChangeSetLogs();
+        int changeSetLogBufferSize = GlobalConfiguration.CHANGESET_LOG_BUFFER_SIZE.getCurrentValue();
         try {
             Scope.child(Scope.Attr.databaseChangeLog, databaseChangeLog, new Scope.ScopedRunner() {
                 @Override
@@ -91,8 +100,6 @@ public class ChangeLogIterator {
                         }
 
                         boolean finalShouldVisit = shouldVisit;
-                        BufferedLogService bufferLog = new BufferedLogService();
-                        CompositeLogService compositeLogService = new CompositeLogService(true, bufferLog);
                         Scope.child(Scope.Attr.changeSet.name(), changeSet, () -> {
                             if (finalShouldVisit) {
                                 //
@@ -110,8 +117,11 @@ public class ChangeLogIterator {
                                 // log is sent to Hub if available
                                 //
                                 Map<String, Object> values = new HashMap<>();
-                                values.put(Scope.Attr.logService.name(), compositeLogService);
-                                values.put(BufferedLogService.class.getName(), bufferLog);
+                                if (captureChangeSetLogs) {
+                                    BufferedLogService bufferLog = new BufferedLogService(changeSetLogBufferSize);
+                                    values.put(Scope.Attr.logService.name(), new CompositeLogService(true, bufferLog));
+                                    values.put(BufferedLogService.class.getName(), bufferLog);
+                                }
                                 Scope.child(values, () -> visitor.visit(changeSet, databaseChangeLog, env.getTargetDatabase(), reasonsAccepted));
                                 markSeen(changeSet);
                             } else {
@@ -130,6 +140,13 @@ public class ChangeLogIterator {
         }
     }
 
+    /**
+     * Returns true if the log of each changeset should be captured, which is when {@link #CAPTURE_CHANGE_SET_LOGS_SCOPE_KEY} is set in the current scope.
+     */
+    protected boolean shouldCaptureChangeSetLogs() {
+        return Scope.getCurrentScope().get(CAPTURE_CHANGE_SET_LOGS_SCOPE_KEY, false);
+    }
+
     /**
      *
      * Make sure that any changeset which has a runWith=<executor> setting
@@ -193,6 +210,10 @@ public class ChangeLogIterator {
                 + ":" + StringUtil.join(changeSet.getDbmsSet(), ",");
     }
 
+    public DatabaseChangeLog getDatabaseChangeLog() {
+        return databaseChangeLog;
+    }
+
     public List<ChangeSetFilter> getChangeSetFilters() {
         return Collections.unmodifiableList(changeSetFilters);
     }
@@ -12,10 +12,12 @@ import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.DatabaseList;
 import liquibase.database.ObjectQuotingStrategy;
+import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.*;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
+import liquibase.executor.PrerenderedSql;
 import liquibase.logging.Logger;
 import liquibase.logging.mdc.MdcKey;
 import liquibase.logging.mdc.customobjects.RollbackSqlFile;
@@ -760,6 +762,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             }
         } finally {
             Scope.getCurrentScope().getSingleton(ExecutorService.class).setExecutor("jdbc", database, originalExecutor);
+            clearPreparedStatementCache(database);
             // restore auto-commit to false if this ChangeSet was not run in a transaction,
             // but only if the database supports DDL in transactions
             if (!runInTransaction && database.supportsDDLInTransaction()) {
@@ -860,8 +863,11 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                         throw new RollbackFailedException("Rollback statement failed validation: " + errors);
                     }
                     //
-                    SqlStatement[] changeStatements = change.generateStatements(database);
-                    addSqlMdc(change, database, false);
+                    SqlStatement[] changeStatements = PrerenderedSql.generateStatements(change, database);
+                    if (change.supports(database)) {
+                        //the statements are already generated here even for streamed sql, so always report them
+                        addSqlMdc(changeStatements, database);
+                    }
                     if (change instanceof SQLFileChange) {
                         addSqlFileMdc((SQLFileChange) change);
                     }
@@ -907,6 +913,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             // restore auto-commit to false if this ChangeSet was not run in a transaction,
             // but only if the database supports DDL in transactions
             Scope.getCurrentScope().getSingleton(ExecutorService.class).setExecutor("jdbc", database, originalExecutor);
+            clearPreparedStatementCache(database);
             if (!runInTransaction && database.supportsDDLInTransaction()) {
                 try {
                     database.setAutoCommit(false);
@@ -918,6 +925,15 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
     }
 
+    /**
+     * Prepared statements are only re-used within a changeset, so the ones cached while it ran are closed when it finishes.
+     */
+    private static void clearPreparedStatementCache(Database database) {
+        if (database.getConnection() instanceof JdbcConnection) {
+            ((JdbcConnection) database.getConnection()).clearPreparedStatementCache();
+        }
+    }
+
     private void addSqlFileMdc(SQLFileChange change) {
         RollbackSqlFile rollbackSqlFile = new RollbackSqlFile(change);
         Scope.getCurrentScope().addMdcValue(MdcKey.ROLLBACK_SQL_FILE, rollbackSqlFile);
@@ -1527,12 +1543,23 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      * @throws RollbackImpossibleException if you cannot generate rollback statements
      */
     private void addSqlMdc(Change change, Database database, boolean generateRollbackStatements) throws RollbackImpossibleException {
+        if (!generateRollbackStatements && (change instanceof AbstractSQLChange) && ((AbstractSQLChange) change).supportsStatementStreaming(database)) {
+            //the whole point of streaming is to not have all the sql in memory at once
+            return;
+        }
         if (change.supports(database)) {
-            SqlStatement[] statements = generateRollbackStatements ? change.generateRollbackStatements(database) : change.generateStatements(database);
-            String sqlStatementsMdc = Arrays.stream(statements)
-                    .map(statement -> SqlUtil.getSqlString(statement, SqlGeneratorFactory.getInstance(), database))
-                    .collect(Collectors.joining("\n"));
-            Scope.getCurrentScope().addMdcValue(MdcKey.CHANGESET_SQL, sqlStatementsMdc);
+            SqlStatement[] statements = generateRollbackStatements ? PrerenderedSql.generateRollbackStatements(change, database) : PrerenderedSql.generateStatements(change, database);
+            addSqlMdc(statements, database);
+        }
+    }
+
+    private void addSqlMdc(SqlStatement[] statements, Database database) {
+        if (statements == null) {
+            return;
         }
+        String sqlStatementsMdc = Arrays.stream(statements)
+                .map(statement -> SqlUtil.getSqlString(statement, SqlGeneratorFactory.getInstance(), database))
+                .collect(Collectors.joining("\n"));
+        Scope.getCurrentScope().addMdcValue(MdcKey.CHANGESET_SQL, sqlStatementsMdc);
     }
 }
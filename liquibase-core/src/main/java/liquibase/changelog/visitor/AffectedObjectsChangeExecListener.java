@@ -0,0 +1,97 @@
+package liquibase.changelog.visitor;
+
+import liquibase.change.Change;
+import liquibase.change.core.EmptyChange;
+import liquibase.change.core.LoadDataChange;
+import liquibase.change.core.OutputChange;
+import liquibase.change.core.RawSQLChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the database objects reported by {@link Change#getAffectedDatabaseObjects(Database)} for every change that is run or rolled back,
+ * so a snapshot taken before the update can be brought up to date with
+ * {@link liquibase.snapshot.SnapshotGeneratorFactory#refreshSnapshot(liquibase.snapshot.DatabaseSnapshot, java.util.Collection, Database)}.
+ * <p>
+ * Some changes, such as raw SQL, cannot tell which objects they affect. Those are listed by {@link #getUnknownChanges()}, and when there are any
+ * the collected objects are incomplete and a full snapshot is needed instead.
+ */
+public class AffectedObjectsChangeExecListener extends AbstractChangeExecListener {
+
+    private final Set<DatabaseObject> affectedObjects = new LinkedHashSet<>();
+    private final List<String> unknownChanges = new ArrayList<>();
+
+    @Override
+    public void ran(Change change, ChangeSet changeSet, DatabaseChangeLog changeLog, Database database) {
+        addAffectedObjects(change, changeSet, database);
+    }
+
+    @Override
+    public void rolledBack(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database) {
+        if (changeSet.getRollback().getChanges().isEmpty()) {
+            for (Change change : changeSet.getChanges()) {
+                addAffectedObjects(change, changeSet, database);
+            }
+        } else {
+            for (Change change : changeSet.getRollback().getChanges()) {
+                addAffectedObjects(change, changeSet, database);
+            }
+        }
+    }
+
+    private synchronized void addAffectedObjects(Change change, ChangeSet changeSet, Database database) {
+        Set<DatabaseObject> objects = getAffectedDatabaseObjects(change, database);
+        if (objects.isEmpty()) {
+            //only the change type decides whether a change that reports nothing is unknown. Note that getAffectedDatabaseObjects has already
+            //generated the statements of changes that are not volatile, so a change such as sqlFile has read its file once more by now
+            if (!changesNoObjects(change)) {
+                unknownChanges.add(changeSet.toString(false) + ": " + change.getDescription());
+            }
+        } else {
+            affectedObjects.addAll(objects);
+        }
+    }
+
+    /**
+     * Returns the objects affected by the given change. loadData and loadUpdateData generate their statements from the file only when they run,
+     * so they report no objects themselves, but they only ever change the data of their table.
+     */
+    private static Set<DatabaseObject> getAffectedDatabaseObjects(Change change, Database database) {
+        if (change instanceof LoadDataChange) {
+            LoadDataChange loadDataChange = (LoadDataChange) change;
+            return Collections.singleton(new Table(loadDataChange.getCatalogName(), loadDataChange.getSchemaName(), loadDataChange.getTableName()));
+        }
+        return change.getAffectedDatabaseObjects(database);
+    }
+
+    /**
+     * Returns true for the change types that never change a database object, such as empty and output.
+     */
+    private static boolean changesNoObjects(Change change) {
+        return (change instanceof EmptyChange) || (change instanceof OutputChange)
+                || ((change instanceof RawSQLChange) && "empty".equalsIgnoreCase(((RawSQLChange) change).getSql()));
+    }
+
+    /**
+     * Returns the objects affected by the changes run or rolled back so far.
+     */
+    public synchronized Set<DatabaseObject> getAffectedObjects() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(affectedObjects));
+    }
+
+    /**
+     * Returns a description of each change that made changes to the database without reporting which objects it affected.
+     */
+    public synchronized List<String> getUnknownChanges() {
+        return Collections.unmodifiableList(new ArrayList<>(unknownChanges));
+    }
+}
@@ -1,6 +1,8 @@
 package liquibase.changelog.visitor;
 
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
 import liquibase.change.Change;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
@@ -9,6 +11,7 @@ import liquibase.database.Database;
 import liquibase.database.core.FirebirdDatabase;
 import liquibase.dbdoc.*;
 import liquibase.exception.LiquibaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.resource.OpenOptions;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
@@ -24,6 +27,10 @@ import liquibase.util.StringUtil;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class DBDocVisitor implements ChangeSetVisitor {
@@ -39,6 +46,8 @@ public class DBDocVisitor implements ChangeSetVisitor {
     private List<Change> recentChanges;
     private String rootChangeLogName;
     private DatabaseChangeLog rootChangeLog;
+    private DBDocManifest manifest;
+    private Map<ChangeSet, ChangeSet.RunStatus> runStatuses;
 
     public DBDocVisitor(Database database) {
         this.database = database;
@@ -51,6 +60,7 @@ public class DBDocVisitor implements ChangeSetVisitor {
         changesToRunByAuthor = new HashMap<>();
         changesToRun = new ArrayList<>();
         recentChanges = new ArrayList<>();
+        runStatuses = new HashMap<>();
     }
 
     @Override
@@ -61,6 +71,7 @@ public class DBDocVisitor implements ChangeSetVisitor {
     @Override
     public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
         ChangeSet.RunStatus runStatus = this.database.getRunStatus(changeSet);
+        runStatuses.put(changeSet, runStatus);
         if (rootChangeLogName == null) {
             rootChangeLogName = changeSet.getFilePath();
         }
@@ -123,6 +134,18 @@ public class DBDocVisitor implements ChangeSetVisitor {
         HTMLWriter recentChangesWriter = new RecentChangesWriter(rootOutputDir, database);
         HTMLWriter pendingSQLWriter = new PendingSQLWriter(rootOutputDir, database, rootChangeLog);
 
+        List<HTMLWriter> writers = Arrays.asList(authorWriter, tableWriter, columnWriter, pendingChangesWriter, recentChangesWriter, pendingSQLWriter);
+        for (HTMLWriter writer : writers) {
+            writer.setRunStatuses(runStatuses);
+        }
+        if (GlobalConfiguration.DBDOC_INCREMENTAL.getCurrentValue()) {
+            manifest = DBDocManifest.load(rootOutputDir);
+            for (HTMLWriter writer : writers) {
+                writer.setManifest(manifest);
+            }
+            changeLogWriter.setManifest(manifest);
+        }
+
         CatalogAndSchema[] computedSchemaList = schemaList;
         if (schemaList == null) {
             computedSchemaList = new CatalogAndSchema[]{database.getDefaultSchema()};
@@ -145,28 +168,31 @@ public class DBDocVisitor implements ChangeSetVisitor {
         new TableListWriter(rootOutputDir).writeHTML(tables);
         new AuthorListWriter(rootOutputDir).writeHTML(new TreeSet<Object>(changesByAuthor.keySet()));
 
+        List<PageWriter> pages = new ArrayList<>();
         for (String author : changesByAuthor.keySet()) {
-            authorWriter.writeHTML(author, changesByAuthor.get(author), changesToRunByAuthor.get(author), rootChangeLogName);
+            pages.add(() -> authorWriter.writeHTML(author, changesByAuthor.get(author), changesToRunByAuthor.get(author), rootChangeLogName));
         }
 
         for (Table table : tables) {
             if (database.isLiquibaseObject(table)) {
                 continue;
             }
-            tableWriter.writeHTML(table, changesByObject.get(table), changesToRunByObject.get(table), rootChangeLogName, table.getAttribute("schema", new Schema()).toString());
+            pages.add(() -> tableWriter.writeHTML(table, changesByObject.get(table), changesToRunByObject.get(table), rootChangeLogName, table.getAttribute("schema", new Schema()).toString()));
         }
 
         for (Column column : snapshot.get(Column.class)) {
             if (shouldNotWriteColumnHtml(column)) {
                 continue;
             }
-            columnWriter.writeHTML(column, changesByObject.get(column), changesToRunByObject.get(column), rootChangeLogName);
+            pages.add(() -> columnWriter.writeHTML(column, changesByObject.get(column), changesToRunByObject.get(column), rootChangeLogName));
         }
 
         for (ChangeLogInfo changeLog : changeLogs) {
-            changeLogWriter.writeChangeLog(changeLog.logicalPath, changeLog.physicalPath);
+            pages.add(() -> changeLogWriter.writeChangeLog(changeLog.logicalPath, changeLog.physicalPath));
         }
 
+        writePages(pages, GlobalConfiguration.DBDOC_THREADS.getCurrentValue());
+
         pendingChangesWriter.writeHTML("index", null, changesToRun, rootChangeLogName);
         pendingSQLWriter.writeHTML("sql", null, changesToRun, rootChangeLogName);
 
@@ -175,6 +201,58 @@ public class DBDocVisitor implements ChangeSetVisitor {
         }
         recentChangesWriter.writeHTML("index", recentChanges, null, rootChangeLogName);
 
+        if (manifest != null) {
+            manifest.save();
+            Scope.getCurrentScope().getLog(getClass()).info(String.format("dbDoc kept %d of %d pages that have not changed since the previous run", manifest.getUnchangedPageCount(), manifest.getPageCount()));
+        }
+    }
+
+    /**
+     * Writes the pages using the given number of threads. Each page is written in the scope of the calling thread, and the run statuses they show
+     * were resolved while visiting the changesets, so the pages do not write to the database.
+     */
+    private void writePages(List<PageWriter> pages, int threads) throws IOException, LiquibaseException {
+        if ((threads <= 1) || (pages.size() <= 1)) {
+            for (PageWriter page : pages) {
+                page.write();
+            }
+            return;
+        }
+
+        //load the ran changesets up front so pages written on other threads do not query the database
+        database.getRanChangeSetList();
+
+        //with a thread-local scope manager the workers would not see the settings of the calling thread otherwise
+        Scope callerScope = Scope.getCurrentScope();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (PageWriter page : pages) {
+            tasks.add(() -> Scope.runInScope(callerScope, () -> {
+                page.write();
+                return null;
+            }));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing dbDoc pages");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof LiquibaseException) {
+                throw (LiquibaseException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UnexpectedLiquibaseException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
     }
 
     private void validateRequiredSchemas(DatabaseSnapshot snapshot, CatalogAndSchema[] schemaList) throws LiquibaseException {
@@ -220,6 +298,10 @@ public class DBDocVisitor implements ChangeSetVisitor {
         }
     }
 
+    private interface PageWriter {
+        void write() throws IOException, LiquibaseException;
+    }
+
     private static class ChangeLogInfo implements Comparable<ChangeLogInfo> {
         public String logicalPath;
         public String physicalPath;
@@ -209,7 +209,16 @@ public class CommandScope {
             for (int i = executedCommands.size() -1; i >= 0; i--) {
                 CommandStep command = pipeline.get(i);
                 if (command instanceof CleanUpCommandStep) {
-                    ((CleanUpCommandStep)command).cleanUp(resultsBuilder);
+                    try {
+                        ((CleanUpCommandStep)command).cleanUp(resultsBuilder);
+                    } catch (Exception cleanUpException) {
+                        // Keep cleaning up the remaining steps, and report the first failure
+                        if (thrownException.isPresent()) {
+                            thrownException.get().addSuppressed(cleanUpException);
+                        } else {
+                            thrownException = Optional.of(cleanUpException);
+                        }
+                    }
                 }
             }
             if (thrownException.isPresent()) { // Now that we've executed all our cleanup, rethrow the exception if there was one
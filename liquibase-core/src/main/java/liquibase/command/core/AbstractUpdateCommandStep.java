@@ -10,10 +10,13 @@ import liquibase.command.CommandResultsBuilder;
 import liquibase.command.CommandScope;
 import liquibase.command.core.helpers.HubHandler;
 import liquibase.database.Database;
+import liquibase.database.OfflineConnection;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.LockException;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.PrerenderedSql;
+import liquibase.hub.HubUpdater;
 import liquibase.integration.commandline.ChangeExecListenerUtils;
 import liquibase.lockservice.LockService;
 import liquibase.lockservice.LockServiceFactory;
@@ -26,6 +29,7 @@ import liquibase.util.ShowSummaryUtil;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +48,13 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
     public abstract UpdateSummaryEnum getShowSummary(CommandScope commandScope);
     public abstract String getChangeExecListenerClassArg(CommandScope commandScope);
     protected abstract String getChangeExecListenerPropertiesFileArg(CommandScope commandScope);
+
+    /**
+     * Returns the listener instance passed to the command, which is notified along with the one created from {@link #getChangeExecListenerClassArg(CommandScope)}.
+     */
+    protected ChangeExecListener getChangeExecListenerArg(CommandScope commandScope) {
+        return null;
+    }
     protected abstract String getHubOperation();
 
     @Override
@@ -64,7 +75,7 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
         addCommandFiltersMdc(labelExpression, contexts);
 
         LockService lockService = (LockService) commandScope.getDependency(LockService.class);
-        BufferedLogService bufferLog = new BufferedLogService();
+        BufferedLogService bufferLog = null;
         HubHandler hubHandler = null;
         DefaultChangeExecListener defaultChangeExecListener = new DefaultChangeExecListener();
         try {
@@ -83,6 +94,7 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
                     getChangeExecListenerClassArg(commandScope),
                     getChangeExecListenerPropertiesFileArg(commandScope));
             defaultChangeExecListener.addListener(listener);
+            defaultChangeExecListener.addListener(getChangeExecListenerArg(commandScope));
             hubHandler = new HubHandler(database, databaseChangeLog, changeLogFile, defaultChangeExecListener);
 
             ChangeLogIterator changeLogIterator = getStandardChangelogIterator(commandScope, database, contexts, labelExpression, databaseChangeLog);
@@ -94,10 +106,17 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
             ChangeExecListener hubChangeExecListener = hubHandler.startHubForUpdate(changeLogParameters, changeLogIterator, getHubOperation());
             resultsBuilder.addResult(DEFAULT_CHANGE_EXEC_LISTENER_RESULT_KEY, defaultChangeExecListener);
             ChangeLogIterator runChangeLogIterator = getStandardChangelogIterator(commandScope, database, contexts, labelExpression, databaseChangeLog);
-            CompositeLogService compositeLogService = new CompositeLogService(true, bufferLog);
             HashMap<String, Object> scopeValues = new HashMap<>();
-            scopeValues.put(Scope.Attr.logService.name(), compositeLogService);
             scopeValues.put("showSummary", getShowSummary(commandScope));
+            if (hubChangeExecListener != null) {
+                bufferLog = HubUpdater.createOperationLogBuffer();
+                scopeValues.put(Scope.Attr.logService.name(), new CompositeLogService(true, bufferLog));
+                scopeValues.put(ChangeLogIterator.CAPTURE_CHANGE_SET_LOGS_SCOPE_KEY, true);
+            }
+            PrerenderedSql prerenderedSql = prerenderOfflineSql(database, statusVisitor);
+            if (prerenderedSql != null) {
+                scopeValues.put(PrerenderedSql.SCOPE_KEY, prerenderedSql);
+            }
             Scope.child(scopeValues, () -> {
                 //If we are using hub, we want to use the HubChangeExecListener, which is wrapping all the others. Otherwise, use the default.
                 ChangeExecListener listenerToUse = hubChangeExecListener != null ? hubChangeExecListener : defaultChangeExecListener;
@@ -127,6 +146,25 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
         }
     }
 
+    /**
+     * When running against an offline database with {@link GlobalConfiguration#OFFLINE_SQL_RENDER_THREADS} greater than 1,
+     * generates the SQL for the changesets that will run on multiple threads, a window of changesets at a time, before they are written out in order.
+     *
+     * @return the rendered sql, or null if it is not enabled
+     */
+    private PrerenderedSql prerenderOfflineSql(Database database, StatusVisitor statusVisitor) {
+        int threads = GlobalConfiguration.OFFLINE_SQL_RENDER_THREADS.getCurrentValue();
+        if ((threads <= 1) || !(database.getConnection() instanceof OfflineConnection)) {
+            return null;
+        }
+
+        List<ChangeSet> changeSets = new ArrayList<>();
+        for (ChangeSetStatus status : statusVisitor.getChangeSetsToRun()) {
+            changeSets.add(status.getChangeSet());
+        }
+        return PrerenderedSql.render(changeSets, database, threads);
+    }
+
     @Override
     public void cleanUp(CommandResultsBuilder resultsBuilder) {
         LockServiceFactory.getInstance().resetAll();
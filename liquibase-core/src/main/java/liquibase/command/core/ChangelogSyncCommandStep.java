@@ -13,13 +13,16 @@ import liquibase.command.core.helpers.DatabaseChangelogCommandStep;
 import liquibase.command.core.helpers.HubHandler;
 import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
+import liquibase.hub.HubUpdater;
 import liquibase.hub.listener.HubChangeExecListener;
 import liquibase.lockservice.LockService;
 import liquibase.logging.core.BufferedLogService;
 import liquibase.logging.core.CompositeLogService;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ChangelogSyncCommandStep extends AbstractCommandStep {
 
@@ -60,18 +63,22 @@ public class ChangelogSyncCommandStep extends AbstractCommandStep {
         final DatabaseChangeLog changeLog = (DatabaseChangeLog) commandScope.getDependency(DatabaseChangeLog.class);
         final ChangeLogParameters changeLogParameters = (ChangeLogParameters) commandScope.getDependency(ChangeLogParameters.class);
 
-        BufferedLogService bufferLog = new BufferedLogService();
+        BufferedLogService bufferLog = null;
         HubHandler hubHandler = null;
 
         try {
             ChangeLogIterator runChangeLogIterator = buildChangeLogIterator(tag, changeLog, changeLogParameters.getContexts(), changeLogParameters.getLabels(), database);
-            CompositeLogService compositeLogService = new CompositeLogService(true, bufferLog);
-
             hubHandler = new HubHandler(database, changeLog, changeLogFile, commandScope.getArgumentValue(HUB_CHANGE_EXEC_LISTENER_ARG));
             HubChangeExecListener changeLogSyncListener = hubHandler.startHubForChangelogSync(changeLogParameters, tag,
                     buildChangeLogIterator(tag, changeLog, changeLogParameters.getContexts(), changeLogParameters.getLabels(), database));
 
-            Scope.child(Scope.Attr.logService.name(), compositeLogService, () ->
+            Map<String, Object> scopeValues = new HashMap<>();
+            if (changeLogSyncListener != null) {
+                bufferLog = HubUpdater.createOperationLogBuffer();
+                scopeValues.put(Scope.Attr.logService.name(), new CompositeLogService(true, bufferLog));
+                scopeValues.put(ChangeLogIterator.CAPTURE_CHANGE_SET_LOGS_SCOPE_KEY, true);
+            }
+            Scope.child(scopeValues, () ->
                     runChangeLogIterator.run(new ChangeLogSyncVisitor(database, changeLogSyncListener),
                     new RuntimeEnvironment(database, changeLogParameters.getContexts(), changeLogParameters.getLabels())));
 
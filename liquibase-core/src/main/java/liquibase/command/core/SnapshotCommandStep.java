@@ -1,20 +1,17 @@
 package liquibase.command.core;
 
 import liquibase.CatalogAndSchema;
-import liquibase.GlobalConfiguration;
 import liquibase.command.*;
 import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
+import liquibase.serializer.SnapshotSerializer;
 import liquibase.serializer.SnapshotSerializerFactory;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.util.StringUtil;
 
-import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.util.*;
 
 public class SnapshotCommandStep extends AbstractCommandStep {
@@ -29,7 +26,7 @@ public class SnapshotCommandStep extends AbstractCommandStep {
         CommandBuilder builder = new CommandBuilder(COMMAND_NAME);
         SCHEMAS_ARG = builder.argument("schemas", String.class).description("The schemas to snapshot").build();
         SNAPSHOT_FORMAT_ARG = builder.argument("snapshotFormat", String.class)
-                .description("Output format to use (JSON, YAML, or TXT)").build();
+                .description("Output format to use (JSON, YAML, TXT, or BIN)").build();
         SNAPSHOT_CONTROL_ARG = builder.argument("snapshotControl", SnapshotControl.class).hidden().build();
     }
 
@@ -106,10 +103,8 @@ public class SnapshotCommandStep extends AbstractCommandStep {
 
             OutputStream outputStream = resultsBuilder.getOutputStream();
             if (outputStream != null) {
-                String result = printSnapshot(commandScope, snapshot);
-                Writer outputWriter = getOutputWriter(outputStream);
-                outputWriter.write(result);
-                outputWriter.flush();
+                getSnapshotSerializer(commandScope).write(snapshot, outputStream);
+                outputStream.flush();
             }
         } finally {
             //
@@ -119,21 +114,13 @@ public class SnapshotCommandStep extends AbstractCommandStep {
         }
     }
 
-    private Writer getOutputWriter(final OutputStream outputStream) throws IOException {
-        String charsetName = GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue();
-
-        return new OutputStreamWriter(outputStream, charsetName);
-    }
-
-    private String printSnapshot(CommandScope commandScope, DatabaseSnapshot snapshot) {
+    private SnapshotSerializer getSnapshotSerializer(CommandScope commandScope) {
         String format = commandScope.getArgumentValue(SNAPSHOT_FORMAT_ARG);
         if (format == null) {
             format = "txt";
         }
 
-        return SnapshotSerializerFactory.getInstance()
-                                        .getSerializer(format.toLowerCase(Locale.US))
-                                        .serialize(snapshot, true);
+        return SnapshotSerializerFactory.getInstance().getSerializer(format.toLowerCase(Locale.US));
     }
 
 }
@@ -94,6 +94,11 @@ public class UpdateCommandStep extends AbstractUpdateCommandStep implements Clea
         return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_PROPERTIES_FILE_ARG);
     }
 
+    @Override
+    protected ChangeExecListener getChangeExecListenerArg(CommandScope commandScope) {
+        return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_ARG);
+    }
+
     @Override
     public String[][] defineCommandNames() {
         return new String[][]{COMMAND_NAME, LEGACY_COMMAND_NAME};
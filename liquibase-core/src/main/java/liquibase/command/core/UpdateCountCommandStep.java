@@ -117,6 +117,11 @@ public class UpdateCountCommandStep extends AbstractUpdateCommandStep {
         return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_PROPERTIES_FILE_ARG);
     }
 
+    @Override
+    protected ChangeExecListener getChangeExecListenerArg(CommandScope commandScope) {
+        return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_ARG);
+    }
+
     @Override
     public ChangeLogIterator getStatusChangelogIterator(CommandScope commandScope, Database database, Contexts contexts, LabelExpression labelExpression, DatabaseChangeLog databaseChangeLog) throws DatabaseException {
         return new StatusChangeLogIterator(databaseChangeLog,
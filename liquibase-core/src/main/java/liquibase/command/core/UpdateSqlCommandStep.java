@@ -129,6 +129,11 @@ public class UpdateSqlCommandStep extends AbstractUpdateCommandStep {
         return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_PROPERTIES_FILE_ARG);
     }
 
+    @Override
+    protected ChangeExecListener getChangeExecListenerArg(CommandScope commandScope) {
+        return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_ARG);
+    }
+
     @Override
     public String getHubOperation() {
         return "update";
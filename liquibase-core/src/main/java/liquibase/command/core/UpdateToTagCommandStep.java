@@ -114,6 +114,11 @@ public class UpdateToTagCommandStep extends AbstractUpdateCommandStep {
         return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_PROPERTIES_FILE_ARG);
     }
 
+    @Override
+    protected ChangeExecListener getChangeExecListenerArg(CommandScope commandScope) {
+        return commandScope.getArgumentValue(CHANGE_EXEC_LISTENER_ARG);
+    }
+
     @Override
     protected String getHubOperation() {
         return "update-to-tag";
@@ -4,15 +4,19 @@ import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.command.*;
 import liquibase.database.Database;
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
+import liquibase.io.AsyncWriter;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * This helper class can be run prior to any command (but usually the *-sql commands, like update-sql) to redirect
@@ -21,7 +25,7 @@ import java.util.List;
 public class OutputWriterCommandStep extends AbstractCommandStep implements CleanUpCommandStep {
     protected static final String[] COMMAND_NAME = {"outputWriterCommandStep"};
 
-    private static OutputStreamWriter outputStreamWriter;
+    private static Writer outputStreamWriter;
 
     @Override
     public List<Class<?>> providedDependencies() {
@@ -37,7 +41,14 @@ public class OutputWriterCommandStep extends AbstractCommandStep implements Clea
     public void run(CommandResultsBuilder resultsBuilder) throws Exception {
         CommandScope commandScope = resultsBuilder.getCommandScope();
         String charsetName = GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue();
-        outputStreamWriter = new OutputStreamWriter(resultsBuilder.getOutputStream(), charsetName);
+        OutputStream outputStream = resultsBuilder.getOutputStream();
+        if (GlobalConfiguration.GZIP_SQL_OUTPUT.getCurrentValue()) {
+            outputStream = new GZIPOutputStream(outputStream, AsyncWriter.DEFAULT_BLOCK_SIZE);
+        }
+        outputStreamWriter = new OutputStreamWriter(outputStream, charsetName);
+        if (GlobalConfiguration.ASYNC_SQL_OUTPUT.getCurrentValue()) {
+            outputStreamWriter = new AsyncWriter(outputStreamWriter);
+        }
         Database database = (Database) commandScope.getDependency(Database.class);
         Executor databaseExecutor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
         LoggingExecutor loggingExecutor = new LoggingExecutor(databaseExecutor, outputStreamWriter, database);
@@ -66,7 +77,10 @@ public class OutputWriterCommandStep extends AbstractCommandStep implements Clea
             try {
                 outputStreamWriter.close();
             } catch (IOException e) {
-                Scope.getCurrentScope().getLog(getClass()).warning("Failed to close output stream writer.", e);
+                //closing writes any output still buffered, so a failure here means the output is incomplete
+                throw new UnexpectedLiquibaseException("Failed to write command output: " + e.getMessage(), e);
+            } finally {
+                outputStreamWriter = null;
             }
         }
     }
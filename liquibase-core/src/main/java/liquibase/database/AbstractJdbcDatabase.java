@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -20,6 +21,7 @@ import java.util.regex.Pattern;
 import liquibase.CatalogAndSchema;
 import liquibase.GlobalConfiguration;
 import liquibase.Scope;
+import liquibase.change.AbstractSQLChange;
 import liquibase.change.Change;
 import liquibase.change.core.DropTableChange;
 import liquibase.changelog.ChangeLogHistoryServiceFactory;
@@ -47,9 +49,13 @@ import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.PrerenderedSql;
 import liquibase.lockservice.LockServiceFactory;
+import liquibase.snapshot.CachedRow;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.EmptyDatabaseSnapshot;
+import liquibase.snapshot.InvalidExampleException;
+import liquibase.snapshot.JdbcDatabaseSnapshot;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.sql.Sql;
@@ -59,6 +65,9 @@ import liquibase.statement.DatabaseFunction;
 import liquibase.statement.SequenceCurrentValueFunction;
 import liquibase.statement.SequenceNextValueFunction;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.core.DropForeignKeyConstraintStatement;
+import liquibase.statement.core.DropTableStatement;
+import liquibase.statement.core.DropViewStatement;
 import liquibase.statement.core.GetViewDefinitionStatement;
 import liquibase.statement.core.RawCallStatement;
 import liquibase.structure.DatabaseObject;
@@ -87,6 +96,7 @@ public abstract class AbstractJdbcDatabase implements Database {
 
     private static final int FETCH_SIZE = 1000;
     private static final int DEFAULT_MAX_TIMESTAMP_FRACTIONAL_DIGITS = 9;
+    private static final int DROP_ALL_BATCH_SIZE = 100;
 
     private static final String STARTS_WITH_NUMBER_REGEX = "^[0-9].*";
     private static final Pattern STARTS_WITH_NUMBER_PATTERN = Pattern.compile(STARTS_WITH_NUMBER_REGEX);
@@ -178,6 +188,10 @@ public abstract class AbstractJdbcDatabase implements Database {
     @Override
     public void setConnection(final DatabaseConnection conn) {
         Scope.getCurrentScope().getLog(getClass()).fine("Connected to " + conn.getConnectionUserName() + "@" + conn.getURL());
+        if ((this.connection instanceof JdbcConnection) && (this.connection != conn)) {
+            //statements prepared for the previous connection will not be used again
+            ((JdbcConnection) this.connection).clearPreparedStatementCache();
+        }
         this.connection = conn;
         try {
             boolean autoCommit = conn.getAutoCommit();
@@ -774,6 +788,13 @@ public abstract class AbstractJdbcDatabase implements Database {
         ObjectQuotingStrategy currentStrategy = this.getObjectQuotingStrategy();
         this.setObjectQuotingStrategy(ObjectQuotingStrategy.QUOTE_ALL_OBJECTS);
         try {
+            if (GlobalConfiguration.DROP_ALL_FAST.getCurrentValue()) {
+                if (dropDatabaseObjectsFast(schemaToDrop)) {
+                    return;
+                }
+                dropTablesAndViewsByName(schemaToDrop);
+            }
+
             DatabaseSnapshot snapshot;
             try {
                 final SnapshotControl snapshotControl = new SnapshotControl(this);
@@ -857,6 +878,119 @@ public abstract class AbstractJdbcDatabase implements Database {
                 SybaseASADatabase) || (this instanceof PostgresDatabase) || (this instanceof OracleDatabase));
     }
 
+    /**
+     * Returns statements that remove everything in the given schema at once, for example by dropping and re-creating it,
+     * or null if this database cannot do that for the schema. The schema has the default catalog and schema filled in.
+     * Used by {@link #dropDatabaseObjects(CatalogAndSchema)} when {@link GlobalConfiguration#DROP_ALL_FAST} is enabled.
+     */
+    protected SqlStatement[] getDropAllObjectsStatements(CatalogAndSchema schema) throws DatabaseException {
+        return null;
+    }
+
+    /**
+     * Drops the views, foreign keys and tables of the schema knowing only their names, which are read with the bulk metadata queries of
+     * {@link JdbcDatabaseSnapshot.CachingDatabaseMetaData} instead of a full snapshot. Each kind of object is dropped in JDBC batches of
+     * {@link #DROP_ALL_BATCH_SIZE} statements. Used by {@link #dropDatabaseObjects(CatalogAndSchema)} with {@link GlobalConfiguration#DROP_ALL_FAST}
+     * when the schema cannot be dropped at once. Anything left, such as sequences, stored logic or objects whose batch failed, is dropped afterwards
+     * from the regular snapshot, which is then small.
+     */
+    private void dropTablesAndViewsByName(CatalogAndSchema schemaToDrop) throws DatabaseException {
+        if (!(getConnection() instanceof JdbcConnection)) {
+            return;
+        }
+        final long started = System.currentTimeMillis();
+        CatalogAndSchema schema = schemaToDrop.customize(this);
+        String catalogName = getJdbcCatalogName(schema);
+        String schemaName = getJdbcSchemaName(schema);
+
+        List<SqlStatement> dropViews = new ArrayList<>();
+        Map<String, SqlStatement> dropForeignKeys = new LinkedHashMap<>();
+        List<SqlStatement> dropTables = new ArrayList<>();
+        try {
+            JdbcDatabaseSnapshot.CachingDatabaseMetaData metaData = new JdbcDatabaseSnapshot(new DatabaseObject[0], this).getMetaDataFromCache();
+            for (CachedRow row : metaData.getViews(catalogName, schemaName, null)) {
+                dropViews.add(new DropViewStatement(schema.getCatalogName(), schema.getSchemaName(), row.getString("TABLE_NAME")));
+            }
+            //there is a row for each column of a foreign key
+            for (CachedRow row : metaData.getForeignKeys(catalogName, schemaName, null, null)) {
+                if (row.getString("FK_NAME") != null) {
+                    dropForeignKeys.putIfAbsent(row.getString("FKTABLE_NAME") + "." + row.getString("FK_NAME"), new DropForeignKeyConstraintStatement(
+                            schema.getCatalogName(), schema.getSchemaName(), row.getString("FKTABLE_NAME"), row.getString("FK_NAME")));
+                }
+            }
+            for (CachedRow row : metaData.getTables(catalogName, schemaName, null)) {
+                dropTables.add(new DropTableStatement(schema.getCatalogName(), schema.getSchemaName(), row.getString("TABLE_NAME"), supportsDropTableCascadeConstraints()));
+            }
+        } catch (SQLException | InvalidExampleException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine(String.format("Could not read the objects in schema %s, dropping them from a snapshot instead: %s", schema, e.getMessage()), e);
+            return;
+        }
+
+        executeDropBatches(dropViews);
+        executeDropBatches(new ArrayList<>(dropForeignKeys.values()));
+        executeDropBatches(dropTables);
+        Scope.getCurrentScope().getLog(getClass()).info(String.format("Dropped %d views, %d foreign keys and %d tables in schema %s by name in %d ms.",
+                dropViews.size(), dropForeignKeys.size(), dropTables.size(), schema, System.currentTimeMillis() - started));
+    }
+
+    /**
+     * Runs the given drop statements in JDBC batches. A batch that fails is rolled back and logged, and the objects in it are left for the regular
+     * dropAll to find.
+     */
+    private void executeDropBatches(List<SqlStatement> statements) throws DatabaseException {
+        JdbcConnection connection = (JdbcConnection) getConnection();
+        for (int start = 0; start < statements.size(); start += DROP_ALL_BATCH_SIZE) {
+            List<SqlStatement> batch = statements.subList(start, Math.min(start + DROP_ALL_BATCH_SIZE, statements.size()));
+            try (java.sql.Statement jdbcStatement = connection.createStatement()) {
+                for (SqlStatement statement : batch) {
+                    for (Sql sql : SqlGeneratorFactory.getInstance().generateSql(statement, this)) {
+                        jdbcStatement.addBatch(sql.toSql());
+                    }
+                }
+                jdbcStatement.executeBatch();
+                this.commit();
+            } catch (SQLException e) {
+                this.rollback();
+                Scope.getCurrentScope().getLog(getClass()).fine("Could not drop a batch of " + batch.size() + " objects by name, leaving them for the regular dropAll: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Runs the {@link #getDropAllObjectsStatements(CatalogAndSchema)} for the schema instead of snapshotting it and dropping each object.
+     *
+     * @return false if there are no such statements or they failed, in which case the objects should be dropped one at a time
+     */
+    private boolean dropDatabaseObjectsFast(CatalogAndSchema schemaToDrop) throws LiquibaseException {
+        CatalogAndSchema schema = schemaToDrop.customize(this);
+        SqlStatement[] statements = getDropAllObjectsStatements(schema);
+        if ((statements == null) || (statements.length == 0)) {
+            return false;
+        }
+
+        final long started = System.currentTimeMillis();
+        boolean previousAutoCommit = this.getAutoCommitMode();
+        this.commit();
+        this.setAutoCommit(false); //where DDL is transactional the schema is not left dropped if re-creating it fails
+        try {
+            for (SqlStatement statement : statements) {
+                Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", this).execute(statement);
+            }
+            this.commit();
+        } catch (DatabaseException e) {
+            this.rollback();
+            Scope.getCurrentScope().getLog(getClass()).info(String.format("Could not drop schema %s at once, dropping its objects one at a time instead: %s", schema, e.getMessage()));
+            return false;
+        } finally {
+            this.setAutoCommit(previousAutoCommit);
+        }
+
+        ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(this).destroy();
+        LockServiceFactory.getInstance().getLockService(this).destroy();
+        Scope.getCurrentScope().getLog(getClass()).info(String.format("Successfully dropped and re-created schema %s in %d ms.", schema, System.currentTimeMillis() - started));
+        return true;
+    }
+
     @Override
     public boolean isSystemObject(final DatabaseObject example) {
         if (example == null) {
@@ -1264,7 +1398,12 @@ public abstract class AbstractJdbcDatabase implements Database {
 
     @Override
     public void executeStatements(final Change change, final DatabaseChangeLog changeLog, final List<SqlVisitor> sqlVisitors) throws LiquibaseException {
-        SqlStatement[] statements = change.generateStatements(this);
+        if ((change instanceof AbstractSQLChange) && ((AbstractSQLChange) change).supportsStatementStreaming(this)) {
+            ((AbstractSQLChange) change).executeStreamingStatements(this, sqlVisitors);
+            return;
+        }
+
+        SqlStatement[] statements = PrerenderedSql.generateStatements(change, this);
 
         execute(statements, sqlVisitors);
     }
@@ -1313,13 +1452,13 @@ public abstract class AbstractJdbcDatabase implements Database {
 
     @Override
     public void executeRollbackStatements(final Change change, final List<SqlVisitor> sqlVisitors) throws LiquibaseException {
-        final SqlStatement[] statements = change.generateRollbackStatements(this);
+        final SqlStatement[] statements = PrerenderedSql.generateRollbackStatements(change, this);
         executeRollbackStatements(statements, sqlVisitors);
     }
 
     @Override
     public void saveRollbackStatement(final Change change, final List<SqlVisitor> sqlVisitors, final Writer writer) throws IOException, LiquibaseException {
-        SqlStatement[] statements = change.generateRollbackStatements(this);
+        SqlStatement[] statements = PrerenderedSql.generateRollbackStatements(change, this);
         for (SqlStatement statement : statements) {
             for (Sql sql : SqlGeneratorFactory.getInstance().generateSql(statement, this)) {
                 writer.append(sql.toSql()).append(sql.getEndDelimiter()).append("\n\n");
@@ -182,6 +182,16 @@ public interface Database extends PrioritizedService, AutoCloseable {
      */
     void dropDatabaseObjects(CatalogAndSchema schema) throws LiquibaseException;
 
+    /**
+     * Saves a copy of everything in the database using a native feature of the database, so it can be put back later
+     * without running the changes that created it again.
+     *
+     * @return the saved copy, or null if this database cannot save and restore its contents
+     */
+    default SavedDatabaseState saveState() throws DatabaseException {
+        return null;
+    }
+
     /**
      * Tags the database changelog with the given string.
      *
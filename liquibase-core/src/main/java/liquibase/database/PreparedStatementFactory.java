@@ -1,6 +1,7 @@
 package liquibase.database;
 
 import liquibase.database.jvm.JdbcConnection;
+import liquibase.database.jvm.PreparedStatementCache;
 import liquibase.exception.DatabaseException;
 
 import java.sql.PreparedStatement;
@@ -28,6 +29,13 @@ public final class PreparedStatementFactory {
         return con.prepareStatement(sql);
     }
 
+    /**
+     * Returns the cache of prepared statements for the connection this factory creates statements on.
+     */
+    public PreparedStatementCache getStatementCache() {
+        return con.getPreparedStatementCache();
+    }
+
     @Override
     public String toString() {
         return "[con: " + con + "]";
@@ -0,0 +1,18 @@
+package liquibase.database;
+
+import liquibase.exception.DatabaseException;
+
+/**
+ * A copy of the contents of a database taken by {@link Database#saveState()}. Close it when it is no longer needed to release the copy.
+ */
+public interface SavedDatabaseState extends AutoCloseable {
+
+    /**
+     * Replaces everything in the database with the saved copy.
+     */
+    void restore() throws DatabaseException;
+
+    @Override
+    default void close() throws DatabaseException {
+    }
+}
@@ -5,16 +5,29 @@ import liquibase.Scope;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.OfflineConnection;
+import liquibase.database.SavedDatabaseState;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.DateParseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.statement.DatabaseFunction;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.core.Schema;
 import liquibase.util.ISODateFormat;
 import liquibase.util.JdbcUtil;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -403,4 +416,88 @@ public class H2Database extends AbstractJdbcDatabase {
         // http://www.h2database.com/html/datatypes.html seems to imply 9 digits
         return 9;
     }
+
+    /**
+     * Drops and re-creates the schema. The PUBLIC schema cannot be dropped in H2 and DROP ALL OBJECTS also drops other schemas and users,
+     * so it is not handled here.
+     */
+    @Override
+    protected SqlStatement[] getDropAllObjectsStatements(CatalogAndSchema schema) {
+        if ((schema.getSchemaName() == null) || "PUBLIC".equalsIgnoreCase(schema.getSchemaName())) {
+            return null;
+        }
+        String schemaName = escapeObjectName(schema.getSchemaName(), Schema.class);
+        return new SqlStatement[]{
+                new RawSqlStatement("DROP SCHEMA " + schemaName + " CASCADE"),
+                new RawSqlStatement("CREATE SCHEMA " + schemaName)
+        };
+    }
+
+    /**
+     * Saves the database with the H2 SCRIPT command. The script is written to a temporary file on this machine, so it also works for databases
+     * in a remote H2 server, and restored with DROP ALL OBJECTS followed by the statements of the script.
+     */
+    @Override
+    public SavedDatabaseState saveState() throws DatabaseException {
+        if (!(getConnection() instanceof JdbcConnection)) {
+            return null;
+        }
+        Connection connection = ((JdbcConnection) getConnection()).getUnderlyingConnection();
+        Path scriptFile;
+        try {
+            scriptFile = Files.createTempFile("liquibase-h2-", ".script");
+        } catch (IOException e) {
+            throw new DatabaseException("Cannot save the database: " + e.getMessage(), e);
+        }
+        //statements can contain line breaks, so each one is written with its length in front of it
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT");
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(scriptFile)))) {
+            while (resultSet.next()) {
+                byte[] sql = resultSet.getString(1).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(sql.length);
+                out.write(sql);
+            }
+        } catch (SQLException | IOException e) {
+            deleteScriptFile(scriptFile);
+            throw new DatabaseException("Cannot save the database: " + e.getMessage(), e);
+        }
+
+        return new SavedDatabaseState() {
+            @Override
+            public void restore() throws DatabaseException {
+                try (Statement statement = connection.createStatement();
+                     DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(scriptFile)))) {
+                    statement.execute("DROP ALL OBJECTS");
+                    while (true) {
+                        int length;
+                        try {
+                            length = in.readInt();
+                        } catch (EOFException e) {
+                            break;
+                        }
+                        byte[] sql = new byte[length];
+                        in.readFully(sql);
+                        statement.execute(new String(sql, StandardCharsets.UTF_8));
+                    }
+                } catch (SQLException | IOException e) {
+                    throw new DatabaseException("Cannot restore the database: " + e.getMessage(), e);
+                }
+                commit();
+            }
+
+            @Override
+            public void close() {
+                deleteScriptFile(scriptFile);
+            }
+        };
+    }
+
+    private static void deleteScriptFile(Path scriptFile) {
+        try {
+            Files.deleteIfExists(scriptFile);
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(H2Database.class).fine("Cannot delete " + scriptFile + ": " + e.getMessage(), e);
+        }
+    }
 }
@@ -1,11 +1,15 @@
 package liquibase.database.core;
 
+import liquibase.CatalogAndSchema;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.DateParseException;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
 import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Schema;
 import liquibase.util.ISODateFormat;
 
 import java.math.BigInteger;
@@ -519,4 +523,22 @@ public class HsqlDatabase extends AbstractJdbcDatabase {
         final String clause = super.getAutoIncrementClause(startWith, incrementBy, generationType, defaultOnNull);
         return clause.replace(",", ""); //sql doesn't use commas between the values
     }
+
+    /**
+     * Drops and re-creates the schema. HSQL re-creates the PUBLIC schema itself when it is dropped.
+     */
+    @Override
+    protected SqlStatement[] getDropAllObjectsStatements(CatalogAndSchema schema) {
+        if (schema.getSchemaName() == null) {
+            return null;
+        }
+        String schemaName = escapeObjectName(schema.getSchemaName(), Schema.class);
+        if ("PUBLIC".equalsIgnoreCase(schema.getSchemaName())) {
+            return new SqlStatement[]{new RawSqlStatement("DROP SCHEMA " + schemaName + " CASCADE")};
+        }
+        return new SqlStatement[]{
+                new RawSqlStatement("DROP SCHEMA " + schemaName + " CASCADE"),
+                new RawSqlStatement("CREATE SCHEMA " + schemaName)
+        };
+    }
 }
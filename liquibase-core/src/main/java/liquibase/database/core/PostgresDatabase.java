@@ -9,9 +9,13 @@ import liquibase.database.DatabaseConnection;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
 import liquibase.logging.Logger;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.RawCallStatement;
+import liquibase.statement.core.RawParameterizedSqlStatement;
+import liquibase.statement.core.RawSqlStatement;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Schema;
 import liquibase.structure.core.Table;
@@ -402,4 +406,49 @@ public class PostgresDatabase extends AbstractJdbcDatabase {
         //Rollback in postgresql resets the search path. Need to put it back to the defaults
         DatabaseUtils.initializeDatabase(getDefaultCatalogName(), getDefaultSchemaName(), this);
     }
+
+    /**
+     * Drops and re-creates the schema in one transaction, re-creating it with its owner and re-granting the privileges other roles had on it.
+     * DROP OWNED BY is not used because it affects every schema in the database.
+     * Returns null for schemas that contain extensions, since DROP SCHEMA ... CASCADE would drop them and they cannot be re-created here.
+     */
+    @Override
+    protected SqlStatement[] getDropAllObjectsStatements(CatalogAndSchema schema) throws DatabaseException {
+        if (schema.getSchemaName() == null) {
+            return null;
+        }
+        Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", this);
+        int extensions = executor.queryForInt(new RawParameterizedSqlStatement("SELECT COUNT(*) FROM pg_catalog.pg_extension e " +
+                "JOIN pg_catalog.pg_namespace n ON n.oid = e.extnamespace WHERE n.nspname = ?", schema.getSchemaName()));
+        if (extensions > 0) {
+            Scope.getCurrentScope().getLog(getClass()).info(String.format("Schema %s contains %d extension(s), dropping its objects one at a time instead of dropping the schema.", schema.getSchemaName(), extensions));
+            return null;
+        }
+        String owner = executor.queryForObject(new RawParameterizedSqlStatement("SELECT pg_catalog.pg_get_userbyid(nspowner) " +
+                "FROM pg_catalog.pg_namespace WHERE nspname = ?", schema.getSchemaName()), String.class);
+        if (owner == null) {
+            return null;
+        }
+        List<Map<String, ?>> grants = executor.queryForList(new RawParameterizedSqlStatement("SELECT " +
+                "CASE WHEN a.grantee = 0 THEN 'PUBLIC' ELSE pg_catalog.pg_get_userbyid(a.grantee) END AS GRANTEE, " +
+                "a.privilege_type AS PRIVILEGE_TYPE, a.is_grantable AS IS_GRANTABLE " +
+                "FROM pg_catalog.pg_namespace n, pg_catalog.aclexplode(n.nspacl) a " +
+                "WHERE n.nspname = ? AND a.grantee <> n.nspowner", schema.getSchemaName()));
+
+        String schemaName = escapeObjectName(schema.getSchemaName(), Schema.class);
+        List<SqlStatement> statements = new ArrayList<>();
+        statements.add(new RawSqlStatement("DROP SCHEMA " + schemaName + " CASCADE"));
+        statements.add(new RawSqlStatement("CREATE SCHEMA " + schemaName + " AUTHORIZATION " + quoteRoleName(owner)));
+        for (Map<String, ?> grant : grants) {
+            String grantee = (String) grant.get("GRANTEE");
+            statements.add(new RawSqlStatement("GRANT " + grant.get("PRIVILEGE_TYPE") + " ON SCHEMA " + schemaName + " TO "
+                    + ("PUBLIC".equals(grantee) ? grantee : quoteRoleName(grantee))
+                    + (Boolean.TRUE.equals(grant.get("IS_GRANTABLE")) ? " WITH GRANT OPTION" : "")));
+        }
+        return statements.toArray(new SqlStatement[0]);
+    }
+
+    private String quoteRoleName(String roleName) {
+        return "\"" + roleName.replace("\"", "\"\"") + "\"";
+    }
 }
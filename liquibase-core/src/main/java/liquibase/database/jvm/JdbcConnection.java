@@ -1,5 +1,6 @@
 package liquibase.database.jvm;
 
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
@@ -17,6 +18,8 @@ import java.util.regex.Pattern;
  */
 public class JdbcConnection implements DatabaseConnection {
     private java.sql.Connection con;
+    private PreparedStatementCache preparedStatementCache;
+    private volatile JdbcConnectionMetadata connectionMetadata;
     private static final Set<Map.Entry<Pattern, Pattern>> PATTERN_JDBC_BLANK = new HashSet<>();
     private static final Set<Map.Entry<Pattern, Pattern>> PATTERN_JDBC_BLANK_TO_OBFUSCATE = new HashSet<>();
     private static final Set<Map.Entry<Pattern, Pattern>> PATTERN_JDBC_OBFUSCATE = new HashSet<>();
@@ -80,6 +83,9 @@ public class JdbcConnection implements DatabaseConnection {
         String driverClassName = driverObject.getClass().getName();
         String errorMessage = "Connection could not be created to " + sanitizeUrl(url) + " with driver " + driverClassName;
         try {
+            //statements prepared on a previous connection cannot be used on the new one
+            clearPreparedStatementCache();
+            this.connectionMetadata = null;
             this.con = driverObject.connect(url, driverProperties);
             if (this.con == null) {
                 throw new DatabaseException(errorMessage + ".  Possibly the wrong driver for the given database URL");
@@ -99,14 +105,32 @@ public class JdbcConnection implements DatabaseConnection {
         } catch (SQLException e) {
             Scope.getCurrentScope().getLog(getClass()).info("Error fetching reserved words list from JDBC driver", e);
         }
+    }
 
+    /**
+     * Returns the cache of metadata values for this connection. Each value is read from the driver the first time it is asked for.
+     */
+    public JdbcConnectionMetadata getConnectionMetadata() {
+        JdbcConnectionMetadata metadata = this.connectionMetadata;
+        if (metadata == null) {
+            metadata = refreshConnectionMetadata();
+        }
+        return metadata;
+    }
 
+    /**
+     * Discards the cached metadata values so they are read from the connection again when they are next asked for.
+     */
+    public JdbcConnectionMetadata refreshConnectionMetadata() {
+        JdbcConnectionMetadata metadata = new JdbcConnectionMetadata(this);
+        this.connectionMetadata = metadata;
+        return metadata;
     }
 
     @Override
     public String getDatabaseProductName() throws DatabaseException {
         try {
-            return con.getMetaData().getDatabaseProductName();
+            return getConnectionMetadata().getDatabaseProductName();
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
@@ -115,7 +139,7 @@ public class JdbcConnection implements DatabaseConnection {
     @Override
     public String getDatabaseProductVersion() throws DatabaseException {
         try {
-            return con.getMetaData().getDatabaseProductVersion();
+            return getConnectionMetadata().getDatabaseProductVersion();
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
@@ -124,7 +148,7 @@ public class JdbcConnection implements DatabaseConnection {
     @Override
     public int getDatabaseMajorVersion() throws DatabaseException {
         try {
-            return con.getMetaData().getDatabaseMajorVersion();
+            return getConnectionMetadata().getDatabaseMajorVersion();
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
@@ -133,7 +157,7 @@ public class JdbcConnection implements DatabaseConnection {
     @Override
     public int getDatabaseMinorVersion() throws DatabaseException {
         try {
-            return con.getMetaData().getDatabaseMinorVersion();
+            return getConnectionMetadata().getDatabaseMinorVersion();
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
@@ -142,9 +166,11 @@ public class JdbcConnection implements DatabaseConnection {
     @Override
     public String getURL() {
         try {
-            String url = getConnectionUrl();
-            url = stripPasswordPropFromJdbcUrl(url);
-            return url;
+            if (con == null) {
+                //nothing to cache the value with, for example subclasses that only override getConnectionUrl()
+                return stripPasswordPropFromJdbcUrl(getConnectionUrl());
+            }
+            return getConnectionMetadata().getUrl();
         } catch (SQLException e) {
             throw new UnexpectedLiquibaseException(e);
         }
@@ -202,7 +228,7 @@ public class JdbcConnection implements DatabaseConnection {
         return jdbcUrl;
     }
 
-    private static String stripPasswordPropFromJdbcUrl(String jdbcUrl) {
+    static String stripPasswordPropFromJdbcUrl(String jdbcUrl) {
         if (jdbcUrl == null || (jdbcUrl != null && jdbcUrl.equals(""))) {
             return jdbcUrl;
         }
@@ -257,6 +283,9 @@ public class JdbcConnection implements DatabaseConnection {
 
     @Override
     public void close() throws DatabaseException {
+        if (preparedStatementCache != null) {
+            preparedStatementCache.close();
+        }
         rollback();
         try {
             con.close();
@@ -574,6 +603,27 @@ public class JdbcConnection implements DatabaseConnection {
         return con;
     }
 
+    /**
+     * Returns the cache of prepared statements to re-use on this connection.
+     * The size is controlled by {@link GlobalConfiguration#PREPARED_STATEMENT_CACHE_SIZE}.
+     */
+    public synchronized PreparedStatementCache getPreparedStatementCache() {
+        if (preparedStatementCache == null) {
+            preparedStatementCache = new PreparedStatementCache(GlobalConfiguration.PREPARED_STATEMENT_CACHE_SIZE.getCurrentValue());
+        }
+        return preparedStatementCache;
+    }
+
+    /**
+     * Closes the prepared statements cached for this connection. Called when a changeset finishes, so statements are not
+     * kept open for the rest of the run, and when the underlying connection is replaced.
+     */
+    public synchronized void clearPreparedStatementCache() {
+        if (preparedStatementCache != null) {
+            preparedStatementCache.clear();
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (!(obj instanceof JdbcConnection)) {
@@ -0,0 +1,85 @@
+package liquibase.database.jvm;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * Cache of the {@link DatabaseMetaData} values that {@link JdbcConnection} is asked for repeatedly.
+ * With some drivers every call to {@link java.sql.Connection#getMetaData()} is a round trip to the database, and the version
+ * is checked for nearly every statement that is generated, so each value is read the first time it is asked for and kept here.
+ * <p>
+ * Each value is loaded separately. If reading one fails, the error is thrown to the caller and nothing is cached for it, so the next
+ * call asks the driver again and the other values are not affected.
+ * The values do not change for the life of a connection. Use {@link JdbcConnection#refreshConnectionMetadata()} if they need to be read again.
+ */
+public final class JdbcConnectionMetadata {
+
+    private final JdbcConnection connection;
+
+    private volatile String databaseProductName;
+    private volatile String databaseProductVersion;
+    private volatile Integer databaseMajorVersion;
+    private volatile Integer databaseMinorVersion;
+    private volatile String url;
+
+    JdbcConnectionMetadata(JdbcConnection connection) {
+        this.connection = connection;
+    }
+
+    public String getDatabaseProductName() throws SQLException {
+        String value = databaseProductName;
+        if (value == null) {
+            value = getMetaData().getDatabaseProductName();
+            databaseProductName = value;
+        }
+        return value;
+    }
+
+    public String getDatabaseProductVersion() throws SQLException {
+        String value = databaseProductVersion;
+        if (value == null) {
+            value = getMetaData().getDatabaseProductVersion();
+            databaseProductVersion = value;
+        }
+        return value;
+    }
+
+    public int getDatabaseMajorVersion() throws SQLException {
+        Integer value = databaseMajorVersion;
+        if (value == null) {
+            value = getMetaData().getDatabaseMajorVersion();
+            databaseMajorVersion = value;
+        }
+        return value;
+    }
+
+    public int getDatabaseMinorVersion() throws SQLException {
+        Integer value = databaseMinorVersion;
+        if (value == null) {
+            value = getMetaData().getDatabaseMinorVersion();
+            databaseMinorVersion = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the url of the connection with credentials removed.
+     */
+    public String getUrl() throws SQLException {
+        String value = url;
+        if (value == null) {
+            value = JdbcConnection.stripPasswordPropFromJdbcUrl(connection.getConnectionUrl());
+            url = value;
+        }
+        return value;
+    }
+
+    private DatabaseMetaData getMetaData() throws SQLException {
+        return connection.getWrappedConnection().getMetaData();
+    }
+
+    @Override
+    public String toString() {
+        return databaseProductName + " " + databaseProductVersion + " (" + databaseMajorVersion + "." + databaseMinorVersion + ") at " + url;
+    }
+}
@@ -0,0 +1,124 @@
+package liquibase.database.jvm;
+
+import liquibase.Scope;
+import liquibase.util.JdbcUtil;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of {@link PreparedStatement}s for a single {@link JdbcConnection}, keyed by their SQL.
+ * Some databases do extra work on creating prepared statements, so re-using them when the same SQL is executed repeatedly
+ * (for example rows from a CSV file, or inserts into several tables that alternate) avoids that overhead.
+ * <p>
+ * Statements that fall out of the cache are closed. All remaining statements are closed by {@link #close()}, which is called when the connection is closed.
+ */
+public class PreparedStatementCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxSize the maximum number of statements to keep open. Zero or less disables the cache.
+     */
+    public PreparedStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the open statement cached for the given SQL, or null if there is none.
+     * Every call counts as either a hit or a miss.
+     */
+    public synchronized PreparedStatement get(String sql) {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null) {
+            boolean valid;
+            try {
+                valid = !statement.isClosed();
+            } catch (SQLException e) {
+                valid = false;
+            }
+            if (valid) {
+                hits++;
+                return statement;
+            }
+            statements.remove(sql);
+            JdbcUtil.closeStatement(statement);
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Caches the given statement for the SQL, closing the least recently used statement if the cache is full.
+     * If the cache is disabled, the statement is not stored and the caller remains responsible for it.
+     *
+     * @return true if the statement was cached
+     */
+    public synchronized boolean put(String sql, PreparedStatement statement) {
+        if (maxSize <= 0) {
+            return false;
+        }
+        PreparedStatement replaced = statements.put(sql, statement);
+        if ((replaced != null) && (replaced != statement)) {
+            JdbcUtil.closeStatement(replaced);
+        }
+
+        List<PreparedStatement> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, PreparedStatement>> iterator = statements.entrySet().iterator();
+        while (statements.size() > maxSize) {
+            evicted.add(iterator.next().getValue());
+            iterator.remove();
+        }
+        for (PreparedStatement evictedStatement : evicted) {
+            JdbcUtil.closeStatement(evictedStatement);
+        }
+        return true;
+    }
+
+    /**
+     * Closes and removes all cached statements. The cache can still be used afterwards, and the hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        for (PreparedStatement statement : statements.values()) {
+            JdbcUtil.closeStatement(statement);
+        }
+        statements.clear();
+    }
+
+    /**
+     * Closes and removes all cached statements and logs how well the cache was used.
+     */
+    public synchronized void close() {
+        if (!statements.isEmpty() || (hits + misses) > 0) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Closing " + statements.size() + " cached prepared statements. " +
+                    "Cache hits: " + hits + ", misses: " + misses);
+        }
+        clear();
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -11,6 +11,7 @@ import java.io.*;
 public class ChangeLogWriter {
     protected Resource outputDir;
     private ResourceAccessor resourceAccessor;
+    private DBDocManifest manifest;
 
     public ChangeLogWriter(ResourceAccessor resourceAccessor, Resource rootOutputDir) {
         this.outputDir = rootOutputDir.resolve("changelogs");
@@ -21,17 +22,29 @@ public class ChangeLogWriter {
         String changeLogOutFile = changeLog.replace(":", "_");
         Resource xmlFile = outputDir.resolve(changeLogOutFile.toLowerCase() + ".html");
 
+        Resource stylesheet = resourceAccessor.get(physicalFilePath);
+        if (stylesheet == null) {
+            throw new IOException("Can not find " + changeLog);
+        }
+        String source;
+        try (InputStream stream = stylesheet.openInputStream()) {
+            source = StreamUtil.readStreamAsString(stream);
+        }
+        if ((manifest != null) && manifest.isUnchanged(xmlFile, source)) {
+            return;
+        }
+        String page = "<html><body><pre>\n" + source.replace("<", "&lt;").replace(">", "&gt;") + "\n</pre></body></html>";
+
         try (BufferedWriter changeLogStream = new BufferedWriter(new OutputStreamWriter(xmlFile.openOutputStream(new OpenOptions()),
                 GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()))) {
-            Resource stylesheet = resourceAccessor.get(physicalFilePath);
-            if (stylesheet == null) {
-                throw new IOException("Can not find " + changeLog);
-            }
-            try (InputStream stream = stylesheet.openInputStream()) {
-                changeLogStream.write("<html><body><pre>\n");
-                changeLogStream.write(StreamUtil.readStreamAsString(stream).replace("<", "&lt;").replace(">", "&gt;"));
-                changeLogStream.write("\n</pre></body></html>");
-            }
+            changeLogStream.write(page);
         }
     }
+
+    /**
+     * Sets the manifest used to skip changelogs that have not changed since the previous run. If null, all changelogs are written.
+     */
+    public void setManifest(DBDocManifest manifest) {
+        this.manifest = manifest;
+    }
 }
@@ -0,0 +1,90 @@
+package liquibase.dbdoc;
+
+import liquibase.resource.OpenOptions;
+import liquibase.resource.Resource;
+import liquibase.util.MD5Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes of what each page of a dbDoc run was generated from, saved in the output directory so the next run only renders and rewrites pages that changed.
+ * For most pages that is the source returned by {@link HTMLWriter#getPageSource}, so an unchanged page is found before it is rendered. The hashes do not
+ * include the "Generated" footer, so a page is unchanged when its table, columns, changes and their run status are.
+ * <p>
+ * This class is thread-safe so pages can be written in parallel.
+ */
+public class DBDocManifest {
+
+    public static final String FILE_NAME = "dbdoc-manifest.properties";
+
+    private final Resource rootOutputDir;
+    private final Map<String, String> previousHashes = new ConcurrentHashMap<>();
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final AtomicInteger unchangedPages = new AtomicInteger();
+
+    private DBDocManifest(Resource rootOutputDir) {
+        this.rootOutputDir = rootOutputDir;
+    }
+
+    /**
+     * Reads the manifest saved in the given directory by the previous run. If there is none, every page is treated as changed.
+     */
+    public static DBDocManifest load(Resource rootOutputDir) throws IOException {
+        DBDocManifest manifest = new DBDocManifest(rootOutputDir);
+        Resource file = rootOutputDir.resolve(FILE_NAME);
+        if (file.exists()) {
+            Properties properties = new Properties();
+            try (InputStream stream = file.openInputStream()) {
+                properties.load(stream);
+            }
+            for (String page : properties.stringPropertyNames()) {
+                manifest.previousHashes.put(page, properties.getProperty(page));
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Records what the given page is generated from and returns true if the page already exists and was generated from the same content,
+     * so it does not need to be written.
+     */
+    public boolean isUnchanged(Resource page, String content) {
+        String key = getKey(page);
+        String hash = MD5Util.computeMD5(content);
+        hashes.put(key, hash);
+        if (hash.equals(previousHashes.get(key)) && page.exists()) {
+            unchangedPages.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Saves the hashes of all pages recorded in this run, replacing the previous manifest.
+     */
+    public void save() throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(hashes);
+        try (OutputStream stream = rootOutputDir.resolve(FILE_NAME).openOutputStream(new OpenOptions())) {
+            properties.store(stream, "dbDoc page hashes");
+        }
+    }
+
+    public int getPageCount() {
+        return hashes.size();
+    }
+
+    public int getUnchangedPageCount() {
+        return unchangedPages.get();
+    }
+
+    private String getKey(Resource page) {
+        return rootOutputDir.getUri().relativize(page.getUri()).toString();
+    }
+}
@@ -12,15 +12,19 @@ import liquibase.util.StringUtil;
 
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.text.DateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 public abstract class HTMLWriter {
     protected Resource outputDir;
     protected Resource baseOutputDir;
     protected Database database;
+    private DBDocManifest manifest;
+    private Map<ChangeSet, ChangeSet.RunStatus> runStatuses;
 
     public HTMLWriter(Resource outputDir, Database database) {
         this.outputDir = outputDir;
@@ -30,28 +34,95 @@ public abstract class HTMLWriter {
 
     protected abstract void writeCustomHTML(Writer fileWriter, Object object, List<Change> changes, Database database) throws IOException;
 
-    private Writer createFileWriter(Object object) throws IOException {
-        return new OutputStreamWriter(outputDir.resolve(DBDocUtil.toFileName(object.toString().toLowerCase()) + ".html").openOutputStream(new OpenOptions()));
+    public void writeHTML(Object object, List<Change> ranChanges, List<Change> changesToRun, String changeLog) throws IOException, DatabaseHistoryException, DatabaseException {
+        writeHTML(outputDir, object, ranChanges, changesToRun, changeLog);
     }
 
-    public void writeHTML(Object object, List<Change> ranChanges, List<Change> changesToRun, String changeLog) throws IOException, DatabaseHistoryException, DatabaseException {
+    /**
+     * Writes the page for the object into the given directory. This does not modify the writer, so pages can be written from multiple threads.
+     */
+    protected void writeHTML(Resource outputDir, Object object, List<Change> ranChanges, List<Change> changesToRun, String changeLog) throws IOException, DatabaseHistoryException, DatabaseException {
+        Resource file = outputDir.resolve(DBDocUtil.toFileName(object.toString().toLowerCase()) + ".html");
+        String source = (manifest == null) ? null : getPageSource(object, ranChanges, changesToRun);
+        if ((source != null) && manifest.isUnchanged(file, source)) {
+            return;
+        }
 
+        StringWriter page = new StringWriter();
+        page.append("<html>");
+        writeHeader(object, page);
+        page.append("<body BGCOLOR=\"white\" onload=\"windowTitle();\">");
 
-        try (Writer fileWriter = createFileWriter(object)) {
-            fileWriter.append("<html>");
-            writeHeader(object, fileWriter);
-            fileWriter.append("<body BGCOLOR=\"white\" onload=\"windowTitle();\">");
+        page.append("<H2>").append(createTitle(object)).append("</H2>\n");
 
-            fileWriter.append("<H2>").append(createTitle(object)).append("</H2>\n");
+        writeBody(page, object, ranChanges, changesToRun);
+
+        if ((manifest != null) && (source == null) && manifest.isUnchanged(file, page.toString())) {
+            return;
+        }
 
-            writeBody(fileWriter, object, ranChanges, changesToRun);
+        try (Writer fileWriter = new OutputStreamWriter(file.openOutputStream(new OpenOptions()))) {
+            fileWriter.append(page.toString());
 
             writeFooter(fileWriter, changeLog);
 
             fileWriter.append("</body>");
             fileWriter.append("</html>");
         }
+    }
+
+    /**
+     * Sets the manifest used to skip pages that have not changed since the previous run. If null, all pages are written.
+     */
+    public void setManifest(DBDocManifest manifest) {
+        this.manifest = manifest;
+    }
+
+    /**
+     * Sets the run status of each changeset, resolved before pages are written so that pages written on other threads do not query the database.
+     * The status of a changeset that is not in the map is read from the database.
+     */
+    public void setRunStatuses(Map<ChangeSet, ChangeSet.RunStatus> runStatuses) {
+        this.runStatuses = runStatuses;
+    }
+
+    protected ChangeSet.RunStatus getRunStatus(ChangeSet changeSet) throws DatabaseException, DatabaseHistoryException {
+        ChangeSet.RunStatus runStatus = (runStatuses == null) ? null : runStatuses.get(changeSet);
+        if (runStatus == null) {
+            runStatus = database.getRunStatus(changeSet);
+        }
+        return runStatus;
+    }
 
+    /**
+     * Returns what the page for the object is generated from, so the manifest can tell that a page has not changed without rendering it.
+     * This is the title, the output of {@link #writeCustomHTML(Writer, Object, List, Database)}, and what is shown for each change.
+     * Writers whose body shows more than that return null, and their pages are rendered and compared instead.
+     */
+    protected String getPageSource(Object object, List<Change> ranChanges, List<Change> changesToRun) throws IOException, DatabaseHistoryException, DatabaseException {
+        StringWriter source = new StringWriter();
+        source.append(createTitle(object)).append("\n");
+        writeCustomHTML(source, object, ranChanges, database);
+        appendChangesSource(source, changesToRun);
+        appendChangesSource(source, ranChanges);
+        return source.toString();
+    }
+
+    private void appendChangesSource(Writer source, List<Change> changes) throws IOException, DatabaseHistoryException, DatabaseException {
+        source.append("\n--\n");
+        if (changes == null) {
+            return;
+        }
+        for (Change change : changes) {
+            ChangeSet changeSet = change.getChangeSet();
+            ChangeSet.RunStatus runStatus = getRunStatus(changeSet);
+            source.append(changeSet.toString(false)).append("|").append(String.valueOf(runStatus)).append("|");
+            if (runStatus == ChangeSet.RunStatus.ALREADY_RAN) {
+                Date ranDate = database.getRanDate(changeSet);
+                source.append(String.valueOf((ranDate == null) ? null : ranDate.getTime()));
+            }
+            source.append("|").append(changeSet.getComments()).append("|").append(change.getConfirmationMessage()).append("\n");
+        }
     }
 
     private void writeFooter(Writer fileWriter, String changeLog) throws IOException {
@@ -136,7 +207,7 @@ public abstract class HTMLWriter {
                     writeTD(fileWriter, change.getChangeSet().getId());
                     writeTD(fileWriter, "<a href='../authors/"+DBDocUtil.toFileName(change.getChangeSet().getAuthor().toLowerCase())+".html'>"+ StringUtil.escapeHtml(change.getChangeSet().getAuthor().toLowerCase())+"</a>");
 
-                    ChangeSet.RunStatus runStatus = database.getRunStatus(change.getChangeSet());
+                    ChangeSet.RunStatus runStatus = getRunStatus(change.getChangeSet());
                     if (runStatus.equals(ChangeSet.RunStatus.NOT_RAN)) {
                         String anchor = change.getChangeSet().toString(false).replaceAll("\\W","_");
                         writeTD(fileWriter, "NOT YET RAN [<a href='../pending/sql.html#"+ anchor +"'>SQL</a>]");
@@ -69,6 +69,14 @@ public class PendingSQLWriter extends HTMLWriter {
         }
     }
 
+    /**
+     * The pending SQL depends on everything in the changes, so this page is always rendered and compared.
+     */
+    @Override
+    protected String getPageSource(Object object, List<Change> ranChanges, List<Change> changesToRun) {
+        return null;
+    }
+
     @Override
     protected void writeCustomHTML(Writer fileWriter, Object object, List<Change> changes, Database database) throws IOException {
     }
@@ -36,8 +36,8 @@ public class TableWriter extends HTMLWriter {
     }
 
     public void writeHTML(Object object, List<Change> ranChanges, List<Change> changesToRun, String changeLog, String schema) throws DatabaseHistoryException, IOException, DatabaseException {
-        super.outputDir = Scope.getCurrentScope().getSingleton(PathHandlerFactory.class).getResource(super.baseOutputDir.getPath() + System.getProperty("file.separator") + schema);
-        super.writeHTML(object, ranChanges, changesToRun, changeLog);
+        Resource schemaOutputDir = Scope.getCurrentScope().getSingleton(PathHandlerFactory.class).getResource(super.baseOutputDir.getPath() + System.getProperty("file.separator") + schema);
+        super.writeHTML(schemaOutputDir, object, ranChanges, changesToRun, changeLog);
 
     }
 
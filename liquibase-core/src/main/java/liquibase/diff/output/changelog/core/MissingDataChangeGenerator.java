@@ -4,6 +4,7 @@ import liquibase.change.Change;
 import liquibase.change.ColumnConfig;
 import liquibase.change.core.InsertDataChange;
 import liquibase.GlobalConfiguration;
+import liquibase.Scope;
 import liquibase.database.Database;
 import liquibase.database.core.InformixDatabase;
 import liquibase.database.jvm.JdbcConnection;
@@ -26,6 +27,11 @@ import java.util.List;
 
 public class MissingDataChangeGenerator extends AbstractChangeGenerator implements MissingObjectChangeGenerator {
 
+    /**
+     * Number of rows between progress log messages while reading table data.
+     */
+    protected static final int PROGRESS_LOG_INTERVAL = 10000;
+
     @Override
     public int getPriority(Class<? extends DatabaseObject> objectType, Database database) {
         if (Data.class.isAssignableFrom(objectType)) {
@@ -62,7 +68,7 @@ public class MissingDataChangeGenerator extends AbstractChangeGenerator implemen
 
             String sql = "SELECT * FROM " + referenceDatabase.escapeTableName(table.getSchema().getCatalogName(), table.getSchema().getName(), table.getName());
             stmt = ((JdbcConnection) referenceDatabase.getConnection()).createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-            stmt.setFetchSize(1000);
+            stmt.setFetchSize(getFetchSize());
             rs = stmt.executeQuery(sql);
 
             List<String> columnNames = new ArrayList<>();
@@ -111,6 +117,7 @@ public class MissingDataChangeGenerator extends AbstractChangeGenerator implemen
                 // for each row, add a new change
                 // (there will be one group per table)
                 changes.add(change);
+                logProgress(table, changes.size());
             }
 
             return changes.toArray(EMPTY_CHANGE);
@@ -131,4 +138,21 @@ public class MissingDataChangeGenerator extends AbstractChangeGenerator implemen
             }
         }
     }
+
+    /**
+     * Returns the JDBC fetch size to use when reading table data, as configured by {@link GlobalConfiguration#DIFF_DATA_FETCH_SIZE}.
+     */
+    protected int getFetchSize() {
+        Integer fetchSize = GlobalConfiguration.DIFF_DATA_FETCH_SIZE.getCurrentValue();
+        if ((fetchSize == null) || (fetchSize < 0)) {
+            return 0;
+        }
+        return fetchSize;
+    }
+
+    protected void logProgress(Table table, long rowsRead) {
+        if ((rowsRead % PROGRESS_LOG_INTERVAL) == 0) {
+            Scope.getCurrentScope().getLog(getClass()).info("Read " + rowsRead + " rows from " + table.getName());
+        }
+    }
 }
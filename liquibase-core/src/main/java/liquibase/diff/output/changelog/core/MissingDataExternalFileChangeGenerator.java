@@ -66,7 +66,7 @@ public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGen
             String sql = "SELECT * FROM " + referenceDatabase.escapeTableName(table.getSchema().getCatalogName(), table.getSchema().getName(), table.getName());
 
             
-            stmt.setFetchSize(100);
+            stmt.setFetchSize(getFetchSize());
             rs = stmt.executeQuery(sql);
 
             if (rs.isBeforeFirst()) {
@@ -75,33 +75,25 @@ public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGen
                     columnNames.add(rs.getMetaData().getColumnName(i + 1));
                 }
 
-                final PathHandlerFactory pathHandlerFactory = Scope.getCurrentScope().getSingleton(PathHandlerFactory.class);
-                String fileName = table.getName().toLowerCase() + ".csv";
-                Resource externalFileResource = pathHandlerFactory.getResource(fileName);
-                if (dataDir != null) {
-                    Resource dataDirResource = pathHandlerFactory.getResource(dataDir);
-                    externalFileResource = dataDirResource.resolve(fileName);
-                }
-
-                String[] dataTypes = new String[0];
-                try (
-                        OutputStream fileOutputStream = externalFileResource.openOutputStream(new OpenOptions());
-                        OutputStreamWriter outputStreamWriter = new OutputStreamWriter(
-                                fileOutputStream, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                        CSVWriter outputFile = new CSVWriter(new BufferedWriter(outputStreamWriter))
-                ) {
-
-                    dataTypes = new String[columnNames.size()];
-                    String[] line = new String[columnNames.size()];
-                    for (int i = 0; i < columnNames.size(); i++) {
-                        line[i] = columnNames.get(i);
-                    }
-                    outputFile.writeNext(line);
-
-                    int rowNum = 0;
+                int rowsPerFile = getRowsPerFile();
+                List<Resource> externalFileResources = new ArrayList<>();
+                String[] dataTypes = new String[columnNames.size()];
+                CSVWriter outputFile = null;
+                try {
+                    long rowNum = 0;
+                    int rowsInFile = 0;
                     while (rs.next()) {
-                        line = new String[columnNames.size()];
+                        if ((outputFile == null) || ((rowsPerFile > 0) && (rowsInFile >= rowsPerFile))) {
+                            if (outputFile != null) {
+                                outputFile.close();
+                            }
+                            Resource externalFileResource = getExternalFileResource(table, externalFileResources.size() + 1);
+                            externalFileResources.add(externalFileResource);
+                            outputFile = openOutputFile(externalFileResource, columnNames);
+                            rowsInFile = 0;
+                        }
 
+                        String[] line = new String[columnNames.size()];
                         for (int i = 0; i < columnNames.size(); i++) {
                             Object value = JdbcUtil.getResultSetValue(rs, i + 1);
                             if ((dataTypes[i] == null) && (value != null)) {
@@ -133,35 +125,49 @@ public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGen
                         }
                         outputFile.writeNext(line);
                         rowNum++;
+                        rowsInFile++;
                         if ((rowNum % 5000) == 0) {
                             outputFile.flush();
                         }
+                        logProgress(table, rowNum);
+                    }
+                    if (outputFile == null) {
+                        //no rows after all: still write the header so the table gets a loadData change, as for any other table
+                        Resource externalFileResource = getExternalFileResource(table, 1);
+                        externalFileResources.add(externalFileResource);
+                        outputFile = openOutputFile(externalFileResource, columnNames);
+                    }
+                } finally {
+                    if (outputFile != null) {
+                        outputFile.close();
                     }
                 }
 
-                LoadDataChange change = new LoadDataChange();
-                change.setFile(externalFileResource.getPath());
-                change.setEncoding(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                if (outputControl.getIncludeCatalog()) {
-                    change.setCatalogName(table.getSchema().getCatalogName());
-                }
-                if (outputControl.getIncludeSchema()) {
-                    change.setSchemaName(table.getSchema().getName());
-                }
-                change.setTableName(table.getName());
+                List<Change> changes = new ArrayList<>();
+                for (Resource externalFileResource : externalFileResources) {
+                    LoadDataChange change = new LoadDataChange();
+                    change.setFile(externalFileResource.getPath());
+                    change.setEncoding(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+                    if (outputControl.getIncludeCatalog()) {
+                        change.setCatalogName(table.getSchema().getCatalogName());
+                    }
+                    if (outputControl.getIncludeSchema()) {
+                        change.setSchemaName(table.getSchema().getName());
+                    }
+                    change.setTableName(table.getName());
 
-                for (int i = 0; i < columnNames.size(); i++) {
-                    String colName = columnNames.get(i);
-                    LoadDataColumnConfig columnConfig = new LoadDataColumnConfig();
-                    columnConfig.setHeader(colName);
-                    columnConfig.setName(colName);
-                    columnConfig.setType(dataTypes[i] != null ? dataTypes[i] : "skip");
+                    for (int i = 0; i < columnNames.size(); i++) {
+                        String colName = columnNames.get(i);
+                        LoadDataColumnConfig columnConfig = new LoadDataColumnConfig();
+                        columnConfig.setHeader(colName);
+                        columnConfig.setName(colName);
+                        columnConfig.setType(dataTypes[i] != null ? dataTypes[i] : "skip");
 
-                    change.addColumn(columnConfig);
+                        change.addColumn(columnConfig);
+                    }
+                    changes.add(change);
                 }
-                return new Change[]{
-                        change
-                };
+                return changes.toArray(EMPTY_CHANGE);
             }
             return Change.EMPTY_CHANGE;
         } catch (Exception e) {
@@ -176,4 +182,46 @@ public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGen
             } // rs == null?
         } // try... finally
     } // method fixMissing
+
+    /**
+     * Returns the maximum number of rows to write to a single CSV file, or 0 for no limit.
+     */
+    protected int getRowsPerFile() {
+        Integer rowsPerFile = GlobalConfiguration.DIFF_DATA_ROWS_PER_FILE.getCurrentValue();
+        if ((rowsPerFile == null) || (rowsPerFile < 0)) {
+            return 0;
+        }
+        return rowsPerFile;
+    }
+
+    /**
+     * Returns the resource for the given 1-based file number of the table's data.
+     * The first file is always named after the table, so unsplit exports keep their original file name.
+     */
+    protected Resource getExternalFileResource(Table table, int fileNumber) throws IOException {
+        final PathHandlerFactory pathHandlerFactory = Scope.getCurrentScope().getSingleton(PathHandlerFactory.class);
+        String fileName = table.getName().toLowerCase();
+        if (fileNumber > 1) {
+            fileName += "_" + fileNumber;
+        }
+        fileName += ".csv";
+
+        if (dataDir == null) {
+            return pathHandlerFactory.getResource(fileName);
+        }
+        return pathHandlerFactory.getResource(dataDir).resolve(fileName);
+    }
+
+    private CSVWriter openOutputFile(Resource externalFileResource, List<String> columnNames) throws IOException {
+        OutputStream fileOutputStream = externalFileResource.openOutputStream(new OpenOptions());
+        try {
+            CSVWriter outputFile = new CSVWriter(new BufferedWriter(new OutputStreamWriter(
+                    fileOutputStream, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue())));
+            outputFile.writeNext(columnNames.toArray(new String[0]));
+            return outputFile;
+        } catch (IOException | RuntimeException e) {
+            fileOutputStream.close();
+            throw e;
+        }
+    }
 } // class MissingDataExternalFileChangeGenerator
@@ -103,7 +103,7 @@ public abstract class AbstractExecutor implements Executor {
     }
 
     protected String[] applyVisitors(SqlStatement statement, List<SqlVisitor> sqlVisitors) throws DatabaseException {
-        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(statement, database);
+        Sql[] sql = PrerenderedSql.generateSql(statement, database);
         if (sql == null) {
             return new String[0];
         }
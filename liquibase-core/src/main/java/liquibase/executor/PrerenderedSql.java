@@ -0,0 +1,397 @@
+package liquibase.executor;
+
+import liquibase.Scope;
+import liquibase.change.AbstractSQLChange;
+import liquibase.change.Change;
+import liquibase.change.DbmsTargetedChange;
+import liquibase.change.core.RawSQLChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.DatabaseList;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.exception.RollbackImpossibleException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the statements and SQL for changes on multiple threads while a *-sql command runs through the changelog.
+ * When an instance is set in the scope under {@link #SCOPE_KEY}, {@link #generateStatements(Change, Database)} and
+ * {@link #generateSql(SqlStatement, Database)} return the results generated ahead of time instead of generating them again,
+ * so the serial run only has to write them out in changelog order.
+ * <p>
+ * The changesets are rendered a window at a time: when the run reaches a changeset past the current window, the next
+ * {@link #CHANGESETS_PER_THREAD} changesets per thread are rendered and the previous window is discarded, so only a bounded part of the
+ * script is held in memory. The run thread waits while a window renders. The workers share the run's {@link Database}, which they
+ * only read, and SQL generators are stateless, so nothing else changes the database while they use it.
+ * <p>
+ * Only changes that do not need up-to-date database metadata are rendered ahead of time. Anything that fails or is skipped here
+ * is simply generated normally during the run, so errors are reported in the usual place.
+ * <p>
+ * {@link #renderRollbacks(List, Database, int)} checks the rollback of changesets so a rollback can be planned before it runs, and with more than one
+ * thread renders it ahead of time as well. Rollbacks that can already be seen to be impossible are returned by {@link #getImpossibleRollbacks()}
+ * rather than being left for the run.
+ */
+public class PrerenderedSql {
+
+    public static final String SCOPE_KEY = PrerenderedSql.class.getName();
+
+    /**
+     * The number of changesets rendered in each window for every thread.
+     */
+    static final int CHANGESETS_PER_THREAD = 10;
+
+    private final Database database;
+    private final Map<Change, SqlStatement[]> statements = new IdentityHashMap<>();
+    private final Map<Change, SqlStatement[]> rollbackStatements = new IdentityHashMap<>();
+    private final Map<SqlStatement, Sql[]> sql = new IdentityHashMap<>();
+    private final Map<ChangeSet, String> impossibleRollbacks = new LinkedHashMap<>();
+
+    private final List<ChangeSet> changeSets;
+    private final Map<Change, Integer> changeSetIndexes = new IdentityHashMap<>();
+    private final int threads;
+    private int windowEnd;
+
+    private PrerenderedSql(Database database) {
+        this(database, Collections.emptyList(), 1);
+    }
+
+    private PrerenderedSql(Database database, List<ChangeSet> changeSets, int threads) {
+        this.database = database;
+        this.changeSets = changeSets;
+        this.threads = threads;
+    }
+
+    /**
+     * Sets up the rendering of the changes in the given changesets using the given number of threads. Nothing is rendered until the run
+     * looks up the first change, then the changesets are rendered a window at a time as the run reaches them.
+     */
+    public static PrerenderedSql render(List<ChangeSet> changeSets, Database database, int threads) {
+        PrerenderedSql prerenderedSql = new PrerenderedSql(database, new ArrayList<>(changeSets), Math.max(threads, 1));
+        for (int i = 0; i < changeSets.size(); i++) {
+            for (Change change : changeSets.get(i).getChanges()) {
+                prerenderedSql.changeSetIndexes.put(change, i);
+            }
+        }
+        return prerenderedSql;
+    }
+
+    /**
+     * Returns the statements rendered for the given change, first rendering the window starting at its changeset if the run has moved past
+     * the current window.
+     */
+    private synchronized SqlStatement[] getStatements(Change change) {
+        Integer index = changeSetIndexes.get(change);
+        if ((index != null) && (index >= windowEnd)) {
+            try {
+                renderWindow(index);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return statements.get(change);
+    }
+
+    private synchronized Sql[] getSql(SqlStatement statement) {
+        return sql.get(statement);
+    }
+
+    private void renderWindow(int start) throws InterruptedException {
+        statements.clear();
+        sql.clear();
+        windowEnd = Math.min(start + (threads * CHANGESETS_PER_THREAD), changeSets.size());
+
+        //the workers render in the scope of the run at the point it reached this window
+        Scope renderScope = Scope.getCurrentScope();
+
+        //ChangeSet.execute() sets the changeset's quoting strategy on the database before generating its changes. The workers share the
+        //database, so the changesets are rendered one quoting strategy at a time with the database set up the way the run will have it
+        Map<ObjectQuotingStrategy, List<Callable<RenderedChange>>> tasksByQuotingStrategy = new LinkedHashMap<>();
+        int changeCount = 0;
+        for (ChangeSet changeSet : changeSets.subList(start, windowEnd)) {
+            List<Callable<RenderedChange>> tasks = tasksByQuotingStrategy.computeIfAbsent(changeSet.getObjectQuotingStrategy(), quotingStrategy -> new ArrayList<>());
+            for (Change change : changeSet.getChanges()) {
+                tasks.add(() -> Scope.runInScope(renderScope, () -> render(change, database)));
+                changeCount++;
+            }
+        }
+
+        ObjectQuotingStrategy originalQuotingStrategy = database.getObjectQuotingStrategy();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Map.Entry<ObjectQuotingStrategy, List<Callable<RenderedChange>>> entry : tasksByQuotingStrategy.entrySet()) {
+                database.setObjectQuotingStrategy(entry.getKey());
+                for (Future<RenderedChange> future : pool.invokeAll(entry.getValue())) {
+                    RenderedChange rendered;
+                    try {
+                        rendered = future.get();
+                    } catch (ExecutionException e) {
+                        //the change will be generated normally during the run
+                        continue;
+                    }
+                    if (rendered != null) {
+                        statements.put(rendered.change, rendered.statements);
+                        for (int i = 0; i < rendered.statements.length; i++) {
+                            if (rendered.sql[i] != null) {
+                                sql.put(rendered.statements[i], rendered.sql[i]);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            database.setObjectQuotingStrategy(originalQuotingStrategy);
+            pool.shutdownNow();
+        }
+
+        Scope.getCurrentScope().getLog(PrerenderedSql.class).fine("Rendered sql ahead of time for " + statements.size() + " of " + changeCount +
+                " changes in changesets " + (start + 1) + " to " + windowEnd + " of " + changeSets.size());
+    }
+
+    private static RenderedChange render(Change change, Database database) {
+        try {
+            if (!change.supports(database) || change.generateStatementsVolatile(database)) {
+                return null;
+            }
+            if ((change instanceof AbstractSQLChange) && ((AbstractSQLChange) change).supportsStatementStreaming(database)) {
+                return null;
+            }
+
+            SqlStatement[] changeStatements = change.generateStatements(database);
+            if (changeStatements == null) {
+                return null;
+            }
+            Sql[][] changeSql = new Sql[changeStatements.length][];
+            for (int i = 0; i < changeStatements.length; i++) {
+                if (!SqlGeneratorFactory.getInstance().generateStatementsVolatile(changeStatements[i], database)) {
+                    changeSql[i] = SqlGeneratorFactory.getInstance().generateSql(changeStatements[i], database);
+                }
+            }
+            return new RenderedChange(change, changeStatements, changeSql);
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(PrerenderedSql.class).fine("Cannot render " + change.getSerializedObjectName() + " ahead of time: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Plans the rollback of the given changesets, recording any changeset whose rollback fails validation or cannot be generated in
+     * {@link #getImpossibleRollbacks()}. With more than one thread, the statements of custom rollback changes and the generated rollback
+     * statements of the other changes are also rendered ahead of time on that many threads. Otherwise only the checks run, on the calling thread,
+     * and everything is generated when the rollback runs.
+     * Changes whose rollback depends on the current database state are always left to be generated when the rollback runs.
+     */
+    public static PrerenderedSql renderRollbacks(List<ChangeSet> changeSets, Database database, int threads) throws InterruptedException {
+        PrerenderedSql prerenderedSql = new PrerenderedSql(database);
+        Scope callerScope = Scope.getCurrentScope();
+        boolean prerender = threads > 1;
+
+        //ChangeSet.rollback() sets the changeset's quoting strategy on the database before generating its rollback, so the changesets
+        //are checked and rendered one quoting strategy at a time the same way render() does
+        Map<ObjectQuotingStrategy, List<ChangeSet>> changeSetsByQuotingStrategy = new LinkedHashMap<>();
+        for (ChangeSet changeSet : changeSets) {
+            changeSetsByQuotingStrategy.computeIfAbsent(changeSet.getObjectQuotingStrategy(), quotingStrategy -> new ArrayList<>()).add(changeSet);
+        }
+
+        Map<ChangeSet, RenderedRollback> renderedRollbacks = new IdentityHashMap<>();
+        ObjectQuotingStrategy originalQuotingStrategy = database.getObjectQuotingStrategy();
+        ForkJoinPool pool = prerender ? new ForkJoinPool(threads) : null;
+        try {
+            for (Map.Entry<ObjectQuotingStrategy, List<ChangeSet>> entry : changeSetsByQuotingStrategy.entrySet()) {
+                database.setObjectQuotingStrategy(entry.getKey());
+                if (pool == null) {
+                    for (ChangeSet changeSet : entry.getValue()) {
+                        renderedRollbacks.put(changeSet, renderRollback(changeSet, database, false));
+                    }
+                    continue;
+                }
+                List<Callable<RenderedRollback>> tasks = new ArrayList<>();
+                for (ChangeSet changeSet : entry.getValue()) {
+                    tasks.add(() -> Scope.runInScope(callerScope, () -> renderRollback(changeSet, database, true)));
+                }
+                for (Future<RenderedRollback> future : pool.invokeAll(tasks)) {
+                    RenderedRollback rendered = future.get();
+                    renderedRollbacks.put(rendered.changeSet, rendered);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new UnexpectedLiquibaseException(e.getCause());
+        } finally {
+            database.setObjectQuotingStrategy(originalQuotingStrategy);
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+
+        for (ChangeSet changeSet : changeSets) {
+            RenderedRollback rendered = renderedRollbacks.get(changeSet);
+            if (rendered.problem != null) {
+                prerenderedSql.impossibleRollbacks.put(rendered.changeSet, rendered.problem);
+            }
+            for (RenderedChange change : rendered.changes) {
+                (rendered.custom ? prerenderedSql.statements : prerenderedSql.rollbackStatements).put(change.change, change.statements);
+                for (int i = 0; i < change.statements.length; i++) {
+                    if (change.sql[i] != null) {
+                        prerenderedSql.sql.put(change.statements[i], change.sql[i]);
+                    }
+                }
+            }
+        }
+
+        Scope.getCurrentScope().getLog(PrerenderedSql.class).fine((prerender ? "Rendered rollback sql ahead of time for " : "Checked the rollback of ") +
+                changeSets.size() + " changesets. " + prerenderedSql.impossibleRollbacks.size() + " cannot be rolled back");
+        return prerenderedSql;
+    }
+
+    /**
+     * Checks the rollback of the given changeset, keeping the generated statements and their SQL only if prerender is true.
+     */
+    private static RenderedRollback renderRollback(ChangeSet changeSet, Database database, boolean prerender) {
+        RenderedRollback rendered = new RenderedRollback(changeSet, changeSet.hasCustomRollbackChanges());
+        try {
+            if (rendered.custom) {
+                for (Change change : changeSet.getRollback().getChanges()) {
+                    if (isIgnoredRollbackChange(change, database)) {
+                        continue;
+                    }
+                    ValidationErrors errors = change.validate(database);
+                    if (errors.hasErrors()) {
+                        rendered.problem = "Rollback statement failed validation: " + errors;
+                        return rendered;
+                    }
+                    if (prerender && !change.generateStatementsVolatile(database)) {
+                        renderStatements(rendered, change, change.generateStatements(database), database);
+                    }
+                }
+            } else {
+                for (Change change : changeSet.getChanges()) {
+                    if ((change instanceof RawSQLChange) && (changeSet.getFilePath() != null) && changeSet.getFilePath().toLowerCase().endsWith(".sql")) {
+                        rendered.problem = "Liquibase does not support automatic rollback generation for raw " +
+                                "sql changes (did you mean to specify keyword \"empty\" to ignore rolling back this change?)";
+                        return rendered;
+                    }
+                    if (!change.generateRollbackStatementsVolatile(database)) {
+                        //generating the statements is what finds a change with no rollback, so it is done even when they are not kept
+                        SqlStatement[] changeStatements = change.generateRollbackStatements(database);
+                        if (prerender) {
+                            renderStatements(rendered, change, changeStatements, database);
+                        }
+                    }
+                }
+            }
+        } catch (RollbackImpossibleException e) {
+            rendered.problem = e.getMessage();
+        } catch (Exception e) {
+            //the rest of the rollback will be generated normally during the run, so errors are reported there
+            Scope.getCurrentScope().getLog(PrerenderedSql.class).fine("Cannot render rollback of " + changeSet + " ahead of time: " + e.getMessage(), e);
+        }
+        return rendered;
+    }
+
+    private static void renderStatements(RenderedRollback rendered, Change change, SqlStatement[] changeStatements, Database database) {
+        if (changeStatements == null) {
+            return;
+        }
+        Sql[][] changeSql = new Sql[changeStatements.length][];
+        for (int i = 0; i < changeStatements.length; i++) {
+            if (!SqlGeneratorFactory.getInstance().generateStatementsVolatile(changeStatements[i], database)) {
+                changeSql[i] = SqlGeneratorFactory.getInstance().generateSql(changeStatements[i], database);
+            }
+        }
+        rendered.changes.add(new RenderedChange(change, changeStatements, changeSql));
+    }
+
+    /**
+     * Returns true for the changes that {@link ChangeSet#rollback(Database)} skips in a custom rollback.
+     */
+    private static boolean isIgnoredRollbackChange(Change change, Database database) {
+        return ((change instanceof DbmsTargetedChange) && !DatabaseList.definitionMatches(((DbmsTargetedChange) change).getDbms(), database, true))
+                || ((change instanceof RawSQLChange) && "empty".equalsIgnoreCase(((RawSQLChange) change).getSql()));
+    }
+
+    /**
+     * Returns the changesets passed to {@link #renderRollbacks(List, Database, int)} that cannot be rolled back, in order, with the reason why.
+     */
+    public Map<ChangeSet, String> getImpossibleRollbacks() {
+        return Collections.unmodifiableMap(impossibleRollbacks);
+    }
+
+    /**
+     * Returns the statements rendered ahead of time for the given change if there are any in the current scope, otherwise calls {@link Change#generateStatements(Database)}.
+     */
+    public static SqlStatement[] generateStatements(Change change, Database database) {
+        PrerenderedSql prerenderedSql = Scope.getCurrentScope().get(SCOPE_KEY, PrerenderedSql.class);
+        if ((prerenderedSql != null) && (prerenderedSql.database == database)) {
+            SqlStatement[] statements = prerenderedSql.getStatements(change);
+            if (statements != null) {
+                return statements;
+            }
+        }
+        return change.generateStatements(database);
+    }
+
+    /**
+     * Returns the rollback statements rendered ahead of time for the given change if there are any in the current scope, otherwise calls {@link Change#generateRollbackStatements(Database)}.
+     */
+    public static SqlStatement[] generateRollbackStatements(Change change, Database database) throws RollbackImpossibleException {
+        PrerenderedSql prerenderedSql = Scope.getCurrentScope().get(SCOPE_KEY, PrerenderedSql.class);
+        if ((prerenderedSql != null) && (prerenderedSql.database == database)) {
+            SqlStatement[] statements = prerenderedSql.rollbackStatements.get(change);
+            if (statements != null) {
+                return statements;
+            }
+        }
+        return change.generateRollbackStatements(database);
+    }
+
+    /**
+     * Returns the sql rendered ahead of time for the given statement if there is any in the current scope, otherwise calls {@link SqlGeneratorFactory#generateSql(SqlStatement, Database)}.
+     */
+    public static Sql[] generateSql(SqlStatement statement, Database database) {
+        PrerenderedSql prerenderedSql = Scope.getCurrentScope().get(SCOPE_KEY, PrerenderedSql.class);
+        if ((prerenderedSql != null) && (prerenderedSql.database == database)) {
+            Sql[] sql = prerenderedSql.getSql(statement);
+            if (sql != null) {
+                return sql;
+            }
+        }
+        return SqlGeneratorFactory.getInstance().generateSql(statement, database);
+    }
+
+    private static class RenderedRollback {
+        private final ChangeSet changeSet;
+        private final boolean custom;
+        private final List<RenderedChange> changes = new ArrayList<>();
+        private String problem;
+
+        private RenderedRollback(ChangeSet changeSet, boolean custom) {
+            this.changeSet = changeSet;
+            this.custom = custom;
+        }
+    }
+
+    private static class RenderedChange {
+        private final Change change;
+        private final SqlStatement[] statements;
+        private final Sql[][] sql;
+
+        private RenderedChange(Change change, SqlStatement[] statements, Sql[][] sql) {
+            this.change = change;
+            this.statements = statements;
+            this.sql = sql;
+        }
+    }
+}
@@ -18,6 +18,8 @@ public class HubConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<String> LIQUIBASE_HUB_URL;
     public static final ConfigurationDefinition<HubMode> LIQUIBASE_HUB_MODE;
     public static final ConfigurationDefinition<Level> LIQUIBASE_HUB_LOGLEVEL;
+    public static final ConfigurationDefinition<Boolean> LIQUIBASE_HUB_ASYNC_EVENTS;
+    public static final ConfigurationDefinition<Integer> LIQUIBASE_HUB_EVENT_QUEUE_SIZE;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase.hub");
@@ -76,6 +78,18 @@ public class HubConfiguration implements AutoloadedConfigurations {
                     return Level.parse(value.toString());
                 })
                 .build();
+
+        LIQUIBASE_HUB_ASYNC_EVENTS = builder.define("asyncEvents", Boolean.class)
+                .setDescription("Should changeset events be sent to Liquibase Hub from a background thread instead of waiting for each one? " +
+                        "All queued events are sent before the operation is completed.")
+                .setDefaultValue(false)
+                .build();
+
+        LIQUIBASE_HUB_EVENT_QUEUE_SIZE = builder.define("eventQueueSize", Integer.class)
+                .setDescription("Maximum number of changeset events waiting to be sent to Liquibase Hub when liquibase.hub.asyncEvents is enabled. " +
+                        "When the queue is full, changesets wait for room.")
+                .setDefaultValue(1000)
+                .build();
     }
 
     public enum HubMode {
@@ -1,6 +1,7 @@
 package liquibase.hub;
 
 import liquibase.Contexts;
+import liquibase.GlobalConfiguration;
 import liquibase.LabelExpression;
 import liquibase.RuntimeEnvironment;
 import liquibase.Scope;
@@ -194,6 +195,15 @@ public class HubUpdater {
         return hubChangeLog;
     }
 
+    /**
+     * Creates the buffer that captures the log of a whole operation to send to Hub when it completes. Like the log of each changeset, it keeps
+     * at most {@link GlobalConfiguration#CHANGESET_LOG_BUFFER_SIZE} messages. Only create it for operations that report to Hub, because nothing
+     * else reads it.
+     */
+    public static BufferedLogService createOperationLogBuffer() {
+        return new BufferedLogService(GlobalConfiguration.CHANGESET_LOG_BUFFER_SIZE.getCurrentValue());
+    }
+
     /**
      * Update the Hub after the operation
      *
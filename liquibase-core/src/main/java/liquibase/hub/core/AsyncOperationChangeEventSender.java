@@ -0,0 +1,138 @@
+package liquibase.hub.core;
+
+import liquibase.Scope;
+import liquibase.hub.LiquibaseHubException;
+import liquibase.hub.LiquibaseHubObjectNotFoundException;
+import liquibase.hub.LiquibaseHubSecurityException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts operation change events to Hub from a background thread so changesets do not wait on a round trip to Hub.
+ * Events are taken from the queue in batches and posted in the order they were submitted. Hub has no endpoint that accepts several events,
+ * so each event is still its own request, but they are sent back to back over the same kept-alive connection.
+ * <p>
+ * The queue is bounded: when Hub is slower than the update, {@link #submit(String, HubRequest)} waits for room instead of using unbounded memory.
+ * Failed requests are retried with an increasing delay, except for authentication and not-found errors which will not succeed on a retry.
+ * {@link #flush()} waits for everything submitted so far and is called before the operation is completed in Hub.
+ * <p>
+ * Requests run on the sender thread outside of any scope set up by the submitting thread, so they must carry
+ * the Hub settings they need rather than reading them from {@link Scope#getCurrentScope()}.
+ */
+class AsyncOperationChangeEventSender {
+
+    static final int BATCH_SIZE = 50;
+    static final int MAX_ATTEMPTS = 3;
+
+    private final BlockingQueue<Request> queue;
+    private final long retryDelayMillis;
+    private final Thread senderThread;
+
+    private final Object lock = new Object();
+    private long submitted;
+    private long completed;
+    private int failed;
+
+    /**
+     * Sends a single request to Hub.
+     */
+    interface HubRequest {
+        void send() throws LiquibaseHubException;
+    }
+
+    AsyncOperationChangeEventSender(int queueSize, long retryDelayMillis) {
+        this.queue = new LinkedBlockingQueue<>(Math.max(queueSize, 1));
+        this.retryDelayMillis = retryDelayMillis;
+
+        this.senderThread = new Thread(this::sendRequests, "liquibase-hub-events");
+        this.senderThread.setDaemon(true);
+        this.senderThread.start();
+    }
+
+    /**
+     * Queues the request, waiting for room in the queue if it is full.
+     */
+    void submit(String description, HubRequest request) throws InterruptedException {
+        synchronized (lock) {
+            submitted++;
+        }
+        queue.put(new Request(description, request));
+    }
+
+    /**
+     * Waits until all requests submitted so far have been sent or have failed.
+     */
+    void flush() throws InterruptedException {
+        synchronized (lock) {
+            long target = submitted;
+            while ((completed < target) && senderThread.isAlive()) {
+                lock.wait(100);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of requests that could not be sent, even after retrying, since the last call to this method.
+     */
+    int takeFailedCount() {
+        synchronized (lock) {
+            int count = failed;
+            failed = 0;
+            return count;
+        }
+    }
+
+    private void sendRequests() {
+        List<Request> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (Request request : batch) {
+                    boolean sent = send(request);
+                    synchronized (lock) {
+                        completed++;
+                        if (!sent) {
+                            failed++;
+                        }
+                        lock.notifyAll();
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean send(Request request) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                request.request.send();
+                return true;
+            } catch (Exception e) {
+                boolean retry = (attempt < MAX_ATTEMPTS) && !(e instanceof LiquibaseHubSecurityException) && !(e instanceof LiquibaseHubObjectNotFoundException);
+                if (!retry) {
+                    Scope.getCurrentScope().getLog(getClass()).warning("Unable to send " + request.description + " to Hub: " + e.getMessage(), e);
+                    return false;
+                }
+                Scope.getCurrentScope().getLog(getClass()).fine("Retrying " + request.description + " after failed attempt " + attempt + ": " + e.getMessage());
+                TimeUnit.MILLISECONDS.sleep(retryDelayMillis << (attempt - 1));
+            }
+        }
+    }
+
+    private static class Request {
+        private final String description;
+        private final HubRequest request;
+
+        private Request(String description, HubRequest request) {
+            this.description = description;
+            this.request = request;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import liquibase.hub.LiquibaseHubSecurityException;
 import liquibase.hub.model.ListResponse;
 import liquibase.parser.core.yaml.YamlParser;
 import liquibase.util.LiquibaseUtil;
+import liquibase.util.StreamUtil;
 import liquibase.util.StringUtil;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -82,6 +83,14 @@ class HttpClient {
         return doRequest("POST", url, requestBodyObject, returnType);
     }
 
+    /**
+     * Posts to the given Hub URL with the given API key rather than the ones configured in the current scope,
+     * so requests can be sent from threads that do not share the scope of the thread that created them.
+     */
+    protected <T> T doPost(String hubUrl, String apiKey, String url, Object requestBodyObject, Class<T> returnType) throws LiquibaseHubException {
+        return doRequest("POST", hubUrl, apiKey, url, requestBodyObject, returnType, null);
+    }
+
     protected <T> T doPut(String url, Object requestBodyObject, Class<T> returnType) throws LiquibaseHubException {
         return doRequest("PUT", url, requestBodyObject, returnType);
     }
@@ -90,11 +99,9 @@ class HttpClient {
         return doRequest("DELETE", url, null, returnType);
     }
 
-    private URLConnection openConnection(String url) throws LiquibaseHubException {
-        String apiKey = HubConfiguration.LIQUIBASE_HUB_API_KEY.getCurrentValue();
-
+    private URLConnection openConnection(String hubUrl, String apiKey, String url) throws LiquibaseHubException {
         try {
-            final URLConnection connection = new URL(getHubUrl() + url).openConnection();
+            final URLConnection connection = new URL(hubUrl + url).openConnection();
             connection.setRequestProperty("User-Agent", "Liquibase " + LiquibaseUtil.getBuildVersion());
             if (StringUtil.isNotEmpty(apiKey)) {
                 connection.setRequestProperty("Authorization", "Bearer " + apiKey);
@@ -134,8 +141,12 @@ class HttpClient {
     }
 
     protected  <T> T doRequest(String method, String url, Object requestBodyObject, Class<T> returnType, Class contentReturnType) throws LiquibaseHubException {
+        return doRequest(method, getHubUrl(), HubConfiguration.LIQUIBASE_HUB_API_KEY.getCurrentValue(), url, requestBodyObject, returnType, contentReturnType);
+    }
+
+    private <T> T doRequest(String method, String hubUrl, String apiKey, String url, Object requestBodyObject, Class<T> returnType, Class contentReturnType) throws LiquibaseHubException {
         try {
-            HttpURLConnection connection = (HttpURLConnection) openConnection(url);
+            HttpURLConnection connection = (HttpURLConnection) openConnection(hubUrl, apiKey, url);
             if (requestBodyObject != null) {
                 connection.setDoOutput(true);
             }
@@ -193,7 +204,8 @@ class HttpClient {
                     throw new LiquibaseHubException("\nUnexpected content type '" + contentType +
                             "' returned from Hub.  Response code is " + responseCode);
                 }
-                return (T) yaml.loadAs(response, returnType);
+                //read the whole response so the connection can be kept alive and re-used for the next request
+                return (T) yaml.loadAs(StreamUtil.readStreamAsString(response, StandardCharsets.UTF_8.name()), returnType);
             } catch (IOException e) {
                 if (connection.getResponseCode() == 401) {
                     throw new LiquibaseHubSecurityException("Authentication failure for "+connection.getRequestMethod()+" "+connection.getURL().toExternalForm()+"\n"+
@@ -202,7 +214,7 @@ class HttpClient {
                 try {
                     try (InputStream error = connection.getErrorStream()) {
                         if (error != null) {
-                            Object loadedObject = yaml.load(error);
+                            Object loadedObject = yaml.load(StreamUtil.readStreamAsString(error, StandardCharsets.UTF_8.name()));
                             if (loadedObject instanceof Map) {
                                 final Map errorDetails = (Map)loadedObject;
 
@@ -32,6 +32,9 @@ public class StandardHubService implements HubService {
     private Map<UUID, HubChangeLog> hubChangeLogCache = new HashMap<>();
 
     private HttpClient http;
+    private AsyncOperationChangeEventSender asyncEventSender;
+
+    private static final long EVENT_RETRY_DELAY_MILLIS = 500;
 
     public StandardHubService() {
         this.http = createHttpClient();
@@ -507,6 +510,8 @@ public class StandardHubService implements HubService {
 
     @Override
     public OperationEvent sendOperationEvent(Operation operation, OperationEvent operationEvent, UUID organizationId) throws LiquibaseException {
+        flushOperationChangeEvents();
+
         Map<String, Object> requestParams = new HashMap<>();
         requestParams.put("eventType", operationEvent.getEventType());
         requestParams.put("startDate", operationEvent.getStartDate());
@@ -562,12 +567,60 @@ public class StandardHubService implements HubService {
                         .setLogs(logs)
                         .setStatusMessage(operationChangeEvent.getStatusMessage())
                         .setLogsTimestamp(logsTimestamp);
-        http.doPost("/api/v1" +
-                        "/organizations/" + getOrganization().getId().toString() +
-                        "/projects/" + operationChangeEvent.getProject().getId().toString() +
-                        "/operations/" + operationChangeEvent.getOperation().getId().toString() +
-                        "/change-events",
-                sendOperationChangeEvent, OperationChangeEvent.class);
+        String url = "/api/v1" +
+                "/organizations/" + getOrganization().getId().toString() +
+                "/projects/" + operationChangeEvent.getProject().getId().toString() +
+                "/operations/" + operationChangeEvent.getOperation().getId().toString() +
+                "/change-events";
+
+        if (!HubConfiguration.LIQUIBASE_HUB_ASYNC_EVENTS.getCurrentValue()) {
+            http.doPost(url, sendOperationChangeEvent, OperationChangeEvent.class);
+            return;
+        }
+
+        //
+        // Read the Hub settings here, the sender thread does not share this thread's scope
+        //
+        String hubUrl = http.getHubUrl();
+        String apiKey = HubConfiguration.LIQUIBASE_HUB_API_KEY.getCurrentValue();
+        try {
+            getAsyncEventSender().submit(sendOperationChangeEvent.getEventType() + " event for changeset " + sendOperationChangeEvent.getChangesetFilename() + "::" +
+                            sendOperationChangeEvent.getChangesetId() + "::" + sendOperationChangeEvent.getChangesetAuthor(),
+                    () -> http.doPost(hubUrl, apiKey, url, sendOperationChangeEvent, OperationChangeEvent.class));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LiquibaseHubException("Interrupted while queueing operation change event", e);
+        }
+    }
+
+    private synchronized AsyncOperationChangeEventSender getAsyncEventSender() {
+        if (asyncEventSender == null) {
+            asyncEventSender = new AsyncOperationChangeEventSender(HubConfiguration.LIQUIBASE_HUB_EVENT_QUEUE_SIZE.getCurrentValue(), EVENT_RETRY_DELAY_MILLIS);
+        }
+        return asyncEventSender;
+    }
+
+    /**
+     * Waits until all operation change events queued by {@link #sendOperationChangeEvent(OperationChangeEvent)} have been sent to Hub.
+     * This is done before every operation event so an operation is never completed in Hub before its changesets are recorded.
+     */
+    public void flushOperationChangeEvents() {
+        AsyncOperationChangeEventSender sender;
+        synchronized (this) {
+            sender = asyncEventSender;
+        }
+        if (sender == null) {
+            return;
+        }
+        try {
+            sender.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int failedCount = sender.takeFailedCount();
+        if (failedCount > 0) {
+            Scope.getCurrentScope().getLog(getClass()).warning(failedCount + " operation change events could not be sent to Hub");
+        }
     }
 
     @Override
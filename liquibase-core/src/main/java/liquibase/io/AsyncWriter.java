@@ -0,0 +1,207 @@
+package liquibase.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Writer} that collects output into large blocks and writes them to the wrapped writer from a background thread.
+ * This lets the caller keep generating output while the previous blocks are written, which matters for very large sql scripts.
+ * <p>
+ * The number of blocks waiting to be written is bounded, so a slow destination eventually blocks the caller instead of using unbounded memory.
+ * Errors from the wrapped writer are rethrown on the next call to write, flush or close.
+ * {@link #flush()} waits for everything written so far to reach the wrapped writer and flushes it.
+ * {@link #close()} does the same and then closes the wrapped writer.
+ */
+public class AsyncWriter extends Writer {
+
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    public static final int DEFAULT_QUEUE_SIZE = 16;
+
+    private static final char[] FLUSH = new char[0];
+    private static final char[] CLOSE = new char[0];
+
+    private final Writer delegate;
+    private final BlockingQueue<char[]> queue;
+    private final Thread writerThread;
+
+    private final char[] buffer;
+    private int bufferUsed;
+    private boolean closed;
+
+    private volatile IOException writeError;
+    private final Object flushLock = new Object();
+    private long flushesRequested;
+    private long flushesCompleted;
+
+    public AsyncWriter(Writer delegate) {
+        this(delegate, DEFAULT_BLOCK_SIZE, DEFAULT_QUEUE_SIZE);
+    }
+
+    public AsyncWriter(Writer delegate, int blockSize, int queueSize) {
+        this.delegate = delegate;
+        this.buffer = new char[blockSize];
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+
+        this.writerThread = new Thread(this::writeBlocks, "liquibase-async-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public synchronized void write(char[] chars, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            int copied = Math.min(length, buffer.length - bufferUsed);
+            System.arraycopy(chars, offset, buffer, bufferUsed, copied);
+            bufferUsed += copied;
+            offset += copied;
+            length -= copied;
+
+            if (bufferUsed == buffer.length) {
+                enqueueBuffer();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void write(String string, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            int copied = Math.min(length, buffer.length - bufferUsed);
+            string.getChars(offset, offset + copied, buffer, bufferUsed);
+            bufferUsed += copied;
+            offset += copied;
+            length -= copied;
+
+            if (bufferUsed == buffer.length) {
+                enqueueBuffer();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        enqueueBuffer();
+        waitForWriterThread(FLUSH);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            enqueueBuffer();
+            waitForWriterThread(CLOSE);
+        } finally {
+            closed = true;
+            if (writerThread.isAlive()) {
+                writerThread.interrupt();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer closed");
+        }
+        checkError();
+    }
+
+    private void checkError() throws IOException {
+        if (writeError != null) {
+            throw new IOException("Error writing output: " + writeError.getMessage(), writeError);
+        }
+    }
+
+    private void enqueueBuffer() throws IOException {
+        if (bufferUsed == 0) {
+            return;
+        }
+        char[] block = new char[bufferUsed];
+        System.arraycopy(buffer, 0, block, 0, bufferUsed);
+        bufferUsed = 0;
+        put(block);
+    }
+
+    private void put(char[] block) throws IOException {
+        try {
+            while (writerThread.isAlive()) {
+                if (queue.offer(block, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                checkError();
+            }
+            checkError();
+            throw new IOException("Output writer thread is no longer running");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing output");
+        }
+    }
+
+    private void waitForWriterThread(char[] marker) throws IOException {
+        long flushNumber;
+        synchronized (flushLock) {
+            flushNumber = ++flushesRequested;
+        }
+        put(marker);
+
+        try {
+            synchronized (flushLock) {
+                while ((flushesCompleted < flushNumber) && writerThread.isAlive()) {
+                    flushLock.wait(100);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing output");
+        }
+        checkError();
+    }
+
+    /**
+     * Runs on the background thread. Once a write fails, later blocks are discarded but markers are still acknowledged
+     * so callers waiting in flush or close are released and see the error.
+     */
+    private void writeBlocks() {
+        try {
+            while (true) {
+                char[] block = queue.take();
+                if ((block == FLUSH) || (block == CLOSE)) {
+                    try {
+                        if (block == CLOSE) {
+                            delegate.close();
+                        } else if (writeError == null) {
+                            delegate.flush();
+                        }
+                    } catch (IOException e) {
+                        if (writeError == null) {
+                            writeError = e;
+                        }
+                    }
+                    synchronized (flushLock) {
+                        flushesCompleted++;
+                        flushLock.notifyAll();
+                    }
+                    if (block == CLOSE) {
+                        return;
+                    }
+                } else if (writeError == null) {
+                    try {
+                        delegate.write(block);
+                    } catch (IOException e) {
+                        writeError = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
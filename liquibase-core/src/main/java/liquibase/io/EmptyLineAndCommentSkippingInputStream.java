@@ -14,6 +14,7 @@ public class EmptyLineAndCommentSkippingInputStream extends BufferedInputStream
     public static final int MAX_CHAR_SIZE_IN_BYTES = 4;
     private String commentLineStartsWith;
     private final boolean commentSkipEnabled;
+    private final int commentStartChar;
 
     private int lastRead = -1;
 
@@ -28,6 +29,7 @@ public class EmptyLineAndCommentSkippingInputStream extends BufferedInputStream
 
         this.commentLineStartsWith = commentLineStartsWith;
         this.commentSkipEnabled = StringUtil.isNotEmpty(commentLineStartsWith);
+        this.commentStartChar = commentSkipEnabled ? commentLineStartsWith.charAt(0) : -1;
     }
 
     @Override
@@ -35,33 +37,49 @@ public class EmptyLineAndCommentSkippingInputStream extends BufferedInputStream
         return read(this.lastRead, false);
     }
 
-    private int read(final int lastRead, final boolean lookAhead) throws IOException {
-        int read = super.read();
-
-        // skip comment
-        if (commentSkipEnabled && (read == this.commentLineStartsWith.toCharArray()[0])
-                && (lastRead == '\n' || lastRead < 0)) {
-            while ((((read = super.read())) != '\n') && (read != '\r') && (read > 0)) {
-                //keep looking
+    /**
+     * Reads through {@link #read()} so bulk reads skip the same lines and line endings as single byte reads.
+     */
+    @Override
+    public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int read = 0;
+        while (read < length) {
+            int nextByte = read();
+            if (nextByte < 0) {
+                break;
             }
+            buffer[offset + read++] = (byte) nextByte;
         }
+        return read == 0 ? -1 : read;
+    }
 
-        if (read < 0) {
-            return read;
-        }
-        if (read == '\r') {
-            return this.read();
-        }
-        if (read == '\n') {
-            if (lastRead == '\n') {
-                return this.read();
+    private int read(int lastRead, boolean lookAhead) throws IOException {
+        while (true) {
+            int read = super.read();
+
+            // skip comment
+            if (commentSkipEnabled && (read == commentStartChar)
+                    && (lastRead == '\n' || lastRead < 0)) {
+                while ((((read = super.read())) != '\n') && (read != '\r') && (read > 0)) {
+                    //keep looking
+                }
+            }
+
+            if (read < 0) {
+                return read;
+            }
+            if ((read == '\r') || ((read == '\n') && ((lastRead == '\n') || (lastRead < 0)))) {
+                //skip \r, repeated newlines and beginning newlines by reading again the same way read() does
+                lastRead = this.lastRead;
+                lookAhead = false;
+                continue;
             }
-        }
 
-        if (read == '\n') {
-            if (lastRead < 0) {  //don't include beginning newlines
-                return this.read();
-            } else {//don't include last newline
+            if (read == '\n') {
+                //don't include last newline
                 mark(MAX_CHAR_SIZE_IN_BYTES);
                 if (this.read('\n', true) < 0) {
                     return -1;
@@ -69,12 +87,11 @@ public class EmptyLineAndCommentSkippingInputStream extends BufferedInputStream
                     reset();
                 }
             }
-        }
 
-        if (!lookAhead) {
-            this.lastRead = read;
+            if (!lookAhead) {
+                this.lastRead = read;
+            }
+            return read;
         }
-        return read;
-
     }
 }
@@ -6,18 +6,38 @@ import liquibase.util.ISODateFormat;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.List;
 import java.util.logging.Level;
 
+/**
+ * Keeps log messages in memory so they can be read back later, for example to send to Liquibase Hub.
+ * <p>
+ * By default every message is kept. When created with a maximum number of messages, it works as a ring buffer:
+ * once full, each new message discards the oldest one and the number of discarded messages is tracked in {@link #getDroppedMessageCount()}.
+ */
 public class BufferedLogService extends AbstractLogService {
     //
     // Truncate the return value at 10MB = 10,000,000 bytes
     //
     public static final int MAX_LOG_LENGTH = 10000000;
-    private final List<BufferedLogMessage> log = Collections.synchronizedList(new ArrayList<>());
+    private final Deque<BufferedLogMessage> log = new ArrayDeque<>();
+    private final int maxMessages;
+    private long droppedMessages;
+
+    public BufferedLogService() {
+        this(0);
+    }
+
+    /**
+     * @param maxMessages the maximum number of messages to keep. Zero or less keeps all messages.
+     */
+    public BufferedLogService(int maxMessages) {
+        this.maxMessages = maxMessages;
+    }
 
 
     @Override
@@ -31,13 +51,35 @@ public class BufferedLogService extends AbstractLogService {
     }
 
 
+    /**
+     * Returns a copy of the messages currently kept, oldest first.
+     */
     public List<BufferedLogMessage> getLog() {
-        return log;
+        synchronized (log) {
+            return new ArrayList<>(log);
+        }
+    }
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * Returns the number of messages discarded because the buffer was full.
+     */
+    public long getDroppedMessageCount() {
+        synchronized (log) {
+            return droppedMessages;
+        }
     }
 
     public String getLogAsString(Level minimumLevel) {
         StringBuilder returnLog = new StringBuilder();
-        for (BufferedLogMessage message : log) {
+        long dropped = getDroppedMessageCount();
+        if (dropped > 0) {
+            returnLog.append("[").append(dropped).append(" earlier log messages were discarded]\n");
+        }
+        for (BufferedLogMessage message : getLog()) {
             if (minimumLevel == null || minimumLevel.intValue() <= message.getLevel().intValue()) {
                 returnLog.append("[").append(new ISODateFormat().format(message.getTimestamp())).append("] ");
                 returnLog.append(message.getLevel().getName()).append(" ");
@@ -66,7 +108,13 @@ public class BufferedLogService extends AbstractLogService {
     }
 
     public void addLog(BufferedLogMessage log) {
-        this.log.add(log);
+        synchronized (this.log) {
+            if ((maxMessages > 0) && (this.log.size() >= maxMessages)) {
+                this.log.removeFirst();
+                droppedMessages++;
+            }
+            this.log.addLast(log);
+        }
     }
 
     public static class BufferedLogMessage {
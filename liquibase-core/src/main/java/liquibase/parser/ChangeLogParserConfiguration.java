@@ -14,6 +14,7 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<ChangelogParseMode> CHANGELOG_PARSE_MODE;
     public static final ConfigurationDefinition<MissingIncludeConfiguration> ON_MISSING_INCLUDE_FILE;
     public static final ConfigurationDefinition<Boolean> ERROR_ON_CIRCULAR_INCLUDE_ALL;
+    public static final ConfigurationDefinition<String> PARSED_CHANGELOG_CACHE_DIRECTORY;
 
 
     static {
@@ -50,6 +51,10 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
                 .setDescription("If set to WARN, then liquibase will not throw exception on missing changelog file, instead will show a warning message.")
                 .setDefaultValue(MissingIncludeConfiguration.FAIL)
                 .build();
+
+        PARSED_CHANGELOG_CACHE_DIRECTORY = builder.define("parsedChangelogCacheDirectory", String.class)
+                .setDescription("Directory to store pre-parsed changelog files in. When set, changelog files which have not changed since the last run are loaded from the cache rather than re-parsed. Disabled by default.")
+                .build();
     }
 
     public enum MissingPropertyMode {
@@ -28,9 +28,21 @@ import java.util.*;
 public class ParsedNode {
     private String namespace;
     private String name;
-    private List<ParsedNode> children = new ArrayList<>();
+    private final List<ParsedNode> children = new ArrayList<>();
+    private final List<ParsedNode> unmodifiableChildren = Collections.unmodifiableList(children);
     private Object value;
 
+    /**
+     * Nodes with at least this many children get a name index for {@link #getChild(String, String)} and {@link #getChildren(String, String)}.
+     * Smaller nodes are cheaper to scan.
+     */
+    private static final int CHILD_INDEX_THRESHOLD = 8;
+
+    /**
+     * Children grouped by {@link #indexKey(String)} of their name. Built lazily on first lookup and dropped when children are removed.
+     */
+    private Map<String, List<ParsedNode>> childIndex;
+
     public ParsedNode(String namespace, String name) {
         this.namespace = namespace;
         this.name = name;
@@ -54,7 +66,7 @@ public class ParsedNode {
      * Returns the child ParsedNodes of this node. Returned list is unmodifiableList.
      */
     public List<ParsedNode> getChildren() {
-        return Collections.unmodifiableList(children);
+        return unmodifiableChildren;
     }
 
     /**
@@ -63,12 +75,20 @@ public class ParsedNode {
      * Returned list is unmodifiableList.
      */
     public List<ParsedNode> getChildren(String namespace, String nodename) {
-        List<ParsedNode> returnList = new ArrayList<>();
-        for (ParsedNode node : children) {
+        List<ParsedNode> candidates = getCandidateChildren(nodename);
+        List<ParsedNode> returnList = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            ParsedNode node = candidates.get(i);
             if (nodeMatches(node, namespace, nodename)) {
+                if (returnList == null) {
+                    returnList = new ArrayList<>();
+                }
                 returnList.add(node);
             }
         }
+        if (returnList == null) {
+            return Collections.emptyList();
+        }
         return Collections.unmodifiableList(returnList);
     }
 
@@ -141,6 +161,9 @@ public class ParsedNode {
      */
     public ParsedNode addChild(ParsedNode node) throws ParsedNodeException {
         children.add(node);
+        if (childIndex != null) {
+            childIndex.computeIfAbsent(indexKey(node.getName()), key -> new ArrayList<>(1)).add(node);
+        }
         return this;
     }
 
@@ -166,7 +189,9 @@ public class ParsedNode {
      */
     public ParsedNode getChild(String namespace, String name) throws ParsedNodeException {
         ParsedNode returnNode = null;
-        for (ParsedNode node : children) {
+        List<ParsedNode> candidates = getCandidateChildren(name);
+        for (int i = 0; i < candidates.size(); i++) {
+            ParsedNode node = candidates.get(i);
             if (nodeMatches(node, namespace, name)) {
                 if (returnNode != null) {
                     throw new ParsedNodeException("Multiple nodes match "+namespace+"/"+name);
@@ -178,10 +203,58 @@ public class ParsedNode {
     }
 
     public ParsedNode removeChild(String namespace, String name) throws ParsedNodeException {
-        children.removeIf(node -> nodeMatches(node, namespace, name));
+        if (children.removeIf(node -> nodeMatches(node, namespace, name))) {
+            childIndex = null;
+        }
         return this;
     }
 
+    /**
+     * Returns the children which may match the given name, in their original order.
+     * Callers still need to check {@link #nodeMatches(ParsedNode, String, String)} on each returned node.
+     */
+    private List<ParsedNode> getCandidateChildren(String nodename) {
+        if (children.size() < CHILD_INDEX_THRESHOLD || nodename == null) {
+            return children;
+        }
+        if (childIndex == null) {
+            childIndex = new HashMap<>();
+            for (ParsedNode child : children) {
+                childIndex.computeIfAbsent(indexKey(child.getName()), key -> new ArrayList<>(1)).add(child);
+            }
+        }
+        List<ParsedNode> candidates = childIndex.get(indexKey(nodename));
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        return candidates;
+    }
+
+    /**
+     * Folds the case of the given name the same way {@link String#equalsIgnoreCase(String)} compares characters,
+     * so names which match in {@link #nodeMatches(ParsedNode, String, String)} always share an index key.
+     */
+    private static String indexKey(String name) {
+        if (name == null) {
+            return null;
+        }
+        char[] chars = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            char folded = Character.toLowerCase(Character.toUpperCase(c));
+            if (folded != c) {
+                if (chars == null) {
+                    chars = name.toCharArray();
+                }
+                chars[i] = folded;
+            }
+        }
+        if (chars == null) {
+            return name;
+        }
+        return new String(chars);
+    }
+
     /**
      *
      * Match the namespace and name of this node. This is now done case-insensitively
@@ -0,0 +1,262 @@
+package liquibase.parser.core;
+
+import liquibase.Scope;
+import liquibase.resource.Resource;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.MD5Util;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores {@link ParsedNode} trees in a compact binary format so unchanged changelog files do not need to be re-parsed.
+ * <p>
+ * Each cache file is keyed by the changelog path and records the path, the parser that created the tree, the Liquibase version
+ * and an MD5 of the changelog contents. If any of those do not match when reading, the entry is ignored and the caller should
+ * parse the file normally and call {@link #write(String, Resource, ParsedNode)} with the result.
+ * <p>
+ * Only trees whose values are simple types (strings, numbers, booleans and lists of them) can be cached. Other trees are skipped.
+ */
+public class ParsedNodeCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_BOOLEAN = 2;
+    private static final byte VALUE_INTEGER = 3;
+    private static final byte VALUE_LONG = 4;
+    private static final byte VALUE_DOUBLE = 5;
+    private static final byte VALUE_BIG_INTEGER = 6;
+    private static final byte VALUE_BIG_DECIMAL = 7;
+    private static final byte VALUE_LIST = 8;
+
+    private final Path cacheDirectory;
+    private final String parserName;
+
+    /**
+     * @param cacheDirectory directory to store cache files in. It is created if it does not exist.
+     * @param parserName     identifies the parser that creates the cached trees, so different parsers never share entries.
+     */
+    public ParsedNodeCache(String cacheDirectory, String parserName) {
+        this.cacheDirectory = Paths.get(cacheDirectory);
+        this.parserName = parserName;
+    }
+
+    /**
+     * Returns the cached tree for the given changelog, or null if there is no valid cache entry for the current file contents.
+     */
+    public ParsedNode read(String physicalChangeLogLocation, Resource resource) {
+        Path cacheFile = getCacheFile(physicalChangeLogLocation);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (!readHeader(input, physicalChangeLogLocation, computeChecksum(resource))) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Parsed changelog cache for " + physicalChangeLogLocation + " is out of date");
+                return null;
+            }
+            ParsedNode node = readNode(input);
+            Scope.getCurrentScope().getLog(getClass()).fine("Using parsed changelog cache for " + physicalChangeLogLocation);
+            return node;
+        } catch (IOException | ParsedNodeException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot read parsed changelog cache " + cacheFile + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given tree for the changelog. Failures to write are logged and otherwise ignored since the cache is only an optimization.
+     */
+    public void write(String physicalChangeLogLocation, Resource resource, ParsedNode node) {
+        Path cacheFile = getCacheFile(physicalChangeLogLocation);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            tempFile = Files.createTempFile(cacheDirectory, cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                writeHeader(output, physicalChangeLogLocation, computeChecksum(resource));
+                writeNode(output, node);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            tempFile = null;
+        } catch (IOException | NotCacheableException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot write parsed changelog cache for " + physicalChangeLogLocation + ": " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    //nothing to do
+                }
+            }
+        }
+    }
+
+    protected Path getCacheFile(String physicalChangeLogLocation) {
+        return cacheDirectory.resolve(MD5Util.computeMD5(parserName + ":" + physicalChangeLogLocation) + ".bin");
+    }
+
+    protected String computeChecksum(Resource resource) throws IOException {
+        try (InputStream stream = resource.openInputStream()) {
+            return MD5Util.computeMD5(stream);
+        }
+    }
+
+    private void writeHeader(DataOutputStream output, String physicalChangeLogLocation, String checksum) throws IOException {
+        output.writeInt(FORMAT_VERSION);
+        output.writeUTF(LiquibaseUtil.getBuildVersion());
+        output.writeUTF(parserName);
+        output.writeUTF(physicalChangeLogLocation);
+        output.writeUTF(checksum);
+    }
+
+    private boolean readHeader(DataInputStream input, String physicalChangeLogLocation, String checksum) throws IOException {
+        return input.readInt() == FORMAT_VERSION
+                && input.readUTF().equals(LiquibaseUtil.getBuildVersion())
+                && input.readUTF().equals(parserName)
+                && input.readUTF().equals(physicalChangeLogLocation)
+                && input.readUTF().equals(checksum);
+    }
+
+    private void writeNode(DataOutputStream output, ParsedNode node) throws IOException, NotCacheableException {
+        writeNullableString(output, node.getNamespace());
+        writeNullableString(output, node.getName());
+        writeValue(output, node.getValue());
+
+        List<ParsedNode> children = node.getChildren();
+        output.writeInt(children.size());
+        for (ParsedNode child : children) {
+            writeNode(output, child);
+        }
+    }
+
+    private ParsedNode readNode(DataInputStream input) throws IOException, ParsedNodeException {
+        ParsedNode node = new ParsedNode(readNullableString(input), readNullableString(input));
+        Object value = readValue(input);
+        if (value != null) {
+            node.setValue(value);
+        }
+
+        int childCount = input.readInt();
+        for (int i = 0; i < childCount; i++) {
+            node.addChild(readNode(input));
+        }
+        return node;
+    }
+
+    private void writeValue(DataOutputStream output, Object value) throws IOException, NotCacheableException {
+        if (value == null) {
+            output.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(VALUE_STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(VALUE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(VALUE_INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(VALUE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(VALUE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(VALUE_BIG_INTEGER);
+            writeString(output, value.toString());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(VALUE_BIG_DECIMAL);
+            writeString(output, value.toString());
+        } else if (value instanceof List) {
+            output.writeByte(VALUE_LIST);
+            List<?> list = (List<?>) value;
+            output.writeInt(list.size());
+            for (Object item : list) {
+                writeValue(output, item);
+            }
+        } else {
+            throw new NotCacheableException("Cannot cache value of type " + value.getClass().getName());
+        }
+    }
+
+    private Object readValue(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(input);
+            case VALUE_BOOLEAN:
+                return input.readBoolean();
+            case VALUE_INTEGER:
+                return input.readInt();
+            case VALUE_LONG:
+                return input.readLong();
+            case VALUE_DOUBLE:
+                return input.readDouble();
+            case VALUE_BIG_INTEGER:
+                return new BigInteger(readString(input));
+            case VALUE_BIG_DECIMAL:
+                return new BigDecimal(readString(input));
+            case VALUE_LIST:
+                int size = input.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(input));
+                }
+                return list;
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    /**
+     * Writes a string of any length. {@link DataOutputStream#writeUTF(String)} is limited to 64k which is not enough for sql bodies.
+     */
+    private void writeString(DataOutputStream output, String value) throws IOException {
+        char[] chars = value.toCharArray();
+        output.writeInt(chars.length);
+        for (char c : chars) {
+            output.writeChar(c);
+        }
+    }
+
+    private String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = input.readChar();
+        }
+        return new String(chars);
+    }
+
+    private void writeNullableString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeString(output, value);
+        }
+    }
+
+    private String readNullableString(DataInputStream input) throws IOException {
+        if (input.readBoolean()) {
+            return readString(input);
+        }
+        return null;
+    }
+
+    private static class NotCacheableException extends Exception {
+        NotCacheableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package liquibase.parser.core.binary;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.OfflineConnection;
+import liquibase.exception.LiquibaseParseException;
+import liquibase.parser.SnapshotParser;
+import liquibase.parser.core.ParsedNode;
+import liquibase.resource.Resource;
+import liquibase.resource.ResourceAccessor;
+import liquibase.serializer.LiquibaseSerializable;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.RestoredDatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
+import liquibase.util.ISODateFormat;
+import liquibase.util.ObjectUtil;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static liquibase.serializer.core.binary.BinarySnapshotFormat.*;
+
+/**
+ * Reads snapshots written by {@link liquibase.serializer.core.binary.BinarySnapshotSerializer}.
+ * The file is read as a stream and objects are created directly, without first parsing it into a {@link ParsedNode} tree.
+ */
+public class BinarySnapshotParser implements SnapshotParser {
+
+    @Override
+    public DatabaseSnapshot parse(String path, ResourceAccessor resourceAccessor) throws LiquibaseParseException {
+        try {
+            Resource resource = resourceAccessor.get(path);
+            if (resource == null) {
+                throw new LiquibaseParseException(path + " does not exist");
+            }
+
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(resource.openInputStream()))) {
+                return new Reader(input, resourceAccessor).read(path);
+            }
+        } catch (LiquibaseParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseParseException(e);
+        }
+    }
+
+    @Override
+    public boolean supports(String path, ResourceAccessor resourceAccessor) {
+        return path.toLowerCase().endsWith("." + FILE_EXTENSION);
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT;
+    }
+
+    /**
+     * Holds the state of reading one snapshot: the strings read so far and the declared objects.
+     */
+    private static class Reader {
+        private final DataInputStream input;
+        private final ResourceAccessor resourceAccessor;
+        private final List<String> strings = new ArrayList<>();
+        private final List<DatabaseObject> allObjects = new ArrayList<>();
+        private DatabaseObject[] objects;
+
+        private Reader(DataInputStream input, ResourceAccessor resourceAccessor) {
+            this.input = input;
+            this.resourceAccessor = resourceAccessor;
+        }
+
+        private DatabaseSnapshot read(String path) throws Exception {
+            if (input.readInt() != MAGIC) {
+                throw new LiquibaseParseException(path + " is not a binary snapshot");
+            }
+            int version = input.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new LiquibaseParseException(path + " uses binary snapshot format version " + version + " which is not supported by this version of Liquibase");
+            }
+
+            Map<?, ?> databaseInfo = (Map<?, ?>) readValue();
+            String shortName = (String) databaseInfo.get("shortName");
+            Database database = DatabaseFactory.getInstance().getDatabase(shortName).getClass().getConstructor().newInstance();
+            OfflineConnection connection = new OfflineConnection("offline:" + shortName, null);
+            database.setConnection(connection);
+            if (databaseInfo.get("majorVersion") != null) {
+                connection.setDatabaseMajorVersion(Integer.parseInt(databaseInfo.get("majorVersion").toString()));
+            }
+            if (databaseInfo.get("minorVersion") != null) {
+                connection.setDatabaseMinorVersion(Integer.parseInt(databaseInfo.get("minorVersion").toString()));
+            }
+            connection.setProductVersion((String) databaseInfo.get("productVersion"));
+            connection.setConnectionUserName((String) databaseInfo.get("user"));
+
+            RestoredDatabaseSnapshot snapshot = new RestoredDatabaseSnapshot(database);
+            Map<?, ?> metadata = (Map<?, ?>) readValue();
+            if (metadata != null) {
+                for (Map.Entry<?, ?> entry : metadata.entrySet()) {
+                    snapshot.getMetadata().put(String.valueOf(entry.getKey()), entry.getValue());
+                }
+            }
+
+            int count = readVarInt(input);
+            objects = new DatabaseObject[count];
+            boolean[] referenced = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                objects[i] = newObject(readString());
+                objects[i].setSnapshotId(readString());
+                referenced[i] = input.readBoolean();
+                allObjects.add(objects[i]);
+            }
+            for (DatabaseObject object : objects) {
+                readAttributes(object);
+            }
+
+            //same as DatabaseSnapshot.load(): go through the setters once all references can be resolved
+            for (DatabaseObject object : allObjects) {
+                for (String attribute : new ArrayList<>(object.getAttributes())) {
+                    Object value = object.getAttribute(attribute, Object.class);
+                    if ((value != null) && ObjectUtil.hasProperty(object, attribute)) {
+                        object.setAttribute(attribute, null);
+                        ObjectUtil.setProperty(object, attribute, value);
+                    }
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                snapshot.addRestoredObject(objects[i], referenced[i]);
+            }
+            return snapshot;
+        }
+
+        private void readAttributes(DatabaseObject object) throws Exception {
+            int count = readVarInt(input);
+            for (int i = 0; i < count; i++) {
+                String name = readString();
+                object.setAttribute(name, readValue());
+            }
+        }
+
+        private Object readValue() throws Exception {
+            byte type = input.readByte();
+            switch (type) {
+                case VALUE_NULL:
+                    return null;
+                case VALUE_STRING:
+                    return readString();
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                case VALUE_INTEGER:
+                    return input.readInt();
+                case VALUE_LONG:
+                    return input.readLong();
+                case VALUE_DOUBLE:
+                    return input.readDouble();
+                case VALUE_BIG_INTEGER:
+                    return new BigInteger(readString());
+                case VALUE_BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case VALUE_DATE:
+                    return Class.forName(readString()).getConstructor(long.class).newInstance(input.readLong());
+                case VALUE_ENUM:
+                    return readEnum(Class.forName(readString()), readString());
+                case VALUE_LIST:
+                    int size = readVarInt(input);
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                case VALUE_MAP:
+                    int entries = readVarInt(input);
+                    Map<Object, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < entries; i++) {
+                        map.put(readValue(), readValue());
+                    }
+                    return map;
+                case VALUE_REFERENCE:
+                    int index = readVarInt(input);
+                    if (index >= objects.length) {
+                        throw new IOException("Reference to unknown object " + index);
+                    }
+                    return objects[index];
+                case VALUE_OBJECT:
+                    DatabaseObject object = newObject(readString());
+                    readAttributes(object);
+                    allObjects.add(object);
+                    return object;
+                case VALUE_SERIALIZABLE:
+                    return readSerializable();
+                case VALUE_STRING_CONSTRUCTED:
+                    return Class.forName(readString()).getConstructor(String.class).newInstance(readString());
+                default:
+                    throw new IOException("Unknown value type " + type);
+            }
+        }
+
+        /**
+         * Nested serializables know how to load themselves from the same values the text formats produce,
+         * so they are given a small {@link ParsedNode} instead of being filled in field by field.
+         */
+        private LiquibaseSerializable readSerializable() throws Exception {
+            LiquibaseSerializable serializable = (LiquibaseSerializable) Class.forName(readString()).getConstructor().newInstance();
+            int count = readVarInt(input);
+            Map<String, Object> fields = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = readString();
+                fields.put(name, toParsedValue(readValue()));
+            }
+            ParsedNode node = new ParsedNode(null, serializable.getSerializedObjectName());
+            node.setValue(fields);
+            serializable.load(node, resourceAccessor);
+            return serializable;
+        }
+
+        /**
+         * Converts a value to the form the text formats store it in, with the type of anything but strings and booleans appended as "!{type}".
+         */
+        private Object toParsedValue(Object value) {
+            if ((value == null) || (value instanceof String) || (value instanceof Boolean)) {
+                return value;
+            } else if (value instanceof Collection) {
+                List<Object> list = new ArrayList<>();
+                for (Object item : (Collection<?>) value) {
+                    list.add(toParsedValue(item));
+                }
+                return list;
+            } else if (value instanceof Date) {
+                return new ISODateFormat().format((Date) value) + "!{" + value.getClass().getName() + "}";
+            } else if (value instanceof Enum) {
+                return ((Enum<?>) value).name() + "!{" + ((Enum<?>) value).getDeclaringClass().getName() + "}";
+            } else {
+                return value + "!{" + value.getClass().getName() + "}";
+            }
+        }
+
+        private DatabaseObject newObject(String className) throws ReflectiveOperationException {
+            return (DatabaseObject) Class.forName(className).getConstructor().newInstance();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readEnum(Class enumClass, String name) {
+            return Enum.valueOf(enumClass, name);
+        }
+
+        private String readString() throws IOException {
+            int index = readVarInt(input);
+            if (index > 0) {
+                if (index > strings.size()) {
+                    throw new IOException("Reference to unknown string " + index);
+                }
+                return strings.get(index - 1);
+            }
+            byte[] bytes = new byte[readVarInt(input)];
+            input.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+    }
+}
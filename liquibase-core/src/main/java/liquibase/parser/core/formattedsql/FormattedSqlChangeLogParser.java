@@ -167,6 +167,9 @@ public class FormattedSqlChangeLogParser implements ChangeLogParser {
     private static final String ROLLBACK_MULTI_LINE_START_REGEX = "\\s*\\/\\*\\s*liquibase\\s*rollback\\s*$";
     private static final Pattern ROLLBACK_MULTI_LINE_START_PATTERN = Pattern.compile(ROLLBACK_MULTI_LINE_START_REGEX, Pattern.CASE_INSENSITIVE);
 
+    private static final String ROLLBACK_MULTI_LINE_END_REGEX = ".*\\s*\\*\\/\\s*$";
+    private static final Pattern ROLLBACK_MULTI_LINE_END_PATTERN = Pattern.compile(ROLLBACK_MULTI_LINE_END_REGEX, Pattern.CASE_INSENSITIVE);
+
 
     private static final String WORD_RESULT_REGEX = "^(?:expectedResult:)?(\\w+) (.*)";
     private static final String SINGLE_QUOTE_RESULT_REGEX = "^(?:expectedResult:)?'([^']+)' (.*)";
@@ -240,6 +243,12 @@ public class FormattedSqlChangeLogParser implements ChangeLogParser {
             String line;
             while ((line = reader.readLine()) != null) {
                 count++;
+                if (!mayContainDirective(line)) {
+                    if (changeSet != null) {
+                        currentSql.append(line).append(System.lineSeparator());
+                    }
+                    continue;
+                }
                 Matcher commentMatcher = COMMENT_PATTERN.matcher(line);
                 Matcher propertyPatternMatcher = PROPERTY_PATTERN.matcher(line);
                 Matcher altPropertyPatternMatcher = ALT_PROPERTY_ONE_DASH_PATTERN.matcher(line);
@@ -664,6 +673,32 @@ public class FormattedSqlChangeLogParser implements ChangeLogParser {
         return changeLog;
     }
 
+    /**
+     * Every directive pattern in this class starts with optional whitespace followed by either a dash or "/*".
+     * Lines that start with anything else are plain SQL and can skip all the pattern matching.
+     * Only the characters matched by the regex "\s" are skipped so this never disagrees with the patterns.
+     */
+    private static boolean mayContainDirective(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            switch (c) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\u000B':
+                case '\f':
+                case '\r':
+                    continue;
+                case '-':
+                case '/':
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        return false;
+    }
+
     private void handleProperty(ChangeLogParameters changeLogParameters, DatabaseChangeLog changeLog, Matcher propertyPatternMatcher) {
         String name = null;
         String value = null;
@@ -700,12 +735,11 @@ public class FormattedSqlChangeLogParser implements ChangeLogParser {
     }
     private StringBuilder extractMultiLineRollBackSQL(BufferedReader reader) throws IOException, ChangeLogParseException {
         StringBuilder multiLineRollbackSQL = new StringBuilder();
-        Pattern rollbackMultiLineEndPattern = Pattern.compile(".*\\s*\\*\\/\\s*$", Pattern.CASE_INSENSITIVE);
 
         String line;
         if (reader != null) {
             while ((line = reader.readLine()) != null) {
-                if (rollbackMultiLineEndPattern.matcher(line).matches()) {
+                if (ROLLBACK_MULTI_LINE_END_PATTERN.matcher(line).matches()) {
                     String[] lastLineSplit = line.split("\\*\\/\\s*$");
                     if (lastLineSplit.length > 0 && !StringUtil.isWhitespace(lastLineSplit[0])) {
                         multiLineRollbackSQL.append(lastLineSplit[0]);
@@ -4,15 +4,20 @@ import liquibase.changelog.ChangeLogParameters;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.exception.ChangeLogParseException;
 import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserConfiguration;
 import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeCache;
+import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
 
+import java.io.IOException;
+
 public abstract class AbstractChangeLogParser implements ChangeLogParser {
 
     @Override
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                    ResourceAccessor resourceAccessor) throws ChangeLogParseException {
-        ParsedNode parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        ParsedNode parsedNode = parseToNodeUsingCache(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
         if (parsedNode == null) {
             return null;
         }
@@ -28,6 +33,38 @@ public abstract class AbstractChangeLogParser implements ChangeLogParser {
         return changeLog;
     }
 
+    /**
+     * Calls {@link #parseToNode(String, ChangeLogParameters, ResourceAccessor)}, using the cache configured by
+     * {@link ChangeLogParserConfiguration#PARSED_CHANGELOG_CACHE_DIRECTORY} if the file has been parsed before.
+     */
+    protected ParsedNode parseToNodeUsingCache(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                               ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        String cacheDirectory = ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_DIRECTORY.getCurrentValue();
+        if (cacheDirectory == null) {
+            return parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        }
+
+        Resource resource;
+        try {
+            resource = resourceAccessor.get(physicalChangeLogLocation);
+        } catch (IOException e) {
+            throw new ChangeLogParseException("Error Reading Changelog File: " + e.getMessage(), e);
+        }
+        if (!resource.exists()) {
+            return parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        }
+
+        ParsedNodeCache cache = new ParsedNodeCache(cacheDirectory, getClass().getName());
+        ParsedNode parsedNode = cache.read(physicalChangeLogLocation, resource);
+        if (parsedNode == null) {
+            parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+            if (parsedNode != null) {
+                cache.write(physicalChangeLogLocation, resource, parsedNode);
+            }
+        }
+        return parsedNode;
+    }
+
     protected abstract ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                               ResourceAccessor resourceAccessor) throws ChangeLogParseException;
 }
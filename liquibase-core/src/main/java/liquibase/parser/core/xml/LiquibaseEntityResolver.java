@@ -5,13 +5,19 @@ import liquibase.Scope;
 import liquibase.logging.Logger;
 import liquibase.resource.Resource;
 import liquibase.util.LiquibaseUtil;
+import liquibase.util.StreamUtil;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.ext.EntityResolver2;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,6 +35,13 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
      */
     private static boolean hasWarnedAboutMismatchedXsdVersion = false;
 
+    /**
+     * Contents of XSD files found on the classpath, keyed by the classloader they were found with and then by path.
+     * These do not change for the life of the resolver, so there is no need to look them up and re-read them for every parsed file.
+     * Different classloaders can see different files for the same path, so each one has its own entries.
+     */
+    private final Map<ClassLoader, Map<String, byte[]>> classpathXsdCache = Collections.synchronizedMap(new WeakHashMap<>());
+
     @Override
     @java.lang.SuppressWarnings("squid:S2095")
     public InputSource resolveEntity(String name, String publicId, String baseURI, String systemId) throws SAXException, IOException {
@@ -50,12 +63,23 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
         }
 
         InputStream stream = null;
-        URL resourceUri = getSearchClassloader().getResource(path);
-        if (resourceUri == null) {
+        ClassLoader searchClassloader = getSearchClassloader();
+        Map<String, byte[]> xsdCache = classpathXsdCache.computeIfAbsent(searchClassloader, classLoader -> new ConcurrentHashMap<>());
+        byte[] cachedXsd = xsdCache.get(path);
+        URL resourceUri = cachedXsd == null ? searchClassloader.getResource(path) : null;
+        if (cachedXsd != null) {
+            stream = new ByteArrayInputStream(cachedXsd);
+        } else if (resourceUri == null) {
             Resource resource = Scope.getCurrentScope().getResourceAccessor().get(path);
             if (resource.exists()) {
                 stream = resource.openInputStream();
             }
+        } else if (path.endsWith(".xsd")) {
+            try (InputStream xsdStream = resourceUri.openStream()) {
+                byte[] xsd = StreamUtil.readStream(xsdStream);
+                xsdCache.put(path, xsd);
+                stream = new ByteArrayInputStream(xsd);
+            }
         } else {
             stream = resourceUri.openStream();
         }
@@ -17,6 +17,8 @@ import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
 
@@ -29,6 +31,12 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
 
     private final LiquibaseEntityResolver resolver = new LiquibaseEntityResolver();
 
+    /**
+     * Parsers which have already been created by {@link #saxParserFactory} and can be reused.
+     * Creating a parser is relatively expensive, and changelogs with many included files would otherwise create one per file.
+     */
+    private final Queue<SAXParser> parserPool = new ConcurrentLinkedQueue<>();
+
     public XMLChangeLogSAXParser() {
         saxParserFactory = SAXParserFactory.newInstance();
         saxParserFactory.setValidating(GlobalConfiguration.VALIDATE_XML_CHANGELOG_FILES.getCurrentValue());
@@ -70,17 +78,10 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
 
     @Override
     protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        SAXParser parser = null;
         try {
             Resource resource = resourceAccessor.get(physicalChangeLogLocation);
-            SAXParser parser = saxParserFactory.newSAXParser();
-            if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
-                try {
-                    parser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https"); //need to allow external schemas on http/https to support the liquibase.org xsd files
-                } catch (SAXException e) {
-                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot enable ACCESS_EXTERNAL_SCHEMA: " + e.getMessage(), e);
-                }
-            }
-            trySetSchemaLanguageProperty(parser);
+            parser = borrowParser();
 
             XMLReader xmlReader = parser.getXMLReader();
             xmlReader.setEntityResolver(resolver);
@@ -152,7 +153,43 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
             throw new ChangeLogParseException("Invalid Migration File: " + reason, e);
         } catch (Exception e) {
             throw new ChangeLogParseException(e);
+        } finally {
+            if (parser != null) {
+                releaseParser(parser);
+            }
+        }
+    }
+
+    /**
+     * Returns a configured parser, reusing a previously released one if available.
+     * Safe to call from multiple threads; the returned parser must be passed to {@link #releaseParser(SAXParser)} when done.
+     */
+    protected SAXParser borrowParser() throws Exception {
+        SAXParser parser = parserPool.poll();
+        if (parser == null) {
+            parser = saxParserFactory.newSAXParser();
+        }
+        if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
+            try {
+                parser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https"); //need to allow external schemas on http/https to support the liquibase.org xsd files
+            } catch (SAXException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cannot enable ACCESS_EXTERNAL_SCHEMA: " + e.getMessage(), e);
+            }
+        }
+        trySetSchemaLanguageProperty(parser);
+        return parser;
+    }
+
+    /**
+     * Resets the given parser and makes it available for reuse. Parsers that cannot be reset are discarded.
+     */
+    protected void releaseParser(SAXParser parser) {
+        try {
+            parser.reset();
+        } catch (UnsupportedOperationException e) {
+            return;
         }
+        parserPool.offer(parser);
     }
 
     /**
@@ -6,12 +6,23 @@ import liquibase.util.FileUtil;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public abstract class AbstractPathResourceAccessor extends AbstractResourceAccessor {
 
+    /**
+     * Directory contents seen by {@link #search(String, boolean)}, so repeated and nested searches only need to check
+     * each directory's modification time rather than list it again.
+     */
+    private final Map<Path, DirectoryListing> directoryListings = new ConcurrentHashMap<>();
+
     abstract protected Path getRootPath();
 
     @Override
@@ -93,34 +104,146 @@ public abstract class AbstractPathResourceAccessor extends AbstractResourceAcces
             throw new IOException("'" + startPath + "' is a file, not a directory");
         }
 
-        SimpleFileVisitor<Path> fileVisitor = new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                if (attrs.isRegularFile()) {
-                    addToReturnList(file);
-                }
+        List<Path> files;
+        try {
+            files = ForkJoinPool.commonPool().invoke(new SearchTask(basePath, recursive, Collections.emptySet()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
 
-                return FileVisitResult.CONTINUE;
+        for (Path file : files) {
+            String pathToAdd = rootPath.relativize(file).normalize().toString().replace('\\', '/');
+            if (pathToAdd.endsWith("/")) {
+                pathToAdd = pathToAdd.substring(0, pathToAdd.length() - 1);
             }
+            returnSet.add(createResource(file, pathToAdd));
+        }
 
-            @Override
-            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                return FileVisitResult.CONTINUE;
-            }
+        return returnSet;
+    }
 
-            private void addToReturnList(Path file) {
-                String pathToAdd = rootPath.relativize(file).normalize().toString().replace("\\", "/");
+    /**
+     * Returns the entries of the given directory, using a cached listing if the directory has not been modified since it was listed.
+     */
+    private DirectoryListing listDirectory(Path directory, BasicFileAttributes directoryAttributes) throws IOException {
+        DirectoryListing cached = directoryListings.get(directory);
+        if (cached != null && cached.isValidFor(directoryAttributes)) {
+            return cached;
+        }
 
-                pathToAdd = pathToAdd.replaceFirst("/$", "");
-                returnSet.add(createResource(file, pathToAdd));
+        long listedAt = System.currentTimeMillis();
+        List<Path> entries = new ArrayList<>();
+        List<BasicFileAttributes> entryAttributes = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    //deleted while listing or a broken link
+                    continue;
+                }
+                entries.add(entry);
+                entryAttributes.add(attributes);
             }
-        };
+        }
 
-        int maxDepth = recursive ? Integer.MAX_VALUE : 1;
+        DirectoryListing listing = new DirectoryListing(directoryAttributes.lastModifiedTime(), listedAt, entries, entryAttributes);
+        directoryListings.put(directory, listing);
+        return listing;
+    }
 
-        Files.walkFileTree(basePath, Collections.singleton(FileVisitOption.FOLLOW_LINKS), maxDepth, fileVisitor);
+    /**
+     * Lists the regular files under a directory in the same order {@link Files#walkFileTree} would visit them,
+     * searching subdirectories in parallel.
+     */
+    private class SearchTask extends RecursiveTask<List<Path>> {
 
-        return returnSet;
+        private final Path directory;
+        private final boolean recursive;
+        private final Set<Object> parentKeys;
+
+        private SearchTask(Path directory, boolean recursive, Set<Object> parentKeys) {
+            this.directory = directory;
+            this.recursive = recursive;
+            this.parentKeys = parentKeys;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            try {
+                BasicFileAttributes directoryAttributes = Files.readAttributes(directory, BasicFileAttributes.class);
+                Set<Object> keys = parentKeys;
+                Object fileKey = directoryAttributes.fileKey();
+                if (fileKey != null) {
+                    if (parentKeys.contains(fileKey)) {
+                        throw new FileSystemLoopException(directory.toString());
+                    }
+                    keys = new HashSet<>(parentKeys);
+                    keys.add(fileKey);
+                }
+
+                DirectoryListing listing = listDirectory(directory, directoryAttributes);
+
+                List<Object> results = new ArrayList<>(listing.entries.size());
+                List<SearchTask> subtasks = new ArrayList<>();
+                for (int i = 0; i < listing.entries.size(); i++) {
+                    BasicFileAttributes attributes = listing.entryAttributes.get(i);
+                    if (attributes.isRegularFile()) {
+                        results.add(listing.entries.get(i));
+                    } else if (recursive && attributes.isDirectory()) {
+                        SearchTask subtask = new SearchTask(listing.entries.get(i), true, keys);
+                        subtasks.add(subtask);
+                        results.add(subtask);
+                    }
+                }
+
+                if (subtasks.size() == 1) {
+                    results.set(results.indexOf(subtasks.get(0)), subtasks.get(0).compute());
+                } else if (!subtasks.isEmpty()) {
+                    invokeAll(subtasks);
+                }
+
+                List<Path> files = new ArrayList<>();
+                for (Object result : results) {
+                    if (result instanceof Path) {
+                        files.add((Path) result);
+                    } else if (result instanceof SearchTask) {
+                        files.addAll(((SearchTask) result).join());
+                    } else {
+                        files.addAll((List<Path>) result);
+                    }
+                }
+                return files;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static class DirectoryListing {
+        /**
+         * File systems only store modification times to a limited precision, so changes made this soon after
+         * a modification time may not change it. Listings taken within this window are never reused.
+         */
+        private static final long MODIFIED_TIME_PRECISION_MILLIS = 2000;
+
+        private final FileTime lastModifiedTime;
+        private final long listedAt;
+        private final List<Path> entries;
+        private final List<BasicFileAttributes> entryAttributes;
+
+        private DirectoryListing(FileTime lastModifiedTime, long listedAt, List<Path> entries, List<BasicFileAttributes> entryAttributes) {
+            this.lastModifiedTime = lastModifiedTime;
+            this.listedAt = listedAt;
+            this.entries = entries;
+            this.entryAttributes = entryAttributes;
+        }
+
+        private boolean isValidFor(BasicFileAttributes directoryAttributes) {
+            return lastModifiedTime.equals(directoryAttributes.lastModifiedTime())
+                    && (listedAt - lastModifiedTime.toMillis()) > MODIFIED_TIME_PRECISION_MILLIS;
+        }
     }
 
     protected abstract Resource createResource(Path file, String pathToAdd);
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.net.*;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -21,6 +22,17 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
     private CompositeResourceAccessor additionalResourceAccessors;
     protected SortedSet<String> description;
 
+    /**
+     * {@link ResourceAccessor}s for the classloader roots found by {@link #search(String, boolean)}, keyed by root URL.
+     * They are kept open for the life of this accessor so archives are not re-mounted on every search.
+     */
+    private final Map<String, ResourceAccessor> rootResourceAccessors = new ConcurrentHashMap<>();
+
+    /**
+     * Search results from archive (non-"file:") roots, whose contents cannot change while they are on the classpath.
+     */
+    private final Map<String, List<Resource>> archiveSearchCache = new ConcurrentHashMap<>();
+
     public ClassLoaderResourceAccessor() {
         this(Thread.currentThread().getContextClassLoader());
     }
@@ -41,6 +53,11 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
         if (additionalResourceAccessors != null) {
             additionalResourceAccessors.close();
         }
+        for (ResourceAccessor resourceAccessor : rootResourceAccessors.values()) {
+            resourceAccessor.close();
+        }
+        rootResourceAccessors.clear();
+        archiveSearchCache.clear();
     }
 
     /**
@@ -115,8 +132,8 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
             String urlExternalForm = url.toExternalForm();
             urlExternalForm = urlExternalForm.replaceFirst(Pattern.quote(path) + "/?$", "");
 
-            try (ResourceAccessor resourceAccessor = pathHandlerFactory.getResourceAccessor(urlExternalForm)) {
-                returnList.addAll(resourceAccessor.search(path, recursive));
+            try {
+                returnList.addAll(searchRoot(pathHandlerFactory, urlExternalForm, path, recursive));
             } catch (Exception e) {
                 throw new IOException(e.getMessage(), e);
             }
@@ -128,6 +145,34 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
         return new ArrayList<>(returnList);
     }
 
+    private List<Resource> searchRoot(PathHandlerFactory pathHandlerFactory, String root, String path, boolean recursive) throws IOException {
+        ResourceAccessor resourceAccessor = rootResourceAccessors.get(root);
+        if (resourceAccessor == null) {
+            resourceAccessor = pathHandlerFactory.getResourceAccessor(root);
+            ResourceAccessor existing = rootResourceAccessors.putIfAbsent(root, resourceAccessor);
+            if (existing != null) {
+                try {
+                    resourceAccessor.close();
+                } catch (Exception e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot close resource accessor for " + root + ": " + e.getMessage(), e);
+                }
+                resourceAccessor = existing;
+            }
+        }
+
+        if (root.startsWith("file:")) {
+            return resourceAccessor.search(path, recursive);
+        }
+
+        String cacheKey = recursive + ":" + root + ":" + path;
+        List<Resource> found = archiveSearchCache.get(cacheKey);
+        if (found == null) {
+            found = Collections.unmodifiableList(resourceAccessor.search(path, recursive));
+            archiveSearchCache.put(cacheKey, found);
+        }
+        return found;
+    }
+
     @Override
     public List<Resource> getAll(String path) throws IOException {
         //using a hash because sometimes the same resource gets included multiple times.
@@ -0,0 +1,80 @@
+package liquibase.serializer.core.binary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Constants and helpers shared by {@link BinarySnapshotSerializer} and {@link liquibase.parser.core.binary.BinarySnapshotParser}.
+ * <p>
+ * A file starts with {@link #MAGIC} and {@link #FORMAT_VERSION}, followed by the database description and snapshot metadata.
+ * Then all objects are declared with their type and snapshotId, and after that the attributes of each object are written in the
+ * same order. Because every object is declared before any attributes, references to other objects are written as their position
+ * in the declarations and can be resolved while reading, without building an intermediate tree.
+ * <p>
+ * Every string is written in full only the first time it is used and as a number after that, so repeated names, types and
+ * attribute keys cost a few bytes each.
+ */
+public final class BinarySnapshotFormat {
+
+    public static final String FILE_EXTENSION = "bin";
+
+    public static final int MAGIC = 0x4C42534E; // "LBSN"
+    public static final int FORMAT_VERSION = 1;
+
+    public static final byte VALUE_NULL = 0;
+    public static final byte VALUE_STRING = 1;
+    public static final byte VALUE_TRUE = 2;
+    public static final byte VALUE_FALSE = 3;
+    public static final byte VALUE_INTEGER = 4;
+    public static final byte VALUE_LONG = 5;
+    public static final byte VALUE_DOUBLE = 6;
+    public static final byte VALUE_BIG_INTEGER = 7;
+    public static final byte VALUE_BIG_DECIMAL = 8;
+    public static final byte VALUE_DATE = 9;
+    public static final byte VALUE_ENUM = 10;
+    public static final byte VALUE_LIST = 11;
+    public static final byte VALUE_MAP = 12;
+    /**
+     * An object declared in the snapshot, written as its position in the declarations.
+     */
+    public static final byte VALUE_REFERENCE = 13;
+    /**
+     * A database object without a snapshotId, such as a computed index column, written with its attributes in place.
+     */
+    public static final byte VALUE_OBJECT = 14;
+    /**
+     * A {@link liquibase.serializer.LiquibaseSerializable} that is not a database object, such as a column data type.
+     */
+    public static final byte VALUE_SERIALIZABLE = 15;
+    /**
+     * Any other value, written as its class and string value and read back with the class's String constructor.
+     */
+    public static final byte VALUE_STRING_CONSTRUCTED = 16;
+
+    private BinarySnapshotFormat() {
+    }
+
+    /**
+     * Writes a non-negative int in as few bytes as possible, seven bits per byte.
+     */
+    public static void writeVarInt(DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    public static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid variable length int");
+    }
+}
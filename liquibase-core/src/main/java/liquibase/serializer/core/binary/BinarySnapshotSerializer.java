@@ -0,0 +1,232 @@
+package liquibase.serializer.core.binary;
+
+import liquibase.diff.compare.DatabaseObjectCollectionComparator;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.serializer.LiquibaseSerializable;
+import liquibase.serializer.SnapshotSerializer;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.DatabaseObjectCollection;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static liquibase.serializer.core.binary.BinarySnapshotFormat.*;
+
+/**
+ * Writes snapshots in the compact format described in {@link BinarySnapshotFormat}, which is much smaller and faster to read back
+ * than JSON or YAML for large schemas. The objects are written straight from the snapshot, without building a tree of the whole file first.
+ * <p>
+ * The format is binary, so {@link #serialize(LiquibaseSerializable, boolean)} is not supported and snapshots must be written with
+ * {@link #write(DatabaseSnapshot, OutputStream)}.
+ */
+public class BinarySnapshotSerializer implements SnapshotSerializer {
+
+    @Override
+    public String[] getValidFileExtensions() {
+        return new String[]{FILE_EXTENSION};
+    }
+
+    @Override
+    public String serialize(LiquibaseSerializable object, boolean pretty) {
+        throw new UnexpectedLiquibaseException("Binary snapshots cannot be converted to a string, write them to a file instead");
+    }
+
+    @Override
+    public void write(DatabaseSnapshot snapshot, OutputStream out) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out));
+        new Writer(output).write(snapshot);
+        output.flush();
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT;
+    }
+
+    /**
+     * Holds the state of writing one snapshot: the strings written so far and the position of each declared object.
+     */
+    private static class Writer {
+        private final DataOutputStream output;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<String, Integer> objectIndexes = new HashMap<>();
+
+        private Writer(DataOutputStream output) {
+            this.output = output;
+        }
+
+        private void write(DatabaseSnapshot snapshot) throws IOException {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            writeValue(snapshot.getSerializableFieldValue("database"));
+            writeValue(snapshot.getMetadata());
+
+            List<DatabaseObject> objects = getObjects((DatabaseObjectCollection) snapshot.getSerializableFieldValue("objects"));
+            List<DatabaseObject> referencedObjects = getObjects((DatabaseObjectCollection) snapshot.getSerializableFieldValue("referencedObjects"));
+
+            writeVarInt(output, objects.size() + referencedObjects.size());
+            declareObjects(objects, false);
+            declareObjects(referencedObjects, true);
+            for (DatabaseObject object : objects) {
+                writeAttributes(object);
+            }
+            for (DatabaseObject object : referencedObjects) {
+                writeAttributes(object);
+            }
+        }
+
+        private List<DatabaseObject> getObjects(DatabaseObjectCollection collection) {
+            List<DatabaseObject> objects = new ArrayList<>();
+            for (Set<? extends DatabaseObject> typeObjects : collection.toMap().values()) {
+                objects.addAll(typeObjects);
+            }
+            objects.sort(Comparator.comparing((DatabaseObject object) -> object.getClass().getName()).thenComparing(new DatabaseObjectCollectionComparator()));
+            return objects;
+        }
+
+        private void declareObjects(List<DatabaseObject> objects, boolean referenced) throws IOException {
+            for (DatabaseObject object : objects) {
+                if (object.getSnapshotId() == null) {
+                    throw new UnexpectedLiquibaseException("Found a null snapshotId for " + object.getObjectTypeName() + " " + object);
+                }
+                objectIndexes.putIfAbsent(getKey(object), objectIndexes.size());
+                writeString(object.getClass().getName());
+                writeString(object.getSnapshotId());
+                output.writeBoolean(referenced);
+            }
+        }
+
+        private void writeAttributes(DatabaseObject object) throws IOException {
+            Map<String, Object> attributes = new TreeMap<>();
+            for (String field : object.getSerializableFields()) {
+                Object value = object.getAttribute(field, Object.class);
+                if (!"snapshotId".equals(field) && (value != null)) {
+                    attributes.put(field, value);
+                }
+            }
+            writeVarInt(output, attributes.size());
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                writeString(attribute.getKey());
+                writeValue(attribute.getValue());
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                output.writeByte(VALUE_NULL);
+            } else if (value instanceof String) {
+                output.writeByte(VALUE_STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte(((Boolean) value) ? VALUE_TRUE : VALUE_FALSE);
+            } else if (value instanceof Integer) {
+                output.writeByte(VALUE_INTEGER);
+                output.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                output.writeByte(VALUE_LONG);
+                output.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                output.writeByte(VALUE_DOUBLE);
+                output.writeDouble((Double) value);
+            } else if (value instanceof BigInteger) {
+                output.writeByte(VALUE_BIG_INTEGER);
+                writeString(value.toString());
+            } else if (value instanceof BigDecimal) {
+                output.writeByte(VALUE_BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (value instanceof Date) {
+                output.writeByte(VALUE_DATE);
+                writeString(value.getClass().getName());
+                output.writeLong(((Date) value).getTime());
+            } else if (value instanceof Enum) {
+                output.writeByte(VALUE_ENUM);
+                writeString(((Enum<?>) value).getDeclaringClass().getName());
+                writeString(((Enum<?>) value).name());
+            } else if (value instanceof DatabaseObject) {
+                writeDatabaseObject((DatabaseObject) value);
+            } else if (value instanceof LiquibaseSerializable) {
+                writeSerializable((LiquibaseSerializable) value);
+            } else if (value instanceof Collection) {
+                output.writeByte(VALUE_LIST);
+                writeVarInt(output, ((Collection<?>) value).size());
+                for (Object item : (Collection<?>) value) {
+                    writeValue(item);
+                }
+            } else if (value instanceof Map) {
+                output.writeByte(VALUE_MAP);
+                writeVarInt(output, ((Map<?, ?>) value).size());
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else {
+                output.writeByte(VALUE_STRING_CONSTRUCTED);
+                writeString(value.getClass().getName());
+                writeString(value.toString());
+            }
+        }
+
+        private void writeDatabaseObject(DatabaseObject object) throws IOException {
+            if (object.getSnapshotId() == null) {
+                output.writeByte(VALUE_OBJECT);
+                writeString(object.getClass().getName());
+                writeAttributes(object);
+                return;
+            }
+
+            Integer index = objectIndexes.get(getKey(object));
+            if (index == null) {
+                //not part of the snapshot, so keep the same unresolved reference the text formats store
+                output.writeByte(VALUE_STRING);
+                writeString(getKey(object));
+            } else {
+                output.writeByte(VALUE_REFERENCE);
+                writeVarInt(output, index);
+            }
+        }
+
+        private void writeSerializable(LiquibaseSerializable serializable) throws IOException {
+            Map<String, Object> fields = new TreeMap<>();
+            for (String field : serializable.getSerializableFields()) {
+                Object value = serializable.getSerializableFieldValue(field);
+                if (value != null) {
+                    fields.put(field, value);
+                }
+            }
+            output.writeByte(VALUE_SERIALIZABLE);
+            writeString(serializable.getClass().getName());
+            writeVarInt(output, fields.size());
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                writeString(field.getKey());
+                writeValue(field.getValue());
+            }
+        }
+
+        /**
+         * Writes the index of a string already written, or 0 followed by the string the first time it is used.
+         */
+        private void writeString(String value) throws IOException {
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(output, index + 1);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(output, 0);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        }
+
+        private String getKey(DatabaseObject object) {
+            return object.getClass().getName() + "#" + object.getSnapshotId();
+        }
+    }
+}
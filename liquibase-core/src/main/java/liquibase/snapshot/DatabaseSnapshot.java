@@ -27,6 +27,7 @@ import java.sql.Timestamp;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 
 public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
@@ -190,6 +191,38 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
         return returnSnapshot;
     }
 
+    /**
+     * Adds an object without snapshotting it or any of the objects it refers to.
+     */
+    void addObject(DatabaseObject object, boolean referenced) {
+        if (referenced) {
+            referencedObjects.add(object);
+        } else {
+            allFound.add(object);
+        }
+    }
+
+    /**
+     * Adds the objects of another snapshot that the filter accepts, without reading them from the database again.
+     * The objects are shared with the other snapshot, not copied.
+     */
+    void addObjects(DatabaseSnapshot snapshot, Predicate<DatabaseObject> filter) {
+        for (Set<? extends DatabaseObject> objects : snapshot.allFound.toMap().values()) {
+            for (DatabaseObject object : objects) {
+                if (filter.test(object)) {
+                    allFound.add(object);
+                }
+            }
+        }
+        for (Set<? extends DatabaseObject> objects : snapshot.referencedObjects.toMap().values()) {
+            for (DatabaseObject object : objects) {
+                if (filter.test(object)) {
+                    referencedObjects.add(object);
+                }
+            }
+        }
+    }
+
     public SnapshotControl getSnapshotControl() {
         return snapshotControl;
     }
@@ -491,7 +524,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
     protected boolean isWrongSchema(DatabaseObject fieldValue) {
         boolean isSchemaExamples = true;
-        if (originalExamples == null) {
+        if ((originalExamples == null) || (originalExamples.length == 0)) {
             return false;
         }
         for (DatabaseObject obj : originalExamples) {
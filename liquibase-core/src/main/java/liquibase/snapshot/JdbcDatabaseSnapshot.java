@@ -374,7 +374,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
             @Override
             protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
-                return !(tableName.equalsIgnoreCase(database.getDatabaseChangeLogTableName()) || tableName.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName()));
+                return (tableName == null) || !(tableName.equalsIgnoreCase(database.getDatabaseChangeLogTableName()) || tableName.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName()));
             }
 
             @Override
@@ -1404,7 +1404,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                                     "JOIN SYSIBM.SYSKEYCOLUSE COLUSE " +
                                     "ON SYSTAB.TBCREATOR = COLUSE.TBCREATOR " +
                                     "WHERE SYSTAB.TYPE = 'P' " +
-                                    "AND SYSTAB.TBNAME='" + table + "' " +
+                                    "AND SYSTAB.TBNAME='" + tableName + "' " +
                                     "AND SYSTAB.TBCREATOR='" + ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema) + "' " +
                                     "AND SYSTAB.TBNAME=COLUSE.TBNAME " +
                                     "AND SYSTAB.CONSTNAME=COLUSE.CONSTNAME " +
@@ -1422,7 +1422,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                                     "LEFT JOIN " + (((OracleDatabase) database).canAccessDbaRecycleBin() ? "dba_recyclebin" : "user_recyclebin") + " d ON d.object_name=k.table_name " +
                                     "WHERE k.constraint_type = 'P' " +
                                     "AND d.object_name IS NULL " +
-                                    "AND k.table_name = '" + table + "' " +
+                                    "AND k.table_name = '" + tableName + "' " +
                                     "AND k.owner = '" + ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema) + "' " +
                                     "AND k.constraint_name = c.constraint_name " +
                                     "AND k.table_name = c.table_name " +
@@ -1470,7 +1470,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                                     "    WHERE " +
                                     "      true " +
                                     "      AND n.nspname = '" + ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema) + "' " +
-                                    "      AND ct.relname = '" + table + "' " +
+                                    "      AND ct.relname = '" + tableName + "' " +
                                     "      AND i.indisprimary" +
                                     "  ) " +
                                     "    AS result " +
@@ -1489,7 +1489,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                                     databaseMetaData.getPrimaryKeys(
                                             ((AbstractJdbcDatabase) database).getJdbcCatalogName(catalogAndSchema),
                                             ((AbstractJdbcDatabase) database).getJdbcSchemaName(catalogAndSchema),
-                                            table
+                                            tableName
                                     )
                             );
                         }
@@ -9,4 +9,13 @@ public class RestoredDatabaseSnapshot extends DatabaseSnapshot {
     public RestoredDatabaseSnapshot(Database database) throws DatabaseException, InvalidExampleException {
         super(new DatabaseObject[0], database);
     }
+
+    /**
+     * Adds an object read from a saved snapshot. Its references to other objects must already be resolved.
+     *
+     * @param referenced true if the object was saved as only referenced by the snapshot, such as a table in another schema
+     */
+    public void addRestoredObject(DatabaseObject object, boolean referenced) {
+        addObject(object, referenced);
+    }
 }
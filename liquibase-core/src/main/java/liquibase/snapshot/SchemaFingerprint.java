@@ -0,0 +1,383 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.database.AbstractJdbcDatabase;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.diff.DiffGeneratorFactory;
+import liquibase.diff.DiffResult;
+import liquibase.diff.compare.CompareControl;
+import liquibase.exception.DatabaseException;
+import liquibase.snapshot.jvm.UniqueConstraintSnapshotGenerator;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.ForeignKey;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.PrimaryKey;
+import liquibase.structure.core.Table;
+import liquibase.structure.core.UniqueConstraint;
+import liquibase.structure.core.View;
+import liquibase.util.MD5Util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A hash tree of the structure of the tables and views in a schema, read with the bulk queries of {@link JdbcDatabaseSnapshot.CachingDatabaseMetaData}.
+ * It is much cheaper than a full snapshot and is meant for checking whether a schema has changed, for example that a rollback put
+ * the schema back the way it was before an update, or that a database has not drifted from a fingerprint saved earlier.
+ * <p>
+ * The tree has three levels. Each column, primary key, index, foreign key and unique constraint has its own hash, each table and view has a hash
+ * of its elements, and the schema has a hash of its tables and views. Comparing two fingerprints starts at the top and only looks further
+ * down where the hashes differ, and {@link #diff(Database, SchemaFingerprint, Database, SchemaFingerprint, CatalogAndSchema)} only snapshots
+ * the tables and views that differ.
+ * <p>
+ * Data, sequences and stored logic are not included, nor are the Liquibase tracking tables.
+ */
+public class SchemaFingerprint {
+
+    private static final String FILE_HEADER = "# Liquibase schema fingerprint ";
+
+    private final SortedMap<String, SortedMap<String, String>> elementHashes;
+    private final SortedMap<String, String> objectHashes = new TreeMap<>();
+    private final String hash;
+
+    private SchemaFingerprint(SortedMap<String, SortedMap<String, String>> elementHashes) {
+        this.elementHashes = elementHashes;
+        for (Map.Entry<String, SortedMap<String, String>> object : elementHashes.entrySet()) {
+            objectHashes.put(object.getKey(), hashOf(object.getValue()));
+        }
+        this.hash = hashOf(objectHashes);
+    }
+
+    /**
+     * Reads the fingerprint of the given schema.
+     */
+    public static SchemaFingerprint compute(Database database, CatalogAndSchema schema) throws DatabaseException {
+        if (!(database instanceof AbstractJdbcDatabase) || !(database.getConnection() instanceof JdbcConnection)) {
+            throw new DatabaseException("Cannot compute a schema fingerprint without a JDBC connection");
+        }
+        CatalogAndSchema customized = schema.customize(database);
+        String catalogName = ((AbstractJdbcDatabase) database).getJdbcCatalogName(customized);
+        String schemaName = ((AbstractJdbcDatabase) database).getJdbcSchemaName(customized);
+
+        Map<String, SortedSet<String>> descriptions = new TreeMap<>();
+        try {
+            JdbcDatabaseSnapshot snapshot = new JdbcDatabaseSnapshot(new DatabaseObject[0], database);
+            JdbcDatabaseSnapshot.CachingDatabaseMetaData metaData = snapshot.getMetaDataFromCache();
+
+            Map<String, String> objects = new TreeMap<>();
+            for (CachedRow row : metaData.getTables(catalogName, schemaName, null)) {
+                objects.put(row.getString("TABLE_NAME"), "table");
+            }
+            for (CachedRow row : metaData.getViews(catalogName, schemaName, null)) {
+                objects.put(row.getString("TABLE_NAME"), "view");
+            }
+            objects.keySet().removeIf(name -> name.equalsIgnoreCase(database.getDatabaseChangeLogTableName())
+                    || name.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName()));
+
+            for (CachedRow row : metaData.getColumns(catalogName, schemaName, null, null)) {
+                add(descriptions, objects, row.getString("TABLE_NAME"), "column " + row.getString("COLUMN_NAME"), row,
+                        "TYPE_NAME", "COLUMN_SIZE", "DECIMAL_DIGITS", "IS_NULLABLE", "COLUMN_DEF", "ORDINAL_POSITION");
+            }
+            Map<String, SortedSet<String>> primaryKeyColumns = new HashMap<>();
+            for (CachedRow row : metaData.getPrimaryKeys(catalogName, schemaName, null)) {
+                add(descriptions, objects, row.getString("TABLE_NAME"), "primary key " + row.getString("PK_NAME"), row,
+                        "COLUMN_NAME", "KEY_SEQ");
+                primaryKeyColumns.computeIfAbsent(row.getString("TABLE_NAME"), table -> new TreeSet<>()).add(row.getString("COLUMN_NAME"));
+            }
+            Map<String, SortedSet<String>> indexColumns = new HashMap<>();
+            List<CachedRow> indexRows = metaData.getIndexInfo(catalogName, schemaName, null, null);
+            for (CachedRow row : indexRows) {
+                if ((row.getString("INDEX_NAME") != null) && Boolean.FALSE.equals(row.getBoolean("NON_UNIQUE"))) {
+                    indexColumns.computeIfAbsent(row.getString("TABLE_NAME") + "\n" + row.getString("INDEX_NAME"), index -> new TreeSet<>()).add(row.getString("COLUMN_NAME"));
+                }
+            }
+            for (CachedRow row : indexRows) {
+                String tableName = row.getString("TABLE_NAME");
+                String indexName = row.getString("INDEX_NAME");
+                if (indexName != null) {
+                    //the name of the index backing a primary key is often generated and can change when the table is altered
+                    SortedSet<String> columns = indexColumns.get(tableName + "\n" + indexName);
+                    boolean primaryKeyIndex = (columns != null) && columns.equals(primaryKeyColumns.get(tableName));
+                    add(descriptions, objects, tableName, primaryKeyIndex ? "index for primary key" : ("index " + indexName), row,
+                            "NON_UNIQUE", "COLUMN_NAME", "ORDINAL_POSITION", "ASC_OR_DESC", "FILTER_CONDITION");
+                }
+            }
+            for (CachedRow row : metaData.getForeignKeys(catalogName, schemaName, null, null)) {
+                add(descriptions, objects, row.getString("FKTABLE_NAME"), "foreign key " + row.getString("FK_NAME"), row,
+                        "FKCOLUMN_NAME", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE", "DELETE_RULE");
+            }
+            //the unique constraint metadata has no columns, so they are read with the queries the snapshot uses, which switch to one bulk query per schema
+            UniqueConstraintSnapshotGenerator uniqueConstraintGenerator = getUniqueConstraintSnapshotGenerator(database);
+            for (CachedRow row : metaData.getUniqueConstraints(catalogName, schemaName, null)) {
+                String tableName = row.getString("TABLE_NAME");
+                String constraintName = row.getString("CONSTRAINT_NAME");
+                if (!objects.containsKey(tableName)) {
+                    continue;
+                }
+                String columns = null;
+                if (uniqueConstraintGenerator != null) {
+                    UniqueConstraint example = new UniqueConstraint(constraintName, customized.getCatalogName(), customized.getSchemaName(), tableName, new Column[0]);
+                    columns = String.join(",", uniqueConstraintGenerator.listColumnNames(example, snapshot));
+                }
+                add(descriptions, objects, tableName, "unique constraint " + constraintName, "COLUMN_NAMES=" + columns + ";");
+            }
+
+            for (Map.Entry<String, String> object : objects.entrySet()) {
+                descriptions.putIfAbsent(object.getValue() + " " + object.getKey(), new TreeSet<>());
+            }
+        } catch (SQLException | InvalidExampleException e) {
+            throw new DatabaseException(e);
+        }
+
+        SortedMap<String, SortedMap<String, String>> elementHashes = new TreeMap<>();
+        for (Map.Entry<String, SortedSet<String>> description : descriptions.entrySet()) {
+            String[] key = description.getKey().split("\n", 2);
+            SortedMap<String, String> elements = elementHashes.computeIfAbsent(key[0], object -> new TreeMap<>());
+            if (key.length > 1) {
+                elements.put(key[1], MD5Util.computeMD5(String.join("\n", description.getValue())));
+            }
+        }
+        return new SchemaFingerprint(elementHashes);
+    }
+
+    /**
+     * Adds the description of one metadata row to the element it belongs to. Rows for objects that are not fingerprinted are skipped.
+     */
+    private static void add(Map<String, SortedSet<String>> descriptions, Map<String, String> objects, String objectName, String element, CachedRow row, String... columnNames) {
+        StringBuilder description = new StringBuilder();
+        for (String columnName : columnNames) {
+            description.append(columnName).append("=").append(row.get(columnName)).append(";");
+        }
+        add(descriptions, objects, objectName, element, description.toString());
+    }
+
+    private static void add(Map<String, SortedSet<String>> descriptions, Map<String, String> objects, String objectName, String element, String description) {
+        String objectType = objects.get(objectName);
+        if (objectType == null) {
+            return;
+        }
+        descriptions.computeIfAbsent(objectType + " " + objectName + "\n" + element, key -> new TreeSet<>()).add(description);
+    }
+
+    private static UniqueConstraintSnapshotGenerator getUniqueConstraintSnapshotGenerator(Database database) {
+        for (SnapshotGenerator generator : SnapshotGeneratorFactory.getInstance().getGenerators(UniqueConstraint.class, database)) {
+            if (generator instanceof UniqueConstraintSnapshotGenerator) {
+                return (UniqueConstraintSnapshotGenerator) generator;
+            }
+        }
+        return null;
+    }
+
+    private static String hashOf(SortedMap<String, String> hashes) {
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, String> entry : hashes.entrySet()) {
+            content.append(entry.getKey()).append("=").append(entry.getValue()).append("\n");
+        }
+        return MD5Util.computeMD5(content.toString());
+    }
+
+    /**
+     * Reads a fingerprint written by {@link #save(OutputStream)}.
+     */
+    public static SchemaFingerprint load(InputStream stream) throws IOException {
+        SortedMap<String, SortedMap<String, String>> elementHashes = new TreeMap<>();
+        String expectedHash = null;
+        SortedMap<String, String> elements = null;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(FILE_HEADER)) {
+                expectedHash = line.substring(FILE_HEADER.length()).trim();
+            } else if (line.startsWith("\t")) {
+                String[] element = line.substring(1).split("\t");
+                if ((elements == null) || (element.length != 2)) {
+                    throw new IOException("Invalid schema fingerprint line: " + line);
+                }
+                elements.put(element[0], element[1]);
+            } else if (!line.isEmpty()) {
+                elements = elementHashes.computeIfAbsent(line, object -> new TreeMap<>());
+            }
+        }
+
+        SchemaFingerprint fingerprint = new SchemaFingerprint(elementHashes);
+        if (expectedHash == null) {
+            throw new IOException("Not a schema fingerprint");
+        }
+        if (!expectedHash.equals(fingerprint.hash)) {
+            throw new IOException("Schema fingerprint does not match its content. Expected " + expectedHash + " but was " + fingerprint.hash);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Writes the fingerprint so it can be read with {@link #load(InputStream)}: a header with the schema hash, then each table and view
+     * followed by the hashes of its elements, indented with a tab. The stream is not closed.
+     */
+    public void save(OutputStream stream) throws IOException {
+        Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+        writer.write(FILE_HEADER + hash + "\n");
+        for (Map.Entry<String, SortedMap<String, String>> object : elementHashes.entrySet()) {
+            writer.write(object.getKey() + "\n");
+            for (Map.Entry<String, String> element : object.getValue().entrySet()) {
+                writer.write("\t" + element.getKey() + "\t" + element.getValue() + "\n");
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the hash of the whole schema.
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the hash of each table and view, keyed by its type and name.
+     */
+    public SortedMap<String, String> getObjectHashes() {
+        return Collections.unmodifiableSortedMap(objectHashes);
+    }
+
+    /**
+     * Returns the hash of each column, primary key, index, foreign key and unique constraint of the given table or view, keyed by its type and name.
+     * Returns an empty map if there is no such object.
+     */
+    public SortedMap<String, String> getElementHashes(String object) {
+        SortedMap<String, String> elements = elementHashes.get(object);
+        if (elements == null) {
+            return Collections.emptySortedMap();
+        }
+        return Collections.unmodifiableSortedMap(elements);
+    }
+
+    /**
+     * Returns a description of each table and view that was added, removed or changed compared to the given fingerprint.
+     */
+    public List<String> getDifferences(SchemaFingerprint other) {
+        List<String> differences = new ArrayList<>();
+        for (Map.Entry<String, String> object : compare(other.objectHashes, objectHashes).entrySet()) {
+            differences.add(object.getValue() + " " + object.getKey());
+        }
+        return differences;
+    }
+
+    /**
+     * Returns, for each table and view that differs from the given fingerprint, a description of the elements that were added, removed or changed.
+     * Tables and views that were added or removed as a whole list all of their elements.
+     */
+    public SortedMap<String, List<String>> getElementDifferences(SchemaFingerprint other) {
+        SortedMap<String, List<String>> differences = new TreeMap<>();
+        for (String object : compare(other.objectHashes, objectHashes).keySet()) {
+            List<String> elementDifferences = new ArrayList<>();
+            for (Map.Entry<String, String> element : compare(other.getElementHashes(object), getElementHashes(object)).entrySet()) {
+                elementDifferences.add(element.getValue() + " " + element.getKey());
+            }
+            differences.put(object, elementDifferences);
+        }
+        return differences;
+    }
+
+    /**
+     * Compares two levels of the tree, returning "Missing", "Changed" or "Unexpected" for each key that differs.
+     */
+    private static Map<String, String> compare(Map<String, String> expected, Map<String, String> actual) {
+        Map<String, String> differences = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : expected.entrySet()) {
+            String hash = actual.get(entry.getKey());
+            if (hash == null) {
+                differences.put(entry.getKey(), "Missing");
+            } else if (!hash.equals(entry.getValue())) {
+                differences.put(entry.getKey(), "Changed");
+            }
+        }
+        for (String key : actual.keySet()) {
+            if (!expected.containsKey(key)) {
+                differences.put(key, "Unexpected");
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Runs a full diff of the given schema in two databases, snapshotting only the tables and views whose fingerprints differ.
+     * When the fingerprints are equal, nothing is snapshotted and the result is empty.
+     */
+    public static DiffResult diff(Database referenceDatabase, SchemaFingerprint referenceFingerprint,
+                                  Database comparisonDatabase, SchemaFingerprint comparisonFingerprint,
+                                  CatalogAndSchema schema) throws DatabaseException {
+        List<String> changedObjects = new ArrayList<>();
+        if (!referenceFingerprint.hash.equals(comparisonFingerprint.hash)) {
+            changedObjects.addAll(compare(referenceFingerprint.objectHashes, comparisonFingerprint.objectHashes).keySet());
+        }
+
+        //schemas are left out so that snapshotting the tables does not snapshot every other table in the schema as well
+        Set<Class<? extends DatabaseObject>> types = new HashSet<>(Arrays.asList(Table.class, View.class, Column.class, PrimaryKey.class,
+                Index.class, ForeignKey.class, UniqueConstraint.class));
+        try {
+            DatabaseSnapshot referenceSnapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(getExamples(changedObjects, referenceDatabase, schema),
+                    referenceDatabase, new SnapshotControl(referenceDatabase, false, types.toArray(new Class[0])));
+            DatabaseSnapshot comparisonSnapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(getExamples(changedObjects, comparisonDatabase, schema),
+                    comparisonDatabase, new SnapshotControl(comparisonDatabase, false, types.toArray(new Class[0])));
+
+            CompareControl compareControl = new CompareControl(new CompareControl.SchemaComparison[]{
+                    new CompareControl.SchemaComparison(schema.customize(referenceDatabase), schema.customize(comparisonDatabase))
+            }, types);
+            return DiffGeneratorFactory.getInstance().compare(referenceSnapshot, comparisonSnapshot, compareControl);
+        } catch (InvalidExampleException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    private static DatabaseObject[] getExamples(List<String> objects, Database database, CatalogAndSchema schema) {
+        CatalogAndSchema customized = schema.customize(database);
+        List<DatabaseObject> examples = new ArrayList<>();
+        for (String object : objects) {
+            String[] typeAndName = object.split(" ", 2);
+            if ("view".equals(typeAndName[0])) {
+                examples.add(new View(customized.getCatalogName(), customized.getSchemaName(), typeAndName[1]));
+            } else {
+                examples.add(new Table(customized.getCatalogName(), customized.getSchemaName(), typeAndName[1]));
+            }
+        }
+        return examples.toArray(new DatabaseObject[0]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return (o instanceof SchemaFingerprint) && hash.equals(((SchemaFingerprint) o).hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return hash;
+    }
+}
@@ -12,8 +12,8 @@ import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.ExecutorService;
 import liquibase.statement.core.RawSqlStatement;
 import liquibase.structure.DatabaseObject;
-import liquibase.structure.core.Schema;
-import liquibase.structure.core.Table;
+import liquibase.structure.DatabaseObjectCollection;
+import liquibase.structure.core.*;
 
 import java.util.*;
 
@@ -244,6 +244,128 @@ public class SnapshotGeneratorFactory {
         return snapshot.get(example);
     }
 
+    /**
+     * Brings an earlier snapshot up to date by reading only the objects that were changed since it was taken, for example the objects
+     * collected by {@link liquibase.changelog.visitor.AffectedObjectsChangeExecListener} during an update.
+     * Everything else is taken from the earlier snapshot, which can be one restored from a file.
+     * <p>
+     * Columns, indexes, keys and constraints are refreshed along with their whole table or view. Tables with foreign keys to a refreshed
+     * table, and views whose definition mentions it, are refreshed as well. Changes report the schema and catalog
+     * they work in as affected too, but those are only containers and are taken from the earlier snapshot.
+     * Objects that did not change are shared with the earlier snapshot rather than copied, so it should not be used afterwards.
+     *
+     * @param previousSnapshot the snapshot to bring up to date
+     * @param changedObjects   the objects that were created, changed or dropped since the snapshot was taken
+     * @param database         the database to read the changed objects from
+     * @return a snapshot of the database that contains the same types of objects as the earlier snapshot
+     * @throws DatabaseException       if a problem occurs during snapshotting
+     * @throws InvalidExampleException if a changed object cannot be used as a snapshot example
+     */
+    public DatabaseSnapshot refreshSnapshot(DatabaseSnapshot previousSnapshot, Collection<? extends DatabaseObject> changedObjects, Database database)
+            throws DatabaseException, InvalidExampleException {
+        if ((database.getConnection() == null) || (database.getConnection() instanceof OfflineConnection)) {
+            throw new DatabaseException("Cannot refresh a snapshot without a connection to the database");
+        }
+        SnapshotControl snapshotControl = new SnapshotControl(database, false,
+                previousSnapshot.getSnapshotControl().getTypesToInclude().toArray(new Class[0]));
+
+        DatabaseObjectCollection refreshed = new DatabaseObjectCollection(database);
+        List<DatabaseObject> examples = new ArrayList<>();
+        for (DatabaseObject changedObject : changedObjects) {
+            DatabaseObject example = getRefreshExample(changedObject, database);
+            if ((example != null) && !refreshed.contains(example, null)) {
+                refreshed.add(example);
+                examples.add(example);
+            }
+            if (changedObject instanceof ForeignKey) {
+                example = getRefreshExample(((ForeignKey) changedObject).getPrimaryKeyTable(), database);
+                if ((example != null) && !refreshed.contains(example, null)) {
+                    refreshed.add(example);
+                    examples.add(example);
+                }
+            }
+        }
+
+        for (ForeignKey foreignKey : previousSnapshot.get(ForeignKey.class)) {
+            if ((foreignKey.getPrimaryKeyTable() != null) && refreshed.contains(getRefreshExample(foreignKey.getPrimaryKeyTable(), database), null)) {
+                DatabaseObject example = getRefreshExample(foreignKey.getForeignKeyTable(), database);
+                if ((example != null) && !refreshed.contains(example, null)) {
+                    refreshed.add(example);
+                    examples.add(example);
+                }
+            }
+        }
+        for (View view : previousSnapshot.get(View.class)) {
+            if ((view.getDefinition() != null) && !refreshed.contains(view, null)) {
+                String definition = view.getDefinition().toLowerCase();
+                for (DatabaseObject example : new ArrayList<>(examples)) {
+                    if ((example instanceof Table) && definition.contains(example.getName().toLowerCase())) {
+                        DatabaseObject viewExample = getRefreshExample(view, database);
+                        refreshed.add(viewExample);
+                        examples.add(viewExample);
+                        break;
+                    }
+                }
+            }
+        }
+
+        Scope.getCurrentScope().getLog(getClass()).fine("Refreshing " + examples.size() + " objects in the snapshot: " + examples);
+        JdbcDatabaseSnapshot snapshot = new JdbcDatabaseSnapshot(new DatabaseObject[0], database, snapshotControl);
+        snapshot.addObjects(previousSnapshot, object -> !isRefreshed(object, refreshed));
+        for (DatabaseObject example : examples) {
+            snapshot.include(example);
+        }
+        snapshot.getMetadata().putAll(previousSnapshot.getMetadata());
+        return snapshot;
+    }
+
+    /**
+     * Returns an example of the object to snapshot again when the given object changed: the table or view for anything it contains,
+     * a copy of the object itself, or null for schemas and catalogs which are not snapshotted again.
+     */
+    private DatabaseObject getRefreshExample(DatabaseObject changedObject, Database database) throws DatabaseException {
+        DatabaseObject object = getContainer(changedObject);
+        if ((object == null) || (object instanceof Catalog) || (object instanceof Schema) || (object.getName() == null)) {
+            return null;
+        }
+
+        CatalogAndSchema schema = ((object.getSchema() == null) ? new CatalogAndSchema(null, null) : object.getSchema().toCatalogAndSchema()).customize(database);
+        try {
+            DatabaseObject example = object.getClass().getConstructor().newInstance();
+            example.setName(object.getName());
+            example.setAttribute("schema", new Schema(schema.getCatalogName(), schema.getSchemaName()));
+            return example;
+        } catch (ReflectiveOperationException e) {
+            throw new DatabaseException("Cannot create a snapshot example for " + object, e);
+        }
+    }
+
+    /**
+     * Returns true if the object is refreshed, either itself or as part of its table or view.
+     */
+    private boolean isRefreshed(DatabaseObject object, DatabaseObjectCollection refreshed) {
+        DatabaseObject container = getContainer(object);
+        return (container != null) && refreshed.contains(container, null);
+    }
+
+    /**
+     * Returns the table or view that is snapshotted together with the given object, or the object itself if it stands on its own.
+     */
+    private DatabaseObject getContainer(DatabaseObject object) {
+        if (object instanceof Column) {
+            return ((Column) object).getRelation();
+        } else if (object instanceof Index) {
+            return ((Index) object).getRelation();
+        } else if (object instanceof PrimaryKey) {
+            return ((PrimaryKey) object).getTable();
+        } else if (object instanceof UniqueConstraint) {
+            return ((UniqueConstraint) object).getRelation();
+        } else if (object instanceof ForeignKey) {
+            return ((ForeignKey) object).getForeignKeyTable();
+        }
+        return object;
+    }
+
     public Table getDatabaseChangeLogTable(SnapshotControl snapshotControl, Database database) throws DatabaseException {
         try {
             Table liquibaseTable = (Table) new Table().setName(database.getDatabaseChangeLogTableName()).setSchema(
@@ -419,6 +419,22 @@ public class UniqueConstraintSnapshotGenerator extends JdbcSnapshotGenerator {
 
     }
 
+    /**
+     * Returns the names of the columns in the given unique constraint, in order, read with the same queries as when the constraint is snapshotted.
+     */
+    public List<String> listColumnNames(UniqueConstraint example, DatabaseSnapshot snapshot) throws DatabaseException {
+        Database database = snapshot.getDatabase();
+        List<String> columnNames = new ArrayList<>();
+        for (Map<String, ?> col : listColumns(example, database, snapshot)) {
+            if (database instanceof H2Database) {
+                columnNames.addAll(StringUtil.splitAndTrim((String) col.get("COLUMN_NAME"), ","));
+            } else {
+                columnNames.add((String) col.get("COLUMN_NAME"));
+            }
+        }
+        return columnNames;
+    }
+
     /**
      * Should the given database include the table name in the key?
      * Databases that need to include the table names are ones where unique constraint names do not have to be unique
@@ -14,6 +14,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static liquibase.sqlgenerator.SqlGenerator.EMPTY_SQL;
 
@@ -26,10 +28,11 @@ public class SqlGeneratorFactory {
 
     private static SqlGeneratorFactory instance;
     //caches for expensive reflection based calls that slow down Liquibase initialization: CORE-1207
-    private final Map<Class<?>, Type[]> genericInterfacesCache = new HashMap<>();
-    private final Map<Class<?>, Type> genericSuperClassCache = new HashMap<>();
-    private List<SqlGenerator> generators = new ArrayList<>();
-    private Map<String, SortedSet<SqlGenerator>> generatorsByKey = new HashMap<>();
+    //generators are looked up from several threads when sql is rendered ahead of time, so the caches have to be thread-safe
+    private final Map<Class<?>, Type[]> genericInterfacesCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Type> genericSuperClassCache = new ConcurrentHashMap<>();
+    private List<SqlGenerator> generators = new CopyOnWriteArrayList<>();
+    private Map<String, SortedSet<SqlGenerator>> generatorsByKey = new ConcurrentHashMap<>();
 
     private SqlGeneratorFactory() {
         try {
@@ -83,7 +86,7 @@ public class SqlGeneratorFactory {
         return generators;
     }
 
-    public synchronized SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+    public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
         String databaseName = null;
         if (database == null) {
             databaseName = "NULL";
@@ -104,9 +107,10 @@ public class SqlGeneratorFactory {
 
         String key = statement.getClass().getName()+":"+ databaseName+":"+ version;
 
-        if (generatorsByKey.containsKey(key) && !generatorsByKey.get(key).isEmpty()) {
+        SortedSet<SqlGenerator> cachedGenerators = generatorsByKey.get(key);
+        if ((cachedGenerators != null) && !cachedGenerators.isEmpty()) {
             SortedSet<SqlGenerator> result = new TreeSet<>(new SqlGeneratorComparator());
-            result.addAll(generatorsByKey.get(key));
+            result.addAll(cachedGenerators);
             result.retainAll(getGenerators());
             return result;
         }
@@ -140,21 +144,12 @@ public class SqlGeneratorFactory {
     }
 
     private Type[] getGenericInterfaces(Class<?> clazz) {
-        if(genericInterfacesCache.containsKey(clazz)) {
-            return genericInterfacesCache.get(clazz);
-        }
-        Type[] genericInterfaces = clazz.getGenericInterfaces();
-        genericInterfacesCache.put(clazz, genericInterfaces);
-        return genericInterfaces;
+        return genericInterfacesCache.computeIfAbsent(clazz, Class::getGenericInterfaces);
     }
 
     private Type getGenericSuperclass(Class<?> clazz) {
-        if(genericSuperClassCache.containsKey(clazz)) {
-            return genericSuperClassCache.get(clazz);
-        }
-        Type genericSuperclass = clazz.getGenericSuperclass();
-        genericSuperClassCache.put(clazz, genericSuperclass);
-        return genericSuperclass;
+        //a null superclass (for Object and interfaces) is not cached, but that lookup does not need any reflection
+        return genericSuperClassCache.computeIfAbsent(clazz, Class::getGenericSuperclass);
     }
 
     private boolean isTypeEqual(Type aType, Class aClass) {
@@ -0,0 +1,180 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.core.InsertOrUpdateSetStatement;
+import liquibase.statement.core.InsertOrUpdateStatement;
+import liquibase.structure.core.Relation;
+import liquibase.structure.core.Table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Base class for generators of {@link InsertOrUpdateSetStatement}. Rows are split into batches of
+ * {@link InsertOrUpdateSetStatement#getBatchSize()} and each batch is applied with a single statement.
+ * <p>
+ * The default implementation generates a standard MERGE with the rows in a VALUES list as the source.
+ * Subclasses decide which databases are supported and can generate a different statement per batch.
+ */
+public abstract class InsertOrUpdateSetGenerator extends AbstractSqlGenerator<InsertOrUpdateSetStatement> {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public ValidationErrors validate(InsertOrUpdateSetStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("tableName", statement.getTableName());
+        validationErrors.checkRequiredField("primaryKey", statement.getPrimaryKey());
+        validationErrors.checkRequiredField("statements", statement.getStatements());
+        return validationErrors;
+    }
+
+    @Override
+    public Sql[] generateSql(InsertOrUpdateSetStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        List<Sql> result = new ArrayList<>();
+        List<InsertOrUpdateStatement> rows = statement.getStatements();
+        if (generatesSqlPerRow(statement, database)) {
+            for (InsertOrUpdateStatement row : rows) {
+                result.addAll(Arrays.asList(SqlGeneratorFactory.getInstance().generateSql(row, database)));
+            }
+            return result.toArray(EMPTY_SQL);
+        }
+        int batchSize = Math.max(1, statement.getBatchSize());
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            String sql = generateBatchSql(statement, rows.subList(start, Math.min(rows.size(), start + batchSize)), database);
+            if (sql != null) {
+                result.add(new UnparsedSql(sql, getAffectedTable(statement)));
+            }
+        }
+        return result.toArray(EMPTY_SQL);
+    }
+
+    /**
+     * Returns the sql that inserts or updates the given rows, or null if there is nothing to do.
+     */
+    protected String generateBatchSql(InsertOrUpdateSetStatement statement, List<InsertOrUpdateStatement> rows, Database database) {
+        Set<String> columns = getColumns(rows);
+        Set<String> keyColumns = getKeyColumns(statement);
+        List<String> updateColumns = getUpdateColumns(rows, keyColumns);
+        if (statement.getOnlyUpdate() && updateColumns.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder sql = new StringBuilder("MERGE INTO ")
+                .append(database.escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()))
+                .append(" AS tgt USING (");
+        appendValuesList(sql, rows, database);
+        sql.append(") AS src (");
+        appendColumnList(sql, statement, columns, "", database);
+        sql.append(") ON (");
+
+        boolean first = true;
+        for (String keyColumn : keyColumns) {
+            if (!first) {
+                sql.append(" AND ");
+            }
+            String escaped = escapeColumnName(statement, keyColumn, database);
+            sql.append("tgt.").append(escaped).append(" = src.").append(escaped);
+            first = false;
+        }
+        sql.append(")");
+
+        if (!updateColumns.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                String escaped = escapeColumnName(statement, updateColumns.get(i), database);
+                sql.append(escaped).append(" = src.").append(escaped);
+            }
+        }
+        if (!statement.getOnlyUpdate()) {
+            sql.append(" WHEN NOT MATCHED THEN INSERT (");
+            appendColumnList(sql, statement, columns, "", database);
+            sql.append(") VALUES (");
+            appendColumnList(sql, statement, columns, "src.", database);
+            sql.append(")");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Returns true if the rows cannot be applied with a batch statement and should instead use the normal
+     * {@link InsertOrUpdateStatement} generator, one row at a time. Each row's sql stays a separate {@link Sql}
+     * so it is executed as its own statement.
+     */
+    protected boolean generatesSqlPerRow(InsertOrUpdateSetStatement statement, Database database) {
+        return false;
+    }
+
+    /**
+     * Appends "VALUES (...), (...)" for the given rows.
+     */
+    protected void appendValuesList(StringBuilder sql, List<InsertOrUpdateStatement> rows, Database database) {
+        sql.append("VALUES ");
+        InsertGenerator insertGenerator = new InsertGenerator();
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            insertGenerator.generateValues(sql, rows.get(i), database);
+        }
+    }
+
+    protected void appendColumnList(StringBuilder sql, InsertOrUpdateSetStatement statement, Set<String> columns, String prefix, Database database) {
+        boolean first = true;
+        for (String column : columns) {
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(prefix).append(escapeColumnName(statement, column, database));
+            first = false;
+        }
+    }
+
+    protected String escapeColumnName(InsertOrUpdateSetStatement statement, String column, Database database) {
+        return database.escapeColumnName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName(), column);
+    }
+
+    protected Set<String> getColumns(List<InsertOrUpdateStatement> rows) {
+        return rows.get(0).getColumnValues().keySet();
+    }
+
+    protected Set<String> getKeyColumns(InsertOrUpdateSetStatement statement) {
+        Set<String> keyColumns = new LinkedHashSet<>();
+        for (String keyColumn : statement.getPrimaryKey().split(",")) {
+            keyColumns.add(keyColumn.trim());
+        }
+        return keyColumns;
+    }
+
+    /**
+     * Returns the non-key columns that may be updated.
+     */
+    protected List<String> getUpdateColumns(List<InsertOrUpdateStatement> rows, Set<String> keyColumns) {
+        InsertOrUpdateStatement firstRow = rows.get(0);
+        List<String> updateColumns = new ArrayList<>();
+        for (String column : firstRow.getColumnValues().keySet()) {
+            if (!keyColumns.contains(column) && firstRow.getAllowColumnUpdate(column)) {
+                updateColumns.add(column);
+            }
+        }
+        return updateColumns;
+    }
+
+    protected Relation getAffectedTable(InsertOrUpdateSetStatement statement) {
+        return new Table().setName(statement.getTableName()).setSchema(statement.getCatalogName(), statement.getSchemaName());
+    }
+}
@@ -0,0 +1,12 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.statement.core.InsertOrUpdateSetStatement;
+
+public class InsertOrUpdateSetGeneratorH2 extends InsertOrUpdateSetGenerator {
+    @Override
+    public boolean supports(InsertOrUpdateSetStatement statement, Database database) {
+        return database instanceof H2Database;
+    }
+}
@@ -0,0 +1,22 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.statement.core.InsertOrUpdateSetStatement;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+import java.util.List;
+
+public class InsertOrUpdateSetGeneratorMSSQL extends InsertOrUpdateSetGenerator {
+    @Override
+    public boolean supports(InsertOrUpdateSetStatement statement, Database database) {
+        return database instanceof MSSQLDatabase;
+    }
+
+    @Override
+    protected String generateBatchSql(InsertOrUpdateSetStatement statement, List<InsertOrUpdateStatement> rows, Database database) {
+        String sql = super.generateBatchSql(statement, rows, database);
+        //SQL Server requires MERGE to be terminated with a semicolon
+        return (sql == null) ? null : (sql + ";");
+    }
+}
@@ -0,0 +1,54 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.statement.core.InsertOrUpdateSetStatement;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Uses INSERT ... ON DUPLICATE KEY UPDATE, which requires a primary key or unique index on the primary key columns.
+ * An upsert cannot skip rows that do not exist yet, so onlyUpdate rows are updated one at a time.
+ */
+public class InsertOrUpdateSetGeneratorMySQL extends InsertOrUpdateSetGenerator {
+    @Override
+    public boolean supports(InsertOrUpdateSetStatement statement, Database database) {
+        return (database instanceof MySQLDatabase);
+    }
+
+    @Override
+    protected boolean generatesSqlPerRow(InsertOrUpdateSetStatement statement, Database database) {
+        return statement.getOnlyUpdate();
+    }
+
+    @Override
+    protected String generateBatchSql(InsertOrUpdateSetStatement statement, List<InsertOrUpdateStatement> rows, Database database) {
+        Set<String> keyColumns = getKeyColumns(statement);
+        List<String> updateColumns = getUpdateColumns(rows, keyColumns);
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(database.escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()))
+                .append(" (");
+        appendColumnList(sql, statement, getColumns(rows), "", database);
+        sql.append(") ");
+        appendValuesList(sql, rows, database);
+        sql.append(" ON DUPLICATE KEY UPDATE ");
+
+        if (updateColumns.isEmpty()) {
+            //nothing to update, but a no-op assignment keeps existing rows from failing the insert
+            String escaped = escapeColumnName(statement, keyColumns.iterator().next(), database);
+            sql.append(escaped).append(" = ").append(escaped);
+        } else {
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                String escaped = escapeColumnName(statement, updateColumns.get(i), database);
+                sql.append(escaped).append(" = VALUES(").append(escaped).append(")");
+            }
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.core.InsertOrUpdateSetStatement;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Uses INSERT ... ON CONFLICT, which requires a unique constraint or index on the primary key columns.
+ * An upsert cannot skip rows that do not exist yet, so onlyUpdate rows are updated one at a time.
+ */
+public class InsertOrUpdateSetGeneratorPostgres extends InsertOrUpdateSetGenerator {
+    @Override
+    public boolean supports(InsertOrUpdateSetStatement statement, Database database) {
+        if (!(database instanceof PostgresDatabase)) {
+            return false;
+        }
+        try {
+            return (database.getDatabaseMajorVersion() > 9) || ((database.getDatabaseMajorVersion() == 9) && (database.getDatabaseMinorVersion() >= 5));
+        } catch (DatabaseException e) {
+            return true;
+        }
+    }
+
+    @Override
+    protected boolean generatesSqlPerRow(InsertOrUpdateSetStatement statement, Database database) {
+        return statement.getOnlyUpdate();
+    }
+
+    @Override
+    protected String generateBatchSql(InsertOrUpdateSetStatement statement, List<InsertOrUpdateStatement> rows, Database database) {
+        Set<String> keyColumns = getKeyColumns(statement);
+        List<String> updateColumns = getUpdateColumns(rows, keyColumns);
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(database.escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName()))
+                .append(" (");
+        appendColumnList(sql, statement, getColumns(rows), "", database);
+        sql.append(") ");
+        appendValuesList(sql, rows, database);
+        sql.append(" ON CONFLICT (");
+        appendColumnList(sql, statement, keyColumns, "", database);
+        sql.append(") DO ");
+
+        if (updateColumns.isEmpty()) {
+            sql.append("NOTHING");
+        } else {
+            sql.append("UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                String escaped = escapeColumnName(statement, updateColumns.get(i), database);
+                sql.append(escaped).append(" = EXCLUDED.").append(escaped);
+            }
+        }
+        return sql.toString();
+    }
+}
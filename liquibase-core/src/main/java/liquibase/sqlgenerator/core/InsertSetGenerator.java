@@ -57,8 +57,9 @@ public class InsertSetGenerator extends AbstractSqlGenerator<InsertSetStatement>
 	}
     
 	private Sql completeStatement(InsertSetStatement statement, StringBuilder sql) {
+		//no terminator: the sql is passed to JDBC as is and databases such as Derby and DB2 reject a trailing ';'.
+		//LoggingExecutor adds the delimiter when writing sql output
 		sql.deleteCharAt(sql.lastIndexOf(","));
-		sql.append(";\n");
 		return new UnparsedSql(sql.toString(), getAffectedTable(statement));
 	}
     
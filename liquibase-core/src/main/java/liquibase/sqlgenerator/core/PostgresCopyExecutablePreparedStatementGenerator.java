@@ -0,0 +1,22 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.PostgresCopyExecutablePreparedStatement;
+
+/**
+ * Dummy SQL generator for ${@link liquibase.statement.PostgresCopyExecutablePreparedStatement}
+ */
+public class PostgresCopyExecutablePreparedStatementGenerator extends AbstractSqlGenerator<PostgresCopyExecutablePreparedStatement> {
+    @Override
+    public ValidationErrors validate(PostgresCopyExecutablePreparedStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new ValidationErrors();
+    }
+
+    @Override
+    public Sql[] generateSql(PostgresCopyExecutablePreparedStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return EMPTY_SQL;
+    }
+}
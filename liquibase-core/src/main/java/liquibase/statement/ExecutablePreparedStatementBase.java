@@ -8,6 +8,7 @@ import liquibase.database.Database;
 import liquibase.database.PreparedStatementFactory;
 import liquibase.database.core.PostgresDatabase;
 import liquibase.database.core.SQLiteDatabase;
+import liquibase.database.jvm.PreparedStatementCache;
 import liquibase.datatype.DataTypeFactory;
 import liquibase.datatype.LiquibaseDataType;
 import liquibase.exception.DatabaseException;
@@ -48,11 +49,9 @@ public abstract class ExecutablePreparedStatementBase implements ExecutablePrepa
 
     private ResourceAccessor resourceAccessor;
 
-    //Some databases do extra work on creating prepared statements, so constantly creating new prepared statements is expensive
-    //When running through a CSV file, the SQL will be the same within the same file so just storing the last seen prepared statement is all we need
-    //Ideally the creation of the prepared statements would happen at the spot where we know we should be re-using it and that code can close it.
-    // But that will have to wait for a refactoring of this code.
-    // So for now we're trading leaving at most one prepared statement unclosed at the end of the liquibase run for better re-using statements to avoid overhead
+    //When the connection does not provide a PreparedStatementCache, only the last seen prepared statement is re-used.
+    //When running through a CSV file, the SQL will be the same within the same file so that is enough for the common case,
+    //at the cost of leaving at most one prepared statement unclosed at the end of the liquibase run
     private static PreparedStatement lastPreparedStatement;
     private static String lastPreparedStatementSql;
 
@@ -91,13 +90,21 @@ public abstract class ExecutablePreparedStatementBase implements ExecutablePrepa
         }
         log.fine("Number of columns = " + cols.size());
 
-        PreparedStatement stmt = getCachedStatement(sql);
+        //Some databases do extra work on creating prepared statements, so constantly creating new prepared statements is expensive.
+        //Statements are kept open in a cache per connection and closed when the changeset or the connection is done with them
+        PreparedStatementCache cache = factory.getStatementCache();
+        PreparedStatement stmt = getCachedStatement(cache, sql);
+        boolean cached = true;
         if (stmt == null) {
             // create prepared statement
             stmt = factory.create(sql);
 
-            lastPreparedStatement = stmt;
-            lastPreparedStatementSql = sql;
+            if (cache == null) {
+                lastPreparedStatement = stmt;
+                lastPreparedStatementSql = sql;
+            } else {
+                cached = cache.put(sql, stmt);
+            }
         } else {
             try {
                 stmt.clearParameters();
@@ -119,7 +126,21 @@ public abstract class ExecutablePreparedStatementBase implements ExecutablePrepa
                 } catch (IOException ignore) {
                 }
             }
+            if (!cached) {
+                JdbcUtil.closeStatement(stmt);
+            }
+        }
+    }
+
+    /**
+     * Returns the open statement for the given SQL from the connection's cache.
+     * If the connection does not provide a cache, falls back to {@link #getCachedStatement(String)}.
+     */
+    protected PreparedStatement getCachedStatement(PreparedStatementCache cache, String sql) {
+        if (cache == null) {
+            return getCachedStatement(sql);
         }
+        return cache.get(sql);
     }
 
     protected PreparedStatement getCachedStatement(String sql) {
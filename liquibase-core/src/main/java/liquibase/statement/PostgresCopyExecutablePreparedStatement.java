@@ -0,0 +1,168 @@
+package liquibase.statement;
+
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Loads rows into a PostgreSQL table with COPY ... FROM STDIN in CSV format, which is much faster than inserting rows one at a time.
+ * The PostgreSQL driver is accessed through reflection since it is not a dependency of Liquibase.
+ * <p>
+ * The CSV data is generated from the values as the driver reads it, so it is never held in memory as a whole.
+ */
+public class PostgresCopyExecutablePreparedStatement extends AbstractSqlStatement implements ExecutablePreparedStatement {
+
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+
+    private final Database database;
+    private final String catalogName;
+    private final String schemaName;
+    private final String tableName;
+    private final List<String> columnNames;
+    private final List<Object[]> rows;
+
+    public PostgresCopyExecutablePreparedStatement(Database database, String catalogName, String schemaName, String tableName,
+                                                   List<String> columnNames, List<Object[]> rows) {
+        this.database = database;
+        this.catalogName = catalogName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.columnNames = columnNames;
+        this.rows = rows;
+    }
+
+    public static Class<?> getPgConnectionClass(Connection connection) throws ClassNotFoundException {
+        return Class.forName(PG_CONNECTION_CLASS, false, connection.getClass().getClassLoader());
+    }
+
+    public String getCatalogName() {
+        return catalogName;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public List<Object[]> getRows() {
+        return rows;
+    }
+
+    public String getCopySql() {
+        StringBuilder sql = new StringBuilder("COPY ")
+                .append(database.escapeTableName(catalogName, schemaName, tableName))
+                .append(" (");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(database.escapeColumnName(catalogName, schemaName, tableName, columnNames.get(i)));
+        }
+        return sql.append(") FROM STDIN WITH (FORMAT csv)").toString();
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        String sql = getCopySql();
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try {
+            Class<?> pgConnectionClass = getPgConnectionClass(connection);
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(connection.unwrap(pgConnectionClass));
+            Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+
+            long copied = (Long) copyIn.invoke(copyManager, sql, new CsvRowReader(rows.iterator()));
+            Scope.getCurrentScope().getLog(getClass()).fine("Copied " + copied + " rows into " + tableName);
+        } catch (InvocationTargetException e) {
+            throw new DatabaseException("Error executing " + sql + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (Exception e) {
+            throw new DatabaseException("Error executing " + sql + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Formats a value for PostgreSQL's CSV format. Unquoted empty values are NULL, everything else is quoted.
+     */
+    static void appendCsvValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String string;
+        if ((value instanceof Timestamp) || (value instanceof java.sql.Date) || (value instanceof Time)) {
+            string = value.toString();
+        } else if (value instanceof Date) {
+            string = new Timestamp(((Date) value).getTime()).toString();
+        } else if (value instanceof BigDecimal) {
+            string = ((BigDecimal) value).toPlainString();
+        } else {
+            string = value.toString();
+            if ((value instanceof String) && "NULL".equalsIgnoreCase(string)) {
+                return;
+            }
+        }
+        line.append('"').append(string.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Generates the CSV data one row at a time as it is read.
+     */
+    private static class CsvRowReader extends Reader {
+        private final Iterator<Object[]> rows;
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+
+        private CsvRowReader(Iterator<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == line.length()) {
+                if (!rows.hasNext()) {
+                    return -1;
+                }
+                line.setLength(0);
+                position = 0;
+                Object[] row = rows.next();
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendCsvValue(line, row[i]);
+                }
+                line.append('\n');
+            }
+            int read = Math.min(length, line.length() - position);
+            line.getChars(position, position + read, buffer, offset);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package liquibase.statement.core;
+
+import liquibase.statement.AbstractSqlStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts or updates a set of rows with as few statements as possible, such as a single MERGE per batch of rows instead of
+ * one check-then-update-or-insert block per row.
+ * All contained {@link InsertOrUpdateStatement}s must use the same columns.
+ */
+public class InsertOrUpdateSetStatement extends AbstractSqlStatement {
+    private final List<InsertOrUpdateStatement> statements = new ArrayList<>();
+    private final String catalogName;
+    private final String schemaName;
+    private final String tableName;
+    private final String primaryKey;
+    private final boolean onlyUpdate;
+    private final int batchSize;
+
+    public InsertOrUpdateSetStatement(String catalogName, String schemaName, String tableName, String primaryKey, boolean onlyUpdate, int batchSize) {
+        this.catalogName = catalogName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.primaryKey = primaryKey;
+        this.onlyUpdate = onlyUpdate;
+        this.batchSize = batchSize;
+    }
+
+    public String getCatalogName() {
+        return catalogName;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getPrimaryKey() {
+        return primaryKey;
+    }
+
+    public boolean getOnlyUpdate() {
+        return onlyUpdate;
+    }
+
+    /**
+     * The maximum number of rows in each generated statement.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public InsertOrUpdateSetStatement addStatement(InsertOrUpdateStatement statement) {
+        statements.add(statement);
+        return this;
+    }
+
+    public List<InsertOrUpdateStatement> getStatements() {
+        return statements;
+    }
+}
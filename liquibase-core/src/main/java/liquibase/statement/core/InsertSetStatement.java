@@ -39,6 +39,14 @@ public class InsertSetStatement extends AbstractSqlStatement {
         return batchSize;
     }
 
+    /**
+     * Sets the number of rows after which a new INSERT statement is started when the sql is generated.
+     */
+    public InsertSetStatement setBatchThreshold(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
     public InsertSetStatement addInsertStatement(InsertStatement statement) {
         /*
         if(statement.getCatalogName() != this.getCatalogName() 
@@ -5,8 +5,17 @@ import liquibase.GlobalConfiguration;
 import liquibase.exception.UnexpectedLiquibaseException;
 
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * Generates md5-sums based on a string.
@@ -21,14 +30,32 @@ public class MD5Util {
            '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
     };
 
+    /**
+     * Strings up to this many characters are converted with {@link String#getBytes(Charset)}, which is faster for short values.
+     * Longer strings are encoded in blocks directly into the digest so no copy of the whole string is created.
+     */
+    private static final int MAX_DIRECT_ENCODE_LENGTH = 8192;
+
+    /**
+     * MessageDigest and CharsetEncoder are not thread-safe but are expensive enough to look up that they are reused per thread.
+     */
+    private static final ThreadLocal<DigestState> DIGEST_STATE = ThreadLocal.withInitial(DigestState::new);
+
     public static String computeMD5(String input) {
         if (input == null) {
             return null;
         }
         MessageDigest digest;
         try {
-            digest = MessageDigest.getInstance("MD5");
-            digest.update(input.getBytes(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
+            DigestState state = DIGEST_STATE.get();
+            Charset charset = state.getCharset();
+            digest = state.digest;
+            digest.reset();
+            if (input.length() <= MAX_DIRECT_ENCODE_LENGTH) {
+                digest.update(input.getBytes(charset));
+            } else {
+                state.update(input, charset);
+            }
         } catch (Exception e) {
             throw new UnexpectedLiquibaseException(e);
         }
@@ -94,4 +121,67 @@ public class MD5Util {
         return out;
     }
 
+
+    private static class DigestState {
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(MAX_DIRECT_ENCODE_LENGTH);
+        private CharsetEncoder encoder;
+        private Charset charset;
+        private WeakReference<Scope> charsetScope;
+
+        private DigestState() {
+            try {
+                digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new UnexpectedLiquibaseException(e);
+            }
+        }
+
+        /**
+         * Returns the configured output encoding. The setting can only change between scopes, so it is only looked up
+         * again when this thread is running in a different scope than the last time.
+         */
+        private Charset getCharset() {
+            Scope scope = Scope.getCurrentScope();
+            if ((charset == null) || (charsetScope.get() != scope)) {
+                charset = Charset.forName(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+                charsetScope = new WeakReference<>(scope);
+            }
+            return charset;
+        }
+
+        /**
+         * Encodes the input the same way {@link String#getBytes(Charset)} does, replacing characters that cannot be encoded,
+         * and adds the bytes to the digest a buffer at a time.
+         */
+        private void update(String input, Charset charset) throws CharacterCodingException {
+            if ((encoder == null) || !encoder.charset().equals(charset)) {
+                encoder = charset.newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+            encoder.reset();
+
+            CharBuffer chars = CharBuffer.wrap(input);
+            CoderResult result;
+            do {
+                result = encoder.encode(chars, buffer, true);
+                drainBuffer();
+            } while (result.isOverflow());
+            if (result.isError()) {
+                result.throwException();
+            }
+
+            do {
+                result = encoder.flush(buffer);
+                drainBuffer();
+            } while (result.isOverflow());
+        }
+
+        private void drainBuffer() {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+    }
 }
@@ -0,0 +1,211 @@
+package liquibase.util;
+
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.util.grammar.SimpleCharStream;
+import liquibase.util.grammar.SimpleSqlGrammar;
+import liquibase.util.grammar.SimpleSqlGrammarConstants;
+import liquibase.util.grammar.SimpleSqlGrammarTokenManager;
+import liquibase.util.grammar.Token;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits the SQL read from a {@link Reader} into individual statements.
+ * Statements are tokenized and returned one at a time as {@link #next()} is called, so only the statement currently being built
+ * is held in memory rather than the entire SQL text.
+ * <p>
+ * The splitting rules are the ones used by {@link StringUtil#processMultiLineSQL(String, boolean, boolean, String)}, which is implemented with this class.
+ */
+public class SqlStatementSplitter implements Iterator<String>, Closeable {
+
+    private final Reader reader;
+    private final SimpleSqlGrammar grammar;
+    private final boolean stripComments;
+    private final boolean splitStatements;
+    private final String endDelimiter;
+
+    /**
+     * Tokens that have been read but not processed yet. Multi-token delimiters like "//" are already merged.
+     */
+    private final LinkedList<String> pendingTokens = new LinkedList<>();
+    private final List<String> possibleMerge = new ArrayList<>();
+    private boolean endOfInput;
+
+    private String previousPiece;
+    private boolean previousDelimiter;
+    private int isInClause;
+    private String nextStatement;
+
+    /**
+     * @param reader          the SQL to split. It is closed by {@link #close()}.
+     * @param stripComments   if true then comments will be stripped, if false then they will be left in the code
+     * @param splitStatements if false, the entire SQL is returned as a single statement
+     * @param endDelimiter    the statement delimiter. If null, ; and lines containing only GO or / are used
+     */
+    public SqlStatementSplitter(Reader reader, boolean stripComments, boolean splitStatements, String endDelimiter) {
+        this.reader = reader;
+        this.grammar = new SimpleSqlGrammar(new SimpleSqlGrammarTokenManager(new SimpleCharStream(reader)));
+        this.stripComments = stripComments;
+        this.splitStatements = splitStatements;
+        this.endDelimiter = endDelimiter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextStatement == null) {
+            nextStatement = readStatement();
+        }
+        return nextStatement != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String statement = nextStatement;
+        nextStatement = null;
+        return statement;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String readStatement() {
+        StringBuilder currentString = new StringBuilder();
+        while (!pendingTokens.isEmpty() || readTokens()) {
+            String piece = pendingTokens.removeFirst();
+
+            if (piece.equalsIgnoreCase("BEGIN") && !isTransactionKeyword(peekNextPiece())) {
+                isInClause++;
+            }
+            if (piece.equalsIgnoreCase("END") && isInClause > 0 && !isTransactionKeyword(peekNextPiece())) {
+                isInClause--;
+            }
+
+            if (isInClause == 0 && splitStatements && StringUtil.isDelimiter(piece, previousPiece, endDelimiter)) {
+                previousPiece = piece;
+                previousDelimiter = true;
+
+                String trimmedString = StringUtil.trimToNull(currentString.toString());
+                if (trimmedString != null) {
+                    return trimmedString;
+                }
+                currentString.setLength(0);
+            } else {
+                if (!previousDelimiter || (StringUtil.trimToNull(piece) != null)) { //don't include whitespace after a delimiter
+                    if ((currentString.length() > 0) || (StringUtil.trimToNull(piece) != null)) { //don't include whitespace before the statement
+                        currentString.append(piece);
+                    }
+                }
+                previousPiece = piece;
+                previousDelimiter = false;
+            }
+        }
+
+        return StringUtil.trimToNull(currentString.toString());
+    }
+
+    private static boolean isTransactionKeyword(String piece) {
+        return "transaction".equalsIgnoreCase(piece) || "trans".equalsIgnoreCase(piece);
+    }
+
+    /**
+     * Returns the next non-whitespace piece without consuming it, or null if there is none.
+     */
+    private String peekNextPiece() {
+        int checked = 0;
+        while (true) {
+            for (Iterator<String> iterator = pendingTokens.listIterator(checked); iterator.hasNext(); checked++) {
+                String piece = StringUtil.trimToNull(iterator.next());
+                if (piece != null) {
+                    return piece;
+                }
+            }
+            if (!readTokens()) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Reads tokens from the grammar until at least one is added to {@link #pendingTokens}.
+     * Delimiters like "//" may span multiple tokens so they are combined here.
+     *
+     * @return false if the end of the input was reached without adding any tokens
+     */
+    private boolean readTokens() {
+        while (!endOfInput) {
+            String token = readToken();
+            if (token == null) {
+                endOfInput = true;
+                //an incomplete delimiter at the very end is dropped, the same as a complete one
+                possibleMerge.clear();
+                return false;
+            }
+
+            if (endDelimiter == null) {
+                pendingTokens.add(token);
+                return true;
+            }
+
+            if (possibleMerge.isEmpty()) {
+                if (endDelimiter.startsWith(token)) {
+                    possibleMerge.add(token);
+                } else {
+                    pendingTokens.add(token);
+                    return true;
+                }
+            } else {
+                String possibleMergeString = StringUtil.join(possibleMerge, "") + token;
+                if (endDelimiter.equals(possibleMergeString)) {
+                    pendingTokens.add(possibleMergeString);
+                    possibleMerge.clear();
+                    return true;
+                } else if (endDelimiter.startsWith(possibleMergeString)) {
+                    possibleMerge.add(token);
+                } else {
+                    pendingTokens.addAll(possibleMerge);
+                    pendingTokens.add(token);
+                    possibleMerge.clear();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the next token from the grammar, skipping comments if they are being stripped. Returns null at the end of the input.
+     */
+    private String readToken() {
+        try {
+            while (true) {
+                Token token = grammar.getNextToken();
+                if ("".equals(token.toString())) {
+                    return null;
+                }
+                if (token.kind == SimpleSqlGrammarConstants.WHITESPACE) {
+                    return token.image;
+                } else if ((token.kind == SimpleSqlGrammarConstants.LINE_COMMENT) || (token.kind == SimpleSqlGrammarConstants.MULTI_LINE_COMMENT)) {
+                    if (!stripComments) {
+                        return token.image;
+                    }
+                } else {
+                    return token.image.trim();
+                }
+            }
+        } catch (Exception e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import liquibase.ExtensibleObject;
 import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 
+import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
@@ -60,54 +61,11 @@ public class StringUtil {
      * @param stripComments If true then comments will be stripped, if false then they will be left in the code
      */
     public static String[] processMultiLineSQL(String multiLineSQL, boolean stripComments, boolean splitStatements, String endDelimiter) {
-
-        StringClauses parsed = SqlParser.parse(multiLineSQL, true, !stripComments);
-
         List<String> returnArray = new ArrayList<>();
 
-        StringBuilder currentString = new StringBuilder();
-        String previousPiece = null;
-        boolean previousDelimiter = false;
-        List<Object> parsedArray = Arrays.asList(parsed.toArray(true));
-        int isInClause = 0;
-        List<Object> tokens = mergeTokens(parsedArray, endDelimiter);
-        for (int i = 0; i < tokens.size(); i++) {
-            Object piece = tokens.get(i);
-            String nextPiece = null;
-            int nextIndex = i + 1;
-            while (nextPiece == null && nextIndex < tokens.size()) {
-                nextPiece = StringUtil.trimToNull(String.valueOf(tokens.get(nextIndex)));
-                nextIndex++;
-            }
-
-            if (piece instanceof String && ((String) piece).equalsIgnoreCase("BEGIN") &&  (!"transaction".equalsIgnoreCase(nextPiece) && !"trans".equalsIgnoreCase(nextPiece))) {
-                isInClause++;
-            }
-            if (piece instanceof String && ((String) piece).equalsIgnoreCase("END") && isInClause > 0  && (!"transaction".equalsIgnoreCase(nextPiece) && !"trans".equalsIgnoreCase(nextPiece))) {
-                isInClause--;
-            }
-
-            if (isInClause == 0 && splitStatements && (piece instanceof String) && isDelimiter((String) piece, previousPiece, endDelimiter)) {
-                String trimmedString = StringUtil.trimToNull(currentString.toString());
-                if (trimmedString != null) {
-                    returnArray.add(trimmedString);
-                }
-                currentString = new StringBuilder();
-                previousDelimiter = true;
-            } else {
-                if (!previousDelimiter || (StringUtil.trimToNull((String) piece) != null)) { //don't include whitespace after a delimiter
-                    if ((currentString.length() > 0) || (StringUtil.trimToNull((String) piece) != null)) { //don't include whitespace before the statement
-                        currentString.append(piece);
-                    }
-                }
-                previousDelimiter = false;
-            }
-            previousPiece = (String) piece;
-        }
-
-        String trimmedString = StringUtil.trimToNull(currentString.toString());
-        if (trimmedString != null) {
-            returnArray.add(trimmedString);
+        SqlStatementSplitter splitter = new SqlStatementSplitter(new StringReader(multiLineSQL), stripComments, splitStatements, endDelimiter);
+        while (splitter.hasNext()) {
+            returnArray.add(splitter.next());
         }
 
         return returnArray.toArray(new String[0]);
@@ -125,42 +83,6 @@ public class StringUtil {
         return processMultiLineSQL(multiLineSQL, stripComments, splitStatements, endDelimiter);
     }
 
-    /**
-     * Delimiters like "//" may span multiple tokens. Look for them and combine them
-     */
-    private static List<Object> mergeTokens(List<Object> parsedArray, String endDelimiter) {
-        if (endDelimiter == null) {
-            return parsedArray;
-        }
-
-        List<Object> returnList = new ArrayList<>();
-        List<String> possibleMerge = new ArrayList<>();
-        for (Object obj : parsedArray) {
-            if (possibleMerge.size() == 0) {
-                if ((obj instanceof String) && endDelimiter.startsWith((String) obj)) {
-                    possibleMerge.add((String) obj);
-                } else {
-                    returnList.add(obj);
-                }
-            } else {
-                String possibleMergeString = StringUtil.join(possibleMerge, "") + obj.toString();
-                if (endDelimiter.equals(possibleMergeString)) {
-                    returnList.add(possibleMergeString);
-                    possibleMerge.clear();
-                } else if (endDelimiter.startsWith(possibleMergeString)) {
-                    possibleMerge.add(obj.toString());
-                } else {
-                    returnList.addAll(possibleMerge);
-                    returnList.add(obj);
-                    possibleMerge.clear();
-                }
-            }
-        }
-
-        return returnList;
-
-    }
-
     /**
      * Returns true if the input is a delimiter in one of the popular RDBMSs. Recognized delimiters are: semicolon (;),
      * a slash (as the only content) or the word GO (as the only content).
@@ -5,6 +5,7 @@ import liquibase.changelog.ChangeLogIterator
 import liquibase.changelog.ChangeSet
 import liquibase.changelog.DatabaseChangeLog
 import liquibase.changelog.RanChangeSet
+import liquibase.changelog.visitor.AbstractChangeExecListener
 import liquibase.database.Database
 import liquibase.database.core.H2Database
 import liquibase.database.core.MockDatabase
@@ -12,12 +13,16 @@ import liquibase.database.core.PostgresDatabase
 import liquibase.database.jvm.JdbcConnection
 import liquibase.exception.DatabaseException
 import liquibase.exception.LiquibaseException
+import liquibase.exception.RollbackFailedException
 import liquibase.hub.HubConfiguration
 import liquibase.hub.HubService
 import liquibase.hub.HubServiceFactory
 import liquibase.hub.core.MockHubService
 import liquibase.lockservice.LockService
 import liquibase.lockservice.LockServiceFactory
+import liquibase.logging.LogService
+import liquibase.logging.core.BufferedLogService
+import liquibase.logging.core.CompositeLogService
 import liquibase.parser.ChangeLogParser
 import liquibase.parser.ChangeLogParserFactory
 import liquibase.parser.MockChangeLogParser
@@ -540,6 +545,105 @@ class LiquibaseTest extends Specification {
     }
 
 
+    def "rollback is planned and fails before anything is rolled back if a changeset cannot be rolled back"() {
+        when:
+        h2Connection = getInMemoryH2DatabaseConnection()
+        Liquibase liquibase = new Liquibase("liquibase/rollback-plan-changelog.xml", new ClassLoaderResourceAccessor(), h2Connection)
+        liquibase.update("")
+        liquibase.rollback(3, "")
+
+        then:
+        def e = thrown(LiquibaseException)
+        e.message.contains("Cannot roll back 1 of 3 changesets. Nothing was rolled back")
+        e.message.contains("rollback-plan-changelog.xml::2::liquibase")
+        liquibase.database.getRanChangeSetList().size() == 4
+        tableExists(h2Connection, "TABLE_C")
+
+        when:
+        Scope.child([(GlobalConfiguration.ROLLBACK_PLAN_THREADS.key): 4], {
+            liquibase.rollback(2, "")
+        } as Scope.ScopedRunner)
+
+        then:
+        liquibase.database.getRanChangeSetList()*.id == ["1", "2"]
+        !tableExists(h2Connection, "TABLE_B")
+        !tableExists(h2Connection, "TABLE_C")
+    }
+
+    def "update and rollback do not capture the operation log when hub is not used"() {
+        when:
+        h2Connection = getInMemoryH2DatabaseConnection()
+        Liquibase liquibase = new Liquibase("liquibase/rollback-plan-changelog.xml", new ClassLoaderResourceAccessor(), h2Connection)
+        def logServices = []
+        def listener = new AbstractChangeExecListener() {
+            @Override
+            void willRun(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, ChangeSet.RunStatus runStatus) {
+                logServices.add(Scope.currentScope.get(Scope.Attr.logService, LogService))
+            }
+
+            @Override
+            void willRollback(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database) {
+                logServices.add(Scope.currentScope.get(Scope.Attr.logService, LogService))
+            }
+        }
+        liquibase.setChangeExecListener(listener)
+        liquibase.update("")
+        liquibase.setChangeExecListener(listener)
+        liquibase.rollback(1, "")
+
+        then:
+        logServices.size() == 5
+        logServices.every { !(it instanceof CompositeLogService) }
+        Scope.currentScope.get(BufferedLogService.name, BufferedLogService) == null
+    }
+
+    def "updateTestingRollback checks the schema fingerprint and restores the updated database"() {
+        when:
+        h2Connection = getInMemoryH2DatabaseConnection()
+        Liquibase liquibase = new Liquibase("liquibase/update-testing-rollback-changelog.xml", new ClassLoaderResourceAccessor(), h2Connection)
+        Scope.child([(GlobalConfiguration.UPDATE_TESTING_ROLLBACK_FAST.key): true], {
+            liquibase.updateTestingRollback(null, new Contexts(), new LabelExpression("!broken"))
+        } as Scope.ScopedRunner)
+
+        then:
+        liquibase.database.getRanChangeSetList()*.id == ["1", "2", "3"]
+        tableExists(h2Connection, "TABLE_A")
+        def resultSet = h2Connection.getUnderlyingConnection().createStatement().executeQuery("SELECT NAME FROM TABLE_A")
+        resultSet.next()
+        resultSet.getString(1) == "first"
+        !resultSet.next()
+
+        when: "the restored database can be updated further"
+        liquibase.update(new Contexts(), new LabelExpression())
+
+        then:
+        liquibase.database.getRanChangeSetList()*.id == ["1", "2", "3", "4"]
+        tableExists(h2Connection, "TABLE_B")
+    }
+
+    def "updateTestingRollback fails when the rollback does not restore the schema"() {
+        when:
+        h2Connection = getInMemoryH2DatabaseConnection()
+        Liquibase liquibase = new Liquibase("liquibase/update-testing-rollback-changelog.xml", new ClassLoaderResourceAccessor(), h2Connection)
+        Scope.child([(GlobalConfiguration.UPDATE_TESTING_ROLLBACK_FAST.key): true], {
+            liquibase.updateTestingRollback(null, new Contexts(), new LabelExpression())
+        } as Scope.ScopedRunner)
+
+        then:
+        def e = thrown(RollbackFailedException)
+        e.message.contains("Unexpected table TABLE_B")
+        !e.message.contains("TABLE_A")
+    }
+
+    private static boolean tableExists(JdbcConnection connection, String tableName) {
+        def resultSet = connection.getUnderlyingConnection().getMetaData().getTables(null, "PUBLIC", tableName, null)
+        try {
+            return resultSet.next()
+        } finally {
+            resultSet.close()
+        }
+    }
+
     private JdbcConnection getInMemoryH2DatabaseConnection() throws SQLException {
         String urlFormat = "jdbc:h2:mem:%s";
         return new JdbcConnection(DriverManager.getConnection(format(urlFormat, UUID.randomUUID().toString())));
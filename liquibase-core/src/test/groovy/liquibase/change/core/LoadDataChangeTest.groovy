@@ -1,5 +1,6 @@
 package liquibase.change.core
 
+import liquibase.GlobalConfiguration
 import liquibase.Scope
 import liquibase.change.ChangeStatus
 import liquibase.change.StandardChangeTest
@@ -8,9 +9,13 @@ import liquibase.changelog.DatabaseChangeLog
 import liquibase.database.Database
 import liquibase.database.DatabaseConnection
 import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.database.core.DerbyDatabase
+import liquibase.database.core.H2Database
 import liquibase.database.core.MSSQLDatabase
 import liquibase.database.core.MockDatabase
 import liquibase.exception.ValidationErrors
+import liquibase.executor.ExecutorService
 import liquibase.parser.core.ParsedNodeException
 import liquibase.resource.ClassLoaderResourceAccessor
 import liquibase.resource.ResourceAccessor
@@ -20,6 +25,8 @@ import liquibase.statement.DatabaseFunction
 import liquibase.statement.ExecutablePreparedStatement
 import liquibase.statement.ExecutablePreparedStatementBase
 import liquibase.statement.SqlStatement
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.statement.core.InsertOrUpdateStatement
 import liquibase.statement.core.InsertSetStatement
 import liquibase.statement.core.InsertStatement
 import liquibase.structure.DatabaseObject
@@ -32,6 +39,7 @@ import liquibase.util.csv.CSVReader
 import spock.lang.Unroll
 
 import java.sql.Date
+import java.sql.DriverManager
 import java.sql.Time
 import java.sql.Timestamp
 import java.time.LocalDate
@@ -528,6 +536,93 @@ public class LoadDataChangeTest extends StandardChangeTest {
 
     }
 
+    def "bulk load produces multi-row inserts when enabled"() throws Exception {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange();
+        loadDataChange.setSchemaName("SCHEMA_NAME");
+        loadDataChange.setTableName("TABLE_NAME");
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv");
+
+        def database = new H2Database()
+        SqlStatement[] sqlStatement = Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true, (GlobalConfiguration.LOAD_DATA_BULK_LOAD_ROWS.key): 2], {
+            return loadDataChange.generateStatements(database)
+        } as Scope.ScopedRunnerWithReturn<SqlStatement[]>)
+
+        then:
+        sqlStatement.length == 1
+        sqlStatement[0] instanceof InsertSetStatement
+        ((InsertSetStatement) sqlStatement[0]).getStatements().size() == 2
+        SqlGeneratorFactory.instance.generateSql(sqlStatement[0], database).length == 1
+    }
+
+    def "bulk load sql runs on a database that rejects statement terminators"() throws Exception {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:derby:memory:bulkload" + System.currentTimeMillis() + ";create=true"))
+        def database = new DerbyDatabase()
+        database.setConnection(connection)
+        connection.getUnderlyingConnection().createStatement().execute("CREATE TABLE TABLE_NAME (NAME VARCHAR(50), USERNAME VARCHAR(50))")
+
+        LoadDataChange loadDataChange = new LoadDataChange();
+        loadDataChange.setTableName("TABLE_NAME");
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv");
+
+        when:
+        Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true, (GlobalConfiguration.LOAD_DATA_BULK_LOAD_ROWS.key): 2], {
+            def statements = loadDataChange.generateStatements(database)
+            assert statements.length == 1 && statements[0] instanceof InsertSetStatement
+            Scope.currentScope.getSingleton(ExecutorService).getExecutor("jdbc", database).execute(statements[0])
+        } as Scope.ScopedRunner)
+        def resultSet = connection.getUnderlyingConnection().createStatement().executeQuery("SELECT COUNT(*) FROM TABLE_NAME")
+        resultSet.next()
+
+        then:
+        resultSet.getInt(1) == 2
+
+        cleanup:
+        Scope.currentScope.getSingleton(ExecutorService).reset()
+        connection?.close()
+    }
+
+    def "bulk load uses the statement hooks and respects usePreparedStatements"() throws Exception {
+        when:
+        def customChange = new LoadDataChange() {
+            @Override
+            protected InsertStatement createStatement(String catalogName, String schemaName, String tableName) {
+                return new InsertOrUpdateStatement(catalogName, schemaName, tableName, "name")
+            }
+        }
+        def preparedChange = new LoadDataChange(usePreparedStatements: true)
+        def results = [customChange, preparedChange].collect { change ->
+            change.setTableName("TABLE_NAME")
+            change.setFile("liquibase/change/core/sample.data1.csv")
+            Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true], {
+                return change.generateStatements(new H2Database())
+            } as Scope.ScopedRunnerWithReturn<SqlStatement[]>)
+        }
+
+        then:
+        results[0].length == 1
+        ((InsertSetStatement) results[0][0]).getStatements().every { it instanceof InsertOrUpdateStatement }
+        results[1].every { it instanceof ExecutablePreparedStatementBase }
+    }
+
+    def "bulk load is not used by loadUpdateData"() throws Exception {
+        when:
+        LoadUpdateDataChange loadUpdateDataChange = new LoadUpdateDataChange();
+        loadUpdateDataChange.setSchemaName("SCHEMA_NAME");
+        loadUpdateDataChange.setTableName("TABLE_NAME");
+        loadUpdateDataChange.setPrimaryKey("name");
+        loadUpdateDataChange.setFile("liquibase/change/core/sample.data1.csv");
+
+        SqlStatement[] sqlStatement = Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true], {
+            return loadUpdateDataChange.generateStatements(new H2Database())
+        } as Scope.ScopedRunnerWithReturn<SqlStatement[]>)
+
+        then:
+        sqlStatement.length == 2
+        sqlStatement.every { it instanceof InsertOrUpdateStatement }
+    }
+
     def "DB Batch Update Support usePrepared False produces InsertSetStatement"() throws Exception {
         when:
         LoadDataChange loadDataChange = new LoadDataChange();
@@ -1,6 +1,12 @@
 package liquibase.change.core
 
+import liquibase.GlobalConfiguration
+import liquibase.Scope
 import liquibase.change.ChangeStatus
+import liquibase.database.core.H2Database
+import liquibase.exception.RollbackImpossibleException
+import liquibase.statement.core.DeleteStatement
+import liquibase.statement.core.InsertOrUpdateSetStatement
 import liquibase.database.core.PostgresDatabase
 import liquibase.database.DatabaseConnection
 import liquibase.snapshot.MockSnapshotGeneratorFactory
@@ -12,12 +18,25 @@ import liquibase.statement.SqlStatement
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.test.JUnitResourceAccessor
 import liquibase.database.core.MSSQLDatabase
+import liquibase.database.core.DerbyDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.executor.ExecutorService
+import liquibase.resource.DirectoryResourceAccessor
+import liquibase.statement.core.DropTableStatement
+import liquibase.statement.core.RawSqlStatement
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import java.sql.DriverManager
 
 
 import static org.junit.Assert.*
 
 public class LoadUpdateDataChangeTest extends StandardChangeTest {
 
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
     def getConfirmationMessage() throws Exception {
         when:
         LoadUpdateDataChange refactoring = new LoadUpdateDataChange();
@@ -120,6 +139,155 @@ public class LoadUpdateDataChangeTest extends StandardChangeTest {
         assert statements[0].getOnlyUpdate()
     }
 
+    def "loadUpdate combines rows into an InsertOrUpdateSetStatement when set based loading is enabled"() {
+        when:
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey("username")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+
+        SqlStatement[] statements = Scope.child([(GlobalConfiguration.LOAD_UPDATE_DATA_SET_BASED.key): true], {
+            return change.generateStatements(new H2Database())
+        } as Scope.ScopedRunnerWithReturn<SqlStatement[]>)
+
+        then:
+        statements.length == 1
+        statements[0] instanceof InsertOrUpdateSetStatement
+        ((InsertOrUpdateSetStatement) statements[0]).statements.size() == 2
+        change.generateRollbackStatements(new H2Database()).length == 2
+    }
+
+    def "loadUpdate with deleteMissing deletes rows that are not in the file"() {
+        when:
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey(primaryKey)
+        change.setDeleteMissing(true)
+        change.setFile("liquibase/change/core/sample.data1.csv")
+
+        SqlStatement[] statements = change.generateStatements(new H2Database())
+
+        then:
+        statements.length == 3
+        statements[2] instanceof DeleteStatement
+        ((DeleteStatement) statements[2]).where == where
+
+        where:
+        primaryKey        | where
+        "username"        | "username NOT IN ('bjohnson', 'jdoe')"
+        "name, username"  | "NOT ((name = 'Bob Johnson' AND username = 'bjohnson') OR (name = 'John Doe' AND username = 'jdoe'))"
+    }
+
+    def "loadUpdate with deleteMissing cannot be rolled back"() {
+        when:
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey("username")
+        change.setDeleteMissing(true)
+        change.setFile("liquibase/change/core/sample.data1.csv")
+        change.generateRollbackStatements(new H2Database())
+
+        then:
+        thrown(RollbackImpossibleException)
+    }
+
+    def "loadUpdate with deleteMissing matches primaryKey columns case-insensitively"() {
+        when:
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey("USERNAME")
+        change.setDeleteMissing(true)
+        change.setFile("liquibase/change/core/sample.data1.csv")
+
+        SqlStatement[] statements = change.generateStatements(new H2Database())
+
+        then:
+        statements.length == 3
+        ((DeleteStatement) statements[2]).where == "USERNAME NOT IN ('bjohnson', 'jdoe')"
+    }
+
+    def "loadUpdate with deleteMissing does not delete anything when no row has a primary key"() {
+        when:
+        temporaryFolder.newFile("nokeys.csv").text = "name,username\nBob Johnson,NULL\nJohn Doe,NULL\n"
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey("username")
+        change.setDeleteMissing(true)
+        change.setFile("nokeys.csv")
+
+        SqlStatement[] statements = Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(temporaryFolder.root)], {
+            return change.generateStatements(new H2Database())
+        } as Scope.ScopedRunnerWithReturn<SqlStatement[]>)
+
+        then:
+        statements.length == 2
+        statements.every { !(it instanceof DeleteStatement) }
+    }
+
+    def "loadUpdate with deleteMissing fails validation when a primaryKey column is not in the file"() {
+        when:
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey(primaryKey)
+        change.setDeleteMissing(deleteMissing)
+        change.setFile("liquibase/change/core/sample.data1.csv")
+
+        then:
+        change.validate(new H2Database()).errorMessages.any { it.contains("'id'") } == expectError
+
+        where:
+        primaryKey      | deleteMissing | expectError
+        "id"            | true          | true
+        "username, id"  | true          | true
+        "Username"      | true          | false
+        "id"            | false         | false
+    }
+
+    def "loadUpdate with deleteMissing compares against a staging table for large files"() throws Exception {
+        given:
+        def keyCount = LoadUpdateDataChange.MAX_INLINE_DELETE_KEYS + 200
+        def csv = new StringBuilder("name,username\n")
+        (1..keyCount).each { csv.append("User ${it},user${it}\n") }
+        temporaryFolder.newFile("large.csv").text = csv.toString()
+
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:derby:memory:deletemissing" + System.currentTimeMillis() + ";create=true"))
+        def database = new DerbyDatabase()
+        database.setConnection(connection)
+        def jdbcStatement = connection.getUnderlyingConnection().createStatement()
+        jdbcStatement.execute("CREATE TABLE TABLE_NAME (NAME VARCHAR(50), USERNAME VARCHAR(50))")
+        (1..keyCount).each { jdbcStatement.execute("INSERT INTO TABLE_NAME VALUES ('User ${it}', 'user${it}')") }
+        jdbcStatement.execute("INSERT INTO TABLE_NAME VALUES ('Old User', 'olduser')")
+
+        LoadUpdateDataChange change = new LoadUpdateDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setPrimaryKey("username")
+        change.setDeleteMissing(true)
+        change.setFile("large.csv")
+
+        when:
+        def deleteStatements = Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(temporaryFolder.root)], {
+            return change.generateStatements(database).findAll { !(it instanceof InsertOrUpdateStatement) }
+        } as Scope.ScopedRunnerWithReturn<List<SqlStatement>>)
+        deleteStatements.each { Scope.currentScope.getSingleton(ExecutorService).getExecutor("jdbc", database).execute(it) }
+        def resultSet = jdbcStatement.executeQuery("SELECT COUNT(*) FROM TABLE_NAME WHERE USERNAME = 'olduser'")
+        resultSet.next()
+        def oldUsers = resultSet.getInt(1)
+        resultSet = jdbcStatement.executeQuery("SELECT COUNT(*) FROM TABLE_NAME")
+        resultSet.next()
+
+        then:
+        deleteStatements.first() instanceof RawSqlStatement
+        deleteStatements.last() instanceof DropTableStatement
+        deleteStatements.findAll { it instanceof DeleteStatement }.size() == 1
+        ((DeleteStatement) deleteStatements.find { it instanceof DeleteStatement }).where.startsWith("NOT EXISTS")
+        oldUsers == 0
+        resultSet.getInt(1) == keyCount
+
+        cleanup:
+        Scope.currentScope.getSingleton(ExecutorService).reset()
+        connection?.close()
+    }
+
     def "generateChecksum produces different values with each field"() {
         LoadUpdateDataChange refactoring = new LoadUpdateDataChange();
         refactoring.setSchemaName("SCHEMA_NAME");
@@ -1,5 +1,6 @@
 package liquibase.change.core
 
+import liquibase.GlobalConfiguration
 import liquibase.Scope
 import liquibase.change.Change
 import liquibase.change.ChangeStatus
@@ -9,11 +10,15 @@ import liquibase.changelog.ChangeSet
 import liquibase.changelog.DatabaseChangeLog
 import liquibase.database.core.MockDatabase
 import liquibase.exception.UnexpectedLiquibaseException
+import liquibase.resource.DirectoryResourceAccessor
+import liquibase.sql.visitor.SqlVisitor
 import liquibase.statement.SqlStatement
 import liquibase.test.JUnitResourceAccessor
 import liquibase.util.StreamUtil
 import spock.lang.Unroll
 
+import java.nio.file.Files
+
 import static org.junit.Assert.assertEquals
 
 public class SQLFileChangeTest extends StandardChangeTest {
@@ -142,4 +147,43 @@ public class SQLFileChangeTest extends StandardChangeTest {
 
     }
 
+    def "streaming execution runs the same statements as generateStatements"() {
+        when:
+        def dir = Files.createTempDirectory("sqlFileChangeTest").toFile()
+        new File(dir, "streamed.sql").write("  \r\n-- first\r\ninsert into \${table} values (1);\r\ninsert into \${table} values ('a;b');\n" +
+                "insert into x values ('\${\nnot.closed}');\nBEGIN\n  update x set y = 1;\nEND;\n", "UTF-8")
+
+        def parameters = new ChangeLogParameters()
+        parameters.set("table", "my_table")
+        def changeSet = new ChangeSet("1", "auth", false, false, null, null, null, new DatabaseChangeLog("changelog.xml"))
+        changeSet.setChangeLogParameters(parameters)
+
+        def change = new SQLFileChange()
+        change.path = "streamed.sql"
+        change.setChangeSet(changeSet)
+
+        def executed = []
+        def database = new MockDatabase() {
+            @Override
+            void execute(SqlStatement[] statements, List<SqlVisitor> sqlVisitors) {
+                executed.addAll(statements*.sql)
+            }
+        }
+
+        def streaming = Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(dir), (GlobalConfiguration.STREAM_SQL_FILES.key): true], {
+            change.executeStreamingStatements(database, [])
+            return change.supportsStatementStreaming(database)
+        } as Scope.ScopedRunnerWithReturn<Boolean>)
+
+        def generated = Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(dir)], {
+            return change.generateStatements(database)*.sql
+        } as Scope.ScopedRunnerWithReturn<List<String>>)
+
+        then:
+        streaming
+        !change.supportsStatementStreaming(database)
+        executed == generated
+        executed == ["-- first\ninsert into my_table values (1)", "insert into my_table values ('a;b')", "insert into x values ('\${\nnot.closed}')", "BEGIN\n  update x set y = 1;\nEND"]
+    }
+
 }
@@ -0,0 +1,42 @@
+package liquibase.change.core.loaddata
+
+import liquibase.Scope
+import liquibase.change.core.LoadDataChange
+import liquibase.change.core.LoadDataColumnConfig
+import liquibase.database.core.H2Database
+import liquibase.database.core.OracleDatabase
+import liquibase.database.core.PostgresDatabase
+import spock.lang.Specification
+
+class LoadDataBulkLoaderFactoryTest extends Specification {
+
+    def "returns loaders for the database in priority order"() {
+        when:
+        def factory = Scope.currentScope.getSingleton(LoadDataBulkLoaderFactory)
+
+        then:
+        factory.getBulkLoaders(new PostgresDatabase())*.class == [PostgresCopyBulkLoader, MultiRowInsertBulkLoader]
+        factory.getBulkLoaders(new H2Database())*.class == [MultiRowInsertBulkLoader]
+        factory.getBulkLoaders(new OracleDatabase()).isEmpty()
+    }
+
+    def "copy is not used without a postgresql connection"() {
+        given:
+        def column = new LoadDataColumnConfig()
+        column.setName("name")
+        column.setValue("value")
+
+        expect:
+        new PostgresCopyBulkLoader().generateStatements(new LoadDataChange(tableName: "test"), new PostgresDatabase(), [new LoadDataChange.LoadDataRowConfig(false, [column])]) == null
+    }
+
+    def "multi-row inserts are not used for lobs"() {
+        given:
+        def column = new LoadDataColumnConfig()
+        column.setName("data")
+        column.setValueBlobFile("data.bin")
+
+        expect:
+        new MultiRowInsertBulkLoader().generateStatements(new LoadDataChange(tableName: "test"), new H2Database(), [new LoadDataChange.LoadDataRowConfig(true, [column])]) == null
+    }
+}
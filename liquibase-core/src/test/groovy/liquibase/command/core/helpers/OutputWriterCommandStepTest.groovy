@@ -0,0 +1,34 @@
+package liquibase.command.core.helpers
+
+import liquibase.exception.UnexpectedLiquibaseException
+import spock.lang.Specification
+
+class OutputWriterCommandStepTest extends Specification {
+
+    def "cleanUp fails when the output cannot be written"() {
+        given:
+        OutputWriterCommandStep.outputStreamWriter = new Writer() {
+            @Override
+            void write(char[] buffer, int offset, int length) throws IOException {
+            }
+
+            @Override
+            void flush() throws IOException {
+            }
+
+            @Override
+            void close() throws IOException {
+                throw new IOException("disk full")
+            }
+        }
+
+        when:
+        new OutputWriterCommandStep().cleanUp(null)
+
+        then:
+        def e = thrown(UnexpectedLiquibaseException)
+        e.message.contains("disk full")
+        e.cause instanceof IOException
+        OutputWriterCommandStep.outputStreamWriter == null
+    }
+}
@@ -1,8 +1,15 @@
 package liquibase.database.core
 
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
 import liquibase.database.Database
+import liquibase.database.jvm.HsqlConnection
+import liquibase.database.jvm.JdbcConnection
 import spock.lang.Specification
 
+import java.sql.DriverManager
+
 import static org.junit.Assert.*
 
 public class HsqlDatabaseTest extends Specification {
@@ -39,6 +46,33 @@ public class HsqlDatabaseTest extends Specification {
         assertEquals("\"Test\"", databaseWithAllQuoting.escapeObjectName("Test", Table.class));
     }
 
+    def "dropAllFast drops and re-creates the schema"() {
+        given:
+        def database = new HsqlDatabase()
+        database.setConnection(new HsqlConnection(DriverManager.getConnection("jdbc:hsqldb:mem:dropAllFast", "sa", "")))
+        def statement = ((JdbcConnection) database.connection).createStatement()
+        statement.execute("CREATE TABLE PARENT_TABLE (ID INT PRIMARY KEY)")
+        statement.execute("CREATE TABLE CHILD_TABLE (ID INT PRIMARY KEY, PARENT_ID INT REFERENCES PARENT_TABLE(ID))")
+        statement.execute("CREATE VIEW CHILD_VIEW AS SELECT * FROM CHILD_TABLE")
+        statement.execute("CREATE SEQUENCE TEST_SEQ")
+        statement.close()
+
+        when:
+        Scope.child([(GlobalConfiguration.DROP_ALL_FAST.key): true], {
+            database.dropDatabaseObjects(CatalogAndSchema.DEFAULT)
+        } as Scope.ScopedRunner)
+
+        then:
+        def tables = ((JdbcConnection) database.connection).metaData.getTables(null, "PUBLIC", "%", null)
+        !tables.next()
+        def sequences = ((JdbcConnection) database.connection).createStatement().executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = 'PUBLIC'")
+        sequences.next()
+        sequences.getInt(1) == 0
+
+        cleanup:
+        database?.close()
+    }
+
 //    public void testUsingOracleSyntax() {
 //        HsqlDatabase database = new HsqlDatabase();
 //        DatabaseConnection conn = Mock(DatabaseConnection.class);
@@ -1,8 +1,19 @@
 package liquibase.database.jvm
 
+import liquibase.database.core.H2Database
+import liquibase.exception.DatabaseException
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.statement.core.InsertStatement
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.sql.Connection
+import java.sql.DatabaseMetaData
+import java.sql.DriverManager
 import java.sql.SQLException
 
 class JdbcConnectionTest extends Specification {
@@ -74,4 +85,110 @@ class JdbcConnectionTest extends Specification {
         "jdbc:oracle:thin:@host:1521/db"                                                     | "jdbc:oracle:thin:@host:1521/db"
         null                                                                                 | null
     }
+
+    def "each metadata value is read once"() {
+        given:
+        def metaDataCalls = 0
+        def h2Connection = DriverManager.getConnection("jdbc:h2:mem:jdbcConnectionMetadata;user=sa;password=secret", "sa", "secret")
+        def countingConnection = (Connection) Proxy.newProxyInstance(getClass().classLoader, [Connection] as Class[], new InvocationHandler() {
+            @Override
+            Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.name == "getMetaData") {
+                    metaDataCalls++
+                }
+                try {
+                    return method.invoke(h2Connection, args)
+                } catch (InvocationTargetException e) {
+                    throw e.targetException
+                }
+            }
+        })
+
+        def connection = new JdbcConnection(countingConnection)
+        def database = new H2Database()
+        database.setConnection(connection)
+        SqlGeneratorFactory.instance.generateSql(new InsertStatement(null, null, "TEST_TABLE").addColumnValue("ID", 0), database)
+        database.getDatabaseMajorVersion()
+        database.getDatabaseProductVersion()
+        connection.getURL()
+        def callsAfterFirstUse = metaDataCalls
+
+        when:
+        for (int i = 0; i < 1000; i++) {
+            SqlGeneratorFactory.instance.generateSql(new InsertStatement(null, null, "TEST_TABLE").addColumnValue("ID", i), database)
+            database.getDatabaseMajorVersion()
+            database.getDatabaseProductVersion()
+            connection.getURL()
+        }
+
+        then:
+        metaDataCalls == callsAfterFirstUse
+        connection.getURL() == "jdbc:h2:mem:jdbcConnectionMetadata"
+        connection.getDatabaseProductName() == "H2"
+
+        when:
+        def callsBeforeRefresh = metaDataCalls
+        connection.refreshConnectionMetadata()
+        def majorVersion = connection.getDatabaseMajorVersion()
+
+        then:
+        metaDataCalls == callsBeforeRefresh + 1
+        majorVersion == h2Connection.getMetaData().getDatabaseMajorVersion()
+
+        cleanup:
+        h2Connection?.close()
+    }
+
+    def "a metadata value that fails to load does not affect the others and is read again"() {
+        given:
+        def failVersion = true
+        def h2Connection = DriverManager.getConnection("jdbc:h2:mem:jdbcConnectionMetadataFailure", "sa", "")
+        def h2MetaData = h2Connection.getMetaData()
+        def failingMetaData = (DatabaseMetaData) Proxy.newProxyInstance(getClass().classLoader, [DatabaseMetaData] as Class[], new InvocationHandler() {
+            @Override
+            Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.name == "getDatabaseProductVersion" && failVersion) {
+                    throw new SQLException("version not available")
+                }
+                try {
+                    return method.invoke(h2MetaData, args)
+                } catch (InvocationTargetException e) {
+                    throw e.targetException
+                }
+            }
+        })
+        def connectionProxy = (Connection) Proxy.newProxyInstance(getClass().classLoader, [Connection] as Class[], new InvocationHandler() {
+            @Override
+            Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.name == "getMetaData") {
+                    return failingMetaData
+                }
+                try {
+                    return method.invoke(h2Connection, args)
+                } catch (InvocationTargetException e) {
+                    throw e.targetException
+                }
+            }
+        })
+        def connection = new JdbcConnection(connectionProxy)
+
+        when:
+        connection.getDatabaseProductVersion()
+
+        then:
+        def e = thrown(DatabaseException)
+        e.cause.message == "version not available"
+        connection.getDatabaseProductName() == "H2"
+        connection.getURL() == "jdbc:h2:mem:jdbcConnectionMetadataFailure"
+        connection.getDatabaseMajorVersion() == h2MetaData.getDatabaseMajorVersion()
+
+        when:
+        failVersion = false
+
+        then:
+        connection.getDatabaseProductVersion() == h2MetaData.getDatabaseProductVersion()
+
+        cleanup:
+        h2Connection?.close()
+    }
 }
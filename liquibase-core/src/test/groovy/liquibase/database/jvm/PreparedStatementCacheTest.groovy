@@ -0,0 +1,137 @@
+package liquibase.database.jvm
+
+import liquibase.change.core.RawSQLChange
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.database.core.H2Database
+import spock.lang.Specification
+
+import java.sql.DriverManager
+import java.sql.PreparedStatement
+
+class PreparedStatementCacheTest extends Specification {
+
+    def "returns cached statements and counts hits and misses"() {
+        given:
+        def cache = new PreparedStatementCache(2)
+        def insert = Mock(PreparedStatement)
+        def update = Mock(PreparedStatement)
+
+        when:
+        def firstInsert = cache.get("insert")
+        cache.put("insert", insert)
+        def firstUpdate = cache.get("update")
+        cache.put("update", update)
+
+        then:
+        firstInsert == null
+        firstUpdate == null
+        cache.get("insert") == insert
+        cache.get("update") == update
+        cache.get("insert") == insert
+        cache.hits == 3
+        cache.misses == 2
+    }
+
+    def "closes the least recently used statement when full"() {
+        given:
+        def cache = new PreparedStatementCache(2)
+        def first = Mock(PreparedStatement)
+        def second = Mock(PreparedStatement)
+        def third = Mock(PreparedStatement)
+        cache.put("first", first)
+        cache.put("second", second)
+        cache.get("first")
+
+        when:
+        cache.put("third", third)
+
+        then:
+        1 * second.close()
+        0 * first.close()
+        cache.size() == 2
+        cache.get("second") == null
+        cache.get("first") == first
+    }
+
+    def "drops statements that were closed elsewhere"() {
+        given:
+        def cache = new PreparedStatementCache(2)
+        def statement = Mock(PreparedStatement)
+        statement.isClosed() >> true
+        cache.put("sql", statement)
+
+        expect:
+        cache.get("sql") == null
+        cache.size() == 0
+    }
+
+    def "close closes all statements"() {
+        given:
+        def cache = new PreparedStatementCache(2)
+        def first = Mock(PreparedStatement)
+        def second = Mock(PreparedStatement)
+        cache.put("first", first)
+        cache.put("second", second)
+
+        when:
+        cache.close()
+
+        then:
+        1 * first.close()
+        1 * second.close()
+        cache.size() == 0
+    }
+
+    def "does not store statements when disabled"() {
+        given:
+        def cache = new PreparedStatementCache(0)
+
+        expect:
+        !cache.put("sql", Mock(PreparedStatement))
+        cache.get("sql") == null
+    }
+
+    def "cached statements are closed when a changeset finishes"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        def database = new H2Database()
+        database.setConnection(connection)
+        def statement = connection.prepareStatement("select 1")
+        connection.preparedStatementCache.put("select 1", statement)
+
+        def changeSet = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null)
+        changeSet.addChange(new RawSQLChange("select 1"))
+
+        when:
+        changeSet.execute(new DatabaseChangeLog("changelog.xml"), database)
+
+        then:
+        statement.isClosed()
+        connection.preparedStatementCache.size() == 0
+
+        cleanup:
+        database.close()
+    }
+
+    def "cached statements are closed when the database changes connection"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        def otherConnection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID()))
+        def database = new H2Database()
+        database.setConnection(connection)
+        def statement = connection.prepareStatement("select 1")
+        connection.preparedStatementCache.put("select 1", statement)
+
+        when:
+        database.setConnection(otherConnection)
+
+        then:
+        statement.isClosed()
+        connection.preparedStatementCache.size() == 0
+
+        cleanup:
+        connection.close()
+        database.close()
+    }
+}
@@ -0,0 +1,121 @@
+package liquibase.diff.output.changelog.core
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.change.core.LoadDataChange
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.output.DiffOutputControl
+import liquibase.diff.output.changelog.ChangeGeneratorChain
+import liquibase.structure.core.Data
+import liquibase.structure.core.Table
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.sql.Connection
+import java.sql.DriverManager
+import java.sql.ResultSet
+import java.sql.Statement
+
+class MissingDataExternalFileChangeGeneratorTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    Database database
+
+    def setup() {
+        def connection = DriverManager.getConnection("jdbc:h2:mem:missingDataExternalFile-" + UUID.randomUUID())
+        def statement = connection.createStatement()
+        statement.execute("CREATE TABLE PERSON (ID INTEGER, NAME VARCHAR(20), CREATED DATE)")
+        statement.execute("INSERT INTO PERSON VALUES (1, 'Ann', DATE '2020-01-02'), (2, NULL, NULL), (3, 'Bob, Jr.', NULL)")
+        statement.execute("CREATE TABLE EMPTY_TABLE (ID INTEGER)")
+        statement.close()
+        database = DatabaseFactory.instance.findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        database?.close()
+    }
+
+    def "writes the table data to a csv file and loads it with loadData"() {
+        when:
+        def changes = fixMissing("PERSON")
+
+        then:
+        changes.length == 1
+        def change = (LoadDataChange) changes[0]
+        change.tableName == "PERSON"
+        change.file.endsWith("person.csv")
+        change.encoding == GlobalConfiguration.OUTPUT_FILE_ENCODING.currentValue
+        change.columns*.name == ["ID", "NAME", "CREATED"]
+        change.columns*.header == ["ID", "NAME", "CREATED"]
+        change.columns*.type == ["NUMERIC", "STRING", "DATE"]
+
+        new File(temporaryFolder.root, "person.csv").readLines() == [
+                '"ID","NAME","CREATED"',
+                '"1","Ann","2020-01-02"',
+                '"2","NULL","NULL"',
+                '"3","Bob, Jr.","NULL"',
+        ]
+    }
+
+    def "splits the data into several files with diffDataRowsPerFile"() {
+        when:
+        def changes = Scope.child([(GlobalConfiguration.DIFF_DATA_ROWS_PER_FILE.key): 2], {
+            fixMissing("PERSON")
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        changes*.file.collect { new File(it).name } == ["person.csv", "person_2.csv"]
+        new File(temporaryFolder.root, "person.csv").readLines().size() == 3
+        new File(temporaryFolder.root, "person_2.csv").readLines() == ['"ID","NAME","CREATED"', '"3","Bob, Jr.","NULL"']
+    }
+
+    def "an empty table still gets a loadData change when the driver reports a result"() {
+        given: "a driver that reports isBeforeFirst() for empty results, which the old code also wrote a header-only file for"
+        def jdbcConnection = ((JdbcConnection) database.connection).underlyingConnection
+        def connection = delegate(Connection, jdbcConnection, [
+                createStatement: { int type, int concurrency ->
+                    def statement = jdbcConnection.createStatement(type, concurrency)
+                    delegate(Statement, statement, [
+                            executeQuery: { String sql -> delegate(ResultSet, statement.executeQuery(sql), [isBeforeFirst: { -> true }]) }
+                    ])
+                }
+        ])
+        database = DatabaseFactory.instance.findCorrectDatabaseImplementation(new JdbcConnection(connection))
+
+        when:
+        def changes = fixMissing("EMPTY_TABLE")
+
+        then:
+        changes.length == 1
+        ((LoadDataChange) changes[0]).columns*.type == ["skip"]
+        new File(temporaryFolder.root, "empty_table.csv").readLines() == ['"ID"']
+    }
+
+    private static <T> T delegate(Class<T> type, T target, Map<String, Closure> overrides) {
+        return (T) Proxy.newProxyInstance(type.classLoader, [type] as Class[], { proxy, Method method, Object[] args ->
+            if (overrides.containsKey(method.name) && (overrides[method.name].maximumNumberOfParameters == (args == null ? 0 : args.length))) {
+                return overrides[method.name].call(*(args ?: []))
+            }
+            try {
+                return method.invoke(target, args)
+            } catch (InvocationTargetException e) {
+                throw e.cause
+            }
+        } as InvocationHandler)
+    }
+
+    private fixMissing(String tableName) {
+        def data = new Data().setTable(new Table(null, "PUBLIC", tableName))
+        return new MissingDataExternalFileChangeGenerator(temporaryFolder.root.absolutePath)
+                .fixMissing(data, new DiffOutputControl(), database, database, new ChangeGeneratorChain(null))
+    }
+}
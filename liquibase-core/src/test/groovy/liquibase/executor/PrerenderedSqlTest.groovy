@@ -0,0 +1,266 @@
+package liquibase.executor
+
+import liquibase.GlobalConfiguration
+import liquibase.Liquibase
+import liquibase.Scope
+import liquibase.ThreadLocalScopeManager
+import liquibase.change.AddColumnConfig
+import liquibase.change.ColumnConfig
+import liquibase.change.core.AddColumnChange
+import liquibase.change.core.CreateTableChange
+import liquibase.change.core.RawSQLChange
+import liquibase.change.core.SQLFileChange
+import liquibase.changelog.ChangeSet
+import liquibase.database.ObjectQuotingStrategy
+import liquibase.database.OfflineConnection
+import liquibase.database.core.H2Database
+import liquibase.resource.DirectoryResourceAccessor
+import liquibase.sdk.resource.MockResourceAccessor
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class PrerenderedSqlTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def "rendered statements and sql are reused within the scope"() {
+        given:
+        def database = new H2Database()
+        database.setConnection(new OfflineConnection("offline:h2", new MockResourceAccessor()))
+
+        def changeSets = (1..20).collect { index ->
+            def changeSet = new ChangeSet("id" + index, "test", false, false, "com/example/changelog.xml", null, null, null)
+            changeSet.addChange(new CreateTableChange(tableName: "table_" + index, columns: [new ColumnConfig(name: "id", type: "int")]))
+            changeSet.addChange(new AddColumnChange(tableName: "table_" + index, columns: [new AddColumnConfig(name: "name", type: "varchar(20)")]))
+            changeSet.addChange(new RawSQLChange("insert into table_" + index + " values (1, 'a')"))
+            return changeSet
+        }
+        def changes = changeSets*.changes.flatten()
+
+        when:
+        def prerenderedSql = PrerenderedSql.render(changeSets, database, 4)
+        def results = Scope.child([(PrerenderedSql.SCOPE_KEY): prerenderedSql], {
+            return changes.collect { change ->
+                def statements = PrerenderedSql.generateStatements(change, database)
+                [
+                        sameStatements: statements.is(PrerenderedSql.generateStatements(change, database)),
+                        sameSql       : statements.every { PrerenderedSql.generateSql(it, database).is(PrerenderedSql.generateSql(it, database)) },
+                        sql           : statements.collect { PrerenderedSql.generateSql(it, database)*.toSql() }.flatten()
+                ]
+            }
+        } as Scope.ScopedRunnerWithReturn<List>)
+
+        then:
+        results*.sameStatements.every()
+        results*.sameSql.every()
+        results*.sql == changes.collect { change -> change.generateStatements(database).collect { SqlGeneratorFactory.instance.generateSql(it, database)*.toSql() }.flatten() }
+    }
+
+    def "changesets are rendered a window at a time as the run reaches them"() {
+        given:
+        def database = new H2Database()
+        database.setConnection(new OfflineConnection("offline:h2", new MockResourceAccessor()))
+        def changeSets = (1..50).collect { index ->
+            def changeSet = new ChangeSet("id" + index, "test", false, false, "com/example/changelog.xml", null, null, null)
+            changeSet.addChange(new RawSQLChange("insert into table_" + index + " values (1)"))
+            return changeSet
+        }
+        def changes = changeSets*.changes.flatten()
+        def windowSize = 2 * PrerenderedSql.CHANGESETS_PER_THREAD
+
+        when:
+        def prerenderedSql = PrerenderedSql.render(changeSets, database, 2)
+        def renderedBefore = prerenderedSql.statements.size()
+        def results = Scope.child([(PrerenderedSql.SCOPE_KEY): prerenderedSql], {
+            def first = PrerenderedSql.generateStatements(changes[0], database)
+            def firstWindow = prerenderedSql.statements.size()
+            def reusedInWindow = PrerenderedSql.generateStatements(changes[windowSize - 1], database).is(PrerenderedSql.generateStatements(changes[windowSize - 1], database))
+            def next = PrerenderedSql.generateStatements(changes[windowSize], database)
+            [firstWindow   : firstWindow,
+             reusedInWindow: reusedInWindow,
+             nextWindow    : prerenderedSql.statements.size(),
+             nextReused    : next.is(PrerenderedSql.generateStatements(changes[windowSize], database)),
+             firstDropped  : !first.is(PrerenderedSql.generateStatements(changes[0], database))]
+        } as Scope.ScopedRunnerWithReturn<Map>)
+
+        then:
+        renderedBefore == 0
+        results == [firstWindow: windowSize, reusedInWindow: true, nextWindow: windowSize, nextReused: true, firstDropped: true]
+    }
+
+    def "generates normally outside of the scope"() {
+        given:
+        def database = new H2Database()
+        database.setConnection(new OfflineConnection("offline:h2", new MockResourceAccessor()))
+        def changeSet = new ChangeSet("1", "test", false, false, "com/example/changelog.xml", null, null, null)
+        def change = new RawSQLChange("select 1")
+        changeSet.addChange(change)
+        PrerenderedSql.render([changeSet], database, 2)
+
+        expect:
+        !PrerenderedSql.generateStatements(change, database).is(PrerenderedSql.generateStatements(change, database))
+    }
+
+    def "workers render in the calling thread's scope with a thread-local scope manager"() {
+        given:
+        def database = new H2Database()
+        database.setConnection(new OfflineConnection("offline:h2", new MockResourceAccessor()))
+        def sqlDir = temporaryFolder.newFolder("sql")
+        def changeSets = (1..8).collect { index ->
+            new File(sqlDir, "file_" + index + ".sql").text = "insert into table_" + index + " values (1)"
+            def changeSet = new ChangeSet("id" + index, "test", false, false, "com/example/changelog.xml", null, null, null)
+            changeSet.addChange(new SQLFileChange(path: "file_" + index + ".sql"))
+            return changeSet
+        }
+        def changes = changeSets*.changes.flatten()
+
+        Scope.getCurrentScope()
+        def originalScopeManager = Scope.scopeManager
+        Scope.setScopeManager(new ThreadLocalScopeManager())
+
+        when:
+        def reused
+        try {
+            reused = Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(sqlDir)], {
+                def prerenderedSql = PrerenderedSql.render(changeSets, database, 4)
+                return Scope.child([(PrerenderedSql.SCOPE_KEY): prerenderedSql], {
+                    return changes.collect { PrerenderedSql.generateStatements(it, database).is(PrerenderedSql.generateStatements(it, database)) }
+                } as Scope.ScopedRunnerWithReturn<List>)
+            } as Scope.ScopedRunnerWithReturn<List>)
+        } finally {
+            Scope.setScopeManager(originalScopeManager)
+        }
+
+        then:
+        reused.size() == 8
+        reused.every()
+    }
+
+    def "rollbacks are rendered ahead of time and impossible rollbacks are reported"() {
+        given:
+        def database = new H2Database()
+        database.setConnection(new OfflineConnection("offline:h2", new MockResourceAccessor()))
+
+        def changeSets = (1..20).collect { index ->
+            def changeSet = new ChangeSet("id" + index, "test", false, false, "com/example/changelog.xml", null, null, null)
+            changeSet.addChange(new CreateTableChange(tableName: "table_" + index, columns: [new ColumnConfig(name: "id", type: "int")]))
+            if (index % 10 == 0) {
+                changeSet.addChange(new RawSQLChange("insert into table_" + index + " values (1)"))
+            }
+            if (index % 10 == 5) {
+                changeSet.addRollbackChange(new RawSQLChange("drop table table_" + index))
+            }
+            return changeSet
+        }
+
+        def createTableChange = changeSets[0].changes[0]
+        def customRollback = changeSets[4].rollback.changes[0]
+
+        when:
+        def prerenderedSql = PrerenderedSql.renderRollbacks(changeSets, database, 4)
+        def results = Scope.child([(PrerenderedSql.SCOPE_KEY): prerenderedSql], {
+            [
+                    sameRollbackStatements: PrerenderedSql.generateRollbackStatements(createTableChange, database).is(PrerenderedSql.generateRollbackStatements(createTableChange, database)),
+                    rollbackSql           : PrerenderedSql.generateRollbackStatements(createTableChange, database).collect { PrerenderedSql.generateSql(it, database)*.toSql() }.flatten(),
+                    sameCustomStatements  : PrerenderedSql.generateStatements(customRollback, database).is(PrerenderedSql.generateStatements(customRollback, database)),
+            ]
+        } as Scope.ScopedRunnerWithReturn<Map>)
+
+        then:
+        prerenderedSql.impossibleRollbacks.keySet()*.id == ["id10", "id20"]
+        prerenderedSql.impossibleRollbacks.values().every { it.contains("RawSQLChange") }
+        results.sameRollbackStatements
+        results.rollbackSql == ["DROP TABLE PUBLIC.table_1"]
+        results.sameCustomStatements
+    }
+
+    def "rollbacks are only checked with one thread and are rendered with each changeset's objectQuotingStrategy"() {
+        given:
+        def database = new H2Database()
+        database.setConnection(new OfflineConnection("offline:h2", new MockResourceAccessor()))
+
+        def changeSets = (1..10).collect { index ->
+            def quotingStrategy = (index % 2 == 0) ? ObjectQuotingStrategy.QUOTE_ALL_OBJECTS : ObjectQuotingStrategy.LEGACY
+            def changeSet = new ChangeSet("id" + index, "test", false, false, "com/example/changelog.xml", null, null, quotingStrategy, null)
+            changeSet.addChange(new CreateTableChange(tableName: "table_" + index, columns: [new ColumnConfig(name: "id", type: "int")]))
+            if (index == 5) {
+                changeSet.addChange(new RawSQLChange("insert into table_" + index + " values (1)"))
+            }
+            return changeSet
+        }
+        def rollbackSql = { PrerenderedSql prerenderedSql, int index ->
+            Scope.child([(PrerenderedSql.SCOPE_KEY): prerenderedSql], {
+                def change = changeSets[index - 1].changes[0]
+                [same: PrerenderedSql.generateRollbackStatements(change, database).is(PrerenderedSql.generateRollbackStatements(change, database)),
+                 sql : PrerenderedSql.generateRollbackStatements(change, database).collect { PrerenderedSql.generateSql(it, database)*.toSql() }.flatten()]
+            } as Scope.ScopedRunnerWithReturn<Map>)
+        }
+
+        when:
+        def checked = PrerenderedSql.renderRollbacks(changeSets, database, 1)
+
+        then:
+        checked.impossibleRollbacks.keySet()*.id == ["id5"]
+        !rollbackSql(checked, 1).same
+
+        when:
+        def rendered = PrerenderedSql.renderRollbacks(changeSets, database, 4)
+
+        then:
+        rendered.impossibleRollbacks.keySet()*.id == ["id5"]
+        rollbackSql(rendered, 1) == [same: true, sql: ["DROP TABLE PUBLIC.table_1"]]
+        rollbackSql(rendered, 2) == [same: true, sql: ['DROP TABLE "PUBLIC"."table_2"']]
+        database.objectQuotingStrategy == ObjectQuotingStrategy.LEGACY
+    }
+
+    def "update sql rendered on multiple threads matches serial output when changesets set objectQuotingStrategy"() {
+        given:
+        def changeLogDir = temporaryFolder.newFolder("changelog")
+        def changeSets = (1..30).collect { index ->
+            def quoting = index % 3 == 0 ? ' objectQuotingStrategy="QUOTE_ALL_OBJECTS"' : (index % 3 == 1 ? ' objectQuotingStrategy="QUOTE_ONLY_RESERVED_WORDS"' : '')
+            """
+    <changeSet id="${index}" author="test"${quoting}>
+        <createTable tableName="table_${index}">
+            <column name="id" type="int"/>
+            <column name="user" type="varchar(20)"/>
+        </createTable>
+        <addColumn tableName="table_${index}">
+            <column name="name" type="varchar(20)"/>
+        </addColumn>
+        <createIndex tableName="table_${index}" indexName="idx_${index}">
+            <column name="name"/>
+        </createIndex>
+    </changeSet>"""
+        }.join("")
+        new File(changeLogDir, "changelog.xml").text = """<?xml version="1.0" encoding="UTF-8"?>
+<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+${changeSets}
+</databaseChangeLog>"""
+
+        when:
+        def serial = updateSql(changeLogDir, 1)
+        def parallel = updateSql(changeLogDir, 4)
+        def windowed = updateSql(changeLogDir, 2)
+
+        then:
+        serial.contains('CREATE TABLE "PUBLIC"."table_3"')
+        serial.contains('CREATE TABLE PUBLIC.table_1')
+        parallel == serial
+        windowed == serial
+    }
+
+    private String updateSql(File changeLogDir, int threads) {
+        def database = new H2Database()
+        database.setConnection(new OfflineConnection("offline:h2?outputLiquibaseSql=none&changeLogFile=" + new File(temporaryFolder.newFolder(), "databasechangelog.csv").absolutePath, new MockResourceAccessor()))
+        def output = new StringWriter()
+        Scope.child([(GlobalConfiguration.OFFLINE_SQL_RENDER_THREADS.key): threads], {
+            new Liquibase("changelog.xml", new DirectoryResourceAccessor(changeLogDir), database).update("", output)
+        } as Scope.ScopedRunner)
+        return output.toString().readLines().findAll { !it.startsWith("-- Ran at") && !it.startsWith("-- Against: ") }.join("\n")
+    }
+}
@@ -0,0 +1,52 @@
+package liquibase.hub.core
+
+import liquibase.hub.LiquibaseHubException
+import liquibase.hub.LiquibaseHubSecurityException
+import spock.lang.Specification
+
+class AsyncOperationChangeEventSenderTest extends Specification {
+
+    def "sends requests in order and flush waits for them"() {
+        given:
+        def sender = new AsyncOperationChangeEventSender(5, 1)
+        def sent = Collections.synchronizedList([])
+
+        when:
+        for (int i = 0; i < 100; i++) {
+            def number = i
+            sender.submit("request $i", { sent.add(number) } as AsyncOperationChangeEventSender.HubRequest)
+        }
+        sender.flush()
+
+        then:
+        sent == (0..99).toList()
+        sender.takeFailedCount() == 0
+    }
+
+    def "retries failed requests with backoff but not authentication failures"() {
+        given:
+        def sender = new AsyncOperationChangeEventSender(10, 1)
+        def attempts = [flaky: 0, broken: 0, unauthorized: 0]
+
+        when:
+        sender.submit("flaky", {
+            if (++attempts.flaky < AsyncOperationChangeEventSender.MAX_ATTEMPTS) {
+                throw new LiquibaseHubException("temporary failure")
+            }
+        } as AsyncOperationChangeEventSender.HubRequest)
+        sender.submit("broken", {
+            attempts.broken++
+            throw new LiquibaseHubException("permanent failure")
+        } as AsyncOperationChangeEventSender.HubRequest)
+        sender.submit("unauthorized", {
+            attempts.unauthorized++
+            throw new LiquibaseHubSecurityException("bad key")
+        } as AsyncOperationChangeEventSender.HubRequest)
+        sender.flush()
+
+        then:
+        attempts == [flaky: AsyncOperationChangeEventSender.MAX_ATTEMPTS, broken: AsyncOperationChangeEventSender.MAX_ATTEMPTS, unauthorized: 1]
+        sender.takeFailedCount() == 2
+        sender.takeFailedCount() == 0
+    }
+}
@@ -2,7 +2,12 @@ package liquibase.hub.core
 
 import liquibase.Scope
 import liquibase.hub.HubConfiguration
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpHandler
+import com.sun.net.httpserver.HttpServer
 import liquibase.hub.model.Connection
+import liquibase.hub.model.Operation
+import liquibase.hub.model.OperationEvent
 import liquibase.hub.model.OperationChangeEvent
 import liquibase.hub.model.Project
 import spock.lang.Specification
@@ -89,4 +94,60 @@ class StandardHubServiceTest extends Specification {
         mode << ["all", "meta"]
     }
 
+    def "queued change events are sent over a kept-alive connection before the operation event"() {
+        given:
+        def orgId = UUID.randomUUID()
+        def projectId = UUID.randomUUID()
+        def operationId = UUID.randomUUID()
+
+        def requests = Collections.synchronizedList([])
+        def clientPorts = Collections.synchronizedSet(new HashSet())
+        def authorizations = Collections.synchronizedSet(new HashSet())
+        def server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0)
+        server.createContext("/", { HttpExchange exchange ->
+            def body = exchange.requestBody.text
+            requests.add(exchange.requestMethod + " " + exchange.requestURI.path + (body.contains("changesetId") ? " " + (body =~ /changesetId": "(\d+)"/)[0][1] : ""))
+            clientPorts.add(exchange.remoteAddress.port)
+            authorizations.add(exchange.requestHeaders.getFirst("Authorization"))
+
+            def response = (exchange.requestURI.path == "/api/v1/organizations" ? """{"content": [{"id": "$orgId", "name": "Test Org"}]}""" : "{}").getBytes("UTF-8")
+            exchange.responseHeaders.set("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, response.length)
+            exchange.responseBody.write(response)
+            exchange.close()
+        } as HttpHandler)
+        server.start()
+
+        def service = new StandardHubService()
+        def settings = [
+                (HubConfiguration.LIQUIBASE_HUB_URL.key)         : "http://localhost:" + server.address.port,
+                (HubConfiguration.LIQUIBASE_HUB_API_KEY.key)     : "test-key",
+                (HubConfiguration.LIQUIBASE_HUB_ASYNC_EVENTS.key): true,
+        ]
+
+        when:
+        Scope.child(settings, {
+            for (int i = 0; i < 20; i++) {
+                service.sendOperationChangeEvent(new OperationChangeEvent(
+                        eventType: "UPDATE",
+                        changesetId: String.valueOf(i),
+                        changesetAuthor: "tester",
+                        project: new Project(id: projectId),
+                        operation: new Operation(id: operationId),
+                ))
+            }
+            service.sendOperationEvent(new Operation(id: operationId), new OperationEvent(eventType: "COMPLETE"), orgId)
+        } as Scope.ScopedRunner)
+
+        then:
+        requests.size() == 22
+        requests[0] == "GET /api/v1/organizations"
+        requests.subList(1, 21) == (0..19).collect { "POST /api/v1/organizations/$orgId/projects/$projectId/operations/$operationId/change-events $it" as String }
+        requests[21] == "POST /api/v1/organizations/$orgId/operations/$operationId/operation-events"
+        clientPorts.size() < 5
+        authorizations == ["Bearer test-key"] as Set
+
+        cleanup:
+        server?.stop(0)
+    }
 }
@@ -0,0 +1,80 @@
+package liquibase.io
+
+import spock.lang.Specification
+
+class AsyncWriterTest extends Specification {
+
+    def "writes everything in order"() {
+        when:
+        def output = new StringWriter()
+        def writer = new AsyncWriter(output, 10, 2)
+        def expected = new StringBuilder()
+        (1..1000).each {
+            def line = "statement " + it + ";\n"
+            writer.write(line)
+            expected.append(line)
+        }
+        writer.write("x".toCharArray(), 0, 1)
+        expected.append("x")
+        writer.close()
+
+        then:
+        output.toString() == expected.toString()
+    }
+
+    def "flush makes output visible in the wrapped writer"() {
+        when:
+        def output = new StringWriter()
+        def writer = new AsyncWriter(output)
+        writer.write("select 1;")
+        writer.flush()
+
+        then:
+        output.toString() == "select 1;"
+
+        cleanup:
+        writer.close()
+    }
+
+    def "errors from the wrapped writer are reported to the caller"() {
+        when:
+        def failing = new Writer() {
+            @Override
+            void write(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("disk full")
+            }
+
+            @Override
+            void flush() throws IOException {
+            }
+
+            @Override
+            void close() throws IOException {
+            }
+        }
+        def writer = new AsyncWriter(failing, 4, 1)
+        writer.write("more than one block")
+        writer.flush()
+
+        then:
+        def e = thrown(IOException)
+        e.message.contains("disk full")
+
+        when:
+        writer.close()
+
+        then:
+        thrown(IOException)
+    }
+
+    def "writes after close fail"() {
+        when:
+        def writer = new AsyncWriter(new StringWriter())
+        writer.close()
+        writer.close()
+        writer.write("x")
+
+        then:
+        thrown(IOException)
+    }
+}
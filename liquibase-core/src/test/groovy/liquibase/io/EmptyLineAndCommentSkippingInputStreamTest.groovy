@@ -1,5 +1,6 @@
 package liquibase.io
 
+import liquibase.util.StreamUtil
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -62,6 +63,17 @@ class EmptyLineAndCommentSkippingInputStreamTest extends Specification {
         inputStreamToString(new EmptyLineAndCommentSkippingInputStream(new ByteArrayInputStream("a#comment\nb\n\nc".getBytes()), COMMENT_CHAR))
     }
 
+    def "bulk reads return the same content as single byte reads"() {
+        when:
+        def input = "#comment\r\nLine1\r\n" + ("\n" * 1000) + "Line2\n#comment\nLine3\n\n"
+        def stream = new EmptyLineAndCommentSkippingInputStream(new ByteArrayInputStream(input.getBytes()), COMMENT_CHAR)
+        def bulkRead = new String(StreamUtil.readStream(stream))
+
+        then:
+        bulkRead == "Line1\nLine2\nLine3"
+        bulkRead == inputStreamToString(new EmptyLineAndCommentSkippingInputStream(new ByteArrayInputStream(input.getBytes()), COMMENT_CHAR))
+    }
+
     private String inputStreamToString(InputStream inputStreamWithComments) {
         StringBuilder stringBuilder = new StringBuilder()
         int lastChar;
@@ -31,4 +31,33 @@ class BufferedLogServiceTest extends Specification {
         logOutput != null
         logOutput.length() == 10000000
     }
+
+    def "keeps only the most recent messages when bounded"() {
+        when:
+        def bufferedLogService = new BufferedLogService(3)
+        for (int i = 0; i < 10; i++) {
+            bufferedLogService.addLog(new BufferedLogService.BufferedLogMessage(Level.INFO, BufferedLogServiceTest.class, "Message $i", null))
+        }
+        def logOutput = bufferedLogService.getLogAsString(Level.INFO)
+
+        then:
+        bufferedLogService.getLog()*.message == ["Message 7", "Message 8", "Message 9"]
+        bufferedLogService.droppedMessageCount == 7
+        logOutput.startsWith("[7 earlier log messages were discarded]\n")
+        !logOutput.contains("Message 6")
+        logOutput.contains("INFO Message 7\n")
+    }
+
+    def "keeps all messages by default"() {
+        when:
+        def bufferedLogService = new BufferedLogService()
+        for (int i = 0; i < 10000; i++) {
+            bufferedLogService.addLog(new BufferedLogService.BufferedLogMessage(Level.FINE, BufferedLogServiceTest.class, "Message $i", null))
+        }
+
+        then:
+        bufferedLogService.getLog().size() == 10000
+        bufferedLogService.droppedMessageCount == 0
+        !bufferedLogService.getLogAsString(Level.FINE).contains("discarded")
+    }
 }
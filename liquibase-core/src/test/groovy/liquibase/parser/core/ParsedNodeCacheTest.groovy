@@ -0,0 +1,68 @@
+package liquibase.parser.core
+
+import liquibase.sdk.resource.MockResource
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class ParsedNodeCacheTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def "round trips a tree"() {
+        given:
+        def cache = new ParsedNodeCache(temporaryFolder.root.absolutePath, "testParser")
+        def resource = new MockResource("com/example/changelog.xml", "original content")
+
+        def tree = new ParsedNode(null, "databaseChangeLog")
+        def changeSet = new ParsedNode("ns", "changeSet")
+                .addChild(null, "id", "1")
+                .addChild(null, "author", "example")
+                .addChild(null, "runOnChange", true)
+                .addChild(null, "count", 12)
+                .addChild(null, "big", new BigDecimal("1.50"))
+                .addChild(null, "list", ["a", 2L])
+                .addChild(null, "sql", "x" * 70000)
+        tree.addChild(changeSet)
+
+        when:
+        cache.write("com/example/changelog.xml", resource, tree)
+        def read = cache.read("com/example/changelog.xml", resource)
+
+        then:
+        read == tree
+        read.getChild("ns", "changeSet").getChildValue(null, "runOnChange") == true
+        read.getChild("ns", "changeSet").getChildValue(null, "count") == 12
+        read.getChild("ns", "changeSet").getChildValue(null, "big") == new BigDecimal("1.50")
+        read.getChild("ns", "changeSet").getChildValue(null, "list") == ["a", 2L]
+        read.getChild("ns", "changeSet").getChild(null, "id").namespace == null
+    }
+
+    def "ignores entries for changed content, other paths or other parsers"() {
+        given:
+        def cache = new ParsedNodeCache(temporaryFolder.root.absolutePath, "testParser")
+        def tree = new ParsedNode(null, "databaseChangeLog").addChild(null, "test", "value")
+        cache.write("com/example/changelog.xml", new MockResource("com/example/changelog.xml", "original content"), tree)
+
+        expect:
+        cache.read("com/example/changelog.xml", new MockResource("com/example/changelog.xml", "changed content")) == null
+        cache.read("com/example/other.xml", new MockResource("com/example/other.xml", "original content")) == null
+        new ParsedNodeCache(temporaryFolder.root.absolutePath, "otherParser").read("com/example/changelog.xml", new MockResource("com/example/changelog.xml", "original content")) == null
+        cache.read("com/example/changelog.xml", new MockResource("com/example/changelog.xml", "original content")) == tree
+    }
+
+    def "does not write trees with values that cannot be cached"() {
+        given:
+        def cache = new ParsedNodeCache(temporaryFolder.root.absolutePath, "testParser")
+        def resource = new MockResource("com/example/changelog.xml", "content")
+        def tree = new ParsedNode(null, "databaseChangeLog").addChild(null, "test", new Object())
+
+        when:
+        cache.write("com/example/changelog.xml", resource, tree)
+
+        then:
+        cache.read("com/example/changelog.xml", resource) == null
+        temporaryFolder.root.listFiles().length == 0
+    }
+}
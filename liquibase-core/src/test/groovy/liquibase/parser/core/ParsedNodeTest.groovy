@@ -316,4 +316,37 @@ class ParsedNodeTest extends Specification {
         thrown(ParsedNodeException)
 
     }
+
+    def "child lookups on nodes with many children"() {
+        when:
+        def node = new ParsedNode(null, "root")
+        for (int i = 0; i < 20; i++) {
+            node.addChild(null, "child" + i, "value " + i)
+        }
+        node.addChild("ns", "child1", "ns value")
+        node.addChild(null, "Repeated", "repeated 1")
+
+        then:
+        node.getChildValue(null, "child5") == "value 5"
+        node.getChildValue(null, "CHILD5") == "value 5"
+        node.getChildValue("ns", "child1") == "ns value"
+        node.getChildValue(null, "child1") == "value 1"
+        node.getChild(null, "invalid") == null
+        node.getChildren(null, "invalid").isEmpty()
+        node.getChildren(null, "repeated")*.value == ["repeated 1"]
+
+        when: "children are added after the index is built"
+        node.addChild(null, "repeated", "repeated 2")
+
+        then:
+        node.getChildren(null, "REPEATED")*.value == ["repeated 1", "repeated 2"]
+
+        when: "children are removed after the index is built"
+        node.removeChild(null, "child5")
+
+        then:
+        node.getChild(null, "child5") == null
+        node.getChildValue(null, "child6") == "value 6"
+        node.getChildren().size() == 22
+    }
 }
@@ -652,6 +652,32 @@ not ignoreLines here
 """.trim())
     }
 
+    def "parse indented directives between plain sql lines"() throws Exception {
+        when:
+        def changeLog = new MockFormattedSqlChangeLogParser("""
+--liquibase formatted sql
+create table outside_changeset (id int);
+
+--changeset example:1
+create or replace procedure test as
+begin
+  null;
+end;
+/
+--comment: a comment
+ 	 --rollback drop procedure test;
+--changeset example:2
+select 1;
+""".trim()).parse("asdf.sql", new ChangeLogParameters(), new JUnitResourceAccessor())
+
+        then:
+        changeLog.getChangeSets().size() == 2
+        StringUtil.standardizeLineEndings(((RawSQLChange) changeLog.getChangeSets()[0].getChanges()[0]).getSql()) == "create or replace procedure test as\nbegin\n  null;\nend;\n/"
+        changeLog.getChangeSets()[0].getComments() == "a comment"
+        ((RawSQLChange) changeLog.getChangeSets()[0].getRollback().getChanges()[0]).getSql().trim() == "drop procedure test;"
+        ((RawSQLChange) changeLog.getChangeSets()[1].getChanges()[0]).getSql() == "select 1;"
+    }
+
     def parse_withComment() throws Exception {
         when:
         String changeLogWithComment = "--liquibase formatted sql\n\n" +
@@ -5,12 +5,18 @@ import liquibase.LiquibaseTest
 import liquibase.Scope
 import liquibase.resource.DirectoryResourceAccessor
 import liquibase.util.LiquibaseUtil
+import liquibase.util.StreamUtil
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import org.xml.sax.InputSource
 import spock.lang.Specification
 import spock.lang.Unroll
 
 class LiquibaseEntityResolverTest extends Specification {
 
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
     @Unroll
     def "resolveEntity finds packaged files correctly"() {
         expect:
@@ -119,4 +125,53 @@ class LiquibaseEntityResolverTest extends Specification {
         expect:
         assert new LiquibaseEntityResolver().getExternalSubset("pased name", "passed baseURI") == null
     }
+
+    def "cached xsd content matches a fresh lookup"() {
+        given:
+        def systemId = "http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd"
+        def resolver = new LiquibaseEntityResolver()
+        def first = StreamUtil.readStream(resolver.resolveEntity(null, null, null, systemId).byteStream)
+
+        expect:
+        StreamUtil.readStream(resolver.resolveEntity(null, null, null, systemId).byteStream) == first
+        StreamUtil.readStream(new LiquibaseEntityResolver().resolveEntity(null, null, null, systemId).byteStream) == first
+    }
+
+    def "xsd cache is separate for each classloader"() {
+        given:
+        def systemId = "http://www.example.com/xml/ns/test/cached.xsd"
+        def loaderA = classLoaderWithXsd("a", "<schema id='a'/>")
+        def loaderB = classLoaderWithXsd("b", "<schema id='b'/>")
+        ClassLoader searchLoader = loaderA
+        def resolver = new LiquibaseEntityResolver() {
+            @Override
+            protected ClassLoader getSearchClassloader() {
+                return searchLoader
+            }
+        }
+
+        when:
+        def fromA = StreamUtil.readStreamAsString(resolver.resolveEntity(null, null, null, systemId).byteStream)
+        searchLoader = loaderB
+        def fromB = StreamUtil.readStreamAsString(resolver.resolveEntity(null, null, null, systemId).byteStream)
+        searchLoader = loaderA
+        def fromACached = StreamUtil.readStreamAsString(resolver.resolveEntity(null, null, null, systemId).byteStream)
+
+        then:
+        fromA == "<schema id='a'/>"
+        fromB == "<schema id='b'/>"
+        fromACached == fromA
+
+        cleanup:
+        loaderA?.close()
+        loaderB?.close()
+    }
+
+    private URLClassLoader classLoaderWithXsd(String dirName, String content) {
+        def root = temporaryFolder.newFolder(dirName)
+        def xsd = new File(root, "www.example.com/xml/ns/test/cached.xsd")
+        xsd.parentFile.mkdirs()
+        xsd.text = content
+        return new URLClassLoader([root.toURI().toURL()] as URL[], (ClassLoader) null)
+    }
 }
@@ -11,6 +11,7 @@ import liquibase.database.Database
 import liquibase.database.core.MockDatabase
 import liquibase.exception.ChangeLogParseException
 import liquibase.exception.LiquibaseException
+import liquibase.parser.ChangeLogParserConfiguration
 import liquibase.sdk.resource.MockResourceAccessor
 import liquibase.test.JUnitResourceAccessor
 import spock.lang.Specification
@@ -145,6 +146,58 @@ class XMLChangeLogSAXParserTest extends Specification {
 
     }
 
+    def "parsers are reused between files and still validate after reuse"() {
+        given:
+        def validXml = INVALID_XML.replace("<!ENTITY insecure SYSTEM \"file:///invalid.txt\">", "")
+                .replace("<iDontKnowWhatImDoing />", "<changeSet id=\"1\" author=\"example\"><output>test</output></changeSet>")
+        def resourceAccessor = new MockResourceAccessor([
+                "com/example/valid1.xml" : validXml,
+                "com/example/valid2.xml" : validXml,
+                "com/example/invalid.xml": INVALID_XML,
+        ])
+        def parser = new XMLChangeLogSAXParser()
+
+        when:
+        def changeLog1 = parser.parse("com/example/valid1.xml", new ChangeLogParameters(), resourceAccessor)
+        def changeLog2 = parser.parse("com/example/valid2.xml", new ChangeLogParameters(), resourceAccessor)
+
+        then:
+        changeLog1.getChangeSets().size() == 1
+        changeLog2.getChangeSets().size() == 1
+        parser.parserPool.size() == 1
+
+        when:
+        parser.parse("com/example/invalid.xml", new ChangeLogParameters(), resourceAccessor)
+
+        then:
+        def e = thrown(ChangeLogParseException)
+        e.message.contains("iDontKnowWhatImDoing")
+        parser.parserPool.size() == 1
+    }
+
+    def "uses parsed changelog cache when configured"() {
+        given:
+        def cacheDir = java.nio.file.Files.createTempDirectory("liquibase").toFile()
+        def validXml = INVALID_XML.replace("<!ENTITY insecure SYSTEM \"file:///invalid.txt\">", "")
+                .replace("<iDontKnowWhatImDoing />", "<changeSet id=\"1\" author=\"example\"><output>test</output></changeSet>")
+        def resourceAccessor = new MockResourceAccessor(["com/example/valid.xml": validXml])
+
+        when:
+        def changeLogs = Scope.child([(ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_DIRECTORY.key): cacheDir.absolutePath], { ->
+            [
+                    new XMLChangeLogSAXParser().parse("com/example/valid.xml", new ChangeLogParameters(), resourceAccessor),
+                    new XMLChangeLogSAXParser().parse("com/example/valid.xml", new ChangeLogParameters(), resourceAccessor),
+            ]
+        } as Scope.ScopedRunnerWithReturn<List<DatabaseChangeLog>>)
+
+        then:
+        cacheDir.listFiles().length == 1
+        changeLogs.collect { it.changeSets*.toString() } == [["com/example/valid.xml::1::example"], ["com/example/valid.xml::1::example"]]
+
+        cleanup:
+        cacheDir.deleteDir()
+    }
+
     def "getSchemaVersion"() {
         expect:
         XMLChangeLogSAXParser.getSchemaVersion() == "latest" //because test run in an environment with build.version == DEV
@@ -119,4 +119,23 @@ class ClassLoaderResourceAccessorTest extends Specification {
                 ]
         ]
     }
+
+    def "search reuses root resource accessors between calls"() {
+        when:
+        def first = testResourceAccessor.search("com/example", true)*.getPath() as SortedSet
+        def rootCount = testResourceAccessor.rootResourceAccessors.size()
+        def second = testResourceAccessor.search("com/example", true)*.getPath() as SortedSet
+
+        then:
+        rootCount > 0
+        testResourceAccessor.rootResourceAccessors.size() == rootCount
+        first == second
+
+        when:
+        testResourceAccessor.close()
+
+        then:
+        testResourceAccessor.rootResourceAccessors.isEmpty()
+        (testResourceAccessor.search("com/example", true)*.getPath() as SortedSet) == first
+    }
 }
@@ -149,4 +149,35 @@ class DirectoryResourceAccessorTest extends Specification {
                                      "com/example/users.csv"]
     }
 
+
+    def "search reuses unmodified directory listings and sees new files"() {
+        given:
+        def root = java.nio.file.Files.createTempDirectory("liquibase")
+        def sub = java.nio.file.Files.createDirectories(root.resolve("a/b"))
+        java.nio.file.Files.write(root.resolve("a/file1.sql"), "x".bytes)
+        java.nio.file.Files.write(sub.resolve("file2.sql"), "x".bytes)
+        def old = java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis() - 60000)
+        java.nio.file.Files.setLastModifiedTime(root.resolve("a"), old)
+        java.nio.file.Files.setLastModifiedTime(sub, old)
+        def accessor = new DirectoryResourceAccessor(root)
+
+        when:
+        def first = accessor.search("a", true)*.getPath() as SortedSet
+        def second = accessor.search("a", true)*.getPath() as SortedSet
+
+        then:
+        first == ["a/b/file2.sql", "a/file1.sql"] as SortedSet
+        second == first
+        AbstractPathResourceAccessor.getDeclaredField("directoryListings").with { it.accessible = true; it.get(accessor).size() } == 2
+        accessor.search("a", false)*.getPath() == ["a/file1.sql"]
+
+        when:
+        java.nio.file.Files.write(sub.resolve("file3.sql"), "x".bytes)
+
+        then:
+        accessor.search("a", true)*.getPath() as SortedSet == ["a/b/file2.sql", "a/b/file3.sql", "a/file1.sql"] as SortedSet
+
+        cleanup:
+        root.toFile().deleteDir()
+    }
 }
@@ -0,0 +1,105 @@
+package liquibase.serializer.core.binary
+
+import liquibase.database.DatabaseFactory
+import liquibase.database.OfflineConnection
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.DiffGeneratorFactory
+import liquibase.diff.compare.CompareControl
+import liquibase.exception.LiquibaseParseException
+import liquibase.parser.SnapshotParserFactory
+import liquibase.parser.core.binary.BinarySnapshotParser
+import liquibase.parser.core.json.JsonSnapshotParser
+import liquibase.resource.DirectoryResourceAccessor
+import liquibase.serializer.SnapshotSerializerFactory
+import liquibase.serializer.core.json.JsonSnapshotSerializer
+import liquibase.snapshot.SnapshotControl
+import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.structure.core.Column
+import liquibase.structure.core.ForeignKey
+import liquibase.structure.core.Index
+import liquibase.structure.core.Table
+import liquibase.structure.core.View
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class BinarySnapshotSerializerTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def "round trips a snapshot"() {
+        given:
+        def jdbcConnection = DriverManager.getConnection("jdbc:h2:mem:binary-snapshot-" + UUID.randomUUID())
+        def statement = jdbcConnection.createStatement()
+        statement.execute("CREATE TABLE PARENT (ID INTEGER AUTO_INCREMENT PRIMARY KEY, NAME VARCHAR(50) DEFAULT 'unknown' NOT NULL, PRICE DECIMAL(10, 2), CREATED TIMESTAMP DEFAULT CURRENT_TIMESTAMP)")
+        statement.execute("COMMENT ON TABLE PARENT IS 'Parent rows'")
+        statement.execute("CREATE TABLE CHILD (ID INTEGER PRIMARY KEY, PARENT_ID INTEGER, CODE VARCHAR(10), CONSTRAINT FK_CHILD_PARENT FOREIGN KEY (PARENT_ID) REFERENCES PARENT(ID), CONSTRAINT UQ_CHILD_CODE UNIQUE (CODE))")
+        statement.execute("CREATE INDEX IDX_CHILD_CODE ON CHILD(CODE DESC, PARENT_ID)")
+        statement.execute("CREATE VIEW PARENT_NAMES AS SELECT NAME FROM PARENT")
+        statement.close()
+        def database = DatabaseFactory.instance.findCorrectDatabaseImplementation(new JdbcConnection(jdbcConnection))
+        def snapshot = SnapshotGeneratorFactory.instance.createSnapshot(database.defaultSchema, database, new SnapshotControl(database))
+        snapshot.metadata.put("source", "test")
+
+        def binaryFile = new File(temporaryFolder.root, "snapshot.bin")
+        binaryFile.withOutputStream { new BinarySnapshotSerializer().write(snapshot, it) }
+        def jsonFile = new File(temporaryFolder.root, "snapshot.json")
+        jsonFile.withOutputStream { new JsonSnapshotSerializer().write(snapshot, it) }
+
+        when:
+        def resourceAccessor = new DirectoryResourceAccessor(temporaryFolder.root)
+        def restored = new BinarySnapshotParser().parse("snapshot.bin", resourceAccessor)
+        def restoredFromJson = new JsonSnapshotParser().parse("snapshot.json", resourceAccessor)
+
+        then:
+        restored.database.shortName == "h2"
+        restored.database.connection instanceof OfflineConnection
+        restored.database.databaseMajorVersion == database.databaseMajorVersion
+        restored.metadata.source == "test"
+        binaryFile.length() < jsonFile.length()
+
+        DiffGeneratorFactory.instance.compare(snapshot, restored, new CompareControl()).areEqual()
+        DiffGeneratorFactory.instance.compare(restoredFromJson, restored, new CompareControl()).areEqual()
+
+        def parent = restored.get(new Table(null, null, "PARENT"))
+        parent.remarks == "Parent rows"
+        parent.primaryKey.columns*.name == ["ID"]
+        parent.getColumn("NAME").type.typeName == snapshot.get(new Table(null, null, "PARENT")).getColumn("NAME").type.typeName
+        parent.getColumn("NAME").type.columnSize == 50
+        parent.getColumn("NAME").defaultValue == "unknown"
+        parent.getColumn("NAME").relation.is(parent)
+        parent.getColumn("ID").autoIncrement
+
+        def child = restored.get(new Table(null, null, "CHILD"))
+        def foreignKey = restored.get(ForeignKey).find { it.name == "FK_CHILD_PARENT" }
+        foreignKey.foreignKeyTable.is(child)
+        foreignKey.primaryKeyTable.is(parent)
+        child.outgoingForeignKeys.contains(foreignKey)
+        restored.get(new Index().setRelation(child).setName("IDX_CHILD_CODE")).columns*.descending == snapshot.get(new Index().setRelation(new Table(null, null, "CHILD")).setName("IDX_CHILD_CODE")).columns*.descending
+        restored.get(new View(null, null, "PARENT_NAMES")).definition != null
+
+        cleanup:
+        jdbcConnection?.close()
+    }
+
+    def "is registered for the bin extension"() {
+        expect:
+        SnapshotSerializerFactory.instance.getSerializer("bin") instanceof BinarySnapshotSerializer
+        SnapshotParserFactory.instance.getParser("snapshot.bin", new DirectoryResourceAccessor(temporaryFolder.root)) instanceof BinarySnapshotParser
+    }
+
+    def "rejects files that are not binary snapshots"() {
+        given:
+        new File(temporaryFolder.root, "snapshot.bin").text = "{\"snapshot\": {}}"
+
+        when:
+        new BinarySnapshotParser().parse("snapshot.bin", new DirectoryResourceAccessor(temporaryFolder.root))
+
+        then:
+        def e = thrown(LiquibaseParseException)
+        e.message.contains("is not a binary snapshot")
+    }
+}
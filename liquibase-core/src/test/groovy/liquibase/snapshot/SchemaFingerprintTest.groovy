@@ -0,0 +1,171 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.database.core.H2Database
+import liquibase.database.jvm.JdbcConnection
+import liquibase.structure.core.Column
+import liquibase.structure.core.Index
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class SchemaFingerprintTest extends Specification {
+
+    def "fingerprints are equal only when the schema structure is the same"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:fingerprint-" + UUID.randomUUID()))
+        def database = new H2Database()
+        database.setConnection(connection)
+        def statement = connection.getUnderlyingConnection().createStatement()
+        statement.execute("CREATE TABLE TABLE_A (ID INT PRIMARY KEY, NAME VARCHAR(20))")
+        statement.execute("CREATE TABLE TABLE_B (ID INT, A_ID INT, CONSTRAINT FK_B_A FOREIGN KEY (A_ID) REFERENCES TABLE_A(ID))")
+        statement.execute("CREATE VIEW VIEW_A AS SELECT NAME FROM TABLE_A")
+        statement.execute("CREATE TABLE DATABASECHANGELOG (ID VARCHAR(255))")
+
+        when:
+        def original = SchemaFingerprint.compute(database, CatalogAndSchema.DEFAULT)
+        statement.execute("INSERT INTO TABLE_A VALUES (1, 'data')")
+        statement.execute("ALTER TABLE DATABASECHANGELOG ADD COLUMN AUTHOR VARCHAR(255)")
+
+        then:
+        original.objectHashes.keySet() as List == ["table TABLE_A", "table TABLE_B", "view VIEW_A"]
+        SchemaFingerprint.compute(database, CatalogAndSchema.DEFAULT) == original
+
+        when:
+        statement.execute("CREATE INDEX IDX_A_NAME ON TABLE_A (NAME)")
+        statement.execute("ALTER TABLE TABLE_B ALTER COLUMN ID VARCHAR(10)")
+        statement.execute("DROP VIEW VIEW_A")
+        statement.execute("CREATE TABLE TABLE_C (ID INT)")
+        def changed = SchemaFingerprint.compute(database, CatalogAndSchema.DEFAULT)
+
+        then:
+        changed != original
+        changed.getDifferences(original) == ["Changed table TABLE_A", "Changed table TABLE_B", "Missing view VIEW_A", "Unexpected table TABLE_C"]
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "element differences only list the parts of a table that changed"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:fingerprint-" + UUID.randomUUID()))
+        def database = new H2Database()
+        database.setConnection(connection)
+        def statement = connection.getUnderlyingConnection().createStatement()
+        statement.execute("CREATE TABLE TABLE_A (ID INT PRIMARY KEY, NAME VARCHAR(20), CODE VARCHAR(10))")
+        statement.execute("CREATE TABLE TABLE_B (ID INT)")
+
+        when:
+        def original = SchemaFingerprint.compute(database, CatalogAndSchema.DEFAULT)
+        statement.execute("ALTER TABLE TABLE_A ALTER COLUMN NAME VARCHAR(50)")
+        statement.execute("ALTER TABLE TABLE_A DROP COLUMN CODE")
+        statement.execute("CREATE INDEX IDX_A_NAME ON TABLE_A (NAME)")
+        def changed = SchemaFingerprint.compute(database, CatalogAndSchema.DEFAULT)
+
+        then:
+        original.getElementHashes("table TABLE_A").keySet().containsAll(["column ID", "column NAME", "column CODE"])
+        changed.getHash() != original.getHash()
+        changed.getObjectHashes()["table TABLE_B"] == original.getObjectHashes()["table TABLE_B"]
+        changed.getElementDifferences(original) == ["table TABLE_A": ["Missing column CODE", "Changed column NAME", "Unexpected index IDX_A_NAME"]]
+        changed.getElementDifferences(changed).isEmpty()
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "unique constraints are compared by their columns"() {
+        given:
+        def connections = ["CODE", "NAME"].collect { uniqueColumn ->
+            def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:fingerprint-" + UUID.randomUUID()))
+            def statement = connection.getUnderlyingConnection().createStatement()
+            statement.execute("CREATE TABLE TABLE_A (ID INT, NAME VARCHAR(20), CODE VARCHAR(10))")
+            statement.execute("ALTER TABLE TABLE_A ADD CONSTRAINT UQ_A UNIQUE (" + uniqueColumn + ")")
+            return connection
+        }
+        def fingerprints = connections.collect { connection ->
+            def database = new H2Database()
+            database.setConnection(connection)
+            return SchemaFingerprint.compute(database, CatalogAndSchema.DEFAULT)
+        }
+
+        expect:
+        fingerprints[0].getElementHashes("table TABLE_A").containsKey("unique constraint UQ_A")
+        fingerprints[1].getElementDifferences(fingerprints[0])["table TABLE_A"].contains("Changed unique constraint UQ_A")
+
+        cleanup:
+        connections*.close()
+    }
+
+    def "fingerprints can be saved and loaded"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:fingerprint-" + UUID.randomUUID()))
+        def database = new H2Database()
+        database.setConnection(connection)
+        def statement = connection.getUnderlyingConnection().createStatement()
+        statement.execute("CREATE TABLE TABLE_A (ID INT PRIMARY KEY, NAME VARCHAR(20))")
+        statement.execute("CREATE VIEW VIEW_A AS SELECT NAME FROM TABLE_A")
+        def fingerprint = SchemaFingerprint.compute(database, CatalogAndSchema.DEFAULT)
+
+        when:
+        def out = new ByteArrayOutputStream()
+        fingerprint.save(out)
+        def loaded = SchemaFingerprint.load(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+        loaded == fingerprint
+        loaded.getObjectHashes() == fingerprint.getObjectHashes()
+        loaded.getElementHashes("table TABLE_A") == fingerprint.getElementHashes("table TABLE_A")
+
+        when:
+        def tampered = new String(out.toByteArray(), "UTF-8").replace("column NAME", "column OTHER")
+        SchemaFingerprint.load(new ByteArrayInputStream(tampered.getBytes("UTF-8")))
+
+        then:
+        def e = thrown(IOException)
+        e.message.startsWith("Schema fingerprint does not match its content")
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "diff only snapshots the tables whose fingerprints differ"() {
+        given:
+        def referenceConnection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:fingerprint-" + UUID.randomUUID()))
+        def referenceDatabase = new H2Database()
+        referenceDatabase.setConnection(referenceConnection)
+        def comparisonConnection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:fingerprint-" + UUID.randomUUID()))
+        def comparisonDatabase = new H2Database()
+        comparisonDatabase.setConnection(comparisonConnection)
+        for (def connection : [referenceConnection, comparisonConnection]) {
+            def statement = connection.getUnderlyingConnection().createStatement()
+            statement.execute("CREATE TABLE TABLE_A (ID INT PRIMARY KEY, NAME VARCHAR(20))")
+            statement.execute("CREATE TABLE TABLE_B (ID INT)")
+        }
+        comparisonConnection.getUnderlyingConnection().createStatement().execute("CREATE INDEX IDX_A_NAME ON TABLE_A (NAME)")
+        comparisonConnection.getUnderlyingConnection().createStatement().execute("ALTER TABLE TABLE_A ADD COLUMN EXTRA INT")
+
+        when:
+        def referenceFingerprint = SchemaFingerprint.compute(referenceDatabase, CatalogAndSchema.DEFAULT)
+        def comparisonFingerprint = SchemaFingerprint.compute(comparisonDatabase, CatalogAndSchema.DEFAULT)
+        def diff = SchemaFingerprint.diff(referenceDatabase, referenceFingerprint, comparisonDatabase, comparisonFingerprint, CatalogAndSchema.DEFAULT)
+
+        then:
+        diff.getReferenceSnapshot().get(Table).collect { it.name } == ["TABLE_A"]
+        diff.getComparisonSnapshot().get(Table).collect { it.name } == ["TABLE_A"]
+        diff.getMissingObjects().isEmpty()
+        diff.getUnexpectedObjects(Index).collect { it.name } == ["IDX_A_NAME"]
+        diff.getUnexpectedObjects(Column).collect { it.name } == ["EXTRA"]
+
+        when:
+        def noDiff = SchemaFingerprint.diff(referenceDatabase, referenceFingerprint, referenceDatabase, referenceFingerprint, CatalogAndSchema.DEFAULT)
+
+        then:
+        noDiff.areEqual()
+        noDiff.getReferenceSnapshot().get(Table).isEmpty()
+
+        cleanup:
+        referenceConnection?.close()
+        comparisonConnection?.close()
+    }
+}
@@ -0,0 +1,134 @@
+package liquibase.snapshot
+
+import liquibase.Contexts
+import liquibase.LabelExpression
+import liquibase.Liquibase
+import liquibase.change.Change
+import liquibase.change.core.EmptyChange
+import liquibase.change.core.OutputChange
+import liquibase.change.core.RawSQLChange
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.visitor.AffectedObjectsChangeExecListener
+import liquibase.database.core.H2Database
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.DiffGeneratorFactory
+import liquibase.diff.compare.CompareControl
+import liquibase.parser.core.json.JsonSnapshotParser
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.resource.DirectoryResourceAccessor
+import liquibase.serializer.core.json.JsonSnapshotSerializer
+import liquibase.structure.core.Column
+import liquibase.structure.core.Table
+import liquibase.structure.core.View
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class SnapshotGeneratorFactoryTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def "refreshSnapshot only reads the objects affected by an update"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:refresh-" + UUID.randomUUID()))
+        def liquibase = new Liquibase("liquibase/snapshot-refresh-changelog.xml", new ClassLoaderResourceAccessor(), connection)
+        def database = liquibase.database
+        liquibase.update(new Contexts(), new LabelExpression("initial"))
+
+        new File(temporaryFolder.root, "snapshot.json").withOutputStream {
+            new JsonSnapshotSerializer().write(SnapshotGeneratorFactory.instance.createSnapshot(database.defaultSchema, database, new SnapshotControl(database)), it)
+        }
+        def previous = new JsonSnapshotParser().parse("snapshot.json", new DirectoryResourceAccessor(temporaryFolder.root))
+        def previousTableC = previous.get(new Table(null, null, "TABLE_C"))
+
+        def listener = new AffectedObjectsChangeExecListener()
+        liquibase.setChangeExecListener(listener)
+        liquibase.update(new Contexts(), new LabelExpression("later"))
+
+        when:
+        def refreshed = SnapshotGeneratorFactory.instance.refreshSnapshot(previous, listener.affectedObjects, database)
+        def full = SnapshotGeneratorFactory.instance.createSnapshot(database.defaultSchema, database, new SnapshotControl(database))
+
+        then:
+        listener.unknownChanges.isEmpty()
+        listener.affectedObjects.collect { it.name }.containsAll(["TABLE_A", "TABLE_D"])
+        DiffGeneratorFactory.instance.compare(full, refreshed, new CompareControl()).areEqual()
+        refreshed.get(new Column(Table, null, null, "TABLE_A", "CODE")) != null
+        refreshed.get(new Table(null, null, "TABLE_D")) != null
+
+        and: "unaffected objects are taken from the earlier snapshot"
+        refreshed.get(new Table(null, null, "TABLE_C")).is(previousTableC)
+        refreshed.get(new View(null, null, "VIEW_C")).is(previous.get(new View(null, null, "VIEW_C")))
+        !refreshed.get(new Table(null, null, "TABLE_B")).is(previous.get(new Table(null, null, "TABLE_B")))
+
+        and: "the refreshed snapshot can be saved again"
+        def out = new ByteArrayOutputStream()
+        new JsonSnapshotSerializer().write(refreshed, out)
+        out.toString("UTF-8").contains("TABLE_D")
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "changes that do not report affected objects are listed as unknown"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:refresh-" + UUID.randomUUID()))
+        def liquibase = new Liquibase("liquibase/snapshot-refresh-changelog.xml", new ClassLoaderResourceAccessor(), connection)
+        def listener = new AffectedObjectsChangeExecListener()
+        liquibase.setChangeExecListener(listener)
+
+        when:
+        liquibase.update(new Contexts(), new LabelExpression("sql"))
+
+        then:
+        liquibase.database.getRanChangeSetList()*.id == ["4"]
+        listener.affectedObjects.isEmpty()
+        listener.unknownChanges.size() == 1
+        listener.unknownChanges[0].startsWith("liquibase/snapshot-refresh-changelog.xml::4::liquibase")
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "loadData is reported as affecting its table"() {
+        given:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:refresh-" + UUID.randomUUID()))
+        def liquibase = new Liquibase("liquibase/snapshot-refresh-changelog.xml", new ClassLoaderResourceAccessor(), connection)
+        def listener = new AffectedObjectsChangeExecListener()
+        liquibase.setChangeExecListener(listener)
+
+        when:
+        liquibase.update(new Contexts(), new LabelExpression("data"))
+
+        then:
+        liquibase.database.getRanChangeSetList()*.id == ["5"]
+        listener.unknownChanges.isEmpty()
+        listener.affectedObjects.findAll { it instanceof Table }*.name.unique() == ["TABLE_F"]
+
+        cleanup:
+        connection?.close()
+    }
+
+    def "changes are listed as unknown without generating their statements again"() {
+        given:
+        def database = new H2Database()
+        def changeSet = new ChangeSet("1", "test", false, false, "com/example/changelog.xml", null, null, null)
+        def sqlFileChange = Mock(Change)
+        sqlFileChange.getAffectedDatabaseObjects(database) >> new HashSet()
+        sqlFileChange.getDescription() >> "sqlFile"
+        def listener = new AffectedObjectsChangeExecListener()
+
+        when:
+        for (def change : [sqlFileChange, new EmptyChange(), new OutputChange(message: "done"), new RawSQLChange("empty")]) {
+            listener.ran(change, changeSet, null, database)
+        }
+
+        then:
+        0 * sqlFileChange.generateStatements(_)
+        listener.unknownChanges == ["com/example/changelog.xml::1::test: sqlFile"]
+        listener.affectedObjects.isEmpty()
+    }
+}
@@ -0,0 +1,88 @@
+package liquibase.sqlgenerator.core
+
+import liquibase.database.Database
+import liquibase.database.core.H2Database
+import liquibase.database.core.MySQLDatabase
+import liquibase.database.core.OracleDatabase
+import liquibase.database.core.PostgresDatabase
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.statement.core.InsertOrUpdateSetStatement
+import liquibase.statement.core.InsertOrUpdateStatement
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.DriverManager
+
+class InsertOrUpdateSetGeneratorTest extends Specification {
+
+    private static InsertOrUpdateSetStatement createStatement(boolean onlyUpdate, int batchSize) {
+        def statement = new InsertOrUpdateSetStatement(null, null, "TEST_TABLE", "ID", onlyUpdate, batchSize)
+        [[1, "new", "changed"], [2, "two", "b"], [3, null, "c"]].each { row ->
+            def insertOrUpdate = new InsertOrUpdateStatement(null, null, "TEST_TABLE", "ID", onlyUpdate)
+            insertOrUpdate.addColumnValue("ID", row[0])
+            insertOrUpdate.addColumnValue("NAME", row[1])
+            insertOrUpdate.addColumnValue("CODE", row[2])
+            insertOrUpdate.setAllowColumnUpdate("CODE", false)
+            statement.addStatement(insertOrUpdate)
+        }
+        return statement
+    }
+
+    private static List<List> apply(String url, Database database, InsertOrUpdateSetStatement statement) {
+        def connection = DriverManager.getConnection(url, "sa", "")
+        try {
+            def jdbcStatement = connection.createStatement()
+            jdbcStatement.execute("CREATE TABLE TEST_TABLE (ID INT PRIMARY KEY, NAME VARCHAR(50), CODE VARCHAR(50))")
+            jdbcStatement.execute("INSERT INTO TEST_TABLE VALUES (1, 'old', 'a')")
+            for (def sql : SqlGeneratorFactory.instance.generateSql(statement, database)) {
+                jdbcStatement.execute(sql.toSql())
+            }
+
+            def rows = []
+            def resultSet = jdbcStatement.executeQuery("SELECT ID, NAME, CODE FROM TEST_TABLE ORDER BY ID")
+            while (resultSet.next()) {
+                rows.add([resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3)])
+            }
+            return rows
+        } finally {
+            connection.close()
+        }
+    }
+
+    @Unroll
+    def "merges rows on #database.shortName"() {
+        expect:
+        SqlGeneratorFactory.instance.generateSql(createStatement(false, 2), database).length == 2
+        apply(url + "merge", database, createStatement(false, 2)) == [[1, "new", "a"], [2, "two", "b"], [3, null, "c"]]
+        apply(url + "update", database, createStatement(true, 2)) == [[1, "new", "a"]]
+
+        where:
+        database           | url
+        new H2Database()   | "jdbc:h2:mem:insertOrUpdateSet"
+    }
+
+    def "generates upserts for postgresql and mysql"() {
+        expect:
+        SqlGeneratorFactory.instance.generateSql(createStatement(false, 5), new PostgresDatabase())*.toSql() ==
+                ["INSERT INTO TEST_TABLE (ID, NAME, CODE) VALUES (1, 'new', 'changed'), (2, 'two', 'b'), (3, NULL, 'c') ON CONFLICT (ID) DO UPDATE SET NAME = EXCLUDED.NAME"]
+        SqlGeneratorFactory.instance.generateSql(createStatement(false, 5), new MySQLDatabase())*.toSql() ==
+                ["INSERT INTO TEST_TABLE (ID, NAME, CODE) VALUES (1, 'new', 'changed'), (2, 'two', 'b'), (3, NULL, 'c') ON DUPLICATE KEY UPDATE NAME = VALUES(NAME)"]
+    }
+
+    def "updates onlyUpdate rows one at a time on postgresql"() {
+        when:
+        def sql = SqlGeneratorFactory.instance.generateSql(createStatement(true, 5), new PostgresDatabase())*.toSql()
+
+        then:
+        sql.size() == 3
+        sql.every { !it.contains("ON CONFLICT") }
+        sql[1].contains("UPDATE TEST_TABLE SET NAME = 'two' WHERE ID = 2")
+        !sql[1].contains("ID = 1")
+    }
+
+    def "is not supported on other databases"() {
+        expect:
+        SqlGeneratorFactory.instance.supports(createStatement(false, 5), new H2Database())
+        !SqlGeneratorFactory.instance.supports(createStatement(false, 5), new OracleDatabase())
+    }
+}
@@ -0,0 +1,39 @@
+package liquibase.statement
+
+import liquibase.database.core.PostgresDatabase
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Timestamp
+
+class PostgresCopyExecutablePreparedStatementTest extends Specification {
+
+    def "generates copy sql"() {
+        when:
+        def statement = new PostgresCopyExecutablePreparedStatement(new PostgresDatabase(), null, "public", "test_table", ["id", "name"], [])
+
+        then:
+        statement.getCopySql() == "COPY public.test_table (id, name) FROM STDIN WITH (FORMAT csv)"
+    }
+
+    @Unroll
+    def "formats csv value #value"() {
+        when:
+        def line = new StringBuilder()
+        PostgresCopyExecutablePreparedStatement.appendCsvValue(line, value)
+
+        then:
+        line.toString() == expected
+
+        where:
+        value                                       | expected
+        null                                        | ""
+        "NULL"                                      | ""
+        ""                                          | '""'
+        "a \"quoted\", value"                       | '"a ""quoted"", value"'
+        12                                          | '"12"'
+        new BigDecimal("1E+3")                      | '"1000"'
+        true                                        | '"true"'
+        Timestamp.valueOf("2020-01-02 03:04:05.6") | '"2020-01-02 03:04:05.6"'
+    }
+}
@@ -1,5 +1,7 @@
 package liquibase.util
 
+import liquibase.GlobalConfiguration
+import liquibase.Scope
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -21,4 +23,48 @@ class MD5UtilTest extends Specification {
         "bbb"               | "08f8e0260c64418510cefb2b06eee5cd"
         "foo".multiply(500) | "7d66efd792402b14bf5a1dd4fa7d5417"
     }
+
+    @Unroll
+    def "long strings give the same result as digesting getBytes: #description"() {
+        expect:
+        MD5Util.computeMD5(input as String) == new BigInteger(1, java.security.MessageDigest.getInstance("MD5").digest(input.getBytes("UTF-8"))).toString(16).padLeft(32, "0")
+
+        where:
+        description            | input
+        "ascii"                | "create table x (id int);\n" * 1000
+        "multi-byte"           | "caf\u00e9 \u65e5\u672c \ud83d\ude00;" * 2000
+        "unpaired surrogate"   | ("a" * 8191) + "\ud83d" + ("b" * 100)
+        "surrogate at boundary"| ("a" * 8191) + "\ud83d\ude00" + ("b" * 8192)
+    }
+
+    def "uses the output file encoding of the current scope"() {
+        when:
+        def input = "caf\u00e9"
+        def utf8 = MD5Util.computeMD5(input)
+        def utf16 = Scope.child([(GlobalConfiguration.OUTPUT_FILE_ENCODING.key): "UTF-16"], {
+            return MD5Util.computeMD5(input)
+        } as Scope.ScopedRunnerWithReturn<String>)
+
+        then:
+        utf8 == new BigInteger(1, java.security.MessageDigest.getInstance("MD5").digest(input.getBytes("UTF-8"))).toString(16).padLeft(32, "0")
+        utf16 == new BigInteger(1, java.security.MessageDigest.getInstance("MD5").digest(input.getBytes("UTF-16"))).toString(16).padLeft(32, "0")
+        MD5Util.computeMD5(input) == utf8
+    }
+
+    def "computes correct values from multiple threads"() {
+        when:
+        def inputs = (1..200).collect { "value " + it * 37 + ("x" * (it * 50)) }
+        def expected = inputs.collect { MD5Util.computeMD5(it) }
+        def results = Collections.synchronizedList([])
+        def threads = (1..4).collect {
+            Thread.start {
+                inputs.eachWithIndex { input, index -> results.add(MD5Util.computeMD5(input) == expected[index]) }
+            }
+        }
+        threads*.join()
+
+        then:
+        results.size() == 800
+        results.every()
+    }
 }
@@ -0,0 +1,71 @@
+package liquibase.util
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SqlStatementSplitterTest extends Specification {
+
+    def "statements are returned before the rest of the input is read"() {
+        when:
+        def input = "insert into x values (1);\ninsert into x values (2);\n" + ("insert into x values (3);\n" * 10000)
+        def charsRead = 0
+        def reader = new FilterReader(new StringReader(input)) {
+            @Override
+            int read(char[] buffer, int offset, int length) throws IOException {
+                def read = super.read(buffer, offset, length)
+                if (read > 0) {
+                    charsRead += read
+                }
+                return read
+            }
+        }
+        def splitter = new SqlStatementSplitter(reader, false, true, null)
+        def first = splitter.next()
+        def readForFirst = charsRead
+        def count = 1
+        while (splitter.hasNext()) {
+            splitter.next()
+            count++
+        }
+        splitter.close()
+
+        then:
+        first == "insert into x values (1)"
+        readForFirst < input.length()
+        count == 10002
+    }
+
+    @Unroll
+    def "splits #sql into statements"() {
+        expect:
+        def splitter = new SqlStatementSplitter(new StringReader(sql), stripComments, splitStatements, endDelimiter)
+        def statements = []
+        while (splitter.hasNext()) {
+            statements.add(splitter.next())
+        }
+        statements == expected
+        StringUtil.processMultiLineSQL(sql, stripComments, splitStatements, endDelimiter) as List == expected
+
+        where:
+        sql                                                  | stripComments | splitStatements | endDelimiter | expected
+        "select 1;\nselect 2"                                | false         | true            | null         | ["select 1", "select 2"]
+        "select 1;\nselect 2"                                | false         | false           | null         | ["select 1;\nselect 2"]
+        "select 1 -- one\n;select 2"                         | true          | true            | null         | ["select 1", "select 2"]
+        "select 1 /* a; b */;\nselect 2"                     | true          | true            | null         | ["select 1", "select 2"]
+        "select 1\ngo\nselect 2"                             | false         | true            | null         | ["select 1", "select 2"]
+        "BEGIN\nselect 1;\nEND;\nselect 2;"                  | false         | true            | null         | ["BEGIN\nselect 1;\nEND", "select 2"]
+        "BEGIN TRANSACTION;\nselect 1;"                      | false         | true            | null         | ["BEGIN TRANSACTION", "select 1"]
+        "select 1\n//\nselect 2\n//"                         | false         | true            | "//"         | ["select 1", "select 2"]
+        "select 'a;b' from x;"                               | false         | true            | null         | ["select 'a;b' from x"]
+    }
+
+    def "next throws when there are no more statements"() {
+        when:
+        def splitter = new SqlStatementSplitter(new StringReader("  "), false, true, null)
+        splitter.hasNext()
+        splitter.next()
+
+        then:
+        thrown(NoSuchElementException)
+    }
+}
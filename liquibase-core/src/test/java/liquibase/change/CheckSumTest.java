@@ -1,8 +1,10 @@
 package liquibase.change;
 
+import liquibase.io.EmptyLineAndCommentSkippingInputStream;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 
 import static org.junit.Assert.*;
 
@@ -99,4 +101,15 @@ public class CheckSumTest {
         assertEquals(checkSum, CheckSum.compute(new ByteArrayInputStream("a string\r\rwith\r\rlines".getBytes()), true).toString());
         assertEquals(checkSum, CheckSum.compute(new ByteArrayInputStream("a string\r\n\r\nwith\r\n\r\nlines".getBytes()), true).toString());
     }
+
+    @Test
+    public void compute_Stream_valuesDoNotChange() throws IOException {
+        assertEquals("8:396949ef8ee2039d426ee2a16541e31d", CheckSum.compute(new ByteArrayInputStream("a\r\r\nb\rc\n".getBytes("UTF-8")), true).toString());
+        assertEquals("8:008dcad7cae6413b96e5c956285e917e", CheckSum.compute(new AbstractSQLChange.NormalizingStream(";", true, false,
+                new ByteArrayInputStream("  CREATE TABLE x (\r\n\tid int\r\n);  \n\n  insert into x values (1);\n   \n".getBytes("UTF-8"))), false).toString());
+        assertEquals("8:2dcd35b03098777e8b3431635d993cd4", CheckSum.compute(new EmptyLineAndCommentSkippingInputStream(
+                new ByteArrayInputStream("#c\r\na,b\r\n\r\n1,2\n#x\n3,4\r\n\r\n".getBytes("UTF-8")), "#"), true).toString());
+        assertEquals("8:2dcd35b03098777e8b3431635d993cd4", CheckSum.compute(new EmptyLineAndCommentSkippingInputStream(
+                new ByteArrayInputStream("\n\na,b\r\r\n1,2\n\n\n\n3,4\r\n\r\n".getBytes("UTF-8")), null), true).toString());
+    }
 }
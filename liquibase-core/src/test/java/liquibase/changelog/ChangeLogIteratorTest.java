@@ -1,7 +1,9 @@
 package liquibase.changelog;
 
 import liquibase.Contexts;
+import liquibase.GlobalConfiguration;
 import liquibase.RuntimeEnvironment;
+import liquibase.Scope;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
@@ -11,11 +13,14 @@ import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.database.core.MySQLDatabase;
 import liquibase.exception.LiquibaseException;
+import liquibase.logging.core.BufferedLogService;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
@@ -108,6 +113,34 @@ public class ChangeLogIteratorTest {
         assertEquals("1", testChangeLogVisitor.visitedChangeSets.get(2).getId());
     }
 
+    @Test
+    public void runChangeSet_changeSetLogsNotCapturedByDefault() throws Exception {
+        LoggingChangeSetVisitor visitor = new LoggingChangeSetVisitor();
+
+        new ChangeLogIterator(changeLog).run(visitor, new RuntimeEnvironment(null, null, null));
+
+        assertEquals(7, visitor.visitedChangeSets.size());
+        assertTrue(visitor.changeSetLogs.isEmpty());
+    }
+
+    @Test
+    public void runChangeSet_changeSetLogsCapturedInBoundedBuffer() throws Exception {
+        LoggingChangeSetVisitor visitor = new LoggingChangeSetVisitor();
+
+        Map<String, Object> scopeValues = new HashMap<>();
+        scopeValues.put(ChangeLogIterator.CAPTURE_CHANGE_SET_LOGS_SCOPE_KEY, true);
+        scopeValues.put(GlobalConfiguration.CHANGESET_LOG_BUFFER_SIZE.getKey(), 5);
+        Scope.child(scopeValues, () -> new ChangeLogIterator(changeLog).run(visitor, new RuntimeEnvironment(null, null, null)));
+
+        assertEquals(7, visitor.changeSetLogs.size());
+        for (int i = 0; i < visitor.changeSetLogs.size(); i++) {
+            BufferedLogService changeSetLog = visitor.changeSetLogs.get(i);
+            assertEquals(5, changeSetLog.getLog().size());
+            assertEquals(15, changeSetLog.getDroppedMessageCount());
+            assertEquals("Message 15 for " + (i + 1), changeSetLog.getLog().get(0).getMessage());
+        }
+    }
+
     private static class TestChangeSetVisitor extends ValidatingVisitor {
 
         public List<ChangeSet> visitedChangeSets = new ArrayList<ChangeSet>();
@@ -123,6 +156,23 @@ public class ChangeLogIteratorTest {
         }
     }
 
+    private static class LoggingChangeSetVisitor extends TestChangeSetVisitor {
+
+        public List<BufferedLogService> changeSetLogs = new ArrayList<>();
+
+        @Override
+        public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
+            super.visit(changeSet, databaseChangeLog, database, filterResults);
+            for (int i = 0; i < 20; i++) {
+                Scope.getCurrentScope().getLog(getClass()).info("Message " + i + " for " + changeSet.getId());
+            }
+            BufferedLogService changeSetLog = Scope.getCurrentScope().get(BufferedLogService.class.getName(), BufferedLogService.class);
+            if (changeSetLog != null) {
+                changeSetLogs.add(changeSetLog);
+            }
+        }
+    }
+
     private static class ReverseChangeSetVisitor extends TestChangeSetVisitor {
 
         @Override
@@ -3,13 +3,17 @@ package liquibase.changelog.visitor;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -20,9 +24,14 @@ import org.junit.runners.Parameterized.Parameters;
 import org.mockito.MockedStatic;
 
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.SingletonScopeManager;
+import liquibase.ThreadLocalScopeManager;
 import liquibase.database.Database;
 import liquibase.database.core.OracleDatabase;
 import liquibase.database.core.PostgresDatabase;
+import liquibase.dbdoc.DBDocManifest;
 import liquibase.resource.DirectoryResourceAccessor;
 import liquibase.resource.PathResource;
 import liquibase.resource.ResourceAccessor;
@@ -86,4 +95,94 @@ public class DBDocVisitorTest {
         assertTrue(Files.isDirectory(columnsOutputDirPath));
         assertEquals(expectedNumberOfColumnHtmlFiles, Files.list(columnsOutputDirPath).count());
     }
+
+    @Test
+    public void testWriteHTMLInParallelOnlyRewritesChangedPages() throws Exception {
+        // given
+        Set<Column> columns = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            columns.add(new Column("column_" + i));
+        }
+
+        DatabaseSnapshot mockSnapshot = mock(DatabaseSnapshot.class);
+        when(mockSnapshot.get(Table.class)).thenReturn(Collections.emptySet());
+        when(mockSnapshot.get(Column.class)).thenReturn(columns);
+
+        SnapshotGeneratorFactory mockSnapshotGeneratorFactory = mock(SnapshotGeneratorFactory.class);
+        when(mockSnapshotGeneratorFactory.createSnapshot(any(CatalogAndSchema[].class), any(Database.class), any(SnapshotControl.class))).thenReturn(mockSnapshot);
+
+        Path tempOutputDirPath = temporaryFolder.newFolder().toPath();
+        PathResource rootOutputDir = new PathResource(tempOutputDirPath.toString(), tempOutputDirPath);
+        ResourceAccessor resourceAccessor = new DirectoryResourceAccessor(tempOutputDirPath);
+
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(GlobalConfiguration.DBDOC_THREADS.getKey(), 4);
+        settings.put(GlobalConfiguration.DBDOC_INCREMENTAL.getKey(), true);
+
+        // when
+        try (MockedStatic<SnapshotGeneratorFactory> staticMockSnapshotGeneratorFactory = mockStatic(SnapshotGeneratorFactory.class)) {
+            staticMockSnapshotGeneratorFactory.when(SnapshotGeneratorFactory::getInstance).thenReturn(mockSnapshotGeneratorFactory);
+
+            Scope.child(settings, () -> new DBDocVisitor(database).writeHTML(rootOutputDir, resourceAccessor));
+            Path columnPage = tempOutputDirPath.resolve("columns").resolve("column_3.html");
+            assertTrue(new String(Files.readAllBytes(columnPage), StandardCharsets.UTF_8).contains("column_3"));
+
+            Files.write(columnPage, "unchanged".getBytes(StandardCharsets.UTF_8));
+            Scope.child(settings, () -> new DBDocVisitor(database).writeHTML(rootOutputDir, resourceAccessor));
+
+            // then
+            assertEquals(20, Files.list(tempOutputDirPath.resolve("columns")).count());
+            assertTrue(Files.exists(tempOutputDirPath.resolve(DBDocManifest.FILE_NAME)));
+            assertEquals("unchanged", new String(Files.readAllBytes(columnPage), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testWriteHTMLInParallelUsesTheCallerScopeWithThreadLocalScopeManager() throws Exception {
+        // given
+        Thread callerThread = Thread.currentThread();
+        Set<String> pagesSeeingSettingOnOtherThreads = ConcurrentHashMap.newKeySet();
+        Set<Column> columns = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            columns.add(new Column("column_" + i) {
+                @Override
+                public String toString() {
+                    if ((Thread.currentThread() != callerThread) && GlobalConfiguration.DBDOC_INCREMENTAL.getCurrentValue()) {
+                        pagesSeeingSettingOnOtherThreads.add(getName());
+                    }
+                    return super.toString();
+                }
+            });
+        }
+
+        DatabaseSnapshot mockSnapshot = mock(DatabaseSnapshot.class);
+        when(mockSnapshot.get(Table.class)).thenReturn(Collections.emptySet());
+        when(mockSnapshot.get(Column.class)).thenReturn(columns);
+
+        SnapshotGeneratorFactory mockSnapshotGeneratorFactory = mock(SnapshotGeneratorFactory.class);
+        when(mockSnapshotGeneratorFactory.createSnapshot(any(CatalogAndSchema[].class), any(Database.class), any(SnapshotControl.class))).thenReturn(mockSnapshot);
+
+        Path tempOutputDirPath = temporaryFolder.newFolder().toPath();
+        PathResource rootOutputDir = new PathResource(tempOutputDirPath.toString(), tempOutputDirPath);
+        ResourceAccessor resourceAccessor = new DirectoryResourceAccessor(tempOutputDirPath);
+
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(GlobalConfiguration.DBDOC_THREADS.getKey(), 4);
+        settings.put(GlobalConfiguration.DBDOC_INCREMENTAL.getKey(), true);
+
+        // when
+        Scope.getCurrentScope();
+        Scope.setScopeManager(new ThreadLocalScopeManager());
+        try (MockedStatic<SnapshotGeneratorFactory> staticMockSnapshotGeneratorFactory = mockStatic(SnapshotGeneratorFactory.class)) {
+            staticMockSnapshotGeneratorFactory.when(SnapshotGeneratorFactory::getInstance).thenReturn(mockSnapshotGeneratorFactory);
+
+            Scope.child(settings, () -> new DBDocVisitor(database).writeHTML(rootOutputDir, resourceAccessor));
+        } finally {
+            Scope.setScopeManager(new SingletonScopeManager());
+        }
+
+        // then
+        assertEquals(20, Files.list(tempOutputDirPath.resolve("columns")).count());
+        assertFalse(pagesSeeingSettingOnOtherThreads.isEmpty());
+    }
 }
@@ -1,10 +1,28 @@
 package liquibase.database.core;
 
+import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
 import liquibase.database.AbstractJdbcDatabaseTest;
 import liquibase.database.Database;
+import liquibase.database.SavedDatabaseState;
+import liquibase.database.jvm.JdbcConnection;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.junit.Assert.*;
 
 public class H2DatabaseTest extends AbstractJdbcDatabaseTest {
@@ -40,6 +58,70 @@ public class H2DatabaseTest extends AbstractJdbcDatabaseTest {
         assertNull(database.getDefaultDriver("jdbc:db2://localhost;databaseName=liquibase"));
     }
 
+    @Test
+    public void saveStateRestoresFromATemporaryFile() throws Exception {
+        H2Database database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:savestate-" + UUID.randomUUID())));
+        try (Statement statement = ((JdbcConnection) database.getConnection()).getUnderlyingConnection().createStatement()) {
+            statement.execute("CREATE TABLE TABLE_A (ID INTEGER, NAME VARCHAR(50))");
+            statement.execute("INSERT INTO TABLE_A VALUES (1, 'first\nline')");
+
+            Set<Path> filesBefore = listStateFiles();
+            try (SavedDatabaseState state = database.saveState()) {
+                assertEquals(filesBefore.size() + 1, listStateFiles().size());
+
+                statement.execute("DROP TABLE TABLE_A");
+                statement.execute("CREATE TABLE TABLE_B (ID INTEGER)");
+                state.restore();
+            }
+            assertEquals(filesBefore, listStateFiles());
+
+            try (ResultSet resultSet = statement.executeQuery("SELECT NAME FROM TABLE_A")) {
+                assertTrue(resultSet.next());
+                assertEquals("first\nline", resultSet.getString(1));
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'TABLE_B'")) {
+                assertTrue(resultSet.next());
+                assertEquals(0, resultSet.getInt(1));
+            }
+        } finally {
+            database.close();
+        }
+    }
+
+    @Test
+    public void dropAllFastDropsThePublicSchemaObjectsByName() throws Exception {
+        H2Database database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:dropallfast-" + UUID.randomUUID())));
+        try (Statement statement = ((JdbcConnection) database.getConnection()).getUnderlyingConnection().createStatement()) {
+            statement.execute("CREATE TABLE PARENT_TABLE (ID INTEGER PRIMARY KEY)");
+            statement.execute("CREATE TABLE CHILD_TABLE (ID INTEGER PRIMARY KEY, PARENT_ID INTEGER, " +
+                    "CONSTRAINT FK_CHILD_PARENT FOREIGN KEY (PARENT_ID) REFERENCES PARENT_TABLE(ID))");
+            statement.execute("CREATE VIEW CHILD_VIEW AS SELECT * FROM CHILD_TABLE");
+            statement.execute("CREATE SEQUENCE TEST_SEQ");
+
+            Scope.child(Collections.singletonMap(GlobalConfiguration.DROP_ALL_FAST.getKey(), true),
+                    () -> database.dropDatabaseObjects(new CatalogAndSchema(null, "PUBLIC")));
+
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'")) {
+                assertTrue(resultSet.next());
+                assertEquals(0, resultSet.getInt(1));
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = 'PUBLIC'")) {
+                assertTrue(resultSet.next());
+                assertEquals(0, resultSet.getInt(1));
+            }
+        } finally {
+            database.close();
+        }
+    }
+
+    private static Set<Path> listStateFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("liquibase-h2-")).collect(Collectors.toSet());
+        }
+    }
+
     @Override
     @Test
     public void escapeTableName_noSchema() {
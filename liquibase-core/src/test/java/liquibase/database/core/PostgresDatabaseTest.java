@@ -3,15 +3,31 @@ package liquibase.database.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Test;
+import liquibase.CatalogAndSchema;
 import liquibase.GlobalConfiguration;
+import liquibase.Scope;
 import liquibase.changelog.column.LiquibaseColumn;
 import liquibase.database.AbstractJdbcDatabaseTest;
 import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.exception.DatabaseException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
 import liquibase.structure.core.Table;
 import liquibase.util.StringUtil;
 
@@ -155,6 +171,46 @@ public class PostgresDatabaseTest extends AbstractJdbcDatabaseTest {
         assertPrimaryKeyName(expectedPrimaryKeyName, this.database.generatePrimaryKeyName(nameWith15NonAsciiSymbols));
     }
 
+    @Test
+    public void getDropAllObjectsStatements() throws DatabaseException {
+        Executor executor = mock(Executor.class);
+        when(executor.queryForInt(any(SqlStatement.class))).thenReturn(0);
+        when(executor.queryForObject(any(SqlStatement.class), eq(String.class))).thenReturn("lbowner");
+        Map<String, Object> usage = new HashMap<>();
+        usage.put("GRANTEE", "lbuser");
+        usage.put("PRIVILEGE_TYPE", "USAGE");
+        usage.put("IS_GRANTABLE", false);
+        Map<String, Object> create = new HashMap<>();
+        create.put("GRANTEE", "PUBLIC");
+        create.put("PRIVILEGE_TYPE", "CREATE");
+        create.put("IS_GRANTABLE", true);
+        when(executor.queryForList(any(SqlStatement.class))).thenReturn(Arrays.asList(usage, create));
+        Scope.getCurrentScope().getSingleton(ExecutorService.class).setExecutor("jdbc", database, executor);
+        try {
+            SqlStatement[] statements = ((PostgresDatabase) database).getDropAllObjectsStatements(new CatalogAndSchema("lbcat", "lbschema"));
+            assertEquals(4, statements.length);
+            assertEquals("DROP SCHEMA lbschema CASCADE", ((RawSqlStatement) statements[0]).getSql());
+            assertEquals("CREATE SCHEMA lbschema AUTHORIZATION \"lbowner\"", ((RawSqlStatement) statements[1]).getSql());
+            assertEquals("GRANT USAGE ON SCHEMA lbschema TO \"lbuser\"", ((RawSqlStatement) statements[2]).getSql());
+            assertEquals("GRANT CREATE ON SCHEMA lbschema TO PUBLIC WITH GRANT OPTION", ((RawSqlStatement) statements[3]).getSql());
+        } finally {
+            Scope.getCurrentScope().getSingleton(ExecutorService.class).clearExecutor("jdbc", database);
+        }
+    }
+
+    @Test
+    public void getDropAllObjectsStatements_schemaWithExtensions_isNotDroppedAtOnce() throws DatabaseException {
+        Executor executor = mock(Executor.class);
+        when(executor.queryForInt(any(SqlStatement.class))).thenReturn(1);
+        Scope.getCurrentScope().getSingleton(ExecutorService.class).setExecutor("jdbc", database, executor);
+        try {
+            assertNull(((PostgresDatabase) database).getDropAllObjectsStatements(new CatalogAndSchema("lbcat", "lbschema")));
+            verify(executor, never()).queryForList(any(SqlStatement.class));
+        } finally {
+            Scope.getCurrentScope().getSingleton(ExecutorService.class).clearExecutor("jdbc", database);
+        }
+    }
+
 //    @Test
 //    public void generatePrimaryKeyName_tableSizeNameMoreThan63BytesAndNonASCIISymbols_nameIsBuiltCorrectly() {
 //        final String nameWith100NonAsciiSymbols = "name_" + StringUtil.repeat("\u03A9", 100);
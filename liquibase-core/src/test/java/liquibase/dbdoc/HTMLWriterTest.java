@@ -0,0 +1,70 @@
+package liquibase.dbdoc;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import liquibase.change.Change;
+import liquibase.change.core.CreateTableChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.DatabaseHistoryException;
+import liquibase.resource.PathResource;
+
+public class HTMLWriterTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testUnchangedPageIsNotRenderedAndRunStatusIsNotQueried() throws Exception {
+        // given
+        Path tempOutputDirPath = temporaryFolder.newFolder().toPath();
+        PathResource rootOutputDir = new PathResource(tempOutputDirPath.toString(), tempOutputDirPath);
+        Database database = mock(Database.class);
+
+        ChangeSet changeSet = new ChangeSet("1", "author", false, false, "changelog.xml", null, null, null);
+        CreateTableChange change = new CreateTableChange();
+        change.setTableName("TABLE_A");
+        changeSet.addChange(change);
+        List<Change> changes = Collections.singletonList(change);
+        Map<ChangeSet, ChangeSet.RunStatus> runStatuses = Collections.singletonMap(changeSet, ChangeSet.RunStatus.NOT_RAN);
+
+        AtomicInteger renderedPages = new AtomicInteger();
+
+        // when
+        for (int run = 0; run < 2; run++) {
+            DBDocManifest manifest = DBDocManifest.load(rootOutputDir);
+            HTMLWriter writer = new ColumnWriter(rootOutputDir, database) {
+                @Override
+                protected void writeBody(Writer fileWriter, Object object, List<Change> ranChanges, List<Change> changesToRun) throws IOException, DatabaseHistoryException, DatabaseException {
+                    renderedPages.incrementAndGet();
+                    super.writeBody(fileWriter, object, ranChanges, changesToRun);
+                }
+            };
+            writer.setManifest(manifest);
+            writer.setRunStatuses(runStatuses);
+            writer.writeHTML("table_a.column_a", null, changes, "changelog.xml");
+            manifest.save();
+        }
+
+        // then
+        assertEquals(1, renderedPages.get());
+        String page = new String(Files.readAllBytes(tempOutputDirPath.resolve("columns").resolve("table_a.column_a.html")), StandardCharsets.UTF_8);
+        assertTrue(page.contains("NOT YET RAN"));
+        verify(database, never()).getRunStatus(any(ChangeSet.class));
+    }
+}
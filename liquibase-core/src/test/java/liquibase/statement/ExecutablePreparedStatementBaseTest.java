@@ -3,6 +3,7 @@ package liquibase.statement;
 import liquibase.change.ColumnConfig;
 import liquibase.change.core.LoadDataChange;
 import liquibase.database.PreparedStatementFactory;
+import liquibase.database.jvm.PreparedStatementCache;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
@@ -182,6 +183,39 @@ public class ExecutablePreparedStatementBaseTest {
         verify(closeableMock).close();
     }
 
+    @Test
+    public void testExecute_reusesCachedStatement() throws DatabaseException, SQLException {
+        PreparedStatementCache cache = new PreparedStatementCache(4);
+        doReturn(cache).when(preparedStatementFactoryMock).getStatementCache();
+        doReturn(preparedStatementMock).when(preparedStatementFactoryMock).create(any());
+
+        doNothing().when(executablePreparedStatementBase).attachParams(any(), any());
+        doNothing().when(executablePreparedStatementBase).executePreparedStatement(any());
+
+        executablePreparedStatementBase.execute(preparedStatementFactoryMock);
+        executablePreparedStatementBase.execute(preparedStatementFactoryMock);
+
+        verify(preparedStatementFactoryMock, times(1)).create(ExecutablePreparedStatementBaseMock.generateSql);
+        verify(preparedStatementMock).clearParameters();
+        verify(preparedStatementMock, never()).close();
+        verify(executablePreparedStatementBase, times(2)).executePreparedStatement(preparedStatementMock);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testExecute_closesStatementWhenCacheDisabled() throws DatabaseException, SQLException {
+        doReturn(new PreparedStatementCache(0)).when(preparedStatementFactoryMock).getStatementCache();
+        doReturn(preparedStatementMock).when(preparedStatementFactoryMock).create(any());
+
+        doNothing().when(executablePreparedStatementBase).attachParams(any(), any());
+        doNothing().when(executablePreparedStatementBase).executePreparedStatement(any());
+
+        executablePreparedStatementBase.execute(preparedStatementFactoryMock);
+
+        verify(preparedStatementMock).close();
+    }
+
     @Test
     public void testExecutePreparedStatement() throws SQLException {
 
@@ -10,6 +10,7 @@ import liquibase.database.Database;
 import liquibase.database.PreparedStatementFactory;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.jvm.JdbcConnection;
+import liquibase.database.jvm.PreparedStatementCache;
 import liquibase.exception.DatabaseException;
 import liquibase.resource.ResourceAccessor;
 import org.junit.Before;
@@ -19,6 +20,7 @@ import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.*;
 
@@ -59,6 +61,36 @@ public class InsertExecutablePreparedStatementTest {
                 resourceAccessor).continueOnError());
     }
 
+    @Test
+    public void testExecute_reusesStatementFromConnectionCache() throws DatabaseException, SQLException {
+        PreparedStatementCache cache = new PreparedStatementCache(8);
+        when(connection.getPreparedStatementCache()).thenReturn(cache);
+
+        ColumnConfig columnConfig = new ColumnConfig();
+        columnConfig.setName("column1");
+        columnConfig.setValue("value1");
+
+        InsertExecutablePreparedStatement insertExecutablePreparedStatement = new InsertExecutablePreparedStatement(database,
+                "catalogName",
+                "schemaName",
+                "tableName",
+                Arrays.asList(columnConfig),
+                changeSet,
+                resourceAccessor);
+
+        insertExecutablePreparedStatement.execute(preparedStatementFactory);
+        insertExecutablePreparedStatement.execute(preparedStatementFactory);
+
+        verify(connection, times(1)).prepareStatement("INSERT INTO catalogName.schemaName.tableName(column1) VALUES(?)");
+        verify(ps).clearParameters();
+        verify(ps, times(2)).execute();
+        verify(ps, never()).close();
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        verify(ps).close();
+    }
+
     @Test
     public void testExecute() throws DatabaseException, SQLException {
 
@@ -27,7 +27,7 @@ Optional Args:
     OBFUSCATED
   schemas (String) The schemas to snapshot
     Default: null
-  snapshotFormat (String) Output format to use (JSON, YAML, or TXT)
+  snapshotFormat (String) Output format to use (JSON, YAML, TXT, or BIN)
     Default: null
   username (String) Username to use to connect to the database
     Default: null